@@ -0,0 +1,93 @@
+-- parse snapshots --
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ varchar(64) not null,
+    DEPLOYMENT_ID_ varchar(64),
+    RESOURCE_NAME_ varchar(255),
+    FINGERPRINT_ varchar(64),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+-- content hash of deployment resources --
+alter table ACT_GE_BYTEARRAY
+  add column HASH_ varchar(64);
+
+-- history event outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ varchar(64) not null,
+    REV_ integer not null,
+    INSTANCE_ID_ varchar(64),
+    CREATE_TIME_ timestamp not null,
+    EVENT_COUNT_ integer,
+    ATTEMPTS_ integer,
+    FAILED_ smallint check(FAILED_ in (1,0)),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+-- history time to live --
+alter table ACT_RE_PROCDEF
+  add column HISTORY_TTL_ integer;
+
+create index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST(PROC_DEF_ID_,END_TIME_);
+
+-- historic statistics --
+create table ACT_HI_STATISTICS (
+    ID_ varchar(64) not null,
+    REV_ integer not null,
+    TYPE_ varchar(64) not null,
+    PROC_DEF_KEY_ varchar(255),
+    PROC_DEF_ID_ varchar(64) not null,
+    ACT_ID_ varchar(255) not null,
+    TENANT_ID_ varchar(64),
+    PERIOD_YEAR_ integer not null,
+    PERIOD_MONTH_ integer not null,
+    STARTED_ bigint,
+    FINISHED_ bigint,
+    CANCELED_ bigint,
+    COMPLETE_SCOPE_ bigint,
+    DURATION_SUM_ bigint,
+    DURATION_MIN_ bigint,
+    DURATION_MAX_ bigint,
+    DELTA_ smallint check(DELTA_ in (1,0)),
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS(PROC_DEF_ID_,TYPE_,ACT_ID_,PERIOD_YEAR_,PERIOD_MONTH_);
+create index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS(PROC_DEF_KEY_,TYPE_);
+create index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS(DELTA_);
+
+-- compressed and deduplicated byte arrays --
+alter table ACT_GE_BYTEARRAY
+  add column COMPRESSED_ smallint check(COMPRESSED_ in (1,0));
+
+alter table ACT_GE_BYTEARRAY
+  add column CREATE_TIME_ timestamp;
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
+
+-- histogram buckets in the meter log --
+alter table ACT_RU_METER_LOG
+  add column BUCKET_ bigint;
+
+-- tags in the meter log --
+alter table ACT_RU_METER_LOG
+  add column TAG_ varchar(255);
+
+-- meter log rollup and interval queries --
+alter table ACT_RU_METER_LOG
+  add column MILLISECONDS_ bigint;
+
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
+
+-- trace context of jobs and external tasks --
+alter table ACT_RU_JOB
+  add column TRACE_CONTEXT_ varchar(255);
+
+alter table ACT_RU_EXT_TASK
+  add column TRACE_CONTEXT_ varchar(255);
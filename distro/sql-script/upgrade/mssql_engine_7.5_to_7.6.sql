@@ -0,0 +1,93 @@
+-- parse snapshots --
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ nvarchar(64) not null,
+    DEPLOYMENT_ID_ nvarchar(64),
+    RESOURCE_NAME_ nvarchar(255),
+    FINGERPRINT_ nvarchar(64),
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+-- content hash of deployment resources --
+alter table ACT_GE_BYTEARRAY
+  add HASH_ nvarchar(64);
+
+-- history event outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ nvarchar(64) not null,
+    REV_ int not null,
+    INSTANCE_ID_ nvarchar(64),
+    CREATE_TIME_ datetime2 not null,
+    EVENT_COUNT_ int,
+    ATTEMPTS_ int,
+    FAILED_ tinyint,
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+-- history time to live --
+alter table ACT_RE_PROCDEF
+  add HISTORY_TTL_ int;
+
+create index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST(PROC_DEF_ID_,END_TIME_);
+
+-- historic statistics --
+create table ACT_HI_STATISTICS (
+    ID_ nvarchar(64) not null,
+    REV_ int not null,
+    TYPE_ nvarchar(64) not null,
+    PROC_DEF_KEY_ nvarchar(255),
+    PROC_DEF_ID_ nvarchar(64) not null,
+    ACT_ID_ nvarchar(255) not null,
+    TENANT_ID_ nvarchar(64),
+    PERIOD_YEAR_ int not null,
+    PERIOD_MONTH_ int not null,
+    STARTED_ numeric(19,0),
+    FINISHED_ numeric(19,0),
+    CANCELED_ numeric(19,0),
+    COMPLETE_SCOPE_ numeric(19,0),
+    DURATION_SUM_ numeric(19,0),
+    DURATION_MIN_ numeric(19,0),
+    DURATION_MAX_ numeric(19,0),
+    DELTA_ tinyint,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS(PROC_DEF_ID_,TYPE_,ACT_ID_,PERIOD_YEAR_,PERIOD_MONTH_);
+create index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS(PROC_DEF_KEY_,TYPE_);
+create index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS(DELTA_);
+
+-- compressed and deduplicated byte arrays --
+alter table ACT_GE_BYTEARRAY
+  add COMPRESSED_ tinyint;
+
+alter table ACT_GE_BYTEARRAY
+  add CREATE_TIME_ datetime2;
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
+
+-- histogram buckets in the meter log --
+alter table ACT_RU_METER_LOG
+  add BUCKET_ numeric(19,0);
+
+-- tags in the meter log --
+alter table ACT_RU_METER_LOG
+  add TAG_ nvarchar(255);
+
+-- meter log rollup and interval queries --
+alter table ACT_RU_METER_LOG
+  add MILLISECONDS_ numeric(19,0);
+
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
+
+-- trace context of jobs and external tasks --
+alter table ACT_RU_JOB
+  add TRACE_CONTEXT_ nvarchar(255);
+
+alter table ACT_RU_EXT_TASK
+  add TRACE_CONTEXT_ nvarchar(255);
@@ -0,0 +1,93 @@
+-- parse snapshots --
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ NVARCHAR2(64) not null,
+    DEPLOYMENT_ID_ NVARCHAR2(64),
+    RESOURCE_NAME_ NVARCHAR2(255),
+    FINGERPRINT_ NVARCHAR2(64),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+-- content hash of deployment resources --
+alter table ACT_GE_BYTEARRAY
+  add HASH_ NVARCHAR2(64);
+
+-- history event outbox --
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER not null,
+    INSTANCE_ID_ NVARCHAR2(64),
+    CREATE_TIME_ TIMESTAMP(6) not null,
+    EVENT_COUNT_ INTEGER,
+    ATTEMPTS_ INTEGER,
+    FAILED_ NUMBER(1,0) CHECK (FAILED_ IN (1,0)),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+-- history time to live --
+alter table ACT_RE_PROCDEF
+  add HISTORY_TTL_ INTEGER;
+
+create index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST(PROC_DEF_ID_,END_TIME_);
+
+-- historic statistics --
+create table ACT_HI_STATISTICS (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER not null,
+    TYPE_ NVARCHAR2(64) not null,
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    ACT_ID_ NVARCHAR2(255) not null,
+    TENANT_ID_ NVARCHAR2(64),
+    PERIOD_YEAR_ INTEGER not null,
+    PERIOD_MONTH_ INTEGER not null,
+    STARTED_ NUMBER(19,0),
+    FINISHED_ NUMBER(19,0),
+    CANCELED_ NUMBER(19,0),
+    COMPLETE_SCOPE_ NUMBER(19,0),
+    DURATION_SUM_ NUMBER(19,0),
+    DURATION_MIN_ NUMBER(19,0),
+    DURATION_MAX_ NUMBER(19,0),
+    DELTA_ NUMBER(1,0) CHECK (DELTA_ IN (1,0)),
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS(PROC_DEF_ID_,TYPE_,ACT_ID_,PERIOD_YEAR_,PERIOD_MONTH_);
+create index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS(PROC_DEF_KEY_,TYPE_);
+create index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS(DELTA_);
+
+-- compressed and deduplicated byte arrays --
+alter table ACT_GE_BYTEARRAY
+  add COMPRESSED_ NUMBER(1,0) CHECK (COMPRESSED_ IN (1,0));
+
+alter table ACT_GE_BYTEARRAY
+  add CREATE_TIME_ TIMESTAMP(6);
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
+
+-- histogram buckets in the meter log --
+alter table ACT_RU_METER_LOG
+  add BUCKET_ NUMBER(19,0);
+
+-- tags in the meter log --
+alter table ACT_RU_METER_LOG
+  add TAG_ NVARCHAR2(255);
+
+-- meter log rollup and interval queries --
+alter table ACT_RU_METER_LOG
+  add MILLISECONDS_ NUMBER(19,0);
+
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
+
+-- trace context of jobs and external tasks --
+alter table ACT_RU_JOB
+  add TRACE_CONTEXT_ NVARCHAR2(255);
+
+alter table ACT_RU_EXT_TASK
+  add TRACE_CONTEXT_ NVARCHAR2(255);
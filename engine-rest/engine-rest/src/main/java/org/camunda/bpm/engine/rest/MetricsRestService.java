@@ -12,11 +12,20 @@
  */
 package org.camunda.bpm.engine.rest;
 
+import java.util.List;
+
+import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
 
+import org.camunda.bpm.engine.rest.dto.metrics.JobExecutorHealthDto;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
+import org.camunda.bpm.engine.rest.dto.metrics.SqlProfileDto;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
 
 /**
@@ -32,4 +41,39 @@ public interface MetricsRestService {
   @Path("/{name}")
   MetricsResource getMetrics(@PathParam("name") String name);
 
+  /**
+   * Provides the sums of the metrics by time interval, see
+   * {@link org.camunda.bpm.engine.management.MetricsQuery#interval(long)}.
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  List<MetricsIntervalResultDto> interval(@Context UriInfo uriInfo);
+
+  /**
+   * Provides the current values of all metrics of the process engine
+   * in the Prometheus text exposition format.
+   */
+  @GET
+  @Path("/prometheus")
+  @Produces(MediaType.TEXT_PLAIN)
+  String getPrometheusMetrics();
+
+  /**
+   * Provides the sql statements profiled by the process engine: the statistics per command,
+   * the slowest recent statements and the selects which are repeated within a command.
+   */
+  @GET
+  @Path("/sql-profile")
+  @Produces(MediaType.APPLICATION_JSON)
+  SqlProfileDto getSqlProfile(@QueryParam("maxResults") Integer maxResults);
+
+  /**
+   * Provides the saturation of the job executor of the process engine: the acquisition rates,
+   * the thread pool utilization, the acquisition backoff and the backlog of due jobs.
+   */
+  @GET
+  @Path("/job-executor")
+  @Produces(MediaType.APPLICATION_JSON)
+  JobExecutorHealthDto getJobExecutorHealth();
+
 }
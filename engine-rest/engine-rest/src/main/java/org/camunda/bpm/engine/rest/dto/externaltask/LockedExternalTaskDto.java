@@ -42,6 +42,7 @@ public class LockedExternalTaskDto {
   protected String tenantId;
   protected Map<String, VariableValueDto> variables;
   protected long priority;
+  protected String traceContext;
 
   public String getActivityId() {
     return activityId;
@@ -91,7 +92,11 @@ public class LockedExternalTaskDto {
 
   public long getPriority() {
     return priority;
-  }  
+  }
+
+  public String getTraceContext() {
+    return traceContext;
+  }
 
   public static LockedExternalTaskDto fromLockedExternalTask(LockedExternalTask task) {
     LockedExternalTaskDto dto = new LockedExternalTaskDto();
@@ -110,6 +115,7 @@ public class LockedExternalTaskDto {
     dto.tenantId = task.getTenantId();
     dto.variables = VariableValueDto.fromVariableMap(task.getVariables());
     dto.priority = task.getPriority();
+    dto.traceContext = task.getTraceContext();
 
     return dto;
   }
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
@@ -26,6 +27,7 @@ import org.camunda.bpm.engine.rest.dto.CamundaQueryParam;
 import org.camunda.bpm.engine.rest.dto.converter.BooleanConverter;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
 import org.camunda.bpm.engine.rest.dto.converter.StringListConverter;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -62,6 +64,9 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
   }
 
   private String activityInstanceId;
+  private String activityInstanceIdAfter;
+  private Date startTimeAndIdAfterStartTime;
+  private String startTimeAndIdAfterId;
   private String processInstanceId;
   private String processDefinitionId;
   private String executionId;
@@ -91,6 +96,21 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
     this.activityInstanceId = activityInstanceId;
   }
 
+  @CamundaQueryParam("activityInstanceIdAfter")
+  public void setActivityInstanceIdAfter(String activityInstanceIdAfter) {
+    this.activityInstanceIdAfter = activityInstanceIdAfter;
+  }
+
+  @CamundaQueryParam(value = "startTimeAndIdAfterStartTime", converter = DateConverter.class)
+  public void setStartTimeAndIdAfterStartTime(Date startTimeAndIdAfterStartTime) {
+    this.startTimeAndIdAfterStartTime = startTimeAndIdAfterStartTime;
+  }
+
+  @CamundaQueryParam("startTimeAndIdAfterId")
+  public void setStartTimeAndIdAfterId(String startTimeAndIdAfterId) {
+    this.startTimeAndIdAfterId = startTimeAndIdAfterId;
+  }
+
   @CamundaQueryParam("processInstanceId")
   public void setProcessInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
@@ -186,6 +206,15 @@ public class HistoricActivityInstanceQueryDto extends AbstractQueryDto<HistoricA
     if (activityInstanceId != null) {
       query.activityInstanceId(activityInstanceId);
     }
+    if (activityInstanceIdAfter != null) {
+      query.activityInstanceIdAfter(activityInstanceIdAfter);
+    }
+    if (startTimeAndIdAfterStartTime != null || startTimeAndIdAfterId != null) {
+      if (startTimeAndIdAfterStartTime == null || startTimeAndIdAfterId == null) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Both startTimeAndIdAfterStartTime and startTimeAndIdAfterId have to be specified");
+      }
+      query.startTimeAndIdAfter(startTimeAndIdAfterStartTime, startTimeAndIdAfterId);
+    }
     if (processInstanceId != null) {
       query.processInstanceId(processInstanceId);
     }
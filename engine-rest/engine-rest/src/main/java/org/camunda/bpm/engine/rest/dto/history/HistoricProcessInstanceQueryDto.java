@@ -59,6 +59,9 @@ public class HistoricProcessInstanceQueryDto extends AbstractQueryDto<HistoricPr
 
   private String processInstanceId;
   private Set<String> processInstanceIds;
+  private String processInstanceIdAfter;
+  private Date startTimeAndIdAfterStartTime;
+  private String startTimeAndIdAfterId;
   private String processDefinitionId;
   private String processDefinitionKey;
   private String processDefinitionName;
@@ -101,6 +104,21 @@ public class HistoricProcessInstanceQueryDto extends AbstractQueryDto<HistoricPr
     this.processInstanceIds = processInstanceIds;
   }
 
+  @CamundaQueryParam("processInstanceIdAfter")
+  public void setProcessInstanceIdAfter(String processInstanceIdAfter) {
+    this.processInstanceIdAfter = processInstanceIdAfter;
+  }
+
+  @CamundaQueryParam(value = "startTimeAndIdAfterStartTime", converter = DateConverter.class)
+  public void setStartTimeAndIdAfterStartTime(Date startTimeAndIdAfterStartTime) {
+    this.startTimeAndIdAfterStartTime = startTimeAndIdAfterStartTime;
+  }
+
+  @CamundaQueryParam("startTimeAndIdAfterId")
+  public void setStartTimeAndIdAfterId(String startTimeAndIdAfterId) {
+    this.startTimeAndIdAfterId = startTimeAndIdAfterId;
+  }
+
   @CamundaQueryParam("processDefinitionId")
   public void setProcessDefinitionId(String processDefinitionId) {
     this.processDefinitionId = processDefinitionId;
@@ -240,6 +258,15 @@ public class HistoricProcessInstanceQueryDto extends AbstractQueryDto<HistoricPr
     if (processInstanceIds != null) {
       query.processInstanceIds(processInstanceIds);
     }
+    if (processInstanceIdAfter != null) {
+      query.processInstanceIdAfter(processInstanceIdAfter);
+    }
+    if (startTimeAndIdAfterStartTime != null || startTimeAndIdAfterId != null) {
+      if (startTimeAndIdAfterStartTime == null || startTimeAndIdAfterId == null) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Both startTimeAndIdAfterStartTime and startTimeAndIdAfterId have to be specified");
+      }
+      query.startTimeAndIdAfter(startTimeAndIdAfterStartTime, startTimeAndIdAfterId);
+    }
     if (processDefinitionId != null) {
       query.processDefinitionId(processDefinitionId);
     }
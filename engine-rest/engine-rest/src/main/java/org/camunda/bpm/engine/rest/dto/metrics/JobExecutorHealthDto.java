@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorHealth;
+
+/**
+ * The saturation of the job executor of a process engine, see {@link JobExecutorHealth}.
+ */
+public class JobExecutorHealthDto {
+
+  protected String processEngineName;
+  protected boolean active;
+  protected double acquisitionAttemptsPerSecond;
+  protected double acquiredJobsPerSecond;
+  protected double lockFailureRate;
+  protected double rejectedJobsPerSecond;
+  protected int idleLevel;
+  protected int backoffLevel;
+  protected long waitTimeInMillis;
+  protected int queueDepth;
+  protected int remainingQueueCapacity;
+  protected int activeThreads;
+  protected int poolSize;
+  protected int maxPoolSize;
+  protected long dueJobBacklog;
+
+  public static JobExecutorHealthDto fromHealth(JobExecutorHealth health) {
+    JobExecutorHealthDto dto = new JobExecutorHealthDto();
+    dto.processEngineName = health.getProcessEngineName();
+    dto.active = health.isActive();
+    dto.acquisitionAttemptsPerSecond = health.getAcquisitionAttemptsPerSecond();
+    dto.acquiredJobsPerSecond = health.getAcquiredJobsPerSecond();
+    dto.lockFailureRate = health.getLockFailureRate();
+    dto.rejectedJobsPerSecond = health.getRejectedJobsPerSecond();
+    dto.idleLevel = health.getIdleLevel();
+    dto.backoffLevel = health.getBackoffLevel();
+    dto.waitTimeInMillis = health.getWaitTimeInMillis();
+    dto.queueDepth = health.getQueueDepth();
+    dto.remainingQueueCapacity = health.getRemainingQueueCapacity();
+    dto.activeThreads = health.getActiveThreads();
+    dto.poolSize = health.getPoolSize();
+    dto.maxPoolSize = health.getMaxPoolSize();
+    dto.dueJobBacklog = health.getDueJobBacklog();
+    return dto;
+  }
+
+  public String getProcessEngineName() {
+    return processEngineName;
+  }
+
+  public void setProcessEngineName(String processEngineName) {
+    this.processEngineName = processEngineName;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public double getAcquisitionAttemptsPerSecond() {
+    return acquisitionAttemptsPerSecond;
+  }
+
+  public void setAcquisitionAttemptsPerSecond(double acquisitionAttemptsPerSecond) {
+    this.acquisitionAttemptsPerSecond = acquisitionAttemptsPerSecond;
+  }
+
+  public double getAcquiredJobsPerSecond() {
+    return acquiredJobsPerSecond;
+  }
+
+  public void setAcquiredJobsPerSecond(double acquiredJobsPerSecond) {
+    this.acquiredJobsPerSecond = acquiredJobsPerSecond;
+  }
+
+  public double getLockFailureRate() {
+    return lockFailureRate;
+  }
+
+  public void setLockFailureRate(double lockFailureRate) {
+    this.lockFailureRate = lockFailureRate;
+  }
+
+  public double getRejectedJobsPerSecond() {
+    return rejectedJobsPerSecond;
+  }
+
+  public void setRejectedJobsPerSecond(double rejectedJobsPerSecond) {
+    this.rejectedJobsPerSecond = rejectedJobsPerSecond;
+  }
+
+  public int getIdleLevel() {
+    return idleLevel;
+  }
+
+  public void setIdleLevel(int idleLevel) {
+    this.idleLevel = idleLevel;
+  }
+
+  public int getBackoffLevel() {
+    return backoffLevel;
+  }
+
+  public void setBackoffLevel(int backoffLevel) {
+    this.backoffLevel = backoffLevel;
+  }
+
+  public long getWaitTimeInMillis() {
+    return waitTimeInMillis;
+  }
+
+  public void setWaitTimeInMillis(long waitTimeInMillis) {
+    this.waitTimeInMillis = waitTimeInMillis;
+  }
+
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public void setQueueDepth(int queueDepth) {
+    this.queueDepth = queueDepth;
+  }
+
+  public int getRemainingQueueCapacity() {
+    return remainingQueueCapacity;
+  }
+
+  public void setRemainingQueueCapacity(int remainingQueueCapacity) {
+    this.remainingQueueCapacity = remainingQueueCapacity;
+  }
+
+  public int getActiveThreads() {
+    return activeThreads;
+  }
+
+  public void setActiveThreads(int activeThreads) {
+    this.activeThreads = activeThreads;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  public long getDueJobBacklog() {
+    return dueJobBacklog;
+  }
+
+  public void setDueJobBacklog(long dueJobBacklog) {
+    this.dueJobBacklog = dueJobBacklog;
+  }
+
+}
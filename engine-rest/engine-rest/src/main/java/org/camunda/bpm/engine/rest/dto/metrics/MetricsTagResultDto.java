@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+/**
+ * The aggregated result of a tagged meter for a single tag.
+ */
+public class MetricsTagResultDto extends MetricsResultDto {
+
+  protected String tag;
+
+  public MetricsTagResultDto(String tag, Number result) {
+    super(result);
+    this.tag = tag;
+  }
+
+  public MetricsTagResultDto() {
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public void setTag(String tag) {
+    this.tag = tag;
+  }
+
+}
@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandStatistics;
+
+/**
+ * The sql statements executed by the sampled invocations of a command class.
+ */
+public class SqlCommandStatisticsDto {
+
+  protected String commandName;
+  protected long invocations;
+  protected long statements;
+  protected long maxStatements;
+  protected long rows;
+  protected long durationInMicros;
+
+  public static SqlCommandStatisticsDto fromStatistics(SqlCommandStatistics statistics) {
+    SqlCommandStatisticsDto dto = new SqlCommandStatisticsDto();
+    dto.commandName = statistics.getCommandName();
+    dto.invocations = statistics.getInvocations();
+    dto.statements = statistics.getStatements();
+    dto.maxStatements = statistics.getMaxStatements();
+    dto.rows = statistics.getRows();
+    dto.durationInMicros = statistics.getDurationInMicros();
+    return dto;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public void setInvocations(long invocations) {
+    this.invocations = invocations;
+  }
+
+  public long getStatements() {
+    return statements;
+  }
+
+  public void setStatements(long statements) {
+    this.statements = statements;
+  }
+
+  public long getMaxStatements() {
+    return maxStatements;
+  }
+
+  public void setMaxStatements(long maxStatements) {
+    this.maxStatements = maxStatements;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public void setRows(long rows) {
+    this.rows = rows;
+  }
+
+  public long getDurationInMicros() {
+    return durationInMicros;
+  }
+
+  public void setDurationInMicros(long durationInMicros) {
+    this.durationInMicros = durationInMicros;
+  }
+
+}
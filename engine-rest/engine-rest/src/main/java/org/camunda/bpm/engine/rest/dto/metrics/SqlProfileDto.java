@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandStatistics;
+import org.camunda.bpm.engine.impl.db.profiling.SqlNPlusOnePattern;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementExecution;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+
+/**
+ * The sql statements profiled by the {@link SqlStatementProfiler} of a process engine.
+ */
+public class SqlProfileDto {
+
+  protected List<SqlCommandStatisticsDto> commands;
+  protected List<SqlStatementExecutionDto> slowestStatements;
+  protected List<SqlRepeatedSelectDto> repeatedSelects;
+
+  public static SqlProfileDto fromProfiler(SqlStatementProfiler profiler, int maxResults) {
+    SqlProfileDto dto = new SqlProfileDto();
+
+    dto.commands = new ArrayList<SqlCommandStatisticsDto>();
+    for (SqlCommandStatistics statistics : profiler.getCommandStatistics()) {
+      dto.commands.add(SqlCommandStatisticsDto.fromStatistics(statistics));
+    }
+
+    dto.slowestStatements = new ArrayList<SqlStatementExecutionDto>();
+    for (SqlStatementExecution execution : profiler.getSlowestStatements(maxResults)) {
+      dto.slowestStatements.add(SqlStatementExecutionDto.fromExecution(execution));
+    }
+
+    dto.repeatedSelects = new ArrayList<SqlRepeatedSelectDto>();
+    for (SqlNPlusOnePattern pattern : profiler.getNPlusOnePatterns()) {
+      dto.repeatedSelects.add(SqlRepeatedSelectDto.fromPattern(pattern));
+    }
+
+    return dto;
+  }
+
+  public List<SqlCommandStatisticsDto> getCommands() {
+    return commands;
+  }
+
+  public void setCommands(List<SqlCommandStatisticsDto> commands) {
+    this.commands = commands;
+  }
+
+  public List<SqlStatementExecutionDto> getSlowestStatements() {
+    return slowestStatements;
+  }
+
+  public void setSlowestStatements(List<SqlStatementExecutionDto> slowestStatements) {
+    this.slowestStatements = slowestStatements;
+  }
+
+  /**
+   * @return the select statements which are executed repeatedly within a single command (N+1 patterns)
+   */
+  public List<SqlRepeatedSelectDto> getRepeatedSelects() {
+    return repeatedSelects;
+  }
+
+  public void setRepeatedSelects(List<SqlRepeatedSelectDto> repeatedSelects) {
+    this.repeatedSelects = repeatedSelects;
+  }
+
+}
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlNPlusOnePattern;
+
+/**
+ * A select statement which is executed repeatedly within a single command (N+1 pattern).
+ */
+public class SqlRepeatedSelectDto {
+
+  protected String commandName;
+  protected String statement;
+  protected long occurrences;
+  protected long maxExecutions;
+
+  public static SqlRepeatedSelectDto fromPattern(SqlNPlusOnePattern pattern) {
+    SqlRepeatedSelectDto dto = new SqlRepeatedSelectDto();
+    dto.commandName = pattern.getCommandName();
+    dto.statement = pattern.getStatement();
+    dto.occurrences = pattern.getOccurrences();
+    dto.maxExecutions = pattern.getMaxExecutions();
+    return dto;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public String getStatement() {
+    return statement;
+  }
+
+  public void setStatement(String statement) {
+    this.statement = statement;
+  }
+
+  public long getOccurrences() {
+    return occurrences;
+  }
+
+  public void setOccurrences(long occurrences) {
+    this.occurrences = occurrences;
+  }
+
+  public long getMaxExecutions() {
+    return maxExecutions;
+  }
+
+  public void setMaxExecutions(long maxExecutions) {
+    this.maxExecutions = maxExecutions;
+  }
+
+}
@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementExecution;
+
+/**
+ * A sampled execution of a sql statement.
+ */
+public class SqlStatementExecutionDto {
+
+  protected String commandName;
+  protected String statement;
+  protected long durationInMicros;
+  protected int rows;
+  protected Date timestamp;
+
+  public static SqlStatementExecutionDto fromExecution(SqlStatementExecution execution) {
+    SqlStatementExecutionDto dto = new SqlStatementExecutionDto();
+    dto.commandName = execution.getCommandName();
+    dto.statement = execution.getStatement();
+    dto.durationInMicros = execution.getDurationInMicros();
+    dto.rows = execution.getRows();
+    dto.timestamp = new Date(execution.getTimestamp());
+    return dto;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public String getStatement() {
+    return statement;
+  }
+
+  public void setStatement(String statement) {
+    this.statement = statement;
+  }
+
+  public long getDurationInMicros() {
+    return durationInMicros;
+  }
+
+  public void setDurationInMicros(long durationInMicros) {
+    this.durationInMicros = durationInMicros;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public void setRows(int rows) {
+    this.rows = rows;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+}
@@ -12,9 +12,31 @@
  */
 package org.camunda.bpm.engine.rest.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.MetricsRestService;
+import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
+import org.camunda.bpm.engine.rest.dto.converter.IntegerConverter;
+import org.camunda.bpm.engine.rest.dto.converter.LongConverter;
+import org.camunda.bpm.engine.rest.dto.metrics.JobExecutorHealthDto;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
+import org.camunda.bpm.engine.rest.dto.metrics.SqlProfileDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResourceImpl;
+import org.camunda.bpm.engine.rest.sub.metrics.PrometheusTextFormatWriter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -24,6 +46,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware implements MetricsRestService {
 
+  public static final int DEFAULT_SQL_PROFILE_MAX_RESULTS = 10;
+
   public MetricsRestServiceImpl(String engineName, ObjectMapper objectMapper) {
     super(engineName, objectMapper);
   }
@@ -32,4 +56,115 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return new MetricsResourceImpl(name, processEngine, objectMapper);
   }
 
+  public List<MetricsIntervalResultDto> interval(UriInfo uriInfo) {
+    MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+    MetricsQuery query = processEngine.getManagementService()
+      .createMetricsQuery();
+
+    DateConverter dateConverter = new DateConverter();
+    dateConverter.setObjectMapper(objectMapper);
+    IntegerConverter intConverter = new IntegerConverter();
+    intConverter.setObjectMapper(objectMapper);
+    LongConverter longConverter = new LongConverter();
+    longConverter.setObjectMapper(objectMapper);
+
+    if (queryParameters.getFirst("name") != null) {
+      query.name(queryParameters.getFirst("name"));
+    }
+    if (queryParameters.getFirst("reporter") != null) {
+      query.reporter(queryParameters.getFirst("reporter"));
+    }
+    if (queryParameters.getFirst("startDate") != null) {
+      query.startDate(dateConverter.convertQueryParameterToType(queryParameters.getFirst("startDate")));
+    }
+    if (queryParameters.getFirst("endDate") != null) {
+      query.endDate(dateConverter.convertQueryParameterToType(queryParameters.getFirst("endDate")));
+    }
+    if (queryParameters.getFirst("firstResult") != null) {
+      int firstResult = intConverter.convertQueryParameterToType(queryParameters.getFirst("firstResult"));
+      if (firstResult < 0) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'firstResult' must not be negative.");
+      }
+      query.offset(firstResult);
+    }
+    if (queryParameters.getFirst("maxResults") != null) {
+      int maxResults = intConverter.convertQueryParameterToType(queryParameters.getFirst("maxResults"));
+      if (maxResults <= 0) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'maxResults' must be greater than 0.");
+      }
+      query.limit(maxResults);
+    }
+
+    List<MetricIntervalValue> intervalValues;
+    if (queryParameters.getFirst("interval") != null) {
+      long interval = longConverter.convertQueryParameterToType(queryParameters.getFirst("interval"));
+      if (interval <= 0) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'interval' must be greater than 0.");
+      }
+      intervalValues = query.interval(interval);
+    }
+    else {
+      intervalValues = query.interval();
+    }
+
+    List<MetricsIntervalResultDto> result = new ArrayList<MetricsIntervalResultDto>();
+    for (MetricIntervalValue intervalValue : intervalValues) {
+      result.add(new MetricsIntervalResultDto(intervalValue));
+    }
+    return result;
+  }
+
+  public String getPrometheusMetrics() {
+    MetricsRegistry metricsRegistry = null;
+
+    ProcessEngineConfiguration configuration = processEngine.getProcessEngineConfiguration();
+    if (configuration instanceof ProcessEngineConfigurationImpl) {
+      metricsRegistry = ((ProcessEngineConfigurationImpl) configuration).getMetricsRegistry();
+    }
+
+    if (metricsRegistry == null) {
+      throw new InvalidRequestException(Status.NOT_FOUND, "Metrics are not enabled for process engine " + processEngine.getName());
+    }
+
+    return new PrometheusTextFormatWriter(processEngine.getName())
+      .write(metricsRegistry.snapshot());
+  }
+
+  public SqlProfileDto getSqlProfile(Integer maxResults) {
+    SqlStatementProfiler profiler = null;
+
+    ProcessEngineConfiguration configuration = processEngine.getProcessEngineConfiguration();
+    if (configuration instanceof ProcessEngineConfigurationImpl) {
+      profiler = ((ProcessEngineConfigurationImpl) configuration).getSqlStatementProfiler();
+    }
+
+    if (profiler == null || !profiler.isEnabled()) {
+      throw new InvalidRequestException(Status.NOT_FOUND, "Sql statement profiling is not enabled for process engine " + processEngine.getName());
+    }
+
+    if (maxResults == null) {
+      maxResults = DEFAULT_SQL_PROFILE_MAX_RESULTS;
+    }
+    else if (maxResults <= 0) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'maxResults' must be greater than 0.");
+    }
+
+    return SqlProfileDto.fromProfiler(profiler, maxResults);
+  }
+
+  public JobExecutorHealthDto getJobExecutorHealth() {
+    JobExecutor jobExecutor = null;
+
+    ProcessEngineConfiguration configuration = processEngine.getProcessEngineConfiguration();
+    if (configuration instanceof ProcessEngineConfigurationImpl) {
+      jobExecutor = ((ProcessEngineConfigurationImpl) configuration).getJobExecutor();
+    }
+
+    if (jobExecutor == null) {
+      throw new InvalidRequestException(Status.NOT_FOUND, "There is no job executor for process engine " + processEngine.getName());
+    }
+
+    return JobExecutorHealthDto.fromHealth(jobExecutor.getHealth(processEngine.getName()));
+  }
+
 }
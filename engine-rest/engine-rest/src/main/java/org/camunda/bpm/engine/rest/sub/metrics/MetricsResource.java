@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.rest.sub.metrics;
 
+import java.util.List;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -20,6 +22,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsTagResultDto;
 
 /**
  * @author Daniel Meyer
@@ -32,4 +35,14 @@ public interface MetricsResource {
   @Path("/sum")
   MetricsResultDto sum(@Context UriInfo uriInfo);
 
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/sum-by-tag")
+  List<MetricsTagResultDto> sumByTag(@Context UriInfo uriInfo);
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/percentile")
+  MetricsResultDto percentile(@Context UriInfo uriInfo);
+
 }
@@ -12,15 +12,22 @@
  */
 package org.camunda.bpm.engine.rest.sub.metrics;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
+import org.camunda.bpm.engine.rest.dto.converter.DoubleConverter;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricsTagResultDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -50,6 +57,42 @@ public class MetricsResourceImpl implements MetricsResource {
     return new MetricsResultDto(query.sum());
   }
 
+  public List<MetricsTagResultDto> sumByTag(UriInfo uriInfo) {
+    MetricsQuery query = processEngine.getManagementService()
+      .createMetricsQuery()
+      .name(metricsName);
+
+    applyQueryParams(query, uriInfo);
+
+    List<MetricsTagResultDto> result = new ArrayList<MetricsTagResultDto>();
+    for (Map.Entry<String, Long> tag : query.sumByTag().entrySet()) {
+      result.add(new MetricsTagResultDto(tag.getKey(), tag.getValue()));
+    }
+    return result;
+  }
+
+  public MetricsResultDto percentile(UriInfo uriInfo) {
+    String percentileParam = uriInfo.getQueryParameters().getFirst("percentile");
+    if (percentileParam == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'percentile' is required.");
+    }
+
+    DoubleConverter doubleConverter = new DoubleConverter();
+    doubleConverter.setObjectMapper(objectMapper);
+    double percentile = doubleConverter.convertQueryParameterToType(percentileParam);
+    if (percentile <= 0 || percentile > 100) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Query parameter 'percentile' must be greater than 0 and less than or equal to 100.");
+    }
+
+    MetricsQuery query = processEngine.getManagementService()
+      .createMetricsQuery()
+      .name(metricsName);
+
+    applyQueryParams(query, uriInfo);
+
+    return new MetricsResultDto(query.percentile(percentile));
+  }
+
   protected void applyQueryParams(MetricsQuery query, UriInfo uriInfo) {
     MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
 
@@ -65,6 +108,10 @@ public class MetricsResourceImpl implements MetricsResource {
       Date endDate = dateConverter.convertQueryParameterToType(queryParameters.getFirst("endDate"));
       query.endDate(endDate);
     }
+
+    if(queryParameters.getFirst("tag") != null) {
+      query.tag(queryParameters.getFirst("tag"));
+    }
   }
 
 }
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.sub.metrics;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsSnapshot;
+
+/**
+ * Writes a {@link MetricsSnapshot} in the Prometheus text exposition format (version 0.0.4).
+ *
+ * <ul>
+ *   <li>meters are written as counters <code>camunda_&lt;name&gt;_total</code></li>
+ *   <li>tagged meters are written as counters <code>camunda_&lt;name&gt;_by_tag_total</code>
+ *     with one label per key of the tag</li>
+ *   <li>gauges are written as gauges <code>camunda_&lt;name&gt;</code></li>
+ *   <li>histograms are written as summaries <code>camunda_&lt;name&gt;</code> with the
+ *     quantiles computed from the histogram buckets and the count of recorded values</li>
+ * </ul>
+ *
+ * Every sample is labeled with the name of the process engine.
+ */
+public class PrometheusTextFormatWriter {
+
+  public static final String PREFIX = "camunda_";
+
+  protected static final double[] QUANTILES = { 0.5, 0.95, 0.99 };
+
+  protected String engineName;
+
+  public PrometheusTextFormatWriter(String engineName) {
+    this.engineName = engineName;
+  }
+
+  public String write(MetricsSnapshot snapshot) {
+    StringBuilder writer = new StringBuilder();
+
+    for (Entry<String, Long> counter : snapshot.getCounters().entrySet()) {
+      String name = metricName(counter.getKey()) + "_total";
+      writeType(writer, name, "counter");
+      writeSample(writer, name, null, counter.getValue());
+    }
+
+    for (Entry<String, Map<String, Long>> taggedCounter : snapshot.getTaggedCounters().entrySet()) {
+      String name = metricName(taggedCounter.getKey()) + "_by_tag_total";
+      writeType(writer, name, "counter");
+      for (Entry<String, Long> tag : taggedCounter.getValue().entrySet()) {
+        writeSample(writer, name, tagLabels(tag.getKey()), tag.getValue());
+      }
+    }
+
+    for (Entry<String, Long> gauge : snapshot.getGauges().entrySet()) {
+      String name = metricName(gauge.getKey());
+      writeType(writer, name, "gauge");
+      writeSample(writer, name, null, gauge.getValue());
+    }
+
+    for (String histogram : snapshot.getHistograms().keySet()) {
+      String name = metricName(histogram);
+      writeType(writer, name, "summary");
+      for (double quantile : QUANTILES) {
+        String label = "quantile=\"" + quantile + "\"";
+        writeSample(writer, name, label, snapshot.getHistogramValueAtPercentile(histogram, quantile * 100));
+      }
+      writeSample(writer, name + "_count", null, snapshot.getHistogramCount(histogram));
+    }
+
+    return writer.toString();
+  }
+
+  protected void writeType(StringBuilder writer, String name, String type) {
+    writer.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  protected void writeSample(StringBuilder writer, String name, String labels, long value) {
+    writer.append(name)
+      .append("{engine=\"").append(escapeLabelValue(engineName)).append('"');
+    if (labels != null) {
+      writer.append(',').append(labels);
+    }
+    writer.append("} ").append(value).append('\n');
+  }
+
+  /**
+   * Converts a tag of the form <code>key1=value1,key2=value2</code> into labels.
+   * A tag which is not of this form, e.g. the overflow tag, is written as label <code>tag</code>.
+   */
+  protected String tagLabels(String tag) {
+    StringBuilder labels = new StringBuilder();
+    for (String keyAndValue : tag.split(",")) {
+      int separator = keyAndValue.indexOf('=');
+      if (labels.length() > 0) {
+        labels.append(',');
+      }
+      if (separator > 0) {
+        labels.append(labelName(keyAndValue.substring(0, separator)))
+          .append("=\"").append(escapeLabelValue(keyAndValue.substring(separator + 1))).append('"');
+      }
+      else {
+        labels.append("tag=\"").append(escapeLabelValue(keyAndValue)).append('"');
+      }
+    }
+    return labels.toString();
+  }
+
+  protected String metricName(String name) {
+    return PREFIX + name.replaceAll("[^a-zA-Z0-9_]", "_");
+  }
+
+  protected String labelName(String name) {
+    return name.replaceAll("[^a-zA-Z0-9_]", "_");
+  }
+
+  protected String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+}
@@ -16,17 +16,30 @@ package org.camunda.bpm.engine.rest;
 import static org.hamcrest.Matchers.*;
 import static com.jayway.restassured.RestAssured.given;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandProfile;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorHealth;
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -35,6 +48,8 @@ import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import com.jayway.restassured.http.ContentType;
+
 /**
  * @author Daniel Meyer
  */
@@ -46,6 +61,11 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String PERCENTILE_URL = SINGLE_METER_URL + "/percentile";
+  public static final String SUM_BY_TAG_URL = SINGLE_METER_URL + "/sum-by-tag";
+  public static final String PROMETHEUS_URL = METRICS_URL + "/prometheus";
+  public static final String SQL_PROFILE_URL = METRICS_URL + "/sql-profile";
+  public static final String JOB_EXECUTOR_HEALTH_URL = METRICS_URL + "/job-executor";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -116,5 +136,311 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
 
   }
 
+  @Test
+  public void testGetSumWithTag() {
+
+    when(meterQueryMock.sum()).thenReturn(10l);
+
+    given()
+      .pathParam("name", Metrics.JOB_SUCCESSFUL)
+      .queryParam("tag", "processDefinitionKey=invoice")
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("result", equalTo(10))
+     .when()
+      .get(SUM_URL);
+
+    verify(meterQueryMock).name(Metrics.JOB_SUCCESSFUL);
+    verify(meterQueryMock).tag("processDefinitionKey=invoice");
+    verify(meterQueryMock, times(1)).sum();
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetSumByTag() {
+
+    when(meterQueryMock.sumByTag()).thenReturn(Collections.singletonMap("processDefinitionKey=invoice", 10l));
+
+    given()
+      .pathParam("name", Metrics.JOB_SUCCESSFUL)
+      .queryParam("startDate", MockProvider.EXAMPLE_METRICS_START_DATE)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(1))
+      .body("[0].tag", equalTo("processDefinitionKey=invoice"))
+      .body("[0].result", equalTo(10))
+     .when()
+      .get(SUM_BY_TAG_URL);
+
+    verify(meterQueryMock).name(Metrics.JOB_SUCCESSFUL);
+    verify(meterQueryMock).startDate(any(Date.class));
+    verify(meterQueryMock, times(1)).sumByTag();
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetPercentile() {
+
+    when(meterQueryMock.percentile(99.0)).thenReturn(1023l);
+
+    given()
+      .pathParam("name", Metrics.COMMAND_DURATION)
+      .queryParam("percentile", "99")
+      .queryParam("startDate", MockProvider.EXAMPLE_METRICS_START_DATE)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("result", equalTo(1023))
+     .when()
+      .get(PERCENTILE_URL);
+
+    verify(meterQueryMock).name(Metrics.COMMAND_DURATION);
+    verify(meterQueryMock).startDate(any(Date.class));
+    verify(meterQueryMock, times(1)).percentile(99.0);
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetPercentileWithoutPercentile() {
+
+    given()
+      .pathParam("name", Metrics.COMMAND_DURATION)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+     .when()
+      .get(PERCENTILE_URL);
+
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetPercentileOutOfRange() {
+
+    given()
+      .pathParam("name", Metrics.COMMAND_DURATION)
+      .queryParam("percentile", "101")
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+     .when()
+      .get(PERCENTILE_URL);
+
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetInterval() {
+    MetricIntervalValue intervalValue = mock(MetricIntervalValue.class);
+    when(intervalValue.getName()).thenReturn(Metrics.ACTIVTY_INSTANCE_START);
+    when(intervalValue.getReporter()).thenReturn("aReporter");
+    when(intervalValue.getTimestamp()).thenReturn(new Date(0));
+    when(intervalValue.getValue()).thenReturn(10l);
+    List<MetricIntervalValue> intervalValues = Collections.singletonList(intervalValue);
+    when(meterQueryMock.interval(anyLong())).thenReturn(intervalValues);
+
+    given()
+      .queryParam("name", Metrics.ACTIVTY_INSTANCE_START)
+      .queryParam("reporter", "aReporter")
+      .queryParam("startDate", MockProvider.EXAMPLE_METRICS_START_DATE)
+      .queryParam("interval", "3600")
+      .queryParam("firstResult", "10")
+      .queryParam("maxResults", "20")
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(1))
+      .body("[0].name", equalTo(Metrics.ACTIVTY_INSTANCE_START))
+      .body("[0].reporter", equalTo("aReporter"))
+      .body("[0].value", equalTo(10))
+     .when()
+      .get(METRICS_URL);
+
+    verify(meterQueryMock).name(Metrics.ACTIVTY_INSTANCE_START);
+    verify(meterQueryMock).reporter("aReporter");
+    verify(meterQueryMock).startDate(any(Date.class));
+    verify(meterQueryMock).offset(10);
+    verify(meterQueryMock).limit(20);
+    verify(meterQueryMock).interval(3600);
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetIntervalWithDefaultInterval() {
+    List<MetricIntervalValue> intervalValues = Collections.emptyList();
+    when(meterQueryMock.interval()).thenReturn(intervalValues);
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(0))
+     .when()
+      .get(METRICS_URL);
+
+    verify(meterQueryMock).interval();
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetIntervalWithInvalidInterval() {
+
+    given()
+      .queryParam("interval", "0")
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+     .when()
+      .get(METRICS_URL);
+
+    verifyNoMoreInteractions(meterQueryMock);
+  }
+
+  @Test
+  public void testGetPrometheusMetrics() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
+    metricsRegistry.markOccurrence(Metrics.JOB_SUCCESSFUL, 3);
+    metricsRegistry.createTaggedMeter(Metrics.JOB_SUCCESSFUL, 10);
+    metricsRegistry.markTaggedOccurrence(Metrics.JOB_SUCCESSFUL, "processDefinitionKey=invoice,tenantId=\"a\"");
+    metricsRegistry.createHistogram(Metrics.COMMAND_DURATION);
+    metricsRegistry.recordValue(Metrics.COMMAND_DURATION, 5);
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_QUEUE_SIZE, new Gauge() {
+      public long getValue() {
+        return 7;
+      }
+    });
+
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(configurationMock.getMetricsRegistry()).thenReturn(metricsRegistry);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .contentType(ContentType.TEXT)
+      .body(containsString("# TYPE camunda_job_successful_total counter\n"))
+      .body(containsString("camunda_job_successful_total{engine=\"default\"} 3\n"))
+      .body(containsString("camunda_job_successful_by_tag_total{engine=\"default\",processDefinitionKey=\"invoice\",tenantId=\"\\\"a\\\"\"} 1\n"))
+      .body(containsString("# TYPE camunda_job_executor_queue_size gauge\n"))
+      .body(containsString("camunda_job_executor_queue_size{engine=\"default\"} 7\n"))
+      .body(containsString("# TYPE camunda_command_duration summary\n"))
+      .body(containsString("camunda_command_duration_count{engine=\"default\"} 1\n"))
+    .when()
+      .get(PROMETHEUS_URL);
+  }
+
+  @Test
+  public void testGetPrometheusMetricsDisabled() {
+    ProcessEngineConfiguration configurationMock = mock(ProcessEngineConfiguration.class);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(PROMETHEUS_URL);
+  }
+
+  @Test
+  public void testGetSqlProfile() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 1, 100, 3);
+    SqlCommandProfile profile = new SqlCommandProfile("GetVariablesCmd", 100);
+    for (int i = 0; i < 3; i++) {
+      profile.selectExecuted("selectVariablesByExecutionId", 1000000, 2);
+    }
+    profile.statementExecuted("updateExecution", 5000000, 1);
+    profiler.endProfile(profile);
+
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(configurationMock.getSqlStatementProfiler()).thenReturn(profiler);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+      .queryParam("maxResults", 2)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("commands.size()", is(1))
+      .body("commands[0].commandName", is("GetVariablesCmd"))
+      .body("commands[0].invocations", is(1))
+      .body("commands[0].statements", is(4))
+      .body("commands[0].rows", is(7))
+      .body("commands[0].durationInMicros", is(8000))
+      .body("slowestStatements.size()", is(2))
+      .body("slowestStatements[0].statement", is("updateExecution"))
+      .body("slowestStatements[0].durationInMicros", is(5000))
+      .body("repeatedSelects.size()", is(1))
+      .body("repeatedSelects[0].statement", is("selectVariablesByExecutionId"))
+      .body("repeatedSelects[0].maxExecutions", is(3))
+    .when()
+      .get(SQL_PROFILE_URL);
+  }
+
+  @Test
+  public void testGetSqlProfileDisabled() {
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(configurationMock.getSqlStatementProfiler()).thenReturn(new SqlStatementProfiler(false, 1, 100, 3));
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(SQL_PROFILE_URL);
+  }
+
+  @Test
+  public void testGetSqlProfileWithInvalidMaxResults() {
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(configurationMock.getSqlStatementProfiler()).thenReturn(new SqlStatementProfiler(true, 1, 100, 3));
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+      .queryParam("maxResults", 0)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+    .when()
+      .get(SQL_PROFILE_URL);
+  }
+
+  @Test
+  public void testGetJobExecutorHealth() {
+    JobExecutorHealth health = new JobExecutorHealth();
+    health.setProcessEngineName("default");
+    health.setActive(true);
+    health.setAcquiredJobsPerSecond(2.5);
+    health.setLockFailureRate(0.25);
+    health.setBackoffLevel(2);
+    health.setQueueDepth(3);
+    health.setActiveThreads(10);
+    health.setDueJobBacklog(42);
+
+    JobExecutor jobExecutorMock = mock(JobExecutor.class);
+    when(jobExecutorMock.getHealth(anyString())).thenReturn(health);
+
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(configurationMock.getJobExecutor()).thenReturn(jobExecutorMock);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("processEngineName", is("default"))
+      .body("active", is(true))
+      .body("acquiredJobsPerSecond", is(2.5f))
+      .body("lockFailureRate", is(0.25f))
+      .body("backoffLevel", is(2))
+      .body("queueDepth", is(3))
+      .body("activeThreads", is(10))
+      .body("dueJobBacklog", is(42))
+    .when()
+      .get(JOB_EXECUTOR_HEALTH_URL);
+  }
+
+  @Test
+  public void testGetJobExecutorHealthWithoutJobExecutor() {
+    ProcessEngineConfigurationImpl configurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(configurationMock);
+
+    given()
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(JOB_EXECUTOR_HEALTH_URL);
+  }
 
 }
@@ -45,6 +45,7 @@ public class MockExternalTaskBuilder {
   protected String tenantId;
   protected VariableMap variables = Variables.createVariables();
   protected long priority;
+  protected String traceContext;
 
   public MockExternalTaskBuilder activityId(String activityId) {
     this.activityId = activityId;
@@ -126,6 +127,11 @@ public class MockExternalTaskBuilder {
     return this;
   }
 
+  public MockExternalTaskBuilder traceContext(String traceContext) {
+    this.traceContext = traceContext;
+    return this;
+  }
+
   public ExternalTask buildExternalTask() {
     ExternalTask task = mock(ExternalTask.class);
     when(task.getActivityId()).thenReturn(activityId);
@@ -164,6 +170,7 @@ public class MockExternalTaskBuilder {
     when(task.getTenantId()).thenReturn(tenantId);
     when(task.getVariables()).thenReturn(variables);
     when(task.getPriority()).thenReturn(priority);
+    when(task.getTraceContext()).thenReturn(traceContext);
 
     return task;
 
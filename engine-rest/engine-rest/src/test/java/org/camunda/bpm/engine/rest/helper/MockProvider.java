@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.rest.helper;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -762,6 +763,7 @@ public abstract class MockProvider {
   public static final String EXTERNAL_TASK_TOPIC_NAME = "aTopic";
   public static final String EXTERNAL_TASK_WORKER_ID = "aWorkerId";
   public static final long EXTERNAL_TASK_PRIORITY = Integer.MAX_VALUE + 466L;
+  public static final String EXTERNAL_TASK_TRACE_CONTEXT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
 
   // batch
   public static final String EXAMPLE_BATCH_ID = "aBatchId";
@@ -2347,6 +2349,10 @@ public abstract class MockProvider {
     when(query.name(anyString())).thenReturn(query);
     when(query.startDate(any(Date.class))).thenReturn(query);
     when(query.endDate(any(Date.class))).thenReturn(query);
+    when(query.tag(anyString())).thenReturn(query);
+    when(query.reporter(anyString())).thenReturn(query);
+    when(query.offset(anyInt())).thenReturn(query);
+    when(query.limit(anyInt())).thenReturn(query);
 
     return query;
 
@@ -2573,6 +2579,7 @@ public abstract class MockProvider {
 
   public static LockedExternalTask createMockLockedExternalTask() {
     return mockExternalTask()
+      .traceContext(EXTERNAL_TASK_TRACE_CONTEXT)
       .variable(EXAMPLE_VARIABLE_INSTANCE_NAME, EXAMPLE_PRIMITIVE_VARIABLE_VALUE)
       .buildLockedExternalTask();
   }
@@ -484,6 +484,7 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
     Map<String, String> parameters = new HashMap<String, String>();
 
     parameters.put("activityInstanceId", MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_ID);
+    parameters.put("activityInstanceIdAfter", "anActivityInstanceId");
     parameters.put("processInstanceId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
     parameters.put("processDefinitionId", MockProvider.EXAMPLE_PROCESS_DEFINITION_ID);
     parameters.put("executionId", MockProvider.EXAMPLE_EXECUTION_ID);
@@ -508,6 +509,7 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
     Map<String, String> stringQueryParameters = getCompleteStringQueryParameters();
 
     verify(mockedQuery).activityInstanceId(stringQueryParameters.get("activityInstanceId"));
+    verify(mockedQuery).activityInstanceIdAfter(stringQueryParameters.get("activityInstanceIdAfter"));
     verify(mockedQuery).processInstanceId(stringQueryParameters.get("processInstanceId"));
     verify(mockedQuery).processDefinitionId(stringQueryParameters.get("processDefinitionId"));
     verify(mockedQuery).executionId(stringQueryParameters.get("executionId"));
@@ -660,6 +662,34 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
     Assert.assertNull(returnedActivityEndTime);
   }
 
+  @Test
+  public void testStartTimeAndIdAfterQuery() {
+    given()
+      .queryParam("startTimeAndIdAfterStartTime", MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_STARTED_AFTER)
+      .queryParam("startTimeAndIdAfterId", "anActivityInstanceId")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).startTimeAndIdAfter(DateTimeUtil.parseDate(MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_STARTED_AFTER), "anActivityInstanceId");
+  }
+
+  @Test
+  public void testStartTimeAndIdAfterQueryWithoutId() {
+    given()
+      .queryParam("startTimeAndIdAfterStartTime", MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_STARTED_AFTER)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("Both startTimeAndIdAfterStartTime and startTimeAndIdAfterId have to be specified"))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+  }
+
   @Test
   public void testHistoricBeforeAndAfterStartTimeQuery() {
     given()
@@ -434,6 +434,7 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     Map<String, String> parameters = new HashMap<String, String>();
 
     parameters.put("processInstanceId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    parameters.put("processInstanceIdAfter", "aProcessInstanceId");
     parameters.put("processInstanceBusinessKey", MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY);
     parameters.put("processInstanceBusinessKeyLike", MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY_LIKE);
     parameters.put("processDefinitionId", MockProvider.EXAMPLE_PROCESS_DEFINITION_ID);
@@ -454,6 +455,7 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     Map<String, String> stringQueryParameters = getCompleteStringQueryParameters();
 
     verify(mockedQuery).processInstanceId(stringQueryParameters.get("processInstanceId"));
+    verify(mockedQuery).processInstanceIdAfter(stringQueryParameters.get("processInstanceIdAfter"));
     verify(mockedQuery).processInstanceBusinessKey(stringQueryParameters.get("processInstanceBusinessKey"));
     verify(mockedQuery).processInstanceBusinessKeyLike(stringQueryParameters.get("processInstanceBusinessKeyLike"));
     verify(mockedQuery).processDefinitionId(stringQueryParameters.get("processDefinitionId"));
@@ -470,6 +472,34 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     verify(mockedQuery).list();
   }
 
+  @Test
+  public void testStartTimeAndIdAfterQuery() {
+    given()
+      .queryParam("startTimeAndIdAfterStartTime", MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_STARTED_AFTER)
+      .queryParam("startTimeAndIdAfterId", "aProcessInstanceId")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).startTimeAndIdAfter(DateTimeUtil.parseDate(MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_STARTED_AFTER), "aProcessInstanceId");
+  }
+
+  @Test
+  public void testStartTimeAndIdAfterQueryWithoutId() {
+    given()
+      .queryParam("startTimeAndIdAfterStartTime", MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_STARTED_AFTER)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("Both startTimeAndIdAfterStartTime and startTimeAndIdAfterId have to be specified"))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
   @Test
   public void testHistoricBeforeAndAfterStartTimeQuery() {
     given()
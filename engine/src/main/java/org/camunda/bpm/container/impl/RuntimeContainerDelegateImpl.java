@@ -38,12 +38,18 @@ import org.camunda.bpm.container.impl.deployment.StartProcessApplicationServiceS
 import org.camunda.bpm.container.impl.deployment.StopProcessApplicationServiceStep;
 import org.camunda.bpm.container.impl.deployment.UndeployProcessArchivesStep;
 import org.camunda.bpm.container.impl.jmx.MBeanServiceContainer;
+import org.camunda.bpm.container.impl.jmx.services.JmxManagedMetrics;
 import org.camunda.bpm.container.impl.jmx.services.JmxManagedProcessApplication;
 import org.camunda.bpm.container.impl.jmx.services.JmxManagedProcessEngine;
+import org.camunda.bpm.container.impl.jmx.services.JmxManagedSqlStatementProfiler;
 import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
 import org.camunda.bpm.container.impl.spi.ServiceTypes;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 
 /**
  * <p>This is the default {@link RuntimeContainerDelegate} implementation that delegates
@@ -75,6 +81,18 @@ public class RuntimeContainerDelegateImpl implements RuntimeContainerDelegate, P
     JmxManagedProcessEngine managedProcessEngine = new JmxManagedProcessEngine(processEngine);
     serviceContainer.startService(ServiceTypes.PROCESS_ENGINE, processEngineName, managedProcessEngine);
 
+    MetricsRegistry metricsRegistry = getMetricsRegistry(processEngine);
+    if (metricsRegistry != null) {
+      JmxManagedMetrics managedMetrics = new JmxManagedMetrics(metricsRegistry);
+      serviceContainer.startService(ServiceTypes.METRICS, processEngineName, managedMetrics);
+    }
+
+    SqlStatementProfiler sqlStatementProfiler = getSqlStatementProfiler(processEngine);
+    if (sqlStatementProfiler != null) {
+      JmxManagedSqlStatementProfiler managedProfiler = new JmxManagedSqlStatementProfiler(sqlStatementProfiler);
+      serviceContainer.startService(ServiceTypes.SQL_PROFILER, processEngineName, managedProfiler);
+    }
+
   }
 
   @Override
@@ -83,6 +101,34 @@ public class RuntimeContainerDelegateImpl implements RuntimeContainerDelegate, P
 
     serviceContainer.stopService(ServiceTypes.PROCESS_ENGINE, processEngine.getName());
 
+    if (serviceContainer.getService(ServiceTypes.METRICS, processEngine.getName()) != null) {
+      serviceContainer.stopService(ServiceTypes.METRICS, processEngine.getName());
+    }
+
+    if (serviceContainer.getService(ServiceTypes.SQL_PROFILER, processEngine.getName()) != null) {
+      serviceContainer.stopService(ServiceTypes.SQL_PROFILER, processEngine.getName());
+    }
+
+  }
+
+  protected MetricsRegistry getMetricsRegistry(ProcessEngine processEngine) {
+    ProcessEngineConfiguration configuration = processEngine.getProcessEngineConfiguration();
+    if (configuration instanceof ProcessEngineConfigurationImpl) {
+      return ((ProcessEngineConfigurationImpl) configuration).getMetricsRegistry();
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected SqlStatementProfiler getSqlStatementProfiler(ProcessEngine processEngine) {
+    ProcessEngineConfiguration configuration = processEngine.getProcessEngineConfiguration();
+    if (configuration instanceof ProcessEngineConfigurationImpl) {
+      return ((ProcessEngineConfigurationImpl) configuration).getSqlStatementProfiler();
+    }
+    else {
+      return null;
+    }
   }
 
   @Override
@@ -15,6 +15,7 @@ package org.camunda.bpm.container.impl.jmx.services;
 import org.camunda.bpm.container.impl.spi.PlatformService;
 import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorHealth;
 
 /**
  * @author Daniel Meyer
@@ -89,4 +90,48 @@ public class JmxManagedJobExecutor implements PlatformService<JobExecutor>, JmxM
   public boolean isActive() {
     return jobExecutor.isActive();
   }
+
+  public double getAcquisitionAttemptsPerSecond() {
+    return jobExecutor.getAcquisitionStatistics().getAcquisitionAttemptsPerSecond(null);
+  }
+
+  public double getAcquiredJobsPerSecond() {
+    return jobExecutor.getAcquisitionStatistics().getAcquiredJobsPerSecond(null);
+  }
+
+  public double getLockFailureRate() {
+    return jobExecutor.getAcquisitionStatistics().getLockFailureRate(null);
+  }
+
+  public double getRejectedJobsPerSecond() {
+    return jobExecutor.getAcquisitionStatistics().getRejectedJobsPerSecond(null);
+  }
+
+  public int getIdleLevel() {
+    return jobExecutor.getAcquisitionStatistics().getIdleLevel();
+  }
+
+  public int getBackoffLevel() {
+    return jobExecutor.getAcquisitionStatistics().getBackoffLevel();
+  }
+
+  public long getAcquisitionWaitTimeInMillis() {
+    return jobExecutor.getAcquisitionStatistics().getWaitTimeInMillis();
+  }
+
+  public int getQueueDepth() {
+    JobExecutorHealth health = new JobExecutorHealth();
+    jobExecutor.addExecutionResourcesHealth(health);
+    return health.getQueueDepth();
+  }
+
+  public int getActiveThreads() {
+    JobExecutorHealth health = new JobExecutorHealth();
+    jobExecutor.addExecutionResourcesHealth(health);
+    return health.getActiveThreads();
+  }
+
+  public long getDueJobBacklog() {
+    return jobExecutor.getHealth(null).getDueJobBacklog();
+  }
 }
@@ -45,4 +45,26 @@ public interface JmxManagedJobExecutorMBean {
 
   public boolean isActive();
 
+  // health of the job executor, rates and backlog are summed up over all process engines
+
+  public double getAcquisitionAttemptsPerSecond();
+
+  public double getAcquiredJobsPerSecond();
+
+  public double getLockFailureRate();
+
+  public double getRejectedJobsPerSecond();
+
+  public int getIdleLevel();
+
+  public int getBackoffLevel();
+
+  public long getAcquisitionWaitTimeInMillis();
+
+  public int getQueueDepth();
+
+  public int getActiveThreads();
+
+  public long getDueJobBacklog();
+
 }
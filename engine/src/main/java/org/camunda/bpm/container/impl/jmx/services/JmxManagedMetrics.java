@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.container.impl.jmx.services;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.container.impl.jmx.MBeanServiceContainer;
+import org.camunda.bpm.container.impl.spi.PlatformService;
+import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.MetricsSnapshot;
+
+/**
+ * <p>Represents the metrics of a process engine managed by the {@link MBeanServiceContainer}</p>
+ *
+ */
+public class JmxManagedMetrics implements PlatformService<MetricsRegistry>, JmxManagedMetricsMBean {
+
+  protected MetricsRegistry metricsRegistry;
+
+  public JmxManagedMetrics(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public void start(PlatformServiceContainer mBeanServiceContainer) {
+    // this one has no lifecycle support
+  }
+
+  public void stop(PlatformServiceContainer mBeanServiceContainer) {
+    // this one has no lifecycle support
+  }
+
+  public MetricsRegistry getValue() {
+    return metricsRegistry;
+  }
+
+  public Map<String, Long> getCounters() {
+    return metricsRegistry.snapshot().getCounters();
+  }
+
+  public Map<String, Map<String, Long>> getTaggedCounters() {
+    return metricsRegistry.snapshot().getTaggedCounters();
+  }
+
+  public Map<String, Long> getGauges() {
+    return metricsRegistry.snapshot().getGauges();
+  }
+
+  public Map<String, Long> getHistogramCounts() {
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+
+    Map<String, Long> histogramCounts = new HashMap<String, Long>();
+    for (String histogramName : snapshot.getHistograms().keySet()) {
+      histogramCounts.put(histogramName, snapshot.getHistogramCount(histogramName));
+    }
+    return histogramCounts;
+  }
+
+  public long getValueAtPercentile(String histogramName, double percentile) {
+    return metricsRegistry.snapshot().getHistogramValueAtPercentile(histogramName, percentile);
+  }
+
+}
@@ -0,0 +1,52 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.container.impl.jmx.services;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngine;
+
+/**
+ * An MBean interface for the metrics of a {@link ProcessEngine}. All values are read
+ * when they are requested; counters are totals since the process engine was started.
+ *
+ */
+public interface JmxManagedMetricsMBean {
+
+  /**
+   * @return the total count by meter name
+   */
+  public Map<String, Long> getCounters();
+
+  /**
+   * @return the total counts by tag by meter name
+   */
+  public Map<String, Map<String, Long>> getTaggedCounters();
+
+  /**
+   * @return the current value by gauge name
+   */
+  public Map<String, Long> getGauges();
+
+  /**
+   * @return the number of recorded values by histogram name
+   */
+  public Map<String, Long> getHistogramCounts();
+
+  /**
+   * @return the value at the given percentile (0 &lt; percentile &lt;= 100) of the histogram
+   *   with the given name
+   */
+  public long getValueAtPercentile(String histogramName, double percentile);
+
+}
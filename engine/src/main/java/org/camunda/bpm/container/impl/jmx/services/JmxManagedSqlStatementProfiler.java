@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.container.impl.jmx.services;
+
+import java.util.List;
+
+import org.camunda.bpm.container.impl.jmx.MBeanServiceContainer;
+import org.camunda.bpm.container.impl.spi.PlatformService;
+import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+
+/**
+ * <p>Represents the sql statement profiler of a process engine managed by the {@link MBeanServiceContainer}</p>
+ *
+ */
+public class JmxManagedSqlStatementProfiler implements PlatformService<SqlStatementProfiler>, JmxManagedSqlStatementProfilerMBean {
+
+  protected SqlStatementProfiler sqlStatementProfiler;
+
+  public JmxManagedSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+    this.sqlStatementProfiler = sqlStatementProfiler;
+  }
+
+  public void start(PlatformServiceContainer mBeanServiceContainer) {
+    // this one has no lifecycle support
+  }
+
+  public void stop(PlatformServiceContainer mBeanServiceContainer) {
+    // this one has no lifecycle support
+  }
+
+  public SqlStatementProfiler getValue() {
+    return sqlStatementProfiler;
+  }
+
+  public boolean isEnabled() {
+    return sqlStatementProfiler.isEnabled();
+  }
+
+  public void setEnabled(boolean enabled) {
+    sqlStatementProfiler.setEnabled(enabled);
+  }
+
+  public int getSamplingInterval() {
+    return sqlStatementProfiler.getSamplingInterval();
+  }
+
+  public void setSamplingInterval(int samplingInterval) {
+    sqlStatementProfiler.setSamplingInterval(samplingInterval);
+  }
+
+  public String[] getCommandStatistics() {
+    return toStrings(sqlStatementProfiler.getCommandStatistics());
+  }
+
+  public String[] getSlowestStatements(int maxResults) {
+    return toStrings(sqlStatementProfiler.getSlowestStatements(maxResults));
+  }
+
+  public String[] getNPlusOnePatterns() {
+    return toStrings(sqlStatementProfiler.getNPlusOnePatterns());
+  }
+
+  public void reset() {
+    sqlStatementProfiler.reset();
+  }
+
+  protected String[] toStrings(List<?> values) {
+    String[] result = new String[values.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = values.get(i).toString();
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.container.impl.jmx.services;
+
+import org.camunda.bpm.engine.ProcessEngine;
+
+/**
+ * An MBean interface for the sql statement profiler of a {@link ProcessEngine}.
+ *
+ */
+public interface JmxManagedSqlStatementProfilerMBean {
+
+  public boolean isEnabled();
+
+  public void setEnabled(boolean enabled);
+
+  /**
+   * @return the interval in which commands are sampled, e.g. 100 profiles every 100th command
+   */
+  public int getSamplingInterval();
+
+  public void setSamplingInterval(int samplingInterval);
+
+  /**
+   * @return a summary of the statements per command class, ordered by the time spent executing statements
+   */
+  public String[] getCommandStatistics();
+
+  /**
+   * @return the slowest of the recently profiled statement executions
+   */
+  public String[] getSlowestStatements(int maxResults);
+
+  /**
+   * @return the select statements which are executed repeatedly within a single command
+   */
+  public String[] getNPlusOnePatterns();
+
+  /**
+   * discards all profiled statements
+   */
+  public void reset();
+
+}
@@ -23,7 +23,9 @@ public enum ServiceTypes implements ServiceType {
   BPM_PLATFORM("org.camunda.bpm.platform"),
   PROCESS_ENGINE("org.camunda.bpm.platform.process-engine"),
   JOB_EXECUTOR("org.camunda.bpm.platform.job-executor"),
-  PROCESS_APPLICATION("org.camunda.bpm.platform.job-executor.process-application");
+  PROCESS_APPLICATION("org.camunda.bpm.platform.job-executor.process-application"),
+  METRICS("org.camunda.bpm.platform.metrics"),
+  SQL_PROFILER("org.camunda.bpm.platform.sql-profiler");
 
   protected String serviceRealm;
 
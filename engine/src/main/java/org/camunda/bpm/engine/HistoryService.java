@@ -14,8 +14,12 @@
 
 package org.camunda.bpm.engine;
 
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Groups;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.batch.history.HistoricBatchQuery;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
@@ -48,6 +52,8 @@ import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * Service exposing information about ongoing and past process instances.  This is different
@@ -125,6 +131,52 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes historic process instances. All historic activities, historic tasks and
+   * historic details (variable updates, form properties) of the process instances are
+   * deleted as well. In contrast to {@link #deleteHistoricProcessInstance(String)}, the
+   * history of all given process instances is deleted with one statement per history table.
+   *
+   * @param processInstanceIds the ids of the finished process instances to delete
+   *
+   * @throws BadUserRequestException
+   *          If no process instance ids are given, any of the ids is null, no historic process
+   *          instance exists for an id or a process instance is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstances(List<String> processInstanceIds);
+
+  /**
+   * Deletes historic process instances asynchronously in a {@link Batch}. The batch jobs
+   * delete the history of their process instances like {@link #deleteHistoricProcessInstances(List)}.
+   * The process instances are validated when the batch is created; historic process instances
+   * which are deleted before a batch job is executed are skipped by the job.
+   *
+   * @param processInstanceIds the ids of the finished process instances to delete
+   * @return the batch which deletes the historic process instances
+   *
+   * @throws BadUserRequestException
+   *          If no process instance ids are given, any of the ids is null, no historic process
+   *          instance exists for an id or a process instance is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#CREATE} permission on {@link Resources#BATCH} or
+   *          no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  Batch deleteHistoricProcessInstancesAsync(List<String> processInstanceIds);
+
+  /**
+   * Schedules the history cleanup job to run immediately. The job removes the history of the
+   * finished process instances whose {@link ProcessDefinition#getHistoryTimeToLive() history time to live}
+   * has expired, regardless of the configured batch window. An existing history cleanup job is reused.
+   *
+   * @return the history cleanup job
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  Job cleanUpHistoryAsync();
+
   /**
    * Deletes a user operation log entry. Does not cascade to any related entities.
    *
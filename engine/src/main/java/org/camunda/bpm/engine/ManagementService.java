@@ -964,6 +964,17 @@ public interface ManagementService {
    */
   void deleteProperty(String name);
 
+  /**
+   * Indicates whether the deployment cache warm up has finished, i.e. whether the process definitions
+   * selected for the warm up were loaded into the deployment cache. Can be used as a readiness check
+   * before routing requests to this process engine.
+   *
+   * @return true if the warm up has finished or no warm up is configured
+   *
+   * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setDeploymentCacheWarmUpEnabled(boolean)
+   */
+  boolean isDeploymentCacheWarmedUp();
+
   /** programmatic schema update on a given connection returning feedback about what happened
    *
    *  Note: will always return an empty string
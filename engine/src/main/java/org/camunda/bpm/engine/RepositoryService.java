@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.repository.BpmnModelView;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.CaseDefinitionQuery;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
@@ -354,6 +355,24 @@ public interface RepositoryService {
    */
   UpdateProcessDefinitionSuspensionStateSelectBuilder updateProcessDefinitionSuspensionState();
 
+  /**
+   * Updates the history time to live of a process definition. The history of the finished
+   * process instances of the process definition is removed by the history cleanup once
+   * it is older than the given number of days.
+   *
+   * @param processDefinitionId id of the process definition, cannot be null.
+   * @param historyTimeToLive the history time to live in days, <code>null</code> to keep
+   *   the history of the process definition forever.
+   *
+   * @throws ProcessEngineException
+   *          If no such processDefinition can be found or the history time to live is negative.
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_DEFINITION}.
+   *
+   * @see HistoryService#cleanUpHistoryAsync()
+   */
+  void updateProcessDefinitionHistoryTimeToLive(String processDefinitionId, Integer historyTimeToLive);
+
   /**
    * Gives access to a deployed process model, e.g., a BPMN 2.0 XML file,
    * through a stream of bytes.
@@ -423,6 +442,21 @@ public interface RepositoryService {
    */
   BpmnModelInstance getBpmnModelInstance(String processDefinitionId);
 
+  /**
+   * Returns a read-only {@link BpmnModelView} for the given processDefinitionId.
+   * The view is immutable and cached, so it can be shared by concurrently executing
+   * threads without copying.
+   *
+   * @param processDefinitionId the id of the Process Definition for which the {@link BpmnModelView}
+   *  should be retrieved.
+   *
+   * @return the {@link BpmnModelView}
+   *
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#READ} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  BpmnModelView getBpmnModelView(String processDefinitionId);
+
   /**
    * Returns the {@link CmmnModelInstance} for the given caseDefinitionId.
    *
@@ -109,4 +109,11 @@ public interface LockedExternalTask {
    */
   long getPriority();
 
+  /**
+   * Returns the serialized context of the trace in which the external task was created,
+   * e.g. a W3C <code>traceparent</code> header. A worker can continue the trace with it.
+   * @return the trace context or <code>null</code> if the engine does not trace
+   */
+  String getTraceContext();
+
 }
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.history;
 import java.util.Date;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -28,6 +29,32 @@ public interface HistoricActivityInstanceQuery extends Query<HistoricActivityIns
   /** Only select historic activity instances with the given id (primary key within history tables). */
   HistoricActivityInstanceQuery activityInstanceId(String activityInstanceId);
 
+  /**
+   * Only select historic activity instances whose id is greater than the given id.
+   * Combined with {@link #orderByHistoricActivityInstanceId()} in ascending order, this allows
+   * to page through the historic activity instances by passing the id of the last
+   * result of the previous page, which in contrast to paging with
+   * {@link #listPage(int, int) firstResult} has a constant cost per page.
+   */
+  HistoricActivityInstanceQuery activityInstanceIdAfter(String activityInstanceId);
+
+  /**
+   * Only select historic activity instances which started after the given start time, or at the
+   * given start time and whose id is greater than the given id. Combined with
+   * {@link #orderByHistoricActivityInstanceStartTime()} and {@link #orderByHistoricActivityInstanceId()}
+   * in ascending order, this allows to page through the historic activity instances in the order
+   * they were started by passing the start time and the id of the last result of the previous page.
+   */
+  HistoricActivityInstanceQuery startTimeAndIdAfter(Date startTime, String activityInstanceId);
+
+  /**
+   * Executes the query and passes the results one by one to the handler while they are read
+   * from the database, so a large number of historic activity instances can be exported in
+   * constant memory. The results are fetched in chunks whose size depends on the jdbc driver
+   * (on mysql, only if <code>useCursorFetch=true</code> is set on the connection url).
+   */
+  void iterate(QueryResultHandler<HistoricActivityInstance> resultHandler);
+
   /** Only select historic activity instances with the given process instance.
    * {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match. */
   HistoricActivityInstanceQuery processInstanceId(String processInstanceId);
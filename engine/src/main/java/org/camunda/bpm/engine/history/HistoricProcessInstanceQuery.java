@@ -20,6 +20,7 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
 /**
@@ -39,6 +40,32 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
    * {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match. */
   HistoricProcessInstanceQuery processInstanceIds(Set<String> processInstanceIds);
 
+  /**
+   * Only select historic process instances whose id is greater than the given id.
+   * Combined with {@link #orderByProcessInstanceId()} in ascending order, this allows
+   * to page through the historic process instances by passing the id of the last
+   * result of the previous page, which in contrast to paging with
+   * {@link #listPage(int, int) firstResult} has a constant cost per page.
+   */
+  HistoricProcessInstanceQuery processInstanceIdAfter(String processInstanceId);
+
+  /**
+   * Only select historic process instances which started after the given start time, or at the
+   * given start time and whose id is greater than the given id. Combined with
+   * {@link #orderByProcessInstanceStartTime()} and {@link #orderByProcessInstanceId()} in ascending
+   * order, this allows to page through the historic process instances in the order they were
+   * started by passing the start time and the id of the last result of the previous page.
+   */
+  HistoricProcessInstanceQuery startTimeAndIdAfter(Date startTime, String processInstanceId);
+
+  /**
+   * Executes the query and passes the results one by one to the handler while they are read
+   * from the database, so a large number of historic process instances can be exported in
+   * constant memory. The results are fetched in chunks whose size depends on the jdbc driver
+   * (on mysql, only if <code>useCursorFetch=true</code> is set on the connection url).
+   */
+  void iterate(QueryResultHandler<HistoricProcessInstance> resultHandler);
+
   /** Only select historic process instances for the given process definition */
   HistoricProcessInstanceQuery processDefinitionId(String processDefinitionId);
 
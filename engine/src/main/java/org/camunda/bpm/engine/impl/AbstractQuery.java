@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.joda.time.DateTime;
 
 
@@ -51,12 +52,14 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_DESC = "desc";
 
   protected enum ResultType {
-    LIST, LIST_PAGE, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, SINGLE_RESULT, COUNT, ITERATE
   }
   protected transient CommandExecutor commandExecutor;
 
   protected ResultType resultType;
 
+  protected transient QueryResultHandler<U> resultHandler;
+
   protected List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
 
   protected Map<String, String> expressions = new HashMap<String, String>();
@@ -160,8 +163,26 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteCount(Context.getCommandContext());
   }
 
+  /**
+   * Passes the results of the query one by one to the handler, see {@link #executeIterate(CommandContext, QueryResultHandler)}.
+   */
+  public void iterate(QueryResultHandler<U> resultHandler) {
+    ensureNotNull("resultHandler", resultHandler);
+    this.resultHandler = resultHandler;
+    this.resultType = ResultType.ITERATE;
+    if (commandExecutor!=null) {
+      commandExecutor.execute(this);
+    }
+    else {
+      evaluateExpressionsAndExecuteIterate(Context.getCommandContext(), resultHandler);
+    }
+  }
+
   public Object execute(CommandContext commandContext) {
-    if (resultType==ResultType.LIST) {
+    if (resultType==ResultType.ITERATE) {
+      evaluateExpressionsAndExecuteIterate(commandContext, resultHandler);
+      return null;
+    } else if (resultType==ResultType.LIST) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
     } else if (resultType==ResultType.SINGLE_RESULT) {
       return executeSingleResult(commandContext);
@@ -186,6 +207,14 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<U>();
   }
 
+  public void evaluateExpressionsAndExecuteIterate(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    validate();
+    evaluateExpressions();
+    if (!hasExcludingConditions()) {
+      executeIterate(commandContext, resultHandler);
+    }
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
@@ -203,6 +232,18 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the actual query and passes the results one by one to the handler. By default,
+   * the list of results is selected first. Queries which are used to read large result sets
+   * override this method to read the results from the database with a fetch size instead,
+   * without keeping them in memory.
+   */
+  public void executeIterate(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    for (U result : executeList(commandContext, null)) {
+      resultHandler.handleResult(result);
+    }
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = evaluateExpressionsAndExecuteList(commandContext, null);
     if (results.size() == 1) {
@@ -13,7 +13,6 @@
 package org.camunda.bpm.engine.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +21,7 @@ import java.util.Set;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.CompensationBehavior;
@@ -33,17 +33,19 @@ import org.camunda.bpm.engine.runtime.ActivityInstance;
  * Maps an activity (plain activities + their containing flow scopes) to the scope executions
  * that are executing them. For every instance of a scope, there is one such execution.
  *
+ * <p>The executions are kept in a table indexed by the {@link ActivityImpl#getIndex() activity index};
+ * the executions of the process definition itself are kept in the last slot.</p>
+ *
  * @author Thorben Lindhauer
  */
 public class ActivityExecutionTreeMapping {
 
-  protected Map<ScopeImpl, Set<ExecutionEntity>> activityExecutionMapping;
+  protected List<Set<ExecutionEntity>> activityExecutionMapping;
   protected CommandContext commandContext;
   protected String processInstanceId;
   protected ProcessDefinitionImpl processDefinition;
 
   public ActivityExecutionTreeMapping(CommandContext commandContext, String processInstanceId) {
-    this.activityExecutionMapping = new HashMap<ScopeImpl, Set<ExecutionEntity>>();
     this.commandContext = commandContext;
     this.processInstanceId = processInstanceId;
 
@@ -55,15 +57,41 @@ public class ActivityExecutionTreeMapping {
   }
 
   public Set<ExecutionEntity> getExecutions(ScopeImpl activity) {
-    Set<ExecutionEntity> executionsForActivity = activityExecutionMapping.get(activity);
+    int index = getTableIndex(activity);
+    if (index < 0) {
+      // not a scope of the mapped process definition
+      return new HashSet<ExecutionEntity>();
+    }
+
+    Set<ExecutionEntity> executionsForActivity = activityExecutionMapping.get(index);
     if (executionsForActivity == null) {
       executionsForActivity = new HashSet<ExecutionEntity>();
-      activityExecutionMapping.put(activity, executionsForActivity);
+      activityExecutionMapping.set(index, executionsForActivity);
     }
 
     return executionsForActivity;
   }
 
+  /**
+   * @return the position of the scope in the table or -1 if it is not a scope of the process definition
+   */
+  protected int getTableIndex(ScopeImpl scope) {
+    if (scope instanceof ActivityImpl) {
+      ActivityImpl activity = (ActivityImpl) scope;
+      if (activity.getProcessDefinition() != processDefinition) {
+        // e.g. a process definition which was added to the deployment cache again
+        activity = processDefinition.findActivity(activity.getId());
+      }
+      return activity != null ? activity.getIndex() : -1;
+    }
+    else if (scope != null && processDefinition.getId().equals(scope.getId())) {
+      return processDefinition.getActivityCount();
+    }
+    else {
+      return -1;
+    }
+  }
+
   public ExecutionEntity getExecution(ActivityInstance activityInstance) {
     ScopeImpl scope = null;
 
@@ -97,6 +125,12 @@ public class ActivityExecutionTreeMapping {
     ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
     this.processDefinition = processInstance.getProcessDefinition();
 
+    int tableSize = processDefinition.getActivityCount() + 1;
+    this.activityExecutionMapping = new ArrayList<Set<ExecutionEntity>>(tableSize);
+    for (int i = 0; i < tableSize; i++) {
+      activityExecutionMapping.add(null);
+    }
+
     List<ExecutionEntity> executions = fetchExecutionsForProcessInstance(processInstance);
     executions.add(processInstance);
 
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Tom Baeyens
@@ -34,6 +35,9 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
 
   private static final long serialVersionUID = 1L;
   protected String activityInstanceId;
+  protected String activityInstanceIdAfter;
+  protected Date startTimeAndIdAfterStartTime;
+  protected String startTimeAndIdAfterId;
   protected String processInstanceId;
   protected String executionId;
   protected String processDefinitionId;
@@ -73,6 +77,28 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeIterate(CommandContext commandContext, QueryResultHandler<HistoricActivityInstance> resultHandler) {
+    checkQueryOk();
+    commandContext
+      .getHistoricActivityInstanceManager()
+      .findHistoricActivityInstancesByQueryCriteria(this, resultHandler);
+  }
+
+  public HistoricActivityInstanceQueryImpl activityInstanceIdAfter(String activityInstanceId) {
+    ensureNotNull("activityInstanceId", activityInstanceId);
+    this.activityInstanceIdAfter = activityInstanceId;
+    return this;
+  }
+
+  public HistoricActivityInstanceQueryImpl startTimeAndIdAfter(Date startTime, String activityInstanceId) {
+    ensureNotNull("startTime", startTime);
+    ensureNotNull("activityInstanceId", activityInstanceId);
+    this.startTimeAndIdAfterStartTime = startTime;
+    this.startTimeAndIdAfterId = activityInstanceId;
+    return this;
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
@@ -266,6 +292,15 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
   public String getActivityInstanceId() {
     return activityInstanceId;
   }
+  public String getActivityInstanceIdAfter() {
+    return activityInstanceIdAfter;
+  }
+  public Date getStartTimeAndIdAfterStartTime() {
+    return startTimeAndIdAfterStartTime;
+  }
+  public String getStartTimeAndIdAfterId() {
+    return startTimeAndIdAfterId;
+  }
   public Date getStartedAfter() {
     return startedAfter;
   }
@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * @author Tom Baeyens
@@ -60,6 +61,9 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
   protected Date finishedAfter;
   protected String processDefinitionKey;
   protected Set<String> processInstanceIds;
+  protected String processInstanceIdAfter;
+  protected Date startTimeAndIdAfterStartTime;
+  protected String startTimeAndIdAfterId;
   protected String[] tenantIds;
 
   protected String caseInstanceId;
@@ -82,6 +86,20 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return this;
   }
 
+  public HistoricProcessInstanceQuery processInstanceIdAfter(String processInstanceId) {
+    ensureNotNull("processInstanceId", processInstanceId);
+    this.processInstanceIdAfter = processInstanceId;
+    return this;
+  }
+
+  public HistoricProcessInstanceQuery startTimeAndIdAfter(Date startTime, String processInstanceId) {
+    ensureNotNull("startTime", startTime);
+    ensureNotNull("processInstanceId", processInstanceId);
+    this.startTimeAndIdAfterStartTime = startTime;
+    this.startTimeAndIdAfterId = processInstanceId;
+    return this;
+  }
+
   public HistoricProcessInstanceQueryImpl processDefinitionId(String processDefinitionId) {
     this.processDefinitionId = processDefinitionId;
     return this;
@@ -261,6 +279,15 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void executeIterate(CommandContext commandContext, QueryResultHandler<HistoricProcessInstance> resultHandler) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .findHistoricProcessInstancesByQueryCriteria(this, resultHandler);
+  }
+
   public String getBusinessKey() {
     return businessKey;
   }
@@ -301,6 +328,18 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return processInstanceIds;
   }
 
+  public String getProcessInstanceIdAfter() {
+    return processInstanceIdAfter;
+  }
+
+  public Date getStartTimeAndIdAfterStartTime() {
+    return startTimeAndIdAfterStartTime;
+  }
+
+  public String getStartTimeAndIdAfterId() {
+    return startTimeAndIdAfterId;
+  }
+
   public String getStartedBy() {
     return startedBy;
   }
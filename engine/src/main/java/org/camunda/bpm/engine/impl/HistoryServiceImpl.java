@@ -14,7 +14,10 @@
 
 package org.camunda.bpm.engine.impl;
 
+import java.util.List;
+
 import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.batch.history.HistoricBatchQuery;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricActivityStatisticsQuery;
@@ -36,14 +39,18 @@ import org.camunda.bpm.engine.history.NativeHistoricDecisionInstanceQuery;
 import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstancesBatchCmd;
 import org.camunda.bpm.engine.impl.batch.history.DeleteHistoricBatchCmd;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteUserOperationLogEntryCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoricJobLogExceptionStacktraceCmd;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.dmn.cmd.DeleteHistoricDecisionInstanceCmd;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * @author Tom Baeyens
@@ -108,6 +115,18 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public void deleteHistoricProcessInstances(List<String> processInstanceIds) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesCmd(processInstanceIds));
+  }
+
+  public Batch deleteHistoricProcessInstancesAsync(List<String> processInstanceIds) {
+    return commandExecutor.execute(new DeleteHistoricProcessInstancesBatchCmd(processInstanceIds));
+  }
+
+  public Job cleanUpHistoryAsync() {
+    return commandExecutor.execute(new HistoryCleanupCmd(true));
+  }
+
   public void deleteUserOperationLogEntry(String entryId) {
     commandExecutor.execute(new DeleteUserOperationLogEntryCmd(entryId));
   }
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.io.Closeable;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationService;
@@ -30,12 +31,21 @@ import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxWriter;
+import org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogExceptionPruning;
+import org.camunda.bpm.engine.impl.history.partition.HistoryTablePartitioning;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsExportReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.impl.util.IoUtil;
 
 /**
  * @author Tom Baeyens
@@ -118,8 +128,49 @@ public class ProcessEngineImpl implements ProcessEngine {
       if(processEngineConfiguration.isDbMetricsReporterActivate()) {
         dbMetricsReporter.start();
       }
+
+      MetricsExportReporter metricsExportReporter = processEngineConfiguration.getMetricsExportReporter();
+      if (metricsExportReporter != null) {
+        metricsExportReporter.start();
+      }
+    }
+
+    DeploymentCacheWarmUp deploymentCacheWarmUp = processEngineConfiguration.getDeploymentCacheWarmUp();
+    if (deploymentCacheWarmUp != null) {
+      deploymentCacheWarmUp.start();
+    }
+
+    HistoryEventOutboxWriter historyEventOutboxWriter = processEngineConfiguration.getHistoryEventOutboxWriter();
+    if (historyEventOutboxWriter != null) {
+      historyEventOutboxWriter.start();
+    }
+
+    HistoryTablePartitioning historyTablePartitioning = processEngineConfiguration.getHistoryTablePartitioning();
+    if (historyTablePartitioning != null) {
+      historyTablePartitioning.start();
+    }
+
+    HistoricJobLogExceptionPruning historicJobLogExceptionPruning = processEngineConfiguration.getHistoricJobLogExceptionPruning();
+    if (historicJobLogExceptionPruning != null) {
+      historicJobLogExceptionPruning.start();
     }
 
+    if (processEngineConfiguration.isHistoryCleanupBatchWindowConfigured()) {
+      // make sure the history cleanup job is scheduled for the batch window
+      commandExecutor.execute(new HistoryCleanupCmd(false));
+    }
+
+  }
+
+  protected void closeHistoryEventHandler(HistoryEventHandler historyEventHandler) {
+    if (historyEventHandler instanceof CompositeHistoryEventHandler) {
+      for (HistoryEventHandler handler : ((CompositeHistoryEventHandler) historyEventHandler).getHistoryEventHandlers()) {
+        closeHistoryEventHandler(handler);
+      }
+    }
+    else if (historyEventHandler instanceof Closeable) {
+      IoUtil.closeSilently((Closeable) historyEventHandler);
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -131,8 +182,29 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.unregister(this);
 
+    if (processEngineConfiguration.getHistoryEventOutboxWriter() != null) {
+      // materializes the remaining outbox entries
+      processEngineConfiguration.getHistoryEventOutboxWriter().stop();
+    }
+
+    if (processEngineConfiguration.getHistoryTablePartitioning() != null) {
+      processEngineConfiguration.getHistoryTablePartitioning().stop();
+    }
+
+    if (processEngineConfiguration.getHistoricJobLogExceptionPruning() != null) {
+      processEngineConfiguration.getHistoricJobLogExceptionPruning().stop();
+    }
+
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
+
+      if (processEngineConfiguration.getMetricsExportReporter() != null) {
+        processEngineConfiguration.getMetricsExportReporter().stop();
+      }
+    }
+
+    if (processEngineConfiguration.getDeploymentCacheWarmUp() != null) {
+      processEngineConfiguration.getDeploymentCacheWarmUp().stop();
     }
 
     if ((jobExecutor != null)) {
@@ -142,6 +214,9 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
+    // completes the files of file based history event handlers
+    closeHistoryEventHandler(processEngineConfiguration.getHistoryEventHandler());
+
     processEngineConfiguration.close();
 
     LOG.processEngineClosed(name);
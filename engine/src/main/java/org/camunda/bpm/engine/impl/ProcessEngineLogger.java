@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.dmn.DecisionLogger;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskLogger;
 import org.camunda.bpm.engine.impl.interceptor.ContextLogger;
+import org.camunda.bpm.engine.impl.interceptor.SlowCommandLogger;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.migration.MigrationLogger;
@@ -122,6 +123,9 @@ public class ProcessEngineLogger extends BaseLogger {
   public static final ExternalTaskLogger EXTERNAL_TASK_LOGGER = BaseLogger.createLogger(
     ExternalTaskLogger.class, PROJECT_CODE, "org.camunda.bpm.engine.externaltask", "24");
 
+  public static final SlowCommandLogger SLOW_COMMAND_LOGGER = BaseLogger.createLogger(
+      SlowCommandLogger.class, PROJECT_CODE, "org.camunda.bpm.engine.cmd.slow", "25");
+
   public void processEngineCreated(String name) {
     logInfo("001", "Process Engine {} created.", name);
   }
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.deletion;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AbstractDeleteHistoricProcessInstancesCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Creates a batch which deletes the given historic process instances. The
+ * instances are checked when the batch is created: they must exist, must be
+ * finished and the user must be allowed to delete them.
+ */
+public class DeleteHistoricProcessInstancesBatchCmd extends AbstractDeleteHistoricProcessInstancesCmd<Batch> {
+
+  private static final long serialVersionUID = 1L;
+
+  public DeleteHistoricProcessInstancesBatchCmd(List<String> processInstanceIds) {
+    super(processInstanceIds);
+  }
+
+  public Batch execute(CommandContext commandContext) {
+    List<String> ids = collectProcessInstanceIds();
+
+    commandContext.getAuthorizationManager().checkAuthorization(Permissions.CREATE, Resources.BATCH);
+    checkProcessInstances(commandContext, ids, true);
+
+    BatchEntity batch = createBatch(commandContext, ids);
+
+    batch.createSeedJobDefinition();
+    batch.createMonitorJobDefinition();
+    batch.createBatchJobDefinition();
+
+    batch.fireHistoricStartEvent();
+
+    batch.createSeedJob();
+
+    return batch;
+  }
+
+  protected BatchEntity createBatch(CommandContext commandContext, List<String> ids) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    BatchJobHandler<DeleteHistoricProcessInstancesBatchConfiguration> batchJobHandler = getBatchJobHandler(processEngineConfiguration);
+
+    DeleteHistoricProcessInstancesBatchConfiguration configuration = DeleteHistoricProcessInstancesBatchConfiguration.create(ids);
+
+    BatchEntity batch = new BatchEntity();
+    batch.setType(batchJobHandler.getType());
+    batch.setTotalJobs(calculateSize(processEngineConfiguration, ids.size()));
+    batch.setBatchJobsPerSeed(processEngineConfiguration.getBatchJobsPerSeed());
+    batch.setInvocationsPerBatchJob(processEngineConfiguration.getInvocationsPerBatchJob());
+    batch.setConfigurationBytes(batchJobHandler.writeConfiguration(configuration));
+    commandContext.getBatchManager().insert(batch);
+
+    return batch;
+  }
+
+  protected int calculateSize(ProcessEngineConfigurationImpl engineConfiguration, int processInstanceCount) {
+    int invocationsPerBatchJob = engineConfiguration.getInvocationsPerBatchJob();
+    return (processInstanceCount + invocationsPerBatchJob - 1) / invocationsPerBatchJob;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected BatchJobHandler<DeleteHistoricProcessInstancesBatchConfiguration> getBatchJobHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    return (BatchJobHandler<DeleteHistoricProcessInstancesBatchConfiguration>) processEngineConfiguration.getBatchHandlers().get(Batch.TYPE_HISTORIC_PROCESS_INSTANCE_DELETION);
+  }
+
+}
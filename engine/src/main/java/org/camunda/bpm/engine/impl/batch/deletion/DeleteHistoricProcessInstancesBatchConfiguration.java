@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.deletion;
+
+import java.util.List;
+
+public class DeleteHistoricProcessInstancesBatchConfiguration {
+
+  protected List<String> processInstanceIds;
+
+  public List<String> getProcessInstanceIds() {
+    return processInstanceIds;
+  }
+
+  public void setProcessInstanceIds(List<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  public static DeleteHistoricProcessInstancesBatchConfiguration create(List<String> processInstanceIds) {
+    DeleteHistoricProcessInstancesBatchConfiguration configuration = new DeleteHistoricProcessInstancesBatchConfiguration();
+    configuration.processInstanceIds = processInstanceIds;
+    return configuration;
+  }
+
+}
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.deletion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.json.DeleteHistoricProcessInstancesBatchConfigurationJsonConverter;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.impl.util.json.JSONTokener;
+
+/**
+ * Job handler for batch jobs which delete historic process instances.
+ * Each job deletes its list of historic process instances with one
+ * delete statement per history table.
+ */
+public class DeleteHistoricProcessInstancesJobHandler implements BatchJobHandler<DeleteHistoricProcessInstancesBatchConfiguration> {
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_HISTORIC_PROCESS_INSTANCE_DELETION);
+
+  public String getType() {
+    return Batch.TYPE_HISTORIC_PROCESS_INSTANCE_DELETION;
+  }
+
+  public JobDeclaration<?, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  public byte[] writeConfiguration(DeleteHistoricProcessInstancesBatchConfiguration configuration) {
+    JSONObject jsonObject = DeleteHistoricProcessInstancesBatchConfigurationJsonConverter.INSTANCE.toJsonObject(configuration);
+
+    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+    Writer writer = StringUtil.writerForStream(outStream);
+
+    jsonObject.write(writer);
+    IoUtil.flushSilently(writer);
+
+    return outStream.toByteArray();
+  }
+
+  public DeleteHistoricProcessInstancesBatchConfiguration readConfiguration(byte[] serializedConfiguration) {
+    Reader jsonReader = StringUtil.readerFromBytes(serializedConfiguration);
+    return DeleteHistoricProcessInstancesBatchConfigurationJsonConverter.INSTANCE.toObject(new JSONObject(new JSONTokener(jsonReader)));
+  }
+
+  public boolean createJobs(BatchEntity batch) {
+    CommandContext commandContext = Context.getCommandContext();
+    ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
+    JobManager jobManager = commandContext.getJobManager();
+
+    DeleteHistoricProcessInstancesBatchConfiguration configuration = readConfiguration(batch.getConfigurationBytes());
+
+    int batchJobsPerSeed = batch.getBatchJobsPerSeed();
+    int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
+
+    List<String> processInstanceIds = configuration.getProcessInstanceIds();
+    int numberOfInstancesToProcess = Math.min(invocationsPerBatchJob * batchJobsPerSeed, processInstanceIds.size());
+    // view of process instances to process
+    List<String> processInstancesToProcess = processInstanceIds.subList(0, numberOfInstancesToProcess);
+
+    int createdJobs = 0;
+    while (!processInstancesToProcess.isEmpty()) {
+      int lastIdIndex = Math.min(invocationsPerBatchJob, processInstancesToProcess.size());
+      // view of process instances for this job
+      List<String> idsForJob = processInstancesToProcess.subList(0, lastIdIndex);
+
+      DeleteHistoricProcessInstancesBatchConfiguration jobConfiguration = DeleteHistoricProcessInstancesBatchConfiguration.create(idsForJob);
+      ByteArrayEntity configurationEntity = saveConfiguration(byteArrayManager, jobConfiguration);
+
+      JobEntity job = createBatchJob(batch, configurationEntity);
+      jobManager.insertAndHintJobExecutor(job);
+
+      idsForJob.clear();
+      createdJobs++;
+    }
+
+    // update created jobs for batch
+    batch.setJobsCreated(batch.getJobsCreated() + createdJobs);
+
+    // update batch configuration
+    batch.setConfigurationBytes(writeConfiguration(configuration));
+
+    return processInstanceIds.isEmpty();
+  }
+
+  protected ByteArrayEntity saveConfiguration(ByteArrayManager byteArrayManager, DeleteHistoricProcessInstancesBatchConfiguration jobConfiguration) {
+    ByteArrayEntity configurationEntity = new ByteArrayEntity();
+    configurationEntity.setBytes(writeConfiguration(jobConfiguration));
+    byteArrayManager.insert(configurationEntity);
+    return configurationEntity;
+  }
+
+  protected JobEntity createBatchJob(BatchEntity batch, ByteArrayEntity configuration) {
+    BatchJobContext creationContext = new BatchJobContext(batch, configuration);
+    return JOB_DECLARATION.createJobInstance(creationContext);
+  }
+
+  @Override
+  public void deleteJobs(BatchEntity batch) {
+    List<JobEntity> jobs = Context.getCommandContext()
+      .getJobManager()
+      .findJobsByJobDefinitionId(batch.getBatchJobDefinitionId());
+
+    for (JobEntity job : jobs) {
+      job.delete();
+    }
+  }
+
+  @Override
+  public void execute(BatchJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ByteArrayEntity configurationEntity = commandContext
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, configuration.getConfigurationByteArrayId());
+
+    DeleteHistoricProcessInstancesBatchConfiguration batchConfiguration = readConfiguration(configurationEntity.getBytes());
+
+    // instances which were deleted in the meantime are skipped instead of failing the job
+    new DeleteHistoricProcessInstancesCmd(batchConfiguration.getProcessInstanceIds(), false)
+      .execute(commandContext);
+
+    commandContext.getByteArrayManager().delete(configurationEntity);
+  }
+
+  @Override
+  public BatchJobConfiguration newConfiguration(String canonicalString) {
+    return new BatchJobConfiguration(canonicalString);
+  }
+
+  public void onDelete(BatchJobConfiguration configuration, JobEntity jobEntity) {
+    String byteArrayId = configuration.getConfigurationByteArrayId();
+    if (byteArrayId != null) {
+      Context.getCommandContext().getByteArrayManager()
+        .deleteByteArrayById(byteArrayId);
+    }
+  }
+
+}
@@ -13,21 +13,26 @@
 package org.camunda.bpm.engine.impl.bpmn.deployer;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.diagram.ProcessDiagramGenerator;
 import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.cmd.DeleteJobsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
@@ -50,12 +55,17 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.HashUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.ElementSerializer;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
@@ -78,6 +88,8 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected static final PropertyMapKey<String, List<JobDeclaration<?, ?>>> JOB_DECLARATIONS_PROPERTY =
       new PropertyMapKey<String, List<JobDeclaration<?, ?>>>("JOB_DECLARATIONS_PROPERTY");
 
+  protected static final Charset UTF_8 = Charset.forName("UTF-8");
+
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
@@ -90,21 +102,40 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
-    byte[] bytes = resource.getBytes();
-    ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
-
     BpmnParse bpmnParse = bpmnParser
         .createParse()
-        .sourceInputStream(inputStream)
         .deployment(deployment)
         .name(resource.getName());
 
-    if (!deployment.isValidatingSchema()) {
-      bpmnParse.setSchemaResource(null);
+    // null if snapshots are disabled or the engine version is unknown
+    String snapshotFingerprint = getParseSnapshotFingerprint();
+
+    Element snapshotRootElement = null;
+    if (snapshotFingerprint != null && !deployment.isNew()) {
+      snapshotRootElement = restoreParseSnapshot(deployment, resource, snapshotFingerprint);
+    }
+
+    if (snapshotRootElement != null) {
+      bpmnParse.sourceElement(snapshotRootElement);
+    }
+    else {
+      byte[] bytes = resource.getBytes();
+      bpmnParse.sourceInputStream(new ByteArrayInputStream(bytes));
+
+      if (!deployment.isValidatingSchema()) {
+        bpmnParse.setSchemaResource(null);
+      }
     }
 
     bpmnParse.execute();
 
+    // only namespace aware (i.e. validated) element trees are stored since
+    // these are the ones produced when a deployment is loaded again
+    if (snapshotFingerprint != null && snapshotRootElement == null && bpmnParse.isValidatingSchema()
+        && isParseSnapshotWritable(deployment)) {
+      createParseSnapshot(deployment, resource, bpmnParse.getRootElement(), snapshotFingerprint);
+    }
+
     if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
       properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
     }
@@ -174,6 +205,7 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   @Override
   protected void persistedDefinitionLoaded(DeploymentEntity deployment, ProcessDefinitionEntity definition, ProcessDefinitionEntity persistedDefinition) {
     definition.setSuspensionState(persistedDefinition.getSuspensionState());
+    definition.setHistoryTimeToLive(persistedDefinition.getHistoryTimeToLive());
   }
 
   protected void updateJobDeclarations(List<JobDeclaration<?, ?>> jobDeclarations, ProcessDefinitionEntity processDefinition, boolean isNewDeployment) {
@@ -432,6 +464,85 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     addAuthorizationsFromIterator(processDefinition.getCandidateStarterGroupIdExpressions(), processDefinition, ExprType.GROUP);
   }
 
+  // parse snapshots /////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * @return the element tree stored for the resource or null if there is no
+   * snapshot that was created with the current {@link #getParseSnapshotFingerprint() fingerprint}
+   */
+  protected Element restoreParseSnapshot(DeploymentEntity deployment, ResourceEntity resource, String fingerprint) {
+    List<ParseSnapshotEntity> snapshots = getParseSnapshotManager()
+        .findParseSnapshotsByDeploymentIdAndResourceName(deployment.getId(), resource.getName());
+
+    for (ParseSnapshotEntity snapshot : snapshots) {
+      if (fingerprint.equals(snapshot.getFingerprint())) {
+        try {
+          Element rootElement = ElementSerializer.fromBytes(snapshot.getBytes());
+          LOG.restoredParseSnapshot(resource.getName(), deployment.getId());
+          return rootElement;
+        }
+        catch (ProcessEngineException e) {
+          LOG.unableToRestoreParseSnapshot(resource.getName(), deployment.getId(), e);
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Snapshots of a new deployment are written by the command creating it. Snapshots of an existing
+   * deployment are only written if the command refreshes them on purpose (see
+   * {@link ParseSnapshotManager#setRefreshParseSnapshots(boolean)}), so that concurrent cache misses
+   * do not write the same snapshot; the unique index on deployment, resource and fingerprint
+   * rejects a second snapshot.
+   */
+  protected boolean isParseSnapshotWritable(DeploymentEntity deployment) {
+    return deployment.isNew() || getParseSnapshotManager().isRefreshParseSnapshots();
+  }
+
+  protected void createParseSnapshot(DeploymentEntity deployment, ResourceEntity resource, Element rootElement, String fingerprint) {
+    if (!deployment.isNew()) {
+      // snapshots of another engine version or configuration are replaced
+      getParseSnapshotManager().deleteOutdatedParseSnapshots(deployment.getId(), resource.getName(), fingerprint);
+    }
+
+    ParseSnapshotEntity snapshot = new ParseSnapshotEntity();
+    snapshot.setDeploymentId(deployment.getId());
+    snapshot.setResourceName(resource.getName());
+    snapshot.setFingerprint(fingerprint);
+    snapshot.setBytes(ElementSerializer.toBytes(rootElement));
+
+    getParseSnapshotManager().insertParseSnapshot(snapshot);
+  }
+
+  /**
+   * Identifies the snapshot format, the engine version and the configured parse listeners and
+   * process engine plugins, since these decide on the element tree and on how it is transformed.
+   * Snapshots with a different fingerprint are ignored.
+   *
+   * @return the {@link HashUtil hash} of these or null if snapshots are disabled or the engine
+   *   version is unknown (e.g. if the engine does not run from a packaged jar)
+   */
+  protected String getParseSnapshotFingerprint() {
+    ProcessEngineConfigurationImpl configuration = getProcessEngineConfiguration();
+    String engineVersion = configuration.getParseSnapshotVersion();
+    if (!configuration.isParseSnapshotEnabled() || engineVersion == null) {
+      return null;
+    }
+
+    StringBuilder fingerprint = new StringBuilder();
+    fingerprint.append("bpmn:").append(ElementSerializer.FORMAT_VERSION).append(':').append(engineVersion);
+    for (BpmnParseListener parseListener : bpmnParser.getParseListeners()) {
+      fingerprint.append(":listener=").append(parseListener.getClass().getName());
+    }
+    for (ProcessEnginePlugin plugin : configuration.getProcessEnginePlugins()) {
+      fingerprint.append(":plugin=").append(plugin.getClass().getName());
+    }
+
+    return HashUtil.hash(fingerprint.toString().getBytes(UTF_8));
+  }
+
   protected void createResource(String name, byte[] bytes, DeploymentEntity deploymentEntity) {
     ResourceEntity resource = new ResourceEntity();
     resource.setName(name);
@@ -467,6 +578,10 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return getCommandContext().getProcessDefinitionManager();
   }
 
+  protected ParseSnapshotManager getParseSnapshotManager() {
+    return getCommandContext().getParseSnapshotManager();
+  }
+
   // getters/setters ///////////////////////////////////////////////////////////////////////////////////
 
   public ExpressionManager getExpressionManager() {
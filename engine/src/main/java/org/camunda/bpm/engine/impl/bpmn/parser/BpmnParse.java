@@ -333,6 +333,11 @@ public class BpmnParse extends Parse {
     for (BpmnParseListener parseListener : parseListeners) {
       parseListener.parseRootElement(rootElement, getProcessDefinitions());
     }
+
+    // parse listeners may still add activities, afterwards the activities are final
+    for (ProcessDefinitionEntity processDefinition : getProcessDefinitions()) {
+      processDefinition.finalizeActivityTable();
+    }
   }
 
   protected void collectElementIds() {
@@ -575,6 +580,7 @@ public class BpmnParse extends Parse {
     processDefinition.setVersionTag(
       processElement.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "versionTag")
     );
+    processDefinition.setHistoryTimeToLive(parseHistoryTimeToLive(processElement));
 
     LOG.parsingElement("process", processDefinition.getKey());
 
@@ -2232,6 +2238,26 @@ public class BpmnParse extends Parse {
     }
   }
 
+  protected Integer parseHistoryTimeToLive(Element processElement) {
+    String historyTimeToLive = processElement.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "historyTimeToLive");
+
+    if (historyTimeToLive == null) {
+      return null;
+    }
+
+    try {
+      Integer days = Integer.valueOf(historyTimeToLive);
+      if (days < 0) {
+        addError("Value '" + historyTimeToLive + "' for attribute 'historyTimeToLive' must not be negative", processElement);
+      }
+      return days;
+
+    } catch (NumberFormatException e) {
+      addError("Value '" + historyTimeToLive + "' for attribute 'historyTimeToLive' is not a valid number", processElement);
+      return null;
+    }
+  }
+
   @SuppressWarnings("unchecked")
   protected void addMessageJobDeclarationToActivity(MessageJobDeclaration messageJobDeclaration, ActivityImpl activity) {
     List<MessageJobDeclaration> messageJobDeclarations = (List<MessageJobDeclaration>) activity.getProperty(PROPERTYNAME_MESSAGE_JOB_DECLARATION);
@@ -4121,6 +4147,12 @@ public class BpmnParse extends Parse {
     return this;
   }
 
+  @Override
+  public BpmnParse sourceElement(Element rootElement) {
+    super.sourceElement(rootElement);
+    return this;
+  }
+
   @Override
   public BpmnParse sourceResource(String resource, ClassLoader classLoader) {
     super.sourceResource(resource, classLoader);
@@ -40,6 +40,15 @@ public class BpmnParseLogger extends ProcessEngineLogger {
     logError("004", "Unexpected Exception with message: {} ", cause.getMessage());
   }
 
+  public void restoredParseSnapshot(String resourceName, String deploymentId) {
+    logDebug("005", "Restored parsed resource '{}' of deployment '{}' from parse snapshot", resourceName, deploymentId);
+  }
+
+  public void unableToRestoreParseSnapshot(String resourceName, String deploymentId, Throwable cause) {
+    logWarn("006", "Unable to restore parse snapshot of resource '{}' of deployment '{}', the resource is parsed again: {}",
+        resourceName, deploymentId, cause.getMessage());
+  }
+
   // EXCEPTIONS
 
   public ProcessEngineException parsingProcessException(Exception cause) {
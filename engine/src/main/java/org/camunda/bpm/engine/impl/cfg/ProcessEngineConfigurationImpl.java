@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -84,6 +85,7 @@ import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchMonitorJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchSeedJobHandler;
+import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
@@ -112,6 +114,7 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -149,7 +152,11 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxWriter;
+import org.camunda.bpm.engine.impl.history.handler.OutboxHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
+import org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogExceptionPruning;
+import org.camunda.bpm.engine.impl.history.partition.HistoryTablePartitioning;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CmmnHistoryEventProducer;
@@ -168,6 +175,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.SlowCommandInterceptor;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
@@ -187,12 +195,24 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.metrics.MetricsExporter;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.camunda.bpm.engine.impl.metrics.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventRecorder;
+import org.camunda.bpm.engine.impl.metrics.event.JfrEngineEventRecorder;
+import org.camunda.bpm.engine.impl.metrics.gauge.HistoryEventOutboxFailedEntriesGauge;
+import org.camunda.bpm.engine.impl.metrics.gauge.HistoryEventOutboxLagGauge;
+import org.camunda.bpm.engine.impl.metrics.gauge.JobAcquisitionWaitTimeGauge;
+import org.camunda.bpm.engine.impl.metrics.gauge.PooledDataSourceGauge;
+import org.camunda.bpm.engine.impl.metrics.gauge.ThreadPoolJobExecutorGauge;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MeterLogRollupTask;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsExportReporter;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationActivityMatcher;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationInstructionGenerator;
 import org.camunda.bpm.engine.impl.migration.MigrationActivityMatcher;
@@ -226,6 +246,7 @@ import org.camunda.bpm.engine.impl.migration.validation.instruction.UpdateEventT
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -248,12 +269,15 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryTablePartitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
@@ -274,6 +298,8 @@ import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptEnvResolver;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
+import org.camunda.bpm.engine.impl.tracing.NoopTracingProvider;
+import org.camunda.bpm.engine.impl.tracing.TracingProvider;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
@@ -532,11 +558,127 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /** The maximum number of historic variable instances of a (case) execution which are
+   * loaded with a single select when a variable of it is updated or deleted. The prefetch
+   * is disabled if the limit is 0.
+   */
+  protected int historicVariableInstancePrefetchLimit = 100;
+
   /** If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
    */
   protected boolean isDeploymentLockUsed = true;
 
+  /** If true, the parsed element tree of BPMN resources is stored as a binary snapshot
+   * on deployment and used instead of parsing the XML again when a process definition
+   * has to be (re-)added to the deployment cache.
+   */
+  protected boolean isParseSnapshotEnabled = false;
+
+  /** The engine version which is part of the fingerprint of parse snapshots. Snapshots
+   * are neither written nor used if it is null.
+   */
+  protected String parseSnapshotVersion = ProcessEngine.class.getPackage().getImplementationVersion();
+
+  /** If true, process definitions are loaded into the deployment cache in the background
+   * when the process engine is started.
+   */
+  protected boolean isDeploymentCacheWarmUpEnabled = false;
+
+  /** Number of versions per process definition key which are loaded during the deployment cache warm up */
+  protected int deploymentCacheWarmUpLatestVersions = 1;
+
+  /** If true, the deployment cache warm up additionally loads all process definitions with running instances */
+  protected boolean isDeploymentCacheWarmUpRunningInstances = true;
+
+  /** Number of threads which load deployments during the deployment cache warm up */
+  protected int deploymentCacheWarmUpThreads = 1;
+
+  protected DeploymentCacheWarmUp deploymentCacheWarmUp;
+
+  /** If true, history events are enqueued in the history event outbox and written
+   * to the history tables in the background by the {@link HistoryEventOutboxWriter}.
+   * The outbox entries are ordered by their create time, so the clocks of the nodes
+   * should be synchronized.
+   */
+  protected boolean isHistoryEventOutboxEnabled = false;
+
+  /** Maximum number of outbox entries which are materialized in one transaction */
+  protected int historyEventOutboxBatchSize = 500;
+
+  /** Interval in which the history event outbox writer checks for new outbox entries */
+  protected long historyEventOutboxWriterIntervalInMillis = 1000;
+
+  /** Number of runs of the writer which attempt to materialize a history event whose update did not change a row,
+   * before the outbox entry is marked as failed. Failed entries are kept until they are retried. */
+  protected int historyEventOutboxMaxAttempts = 10;
+
+  protected HistoryEventOutboxWriter historyEventOutboxWriter;
+
+  /** Start of the daily batch window of the history cleanup in the format HH:mm, e.g. "20:00" */
+  protected String historyCleanupBatchWindowStartTime;
+
+  /** End of the daily batch window of the history cleanup in the format HH:mm, e.g. "06:00" */
+  protected String historyCleanupBatchWindowEndTime;
+
+  protected Date historyCleanupBatchWindowStartTimeAsDate;
+  protected Date historyCleanupBatchWindowEndTimeAsDate;
+
+  /** Maximum number of historic process instances which are removed by one run of the history cleanup job */
+  protected int historyCleanupBatchSize = 500;
+
+  /** If true, the history tables are created with monthly range partitions by the
+   * <code>history.partitioned</code> schema scripts (postgres, oracle and mysql only).
+   */
+  protected boolean isHistoryTablePartitioningEnabled = false;
+
+  /** Number of monthly partitions which are created in advance of the current month */
+  protected int historyTablePartitionsCreatedAhead = 2;
+
+  /** Number of days before partitions of the partitioned history tables are dropped, null if they are retained forever */
+  protected Integer historyTablePartitionRetentionDays;
+
+  /** Interval of the periodic maintenance of the partitions, which additionally runs when the process engine is started */
+  protected long historyTablePartitionMaintenanceIntervalInMillis = 24 * 60 * 60 * 1000;
+
+  protected HistoryTablePartitioning historyTablePartitioning;
+
+  /** If true, the statistics of activity and process instances are aggregated per month in the
+   * ACT_HI_STATISTICS table while the history is written. Each command inserts its changes as delta
+   * entries which the history cleanup job merges into one entry per activity and month.
+   */
+  protected boolean isHistoricStatisticsAggregationEnabled = false;
+
+  /** If true, the historic activity statistics query and the duration report of historic process instances
+   * are calculated from the aggregated statistics instead of the historic activity and process instances.
+   * The aggregated statistics only contain the instances started since the aggregation was enabled, and
+   * instances removed by the history cleanup stay counted, so enable this only once the aggregation covers
+   * the history which is reported.
+   */
+  protected boolean isHistoricStatisticsAggregationQueryEnabled = false;
+
+  /** If true, byte arrays which are at least {@link #byteArrayCompressionThreshold} bytes large
+   * are stored deflate compressed in ACT_GE_BYTEARRAY. Rows are flagged as compressed,
+   * so byte arrays written before compression was enabled can still be read.
+   */
+  protected boolean isByteArrayCompressionEnabled = false;
+
+  /** Minimum size in bytes of a byte array to be stored compressed */
+  protected int byteArrayCompressionThreshold = 1024;
+
+  /** If true, the exception stack traces of historic job logs are stored once per distinct
+   * content hash and shared by all job logs with an identical stack trace.
+   */
+  protected boolean isHistoricJobLogExceptionDeduplicationEnabled = false;
+
+  /** Time in milliseconds for which a deduplicated stack trace is reused after it was stored.
+   * A stack trace which is no longer referenced by a job log is removed once it is older than
+   * twice this time, so a transaction which reuses it can not lose it, see {@link HistoricJobLogExceptionPruning}.
+   */
+  protected long historicJobLogExceptionDeduplicationWindowInMillis = 60 * 60 * 1000;
+
+  protected HistoricJobLogExceptionPruning historicJobLogExceptionPruning;
+
   /** Allows setting whether the process engine should try reusing the first level entity cache.
    * Default setting is false, enabling it improves performance of asynchronous continuations.
    */
@@ -562,6 +704,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * If true, activity instance starts and job executions are additionally counted per
+   * process definition, activity or job type and tenant, see {@link Metrics#TAG_PROCESS_DEFINITION_KEY}.
+   * Each tag adds a row to the meter log per reporting interval, so tagging has to be enabled explicitly.
+   */
+  protected boolean isMetricsTaggingEnabled = false;
+
+  /** the maximum number of distinct tags counted per tagged meter, further tags are counted as overflow */
+  protected int metricsTagLimit = 100;
+
+  /**
+   * Exporters which periodically receive a snapshot of all metrics, see {@link MetricsExporter}.
+   */
+  protected List<MetricsExporter> metricsExporters;
+
+  /** the interval in which the {@link #metricsExporters} are invoked */
+  protected long metricsExportIntervalInSeconds = 60;
+
+  protected MetricsExportReporter metricsExportReporter;
+
+  /**
+   * If true, the db metrics reporter rolls up its meter logs which are older than
+   * {@link #meterLogRollupAgeInSeconds} into intervals of {@link #meterLogRollupIntervalInSeconds}.
+   */
+  protected boolean isMeterLogRollupEnabled = true;
+  protected long meterLogRollupIntervalInSeconds = 60 * 60;
+  protected long meterLogRollupAgeInSeconds = 24 * 60 * 60;
+
+  /**
+   * If true, the sql statements of every n-th command are profiled, see {@link SqlStatementProfiler}.
+   * The profiling can also be enabled at runtime via the profiler.
+   */
+  protected boolean isSqlStatementProfilingEnabled = false;
+  protected int sqlStatementProfilingSamplingInterval = 100;
+  /** the number of recent statement executions from which the slowest statements are selected */
+  protected int sqlStatementProfilingBufferSize = 1000;
+  /** the number of executions of a select statement within a command from which on it is reported as N+1 pattern */
+  protected int sqlStatementProfilingNPlusOneThreshold = 10;
+
+  protected SqlStatementProfiler sqlStatementProfiler;
+
+  /**
+   * If true, the execution of commands, atomic operations, jobs, flushes and scripts and expressions
+   * is recorded as JDK Flight Recorder events if the JVM supports it, see {@link JfrEngineEventRecorder}.
+   */
+  protected boolean isEngineEventRecordingEnabled = false;
+
+  protected EngineEventRecorder engineEventRecorder;
+
+  /**
+   * Traces the execution of commands and activities; the trace context is stored with jobs and
+   * external tasks to continue the trace asynchronously. Defaults to a {@link NoopTracingProvider}.
+   */
+  protected TracingProvider tracingProvider;
+
+  /**
+   * If true, commands which take longer than the {@link #slowCommandLogThresholdInMillis} including
+   * flush and commit are logged as JSON lines, see {@link SlowCommandInterceptor}.
+   */
+  protected boolean isSlowCommandLogEnabled = false;
+
+  protected long slowCommandLogThresholdInMillis = SlowCommandInterceptor.DEFAULT_THRESHOLD_IN_MILLIS;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   /** handling of expressions submitted via API; can be used as guards against remote code execution */
@@ -639,12 +844,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandExecutors();
     initServices();
     initIdGenerator();
+    // before the deployers, the metrics parse listeners resolve their meters from the registry
+    initMetrics();
+    initEngineEventRecorder();
+    initTracingProvider();
     initDeployers();
+    initDeploymentCacheWarmUp();
+    initHistoryEventOutboxWriter();
+    initHistoryCleanup();
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
     initJobExecutor();
     initDataSource();
+    // after the data source, the maintenance of the partitions depends on the database type
+    initHistoryTablePartitioning();
+    initHistoricJobLogExceptionPruning();
     initTransactionFactory();
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
@@ -661,7 +876,6 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPasswordDigest();
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
-    initMetrics();
     initMigration();
     initCommandCheckers();
     initDefaultUserPermissionForTask();
@@ -723,6 +937,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       MigrationBatchJobHandler migrationHandler = new MigrationBatchJobHandler();
       batchHandlers.put(migrationHandler.getType(), migrationHandler);
+
+      DeleteHistoricProcessInstancesJobHandler deleteHistoricProcessInstancesHandler = new DeleteHistoricProcessInstancesJobHandler();
+      batchHandlers.put(deleteHistoricProcessInstancesHandler.getType(), deleteHistoricProcessInstancesHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -758,6 +975,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         commandInterceptorsTxRequired = new ArrayList<CommandInterceptor>();
       }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
+      if (isSlowCommandLogEnabled) {
+        commandInterceptorsTxRequired.add(new SlowCommandInterceptor(slowCommandLogThresholdInMillis));
+      }
       if (customPostCommandInterceptorsTxRequired!=null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
       }
@@ -773,6 +993,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         commandInterceptorsTxRequiresNew = new ArrayList<CommandInterceptor>();
       }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
+      if (isSlowCommandLogEnabled) {
+        commandInterceptorsTxRequiresNew.add(new SlowCommandInterceptor(slowCommandLogThresholdInMillis));
+      }
       if (customPostCommandInterceptorsTxRequiresNew!=null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
       }
@@ -1110,6 +1333,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(ProcessDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(PropertyManager.class));
       addSessionFactory(new GenericManagerFactory(ResourceManager.class));
+      addSessionFactory(new GenericManagerFactory(ParseSnapshotManager.class));
       addSessionFactory(new GenericManagerFactory(ByteArrayManager.class));
       addSessionFactory(new GenericManagerFactory(TableDataManager.class));
       addSessionFactory(new GenericManagerFactory(TaskManager.class));
@@ -1120,6 +1344,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(AuthorizationManager.class));
       addSessionFactory(new GenericManagerFactory(FilterManager.class));
       addSessionFactory(new GenericManagerFactory(MeterLogManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryEventOutboxManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryTablePartitionManager.class));
       addSessionFactory(new GenericManagerFactory(ExternalTaskManager.class));
       addSessionFactory(new GenericManagerFactory(ReportManager.class));
       addSessionFactory(new GenericManagerFactory(BatchManager.class));
@@ -1157,14 +1383,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setSqlSessionFactory(sqlSessionFactory);
     dbSqlSessionFactory.setDbIdentityUsed(isDbIdentityUsed);
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
+    dbSqlSessionFactory.setHistoryTablePartitioningEnabled(isHistoryTablePartitioningEnabled);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+    initSqlStatementProfiler();
+    dbSqlSessionFactory.setSqlStatementProfiler(sqlStatementProfiler);
     addSessionFactory(dbSqlSessionFactory);
     addSessionFactory(new DbSqlPersistenceProviderFactory());
   }
 
+  protected void initSqlStatementProfiler() {
+    if (sqlStatementProfiler == null) {
+      sqlStatementProfiler = new SqlStatementProfiler(isSqlStatementProfilingEnabled, sqlStatementProfilingSamplingInterval,
+          sqlStatementProfilingBufferSize, sqlStatementProfilingNPlusOneThreshold);
+    }
+  }
+
   protected void initMigration() {
     initMigrationInstructionValidators();
     initMigrationActivityMatcher();
@@ -1285,6 +1521,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initDeploymentCacheWarmUp() {
+    if (isDeploymentCacheWarmUpEnabled && deploymentCacheWarmUp == null) {
+      deploymentCacheWarmUp = new DeploymentCacheWarmUp(commandExecutorTxRequired);
+      deploymentCacheWarmUp.setLatestVersions(deploymentCacheWarmUpLatestVersions);
+      deploymentCacheWarmUp.setIncludeRunningInstances(isDeploymentCacheWarmUpRunningInstances);
+      deploymentCacheWarmUp.setThreads(deploymentCacheWarmUpThreads);
+    }
+  }
+
+  protected void initHistoryEventOutboxWriter() {
+    if (isHistoryEventOutboxEnabled && historyEventOutboxWriter == null) {
+      historyEventOutboxWriter = new HistoryEventOutboxWriter(commandExecutorTxRequired);
+      historyEventOutboxWriter.setBatchSize(historyEventOutboxBatchSize);
+      historyEventOutboxWriter.setIntervalInMillis(historyEventOutboxWriterIntervalInMillis);
+      historyEventOutboxWriter.setMaxAttempts(historyEventOutboxMaxAttempts);
+    }
+  }
+
+  protected void initHistoryCleanup() {
+    if (historyCleanupBatchWindowStartTime != null || historyCleanupBatchWindowEndTime != null) {
+      historyCleanupBatchWindowStartTimeAsDate = HistoryCleanupHelper.parseTimeConfiguration("historyCleanupBatchWindowStartTime", historyCleanupBatchWindowStartTime);
+      historyCleanupBatchWindowEndTimeAsDate = HistoryCleanupHelper.parseTimeConfiguration("historyCleanupBatchWindowEndTime", historyCleanupBatchWindowEndTime);
+    }
+    if (historyCleanupBatchSize <= 0) {
+      throw new ProcessEngineException("historyCleanupBatchSize must be greater than 0, but was " + historyCleanupBatchSize);
+    }
+  }
+
+  protected void initHistoryTablePartitioning() {
+    if (isHistoryTablePartitioningEnabled && historyTablePartitioning == null) {
+      historyTablePartitioning = new HistoryTablePartitioning(commandExecutorTxRequiresNew);
+      historyTablePartitioning.setDatabaseType(databaseType);
+      historyTablePartitioning.setIntervalInMillis(historyTablePartitionMaintenanceIntervalInMillis);
+      historyTablePartitioning.setPartitionsCreatedAhead(historyTablePartitionsCreatedAhead);
+      historyTablePartitioning.setRetentionDays(historyTablePartitionRetentionDays);
+    }
+  }
+
+  protected void initHistoricJobLogExceptionPruning() {
+    if (isHistoricJobLogExceptionDeduplicationEnabled && historicJobLogExceptionPruning == null) {
+      historicJobLogExceptionPruning = new HistoricJobLogExceptionPruning(commandExecutorTxRequired, historicJobLogExceptionDeduplicationWindowInMillis);
+    }
+  }
+
   protected Collection< ? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<Deployer>();
 
@@ -1334,7 +1614,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       defaultListeners.add(new HistoryParseListener(historyLevel, historyEventProducer));
     }
     if(isMetricsEnabled) {
-      defaultListeners.add(new MetricsBpmnParseListener());
+      defaultListeners.add(new MetricsBpmnParseListener(metricsRegistry));
     }
     return defaultListeners;
   }
@@ -1373,7 +1653,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       defaultListener.add(new CmmnHistoryTransformListener(historyLevel, cmmnHistoryEventProducer));
     }
     if(isMetricsEnabled) {
-      defaultListener.add(new MetricsCmmnTransformListener());
+      defaultListener.add(new MetricsCmmnTransformListener(metricsRegistry));
     }
     return defaultListener;
   }
@@ -1445,6 +1725,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     BatchMonitorJobHandler batchMonitorJobHandler = new BatchMonitorJobHandler();
     jobHandlers.put(batchMonitorJobHandler.getType(), batchMonitorJobHandler);
 
+    HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
+    jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+
     for (JobHandler batchHandler : batchHandlers.values()) {
       jobHandlers.put(batchHandler.getType(), batchHandler);
     }
@@ -1592,6 +1875,38 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       if(dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
+
+      if(isMeterLogRollupEnabled && dbMetricsReporter.getMeterLogRollupTask() == null) {
+        dbMetricsReporter.setMeterLogRollupTask(new MeterLogRollupTask(commandExecutorTxRequired,
+            meterLogRollupIntervalInSeconds, meterLogRollupAgeInSeconds));
+      }
+
+      initMetricsExport(metricsRegistry);
+    }
+  }
+
+  protected void initEngineEventRecorder() {
+    if (isEngineEventRecordingEnabled && engineEventRecorder == null) {
+      engineEventRecorder = JfrEngineEventRecorder.getInstance();
+    }
+  }
+
+  protected void initTracingProvider() {
+    if (tracingProvider == null) {
+      tracingProvider = new NoopTracingProvider();
+    }
+  }
+
+  protected void initMetricsExport(MetricsRegistry metricsRegistry) {
+    if (metricsExporters != null && !metricsExporters.isEmpty()) {
+      for (MetricsExporter metricsExporter : metricsExporters) {
+        metricsRegistry.addExporter(metricsExporter);
+      }
+
+      if (metricsExportReporter == null) {
+        metricsExportReporter = new MetricsExportReporter(metricsRegistry);
+        metricsExportReporter.setExportIntervalInSeconds(metricsExportIntervalInSeconds);
+      }
     }
   }
 
@@ -1607,6 +1922,43 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.HISTORY_EVENTS_MATERIALIZED);
+    metricsRegistry.createMeter(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES);
+
+    metricsRegistry.createHistogram(Metrics.COMMAND_DURATION);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_DURATION);
+    metricsRegistry.createHistogram(Metrics.JOB_ACQUISITION_DURATION);
+    metricsRegistry.createHistogram(Metrics.DB_FLUSH_DURATION);
+
+    if (isMetricsTaggingEnabled) {
+      metricsRegistry.createTaggedMeter(Metrics.ACTIVTY_INSTANCE_START, metricsTagLimit);
+      metricsRegistry.createTaggedMeter(Metrics.JOB_SUCCESSFUL, metricsTagLimit);
+      metricsRegistry.createTaggedMeter(Metrics.JOB_FAILED, metricsTagLimit);
+    }
+
+    initDefaultGauges(metricsRegistry);
+  }
+
+  protected void initDefaultGauges(MetricsRegistry metricsRegistry) {
+    // the gauges look up the job executor and the data source on every read
+    // since both are initialized after the metrics
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_ACTIVE_THREADS,
+        new ThreadPoolJobExecutorGauge(this, ThreadPoolJobExecutorGauge.Value.ACTIVE_THREADS));
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_POOL_SIZE,
+        new ThreadPoolJobExecutorGauge(this, ThreadPoolJobExecutorGauge.Value.POOL_SIZE));
+    metricsRegistry.registerGauge(Metrics.JOB_EXECUTOR_QUEUE_SIZE,
+        new ThreadPoolJobExecutorGauge(this, ThreadPoolJobExecutorGauge.Value.QUEUE_SIZE));
+    metricsRegistry.registerGauge(Metrics.JOB_ACQUISITION_WAIT_TIME,
+        new JobAcquisitionWaitTimeGauge(this));
+    metricsRegistry.registerGauge(Metrics.DB_POOL_ACTIVE_CONNECTIONS,
+        new PooledDataSourceGauge(this, PooledDataSourceGauge.Value.ACTIVE_CONNECTIONS));
+    metricsRegistry.registerGauge(Metrics.DB_POOL_IDLE_CONNECTIONS,
+        new PooledDataSourceGauge(this, PooledDataSourceGauge.Value.IDLE_CONNECTIONS));
+    metricsRegistry.registerGauge(Metrics.HISTORY_EVENT_OUTBOX_LAG,
+        new HistoryEventOutboxLagGauge(this));
+    metricsRegistry.registerGauge(Metrics.HISTORY_EVENT_OUTBOX_FAILED_ENTRIES,
+        new HistoryEventOutboxFailedEntriesGauge(this));
   }
 
   protected void initSerialization() {
@@ -1863,7 +2215,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if(historyEventHandler == null) {
-      historyEventHandler = new DbHistoryEventHandler();
+      if(isHistoryEventOutboxEnabled) {
+        historyEventHandler = new OutboxHistoryEventHandler();
+      } else {
+        historyEventHandler = new DbHistoryEventHandler();
+      }
     }
   }
 
@@ -2945,6 +3301,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public int getHistoricVariableInstancePrefetchLimit() {
+    return historicVariableInstancePrefetchLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricVariableInstancePrefetchLimit(int historicVariableInstancePrefetchLimit) {
+    this.historicVariableInstancePrefetchLimit = historicVariableInstancePrefetchLimit;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3013,6 +3378,310 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isDeploymentLockUsed = isDeploymentLockUsed;
   }
 
+  /**
+   * @return true if parse snapshots of BPMN resources are written and used to restore process definitions.
+   */
+  public boolean isParseSnapshotEnabled() {
+    return isParseSnapshotEnabled;
+  }
+
+  /**
+   * If set to true, the parsed element tree of each BPMN resource is stored in a binary snapshot
+   * when it is deployed. Process definitions which are not in the deployment cache (e.g. after a restart)
+   * are then restored from the snapshot without parsing and validating the XML again.
+   */
+  public ProcessEngineConfigurationImpl setParseSnapshotEnabled(boolean isParseSnapshotEnabled) {
+    this.isParseSnapshotEnabled = isParseSnapshotEnabled;
+    return this;
+  }
+
+  public String getParseSnapshotVersion() {
+    return parseSnapshotVersion;
+  }
+
+  /**
+   * Sets the engine version which is part of the fingerprint of parse snapshots. It defaults to the
+   * implementation version of the engine jar and has to be set if the engine does not run from a
+   * packaged jar, otherwise no snapshots are written or used.
+   */
+  public ProcessEngineConfigurationImpl setParseSnapshotVersion(String parseSnapshotVersion) {
+    this.parseSnapshotVersion = parseSnapshotVersion;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return isDeploymentCacheWarmUpEnabled;
+  }
+
+  /**
+   * If set to true, the process engine loads process definitions into the deployment cache
+   * on a background thread pool after it was started.
+   *
+   * @see #setDeploymentCacheWarmUpLatestVersions(int)
+   * @see #setDeploymentCacheWarmUpRunningInstances(boolean)
+   */
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean isDeploymentCacheWarmUpEnabled) {
+    this.isDeploymentCacheWarmUpEnabled = isDeploymentCacheWarmUpEnabled;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpLatestVersions() {
+    return deploymentCacheWarmUpLatestVersions;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpLatestVersions(int deploymentCacheWarmUpLatestVersions) {
+    this.deploymentCacheWarmUpLatestVersions = deploymentCacheWarmUpLatestVersions;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpRunningInstances() {
+    return isDeploymentCacheWarmUpRunningInstances;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpRunningInstances(boolean isDeploymentCacheWarmUpRunningInstances) {
+    this.isDeploymentCacheWarmUpRunningInstances = isDeploymentCacheWarmUpRunningInstances;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpThreads() {
+    return deploymentCacheWarmUpThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpThreads(int deploymentCacheWarmUpThreads) {
+    this.deploymentCacheWarmUpThreads = deploymentCacheWarmUpThreads;
+    return this;
+  }
+
+  public DeploymentCacheWarmUp getDeploymentCacheWarmUp() {
+    return deploymentCacheWarmUp;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUp(DeploymentCacheWarmUp deploymentCacheWarmUp) {
+    this.deploymentCacheWarmUp = deploymentCacheWarmUp;
+    return this;
+  }
+
+  public boolean isHistoryEventOutboxEnabled() {
+    return isHistoryEventOutboxEnabled;
+  }
+
+  /**
+   * If set to true and no other history event handler is configured, history events are
+   * enqueued in the history event outbox with one insert per command and instance and materialized into
+   * the history tables in the background. Queries on the history are eventually consistent then.
+   *
+   * @see #setHistoryEventOutboxBatchSize(int)
+   * @see #setHistoryEventOutboxWriterIntervalInMillis(long)
+   */
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxEnabled(boolean isHistoryEventOutboxEnabled) {
+    this.isHistoryEventOutboxEnabled = isHistoryEventOutboxEnabled;
+    return this;
+  }
+
+  public int getHistoryEventOutboxBatchSize() {
+    return historyEventOutboxBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxBatchSize(int historyEventOutboxBatchSize) {
+    this.historyEventOutboxBatchSize = historyEventOutboxBatchSize;
+    return this;
+  }
+
+  public long getHistoryEventOutboxWriterIntervalInMillis() {
+    return historyEventOutboxWriterIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxWriterIntervalInMillis(long historyEventOutboxWriterIntervalInMillis) {
+    this.historyEventOutboxWriterIntervalInMillis = historyEventOutboxWriterIntervalInMillis;
+    return this;
+  }
+
+  public int getHistoryEventOutboxMaxAttempts() {
+    return historyEventOutboxMaxAttempts;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxMaxAttempts(int historyEventOutboxMaxAttempts) {
+    this.historyEventOutboxMaxAttempts = historyEventOutboxMaxAttempts;
+    return this;
+  }
+
+  public HistoryEventOutboxWriter getHistoryEventOutboxWriter() {
+    return historyEventOutboxWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxWriter(HistoryEventOutboxWriter historyEventOutboxWriter) {
+    this.historyEventOutboxWriter = historyEventOutboxWriter;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowStartTime() {
+    return historyCleanupBatchWindowStartTime;
+  }
+
+  /**
+   * Sets the start of the daily batch window in which the history cleanup job removes the
+   * history of finished process instances whose history time to live has expired. The time
+   * has the format HH:mm. The history cleanup is only scheduled automatically if a batch window
+   * is configured.
+   *
+   * @see #setHistoryCleanupBatchWindowEndTime(String)
+   */
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowStartTime(String historyCleanupBatchWindowStartTime) {
+    this.historyCleanupBatchWindowStartTime = historyCleanupBatchWindowStartTime;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowEndTime() {
+    return historyCleanupBatchWindowEndTime;
+  }
+
+  /**
+   * Sets the end of the daily batch window of the history cleanup in the format HH:mm. The end
+   * may be before the start, e.g. 22:00 - 04:00, in which case the batch window spans midnight.
+   */
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowEndTime(String historyCleanupBatchWindowEndTime) {
+    this.historyCleanupBatchWindowEndTime = historyCleanupBatchWindowEndTime;
+    return this;
+  }
+
+  public Date getHistoryCleanupBatchWindowStartTimeAsDate() {
+    return historyCleanupBatchWindowStartTimeAsDate;
+  }
+
+  public Date getHistoryCleanupBatchWindowEndTimeAsDate() {
+    return historyCleanupBatchWindowEndTimeAsDate;
+  }
+
+  public boolean isHistoryCleanupBatchWindowConfigured() {
+    return historyCleanupBatchWindowStartTimeAsDate != null;
+  }
+
+  public int getHistoryCleanupBatchSize() {
+    return historyCleanupBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchSize(int historyCleanupBatchSize) {
+    this.historyCleanupBatchSize = historyCleanupBatchSize;
+    return this;
+  }
+
+  public boolean isHistoryTablePartitioningEnabled() {
+    return isHistoryTablePartitioningEnabled;
+  }
+
+  /**
+   * Enables the monthly range partitioning of the history tables <code>ACT_HI_ACTINST</code>,
+   * <code>ACT_HI_DETAIL</code>, <code>ACT_HI_OP_LOG</code> and <code>ACT_HI_JOB_LOG</code>.
+   * Only takes effect if the history tables are created by the process engine.
+   *
+   * @see #setHistoryTablePartitionsCreatedAhead(int)
+   * @see #setHistoryTablePartitionRetentionDays(Integer)
+   * @see #setHistoryTablePartitionMaintenanceIntervalInMillis(long)
+   */
+  public ProcessEngineConfigurationImpl setHistoryTablePartitioningEnabled(boolean isHistoryTablePartitioningEnabled) {
+    this.isHistoryTablePartitioningEnabled = isHistoryTablePartitioningEnabled;
+    return this;
+  }
+
+  public int getHistoryTablePartitionsCreatedAhead() {
+    return historyTablePartitionsCreatedAhead;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTablePartitionsCreatedAhead(int historyTablePartitionsCreatedAhead) {
+    this.historyTablePartitionsCreatedAhead = historyTablePartitionsCreatedAhead;
+    return this;
+  }
+
+  public Integer getHistoryTablePartitionRetentionDays() {
+    return historyTablePartitionRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTablePartitionRetentionDays(Integer historyTablePartitionRetentionDays) {
+    this.historyTablePartitionRetentionDays = historyTablePartitionRetentionDays;
+    return this;
+  }
+
+  public long getHistoryTablePartitionMaintenanceIntervalInMillis() {
+    return historyTablePartitionMaintenanceIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTablePartitionMaintenanceIntervalInMillis(long historyTablePartitionMaintenanceIntervalInMillis) {
+    this.historyTablePartitionMaintenanceIntervalInMillis = historyTablePartitionMaintenanceIntervalInMillis;
+    return this;
+  }
+
+  public HistoryTablePartitioning getHistoryTablePartitioning() {
+    return historyTablePartitioning;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTablePartitioning(HistoryTablePartitioning historyTablePartitioning) {
+    this.historyTablePartitioning = historyTablePartitioning;
+    return this;
+  }
+
+  public boolean isHistoricStatisticsAggregationEnabled() {
+    return isHistoricStatisticsAggregationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricStatisticsAggregationEnabled(boolean isHistoricStatisticsAggregationEnabled) {
+    this.isHistoricStatisticsAggregationEnabled = isHistoricStatisticsAggregationEnabled;
+    return this;
+  }
+
+  public boolean isHistoricStatisticsAggregationQueryEnabled() {
+    return isHistoricStatisticsAggregationQueryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricStatisticsAggregationQueryEnabled(boolean isHistoricStatisticsAggregationQueryEnabled) {
+    this.isHistoricStatisticsAggregationQueryEnabled = isHistoricStatisticsAggregationQueryEnabled;
+    return this;
+  }
+
+  public boolean isByteArrayCompressionEnabled() {
+    return isByteArrayCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionEnabled(boolean isByteArrayCompressionEnabled) {
+    this.isByteArrayCompressionEnabled = isByteArrayCompressionEnabled;
+    return this;
+  }
+
+  public int getByteArrayCompressionThreshold() {
+    return byteArrayCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+    this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+    return this;
+  }
+
+  public boolean isHistoricJobLogExceptionDeduplicationEnabled() {
+    return isHistoricJobLogExceptionDeduplicationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogExceptionDeduplicationEnabled(boolean isHistoricJobLogExceptionDeduplicationEnabled) {
+    this.isHistoricJobLogExceptionDeduplicationEnabled = isHistoricJobLogExceptionDeduplicationEnabled;
+    return this;
+  }
+
+  public long getHistoricJobLogExceptionDeduplicationWindowInMillis() {
+    return historicJobLogExceptionDeduplicationWindowInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogExceptionDeduplicationWindowInMillis(long historicJobLogExceptionDeduplicationWindowInMillis) {
+    this.historicJobLogExceptionDeduplicationWindowInMillis = historicJobLogExceptionDeduplicationWindowInMillis;
+    return this;
+  }
+
+  public HistoricJobLogExceptionPruning getHistoricJobLogExceptionPruning() {
+    return historicJobLogExceptionPruning;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogExceptionPruning(HistoricJobLogExceptionPruning historicJobLogExceptionPruning) {
+    this.historicJobLogExceptionPruning = historicJobLogExceptionPruning;
+    return this;
+  }
+
   public boolean isCmmnEnabled() {
     return cmmnEnabled;
   }
@@ -3152,6 +3821,168 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  public boolean isMetricsTaggingEnabled() {
+    return isMetricsTaggingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsTaggingEnabled(boolean isMetricsTaggingEnabled) {
+    this.isMetricsTaggingEnabled = isMetricsTaggingEnabled;
+    return this;
+  }
+
+  public int getMetricsTagLimit() {
+    return metricsTagLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsTagLimit(int metricsTagLimit) {
+    this.metricsTagLimit = metricsTagLimit;
+    return this;
+  }
+
+  public List<MetricsExporter> getMetricsExporters() {
+    return metricsExporters;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsExporters(List<MetricsExporter> metricsExporters) {
+    this.metricsExporters = metricsExporters;
+    return this;
+  }
+
+  public long getMetricsExportIntervalInSeconds() {
+    return metricsExportIntervalInSeconds;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsExportIntervalInSeconds(long metricsExportIntervalInSeconds) {
+    this.metricsExportIntervalInSeconds = metricsExportIntervalInSeconds;
+    return this;
+  }
+
+  public MetricsExportReporter getMetricsExportReporter() {
+    return metricsExportReporter;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsExportReporter(MetricsExportReporter metricsExportReporter) {
+    this.metricsExportReporter = metricsExportReporter;
+    return this;
+  }
+
+  public boolean isMeterLogRollupEnabled() {
+    return isMeterLogRollupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMeterLogRollupEnabled(boolean isMeterLogRollupEnabled) {
+    this.isMeterLogRollupEnabled = isMeterLogRollupEnabled;
+    return this;
+  }
+
+  public long getMeterLogRollupIntervalInSeconds() {
+    return meterLogRollupIntervalInSeconds;
+  }
+
+  public ProcessEngineConfigurationImpl setMeterLogRollupIntervalInSeconds(long meterLogRollupIntervalInSeconds) {
+    this.meterLogRollupIntervalInSeconds = meterLogRollupIntervalInSeconds;
+    return this;
+  }
+
+  public long getMeterLogRollupAgeInSeconds() {
+    return meterLogRollupAgeInSeconds;
+  }
+
+  public ProcessEngineConfigurationImpl setMeterLogRollupAgeInSeconds(long meterLogRollupAgeInSeconds) {
+    this.meterLogRollupAgeInSeconds = meterLogRollupAgeInSeconds;
+    return this;
+  }
+
+  public boolean isSqlStatementProfilingEnabled() {
+    return isSqlStatementProfilingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfilingEnabled(boolean isSqlStatementProfilingEnabled) {
+    this.isSqlStatementProfilingEnabled = isSqlStatementProfilingEnabled;
+    return this;
+  }
+
+  public int getSqlStatementProfilingSamplingInterval() {
+    return sqlStatementProfilingSamplingInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfilingSamplingInterval(int sqlStatementProfilingSamplingInterval) {
+    this.sqlStatementProfilingSamplingInterval = sqlStatementProfilingSamplingInterval;
+    return this;
+  }
+
+  public int getSqlStatementProfilingBufferSize() {
+    return sqlStatementProfilingBufferSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfilingBufferSize(int sqlStatementProfilingBufferSize) {
+    this.sqlStatementProfilingBufferSize = sqlStatementProfilingBufferSize;
+    return this;
+  }
+
+  public int getSqlStatementProfilingNPlusOneThreshold() {
+    return sqlStatementProfilingNPlusOneThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfilingNPlusOneThreshold(int sqlStatementProfilingNPlusOneThreshold) {
+    this.sqlStatementProfilingNPlusOneThreshold = sqlStatementProfilingNPlusOneThreshold;
+    return this;
+  }
+
+  public SqlStatementProfiler getSqlStatementProfiler() {
+    return sqlStatementProfiler;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+    this.sqlStatementProfiler = sqlStatementProfiler;
+    return this;
+  }
+
+  public boolean isEngineEventRecordingEnabled() {
+    return isEngineEventRecordingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setEngineEventRecordingEnabled(boolean isEngineEventRecordingEnabled) {
+    this.isEngineEventRecordingEnabled = isEngineEventRecordingEnabled;
+    return this;
+  }
+
+  public EngineEventRecorder getEngineEventRecorder() {
+    return engineEventRecorder;
+  }
+
+  public ProcessEngineConfigurationImpl setEngineEventRecorder(EngineEventRecorder engineEventRecorder) {
+    this.engineEventRecorder = engineEventRecorder;
+    return this;
+  }
+
+  public TracingProvider getTracingProvider() {
+    return tracingProvider;
+  }
+
+  public ProcessEngineConfigurationImpl setTracingProvider(TracingProvider tracingProvider) {
+    this.tracingProvider = tracingProvider;
+    return this;
+  }
+
+  public boolean isSlowCommandLogEnabled() {
+    return isSlowCommandLogEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSlowCommandLogEnabled(boolean isSlowCommandLogEnabled) {
+    this.isSlowCommandLogEnabled = isSlowCommandLogEnabled;
+    return this;
+  }
+
+  public long getSlowCommandLogThresholdInMillis() {
+    return slowCommandLogThresholdInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setSlowCommandLogThresholdInMillis(long slowCommandLogThresholdInMillis) {
+    this.slowCommandLogThresholdInMillis = slowCommandLogThresholdInMillis;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+
+/**
+ * Validates the historic process instances which are deleted synchronously
+ * or by a batch, so both ways fail the same way.
+ */
+public abstract class AbstractDeleteHistoricProcessInstancesCmd<T> implements Command<T>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> processInstanceIds;
+
+  public AbstractDeleteHistoricProcessInstancesCmd(List<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  /**
+   * @return the given process instance ids without duplicates, in the given order
+   */
+  protected List<String> collectProcessInstanceIds() {
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+    ensureNotContainsNull(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+
+    return new ArrayList<String>(new LinkedHashSet<String>(processInstanceIds));
+  }
+
+  /**
+   * Checks that the historic process instances are finished and that the user
+   * is allowed to delete them.
+   *
+   * @param failIfNotExists if <code>false</code>, ids without historic process instance are skipped
+   * @return the ids of the existing historic process instances, in the given order
+   */
+  protected List<String> checkProcessInstances(CommandContext commandContext, List<String> ids, boolean failIfNotExists) {
+    List<HistoricProcessInstanceEntity> instances = commandContext
+      .getHistoricProcessInstanceManager()
+      .findHistoricProcessInstancesByIds(ids);
+
+    Map<String, HistoricProcessInstanceEntity> instancesById = new HashMap<String, HistoricProcessInstanceEntity>();
+    for (HistoricProcessInstanceEntity instance : instances) {
+      instancesById.put(instance.getId(), instance);
+    }
+
+    List<String> existingIds = new ArrayList<String>();
+    for (String processInstanceId : ids) {
+      HistoricProcessInstanceEntity instance = instancesById.get(processInstanceId);
+      if (instance == null && !failIfNotExists) {
+        continue;
+      }
+      ensureNotNull(BadUserRequestException.class, "No historic process instance found with id: " + processInstanceId, "instance", instance);
+
+      for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+        checker.checkDeleteHistoricProcessInstance(instance);
+      }
+
+      ensureNotNull(BadUserRequestException.class, "Process instance is still running, cannot delete historic process instance: " + processInstanceId, "instance.getEndTime()", instance.getEndTime());
+
+      existingIds.add(processInstanceId);
+    }
+
+    return existingIds;
+  }
+
+}
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes a set of finished historic process instances with one delete
+ * statement per history table.
+ */
+public class DeleteHistoricProcessInstancesCmd extends AbstractDeleteHistoricProcessInstancesCmd<Void> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected boolean failIfNotExists;
+
+  public DeleteHistoricProcessInstancesCmd(List<String> processInstanceIds) {
+    this(processInstanceIds, true);
+  }
+
+  /**
+   * @param failIfNotExists if <code>false</code>, ids of historic process instances which
+   *   were deleted in the meantime are skipped, e.g. when a batch job is executed again
+   */
+  public DeleteHistoricProcessInstancesCmd(List<String> processInstanceIds, boolean failIfNotExists) {
+    super(processInstanceIds);
+    this.failIfNotExists = failIfNotExists;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    List<String> ids = collectProcessInstanceIds();
+
+    ids = checkProcessInstances(commandContext, ids, failIfNotExists);
+
+    if (!ids.isEmpty()) {
+      commandContext
+        .getHistoricProcessInstanceManager()
+        .deleteHistoricProcessInstanceByIds(ids);
+    }
+
+    return null;
+  }
+
+}
@@ -439,9 +439,10 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
+      // only the content hashes of the existing resources are loaded, not their bytes
       Map<String, ResourceEntity> existingResources = commandContext
           .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
+          .findLatestResourceHashesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
@@ -449,7 +450,7 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
 
         if (existingResource == null
             || existingResource.isGenerated()
-            || resourcesDiffer(deployedResource, existingResource)) {
+            || resourcesDiffer(commandContext, deployedResource, existingResource)) {
           // resource should be deployed
 
           if (deploymentBuilder.isDeployChangedOnly()) {
@@ -469,6 +470,18 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
     return resourcesToDeploy;
   }
 
+  protected boolean resourcesDiffer(CommandContext commandContext, ResourceEntity resource, ResourceEntity existing) {
+    String existingHash = existing.getHash();
+    if (existingHash == null) {
+      // deployed before content hashes were stored; fall back to comparing the bytes
+      existing = commandContext
+          .getResourceManager()
+          .findResourceByDeploymentIdAndResourceId(existing.getDeploymentId(), existing.getId());
+      return resourcesDiffer(resource, existing);
+    }
+    return !existingHash.equals(resource.getHash());
+  }
+
   protected boolean resourcesDiffer(ResourceEntity resource, ResourceEntity existing) {
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
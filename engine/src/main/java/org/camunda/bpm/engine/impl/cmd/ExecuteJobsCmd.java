@@ -31,7 +31,14 @@ import org.camunda.bpm.engine.impl.jobexecutor.FailedJobListener;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
 import org.camunda.bpm.engine.impl.jobexecutor.SuccessfulJobListener;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
+import org.camunda.bpm.engine.impl.tracing.TracingSpan;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Tom Baeyens
@@ -106,6 +113,13 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
 
     // register a listener in case job is executed successfully
     SuccessfulJobListener successListener = createSuccessfulJobListener(commandExecutor);
+
+    if (processEngineConfiguration.isMetricsEnabled() && processEngineConfiguration.isMetricsTaggingEnabled()) {
+      String metricsTag = createMetricsTag(job);
+      failedJobListener.setMetricsTag(metricsTag);
+      successListener.setMetricsTag(metricsTag);
+    }
+
     commandContext.getTransactionContext().addTransactionListener(
         TransactionState.COMMITTED,
         successListener);
@@ -114,6 +128,20 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
       jobExecutorContext.setCurrentJob(job);
     }
 
+    EngineEvent event = EngineEvents.begin(processEngineConfiguration, EngineEventType.JOB_EXECUTION);
+    if (event != null) {
+      event.setName(job.getJobHandlerType());
+      event.setProcessDefinitionId(job.getProcessDefinitionId());
+      event.setActivityId(job.getActivityId());
+    }
+
+    // continue the trace in which the job was created
+    TracingSpan span = Tracing.startSpan("job " + job.getJobHandlerType(), job.getTraceContext());
+    span.setAttribute(Tracing.ATTRIBUTE_JOB_ID, job.getId());
+    span.setAttribute(Tracing.ATTRIBUTE_PROCESS_DEFINITION_ID, job.getProcessDefinitionId());
+    span.setAttribute(Tracing.ATTRIBUTE_PROCESS_INSTANCE_ID, job.getProcessInstanceId());
+    span.setAttribute(Tracing.ATTRIBUTE_ACTIVITY_ID, job.getActivityId());
+
     try {
       job.execute(commandContext);
       return null;
@@ -121,6 +149,7 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
     catch (RuntimeException exception) {
 
       LOG.exceptionWhileExecutingJob(job, exception);
+      span.recordException(exception);
 
       // log the exception in the job
       failedJobListener.setException(exception);
@@ -129,6 +158,9 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
       throw exception;
 
     } finally {
+      span.end();
+      EngineEvents.commit(event);
+
       if (jobExecutorContext != null) {
         jobExecutorContext.setCurrentJob(null);
 
@@ -138,6 +170,13 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
 
   }
 
+  protected String createMetricsTag(JobEntity job) {
+    return TaggedMeter.tag(
+        Metrics.TAG_PROCESS_DEFINITION_KEY, job.getProcessDefinitionKey(),
+        Metrics.TAG_JOB_TYPE, job.getJobHandlerType(),
+        Metrics.TAG_TENANT_ID, job.getTenantId());
+  }
+
   protected FailedJobListener createFailedJobListener(CommandExecutor commandExecutor) {
     return new FailedJobListener(commandExecutor, jobId);
   }
@@ -30,6 +30,8 @@ import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
+import org.camunda.bpm.engine.impl.tracing.TracingSpan;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -74,6 +76,8 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
 
       LockedExternalTaskImpl resultTask = LockedExternalTaskImpl.fromEntity(entity, fetchInstruction.getVariablesToFetch());
 
+      traceFetchedTask(entity);
+
       result.add(resultTask);
     }
 
@@ -82,6 +86,19 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  /**
+   * Continues the trace in which the task was created; the worker continues it with the trace
+   * context of the locked task.
+   */
+  protected void traceFetchedTask(ExternalTaskEntity entity) {
+    TracingSpan span = Tracing.startSpan("external task " + entity.getTopicName(), entity.getTraceContext());
+    span.setAttribute(Tracing.ATTRIBUTE_EXTERNAL_TASK_ID, entity.getId());
+    span.setAttribute(Tracing.ATTRIBUTE_TOPIC_NAME, entity.getTopicName());
+    span.setAttribute(Tracing.ATTRIBUTE_PROCESS_INSTANCE_ID, entity.getProcessInstanceId());
+    span.setAttribute(Tracing.ATTRIBUTE_ACTIVITY_ID, entity.getActivityId());
+    span.end();
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.repository.BpmnModelView;
+
+/**
+ * Gives access to the read-only {@link BpmnModelView} of a deployed process definition.
+ */
+public class GetDeploymentBpmnModelViewCmd implements Command<BpmnModelView>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected String processDefinitionId;
+
+  public GetDeploymentBpmnModelViewCmd(String processDefinitionId) {
+    ensureNotEmpty("processDefinitionId", processDefinitionId);
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public BpmnModelView execute(CommandContext commandContext) {
+    DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
+
+    ProcessDefinitionEntity processDefinition = deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+
+    for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+      checker.checkReadProcessDefinition(processDefinition);
+    }
+
+    return deploymentCache.findBpmnModelViewForProcessDefinition(processDefinitionId);
+  }
+}
@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+
+/**
+ * Schedules the history cleanup job. There is at most one history cleanup job,
+ * an existing job is reused.
+ *
+ * <p>If the cleanup is triggered immediately, the job is due now and removes the history
+ * regardless of the batch window. Otherwise, the job is due at the start of the batch window.</p>
+ */
+public class HistoryCleanupCmd implements Command<Job> {
+
+  protected boolean immediatelyDue;
+
+  public HistoryCleanupCmd(boolean immediatelyDue) {
+    this.immediatelyDue = immediatelyDue;
+  }
+
+  public Job execute(CommandContext commandContext) {
+    if (immediatelyDue) {
+      commandContext.getAuthorizationManager().checkCamundaAdmin();
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    Date now = ClockUtil.getCurrentTime();
+
+    List<JobEntity> jobs = commandContext
+      .getJobManager()
+      .findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+
+    if (jobs.isEmpty()) {
+      Date dueDate = now;
+      if (!immediatelyDue && !HistoryCleanupHelper.isWithinBatchWindow(now, processEngineConfiguration)) {
+        dueDate = HistoryCleanupHelper.getNextBatchWindowStart(now, processEngineConfiguration);
+      }
+      return HistoryCleanupJobHandler.scheduleJob(commandContext, new HistoryCleanupJobHandlerConfiguration(immediatelyDue), dueDate);
+    }
+    else {
+      JobEntity job = jobs.get(0);
+      if (immediatelyDue) {
+        job.setJobHandlerConfiguration(new HistoryCleanupJobHandlerConfiguration(true));
+        job.setDuedate(now);
+        job.setRetries(processEngineConfiguration.getDefaultNumberOfRetries());
+      }
+      return job;
+    }
+  }
+
+}
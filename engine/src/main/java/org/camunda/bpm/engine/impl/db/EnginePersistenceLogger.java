@@ -30,7 +30,9 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 import org.camunda.bpm.engine.variable.value.TypedValue;
@@ -595,4 +597,111 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         ));
   }
 
+  public void deploymentCacheWarmedUp(int deploymentCount, long durationInMillis) {
+    logInfo(
+        "076", "Warmed up deployment cache with {} deployments in {} ms", deploymentCount, durationInMillis);
+  }
+
+  public void unableToWarmUpDeployment(String deploymentId, Exception e) {
+    logWarn(
+        "077", "Unable to load deployment '{}' into the deployment cache: {}", deploymentId, e.getMessage(), e);
+  }
+
+  public void deploymentCacheWarmUpFailed(Exception e) {
+    logWarn(
+        "078", "Deployment cache warm up failed: {}", e.getMessage(), e);
+  }
+
+  public ProcessEngineException exceptionWhileSerializingHistoryEvents(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "079", "Exception while serializing history events into the history event outbox: {}", e.getMessage()), e);
+  }
+
+  public ProcessEngineException exceptionWhileDeserializingHistoryEvents(String outboxEntryId, Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "080", "Exception while deserializing history events of history event outbox entry '{}': {}", outboxEntryId, e.getMessage()), e);
+  }
+
+  public void materializedHistoryEvents(int entryCount, int eventCount, long lagInMillis) {
+    logDebug(
+        "081", "Materialized {} history events of {} history event outbox entries, lag was {} ms", eventCount, entryCount, lagInMillis);
+  }
+
+  public void historyEventOutboxWriterFailed(Exception e) {
+    logWarn(
+        "082", "Unable to materialize history events of the history event outbox: {}", e.getMessage(), e);
+  }
+
+  public ProcessEngineException historyTablePartitioningNotSupported(String databaseType) {
+    return new ProcessEngineException(exceptionMessage(
+        "083", "History table partitioning is not supported for database type '{}', it is supported for postgres, oracle and mysql", databaseType));
+  }
+
+  public void createdHistoryTablePartition(String tableName, String partitionName) {
+    logInfo(
+        "084", "Created partition '{}' of history table '{}'", partitionName, tableName);
+  }
+
+  public void droppedHistoryTablePartition(String tableName, String partitionName) {
+    logInfo(
+        "085", "Dropped partition '{}' of history table '{}'", partitionName, tableName);
+  }
+
+  public void skipDroppingHistoryTablePartition(String tableName, String partitionName, String reason) {
+    logInfo(
+        "086", "Partition '{}' of history table '{}' is not dropped: {}", partitionName, tableName, reason);
+  }
+
+  public void historyTablePartitionMaintenanceFailed(String tableName, String partitionName, Exception e) {
+    logWarn(
+        "087", "Unable to maintain partition '{}' of history table '{}': {}", partitionName, tableName, e.getMessage(), e);
+  }
+
+  public ProcessEngineException unableToCreateHistoryExportDirectory(String directory) {
+    return new ProcessEngineException(exceptionMessage(
+        "088", "Unable to create the history export directory '{}'", directory));
+  }
+
+  public void exportingHistoryEventsFailed(String fileName, Exception e) {
+    logError(
+        "089", "Unable to export history events to file '{}', the events are not exported: {}", fileName, e.getMessage(), e);
+  }
+
+  public void rolledHistoryExportFile(String fileName) {
+    logDebug(
+        "090", "Completed history export file '{}'", fileName);
+  }
+
+  public void failedHistoryEventOutboxEntry(HistoryEventOutboxEntity entry, HistoryEvent historyEvent, int attempts) {
+    logWarn(
+        "091", "Marked the history event outbox entry {} as failed: the update of history event {} did not change a row in {} attempts. "
+        + "The entry is kept and skipped until the failed entries are retried", entry, historyEvent, attempts);
+  }
+
+  public void historyTablePartitionMaintenanceFailed(String tableName, Exception e) {
+    logWarn(
+        "092", "Unable to maintain the partitions of history table '{}': {}", tableName, e.getMessage(), e);
+  }
+
+  public void createdHistoryTablePartitionFromDefaultPartition(String tableName, String partitionName, long movedRows) {
+    logWarn(
+        "093", "Created partition '{}' of history table '{}' and moved {} rows from the default partition to it. "
+        + "The rows were written before the partition existed, consider to create more partitions ahead", partitionName, tableName, movedRows);
+  }
+
+  public void mergedHistoricStatistics(int deltas, int entries) {
+    logDebug(
+        "094", "Merged {} changes of the aggregated historic statistics into {} entries", deltas, entries);
+  }
+
+  public void discardedPendingHistoryEvents(int batches) {
+    logWarn(
+        "095", "Closed the history export before {} pending batches of history events were exported, the events are not exported", batches);
+  }
+
+  public void historicJobLogExceptionPruningFailed(Exception e) {
+    logWarn(
+        "096", "Unable to remove the unreferenced exception stack traces of historic job logs: {}", e.getMessage(), e);
+  }
+
 }
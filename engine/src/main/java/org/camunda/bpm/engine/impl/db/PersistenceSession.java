@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -34,6 +35,12 @@ public interface PersistenceSession extends Session {
 
   Object selectOne(String statement, Object parameter);
 
+  /**
+   * Passes the selected objects one by one to the handler instead of returning them as a list.
+   * The objects are not reported to the {@link EntityLoadListener}s.
+   */
+  <T> void selectWithResultHandler(String statement, Object parameter, QueryResultHandler<T> resultHandler);
+
   void lock(String statement, Object parameter);
 
   void commit();
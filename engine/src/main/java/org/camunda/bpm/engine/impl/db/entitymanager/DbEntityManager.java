@@ -67,7 +67,12 @@ import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  *
@@ -89,6 +94,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected PersistenceSession persistenceSession;
 
+  /** the number of entities which were loaded from the database and put into the cache */
+  protected int loadedEntityCount = 0;
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -172,6 +180,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Passes the selected objects one by one to the handler. In contrast to {@link #selectList(String, ListQueryParameterObject)},
+   * the objects are not put into the entity cache, so a large result can be processed in constant memory.
+   * Hence, the objects must not be modified.
+   */
+  public <T> void selectWithResultHandler(String statement, ListQueryParameterObject parameter, QueryResultHandler<T> resultHandler) {
+    persistenceSession.selectWithResultHandler(statement, parameter, resultHandler);
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -247,6 +264,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
     if(cachedPersistentObject == null) {
       // only put into the cache if not already present
       dbEntityCache.putPersistent(entity);
+      loadedEntityCount++;
 
       // invoke postLoad() lifecycle method
       if (entity instanceof DbEntityLifecycleAware) {
@@ -275,12 +293,29 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   public void flush() {
+    long startTime = System.nanoTime();
+    EngineEvent event = EngineEvents.begin(EngineEventType.FLUSH);
 
-    // flush the entity cache which inserts operations to the db operation manager
-    flushEntityCache();
+    try {
+      // flush the entity cache which inserts operations to the db operation manager
+      flushEntityCache();
 
-    // flush the db operation manager
-    flushDbOperationManager();
+      // flush the db operation manager
+      flushDbOperationManager();
+    }
+    finally {
+      // also a failed flush, e.g. with an optimistic locking exception, took its time
+      EngineEvents.commit(event);
+      recordFlushDuration(startTime);
+    }
+  }
+
+  protected void recordFlushDuration(long startTime) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.DB_FLUSH_DURATION, (System.nanoTime() - startTime) / 1000);
+    }
   }
 
   protected void flushDbOperationManager() {
@@ -495,6 +530,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
     this.dbOperationManager = operationManager;
   }
 
+  public int getLoadedEntityCount() {
+    return loadedEntityCount;
+  }
+
   public DbEntityCache getDbEntityCache() {
     return dbEntityCache;
   }
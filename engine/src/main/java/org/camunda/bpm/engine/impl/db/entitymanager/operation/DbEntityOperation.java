@@ -37,8 +37,14 @@ public class DbEntityOperation extends DbOperation {
    */
   protected boolean failed = false;
 
+  /**
+   * The number of rows changed by an update, <code>-1</code> if the operation was not executed yet
+   */
+  protected int rowsAffected = -1;
+
   public void recycle() {
     entity = null;
+    rowsAffected = -1;
     super.recycle();
   }
 
@@ -59,6 +65,14 @@ public class DbEntityOperation extends DbOperation {
     return failed;
   }
 
+  public int getRowsAffected() {
+    return rowsAffected;
+  }
+
+  public void setRowsAffected(int rowsAffected) {
+    this.rowsAffected = rowsAffected;
+  }
+
   public void setFlushRelevantEntityReferences(Set<String> flushRelevantEntityReferences) {
     this.flushRelevantEntityReferences = flushRelevantEntityReferences;
   }
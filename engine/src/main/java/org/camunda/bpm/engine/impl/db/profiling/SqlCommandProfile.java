@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * The sql statements executed by a single sampled command. A profile belongs to
+ * a single {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession} and is not thread-safe.
+ */
+public class SqlCommandProfile {
+
+  protected final String commandName;
+
+  /** the maximum number of executions which are kept for the slowest statements */
+  protected final int maxExecutions;
+
+  protected final List<SqlStatementExecution> executions = new ArrayList<SqlStatementExecution>();
+  protected final Map<String, Integer> selectCounts = new HashMap<String, Integer>();
+
+  protected int statements = 0;
+  protected long rows = 0;
+  protected long durationInMicros = 0;
+
+  public SqlCommandProfile(String commandName, int maxExecutions) {
+    this.commandName = commandName;
+    this.maxExecutions = maxExecutions;
+  }
+
+  public void selectExecuted(String statement, long durationInNanos, int rows) {
+    Integer count = selectCounts.get(statement);
+    selectCounts.put(statement, count != null ? count + 1 : 1);
+
+    statementExecuted(statement, durationInNanos, rows);
+  }
+
+  public void statementExecuted(String statement, long durationInNanos, int rows) {
+    long durationInMicros = durationInNanos / 1000;
+
+    this.statements++;
+    this.rows += rows;
+    this.durationInMicros += durationInMicros;
+
+    if (executions.size() < maxExecutions) {
+      executions.add(new SqlStatementExecution(commandName, statement, durationInMicros, rows, ClockUtil.getCurrentTime().getTime()));
+    }
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public List<SqlStatementExecution> getExecutions() {
+    return executions;
+  }
+
+  /**
+   * @return the number of executions per select statement
+   */
+  public Map<String, Integer> getSelectCounts() {
+    return selectCounts;
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public long getDurationInMicros() {
+    return durationInMicros;
+  }
+
+}
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The sql statements executed by the sampled invocations of a command class.
+ */
+public class SqlCommandStatistics {
+
+  protected final String commandName;
+
+  protected final AtomicLong invocations = new AtomicLong();
+  protected final AtomicLong statements = new AtomicLong();
+  protected final AtomicLong rows = new AtomicLong();
+  protected final AtomicLong durationInMicros = new AtomicLong();
+  protected final AtomicLong maxStatements = new AtomicLong();
+
+  public SqlCommandStatistics(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public void add(SqlCommandProfile profile) {
+    invocations.incrementAndGet();
+    statements.addAndGet(profile.getStatements());
+    rows.addAndGet(profile.getRows());
+    durationInMicros.addAndGet(profile.getDurationInMicros());
+
+    long max = maxStatements.get();
+    while (profile.getStatements() > max && !maxStatements.compareAndSet(max, profile.getStatements())) {
+      max = maxStatements.get();
+    }
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  /**
+   * @return the number of sampled invocations of the command
+   */
+  public long getInvocations() {
+    return invocations.get();
+  }
+
+  public long getStatements() {
+    return statements.get();
+  }
+
+  public long getRows() {
+    return rows.get();
+  }
+
+  /**
+   * @return the time spent executing sql statements, summed up over all sampled invocations
+   */
+  public long getDurationInMicros() {
+    return durationInMicros.get();
+  }
+
+  /**
+   * @return the maximum number of statements executed by a single invocation
+   */
+  public long getMaxStatements() {
+    return maxStatements.get();
+  }
+
+  public String toString() {
+    return commandName + ": " + getInvocations() + " invocations, " + getStatements() + " statements (max " + getMaxStatements()
+        + "), " + getRows() + " rows, " + getDurationInMicros() + "us";
+  }
+
+}
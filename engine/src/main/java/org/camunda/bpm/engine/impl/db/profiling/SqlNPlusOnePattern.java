@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A select statement which is executed repeatedly within a single command, which
+ * usually indicates that a list of entities is loaded one by one (the N+1 select problem).
+ */
+public class SqlNPlusOnePattern {
+
+  protected final String commandName;
+  protected final String statement;
+
+  protected final AtomicLong occurrences = new AtomicLong();
+  protected final AtomicLong maxExecutions = new AtomicLong();
+
+  public SqlNPlusOnePattern(String commandName, String statement) {
+    this.commandName = commandName;
+    this.statement = statement;
+  }
+
+  public void record(int executions) {
+    occurrences.incrementAndGet();
+
+    long max = maxExecutions.get();
+    while (executions > max && !maxExecutions.compareAndSet(max, executions)) {
+      max = maxExecutions.get();
+    }
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getStatement() {
+    return statement;
+  }
+
+  /**
+   * @return the number of sampled commands which executed the statement repeatedly
+   */
+  public long getOccurrences() {
+    return occurrences.get();
+  }
+
+  /**
+   * @return the maximum number of executions of the statement within a single command
+   */
+  public long getMaxExecutions() {
+    return maxExecutions.get();
+  }
+
+  public String toString() {
+    return commandName + " " + statement + ": " + getOccurrences() + " occurrences, up to " + getMaxExecutions() + " executions";
+  }
+
+}
@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiling;
+
+/**
+ * A single sampled execution of a sql statement.
+ */
+public class SqlStatementExecution {
+
+  protected final String commandName;
+  protected final String statement;
+  protected final long durationInMicros;
+  protected final int rows;
+  protected final long timestamp;
+
+  public SqlStatementExecution(String commandName, String statement, long durationInMicros, int rows, long timestamp) {
+    this.commandName = commandName;
+    this.statement = statement;
+    this.durationInMicros = durationInMicros;
+    this.rows = rows;
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * @return the simple class name of the command which executed the statement
+   */
+  public String getCommandName() {
+    return commandName;
+  }
+
+  /**
+   * @return the id of the mapped statement
+   */
+  public String getStatement() {
+    return statement;
+  }
+
+  public long getDurationInMicros() {
+    return durationInMicros;
+  }
+
+  /**
+   * @return the number of rows which were selected or affected by the statement
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public String toString() {
+    return commandName + " " + statement + ": " + durationInMicros + "us, " + rows + " rows";
+  }
+
+}
@@ -0,0 +1,227 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandInvocationContext;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
+
+/**
+ * Profiles the sql statements executed by a sample of the commands, to locate query hot spots
+ * in a running engine.
+ *
+ * <p>Only every n-th command is profiled, see {@link #setSamplingInterval(int)}. For the other
+ * commands, the profiler costs a single counter increment per database session. The statements
+ * of a sampled command are aggregated per command class when the session is closed:</p>
+ *
+ * <ul>
+ *   <li>the number of statements, rows and the execution time, see {@link #getCommandStatistics()}</li>
+ *   <li>the most recent statement executions in a ring buffer of fixed size,
+ *     from which {@link #getSlowestStatements(int)} are selected</li>
+ *   <li>select statements which are executed at least {@link #getNPlusOneThreshold()} times by
+ *     a single command, see {@link #getNPlusOnePatterns()}</li>
+ * </ul>
+ */
+public class SqlStatementProfiler {
+
+  public static final String UNKNOWN_COMMAND = "unknown";
+
+  protected volatile boolean enabled;
+  protected volatile int samplingInterval;
+  protected volatile int nPlusOneThreshold;
+
+  protected final AtomicLong sampleCounter = new AtomicLong();
+
+  protected final ConcurrentMap<String, SqlCommandStatistics> commandStatistics = new ConcurrentHashMap<String, SqlCommandStatistics>();
+  protected final ConcurrentMap<String, SqlNPlusOnePattern> nPlusOnePatterns = new ConcurrentHashMap<String, SqlNPlusOnePattern>();
+
+  protected final AtomicReferenceArray<SqlStatementExecution> executions;
+  protected final AtomicLong executionsPosition = new AtomicLong();
+
+  public SqlStatementProfiler(boolean enabled, int samplingInterval, int bufferSize, int nPlusOneThreshold) {
+    this.enabled = enabled;
+    this.samplingInterval = samplingInterval;
+    this.nPlusOneThreshold = nPlusOneThreshold;
+    this.executions = new AtomicReferenceArray<SqlStatementExecution>(bufferSize);
+  }
+
+  /**
+   * @return a profile for the statements of the current command if the command is sampled, null otherwise
+   */
+  public SqlCommandProfile startProfile() {
+    if (!enabled) {
+      return null;
+    }
+
+    int interval = samplingInterval;
+    if (interval > 1 && sampleCounter.incrementAndGet() % interval != 0) {
+      return null;
+    }
+
+    return new SqlCommandProfile(getCurrentCommandName(), executions.length());
+  }
+
+  protected String getCurrentCommandName() {
+    CommandInvocationContext invocationContext = Context.getCommandInvocationContext();
+    if (invocationContext != null) {
+      return ClassNameUtil.getClassNameWithoutPackage(invocationContext.getCommand());
+    }
+    else {
+      return UNKNOWN_COMMAND;
+    }
+  }
+
+  public void endProfile(SqlCommandProfile profile) {
+    String commandName = profile.getCommandName();
+
+    SqlCommandStatistics statistics = commandStatistics.get(commandName);
+    if (statistics == null) {
+      SqlCommandStatistics newStatistics = new SqlCommandStatistics(commandName);
+      // another thread may have added the statistics concurrently
+      statistics = commandStatistics.putIfAbsent(commandName, newStatistics);
+      if (statistics == null) {
+        statistics = newStatistics;
+      }
+    }
+    statistics.add(profile);
+
+    for (SqlStatementExecution execution : profile.getExecutions()) {
+      int index = (int) (executionsPosition.getAndIncrement() % executions.length());
+      executions.set(index, execution);
+    }
+
+    for (Map.Entry<String, Integer> selectCount : profile.getSelectCounts().entrySet()) {
+      if (selectCount.getValue() >= nPlusOneThreshold) {
+        String key = commandName + " " + selectCount.getKey();
+        SqlNPlusOnePattern pattern = nPlusOnePatterns.get(key);
+        if (pattern == null) {
+          SqlNPlusOnePattern newPattern = new SqlNPlusOnePattern(commandName, selectCount.getKey());
+          pattern = nPlusOnePatterns.putIfAbsent(key, newPattern);
+          if (pattern == null) {
+            pattern = newPattern;
+          }
+        }
+        pattern.record(selectCount.getValue());
+      }
+    }
+  }
+
+  /**
+   * @return the statistics per command class, ordered by the time spent executing statements
+   */
+  public List<SqlCommandStatistics> getCommandStatistics() {
+    List<SqlCommandStatistics> result = new ArrayList<SqlCommandStatistics>(commandStatistics.values());
+    Collections.sort(result, new Comparator<SqlCommandStatistics>() {
+      public int compare(SqlCommandStatistics o1, SqlCommandStatistics o2) {
+        return compareDescending(o1.getDurationInMicros(), o2.getDurationInMicros());
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @return the slowest of the statement executions which are currently kept in the ring buffer
+   */
+  public List<SqlStatementExecution> getSlowestStatements(int maxResults) {
+    List<SqlStatementExecution> result = new ArrayList<SqlStatementExecution>();
+    for (int i = 0; i < executions.length(); i++) {
+      SqlStatementExecution execution = executions.get(i);
+      if (execution != null) {
+        result.add(execution);
+      }
+    }
+
+    Collections.sort(result, new Comparator<SqlStatementExecution>() {
+      public int compare(SqlStatementExecution o1, SqlStatementExecution o2) {
+        return compareDescending(o1.getDurationInMicros(), o2.getDurationInMicros());
+      }
+    });
+
+    if (result.size() > maxResults) {
+      return new ArrayList<SqlStatementExecution>(result.subList(0, maxResults));
+    }
+    else {
+      return result;
+    }
+  }
+
+  /**
+   * @return the detected N+1 patterns, ordered by the number of occurrences
+   */
+  public List<SqlNPlusOnePattern> getNPlusOnePatterns() {
+    List<SqlNPlusOnePattern> result = new ArrayList<SqlNPlusOnePattern>(nPlusOnePatterns.values());
+    Collections.sort(result, new Comparator<SqlNPlusOnePattern>() {
+      public int compare(SqlNPlusOnePattern o1, SqlNPlusOnePattern o2) {
+        return compareDescending(o1.getOccurrences(), o2.getOccurrences());
+      }
+    });
+    return result;
+  }
+
+  protected static int compareDescending(long value1, long value2) {
+    return value1 < value2 ? 1 : (value1 == value2 ? 0 : -1);
+  }
+
+  /**
+   * Discards all profiled statements.
+   */
+  public void reset() {
+    commandStatistics.clear();
+    nPlusOnePatterns.clear();
+    for (int i = 0; i < executions.length(); i++) {
+      executions.set(i, null);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getSamplingInterval() {
+    return samplingInterval;
+  }
+
+  /**
+   * @param samplingInterval profile every n-th command; 1 profiles all commands
+   */
+  public void setSamplingInterval(int samplingInterval) {
+    this.samplingInterval = samplingInterval;
+  }
+
+  public int getNPlusOneThreshold() {
+    return nPlusOneThreshold;
+  }
+
+  public void setNPlusOneThreshold(int nPlusOneThreshold) {
+    this.nPlusOneThreshold = nPlusOneThreshold;
+  }
+
+  public int getBufferSize() {
+    return executions.length();
+  }
+
+}
@@ -31,6 +31,8 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -41,8 +43,12 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandProfile;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.history.partition.HistoryTablePartitioning;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -64,11 +70,18 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected String connectionMetadataDefaultCatalog = null;
   protected String connectionMetadataDefaultSchema = null;
 
+  /** the statements executed by this session if its command is sampled by the profiler, null otherwise */
+  protected SqlCommandProfile sqlCommandProfile;
+
+  /** the number of statements executed by this session */
+  protected int statementCount = 0;
+
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
       .openSession();
+    startProfile();
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
@@ -78,33 +91,57 @@ public class DbSqlSession extends AbstractPersistenceSession {
       .openSession(connection);
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
+    startProfile();
   }
 
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = startStatement();
     List<Object> resultList = sqlSession.selectList(statement, parameter);
+    selectExecuted(statement, startTime, resultList.size());
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
     return resultList;
   }
 
+  public <T> void selectWithResultHandler(String statement, Object parameter, final QueryResultHandler<T> resultHandler) {
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = startStatement();
+
+    final int[] rows = new int[1];
+    sqlSession.select(statement, parameter, new ResultHandler() {
+      @SuppressWarnings("unchecked")
+      public void handleResult(ResultContext context) {
+        rows[0]++;
+        resultHandler.handleResult((T) context.getResultObject());
+      }
+    });
+
+    // includes the time spent in the result handler
+    selectExecuted(statement, startTime, rows[0]);
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
     String selectStatement = dbSqlSessionFactory.getSelectStatement(type);
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
+    long startTime = startStatement();
     Object result = sqlSession.selectOne(selectStatement, id);
+    selectExecuted(selectStatement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return (T) result;
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = startStatement();
     Object result = sqlSession.selectOne(statement, parameter);
+    selectExecuted(statement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return result;
   }
@@ -117,7 +154,9 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
-      sqlSession.update(mappedStatement, parameter);
+      long startTime = startStatement();
+      int rows = sqlSession.update(mappedStatement, parameter);
+      statementExecuted(mappedStatement, startTime, rows);
     }
   }
 
@@ -142,7 +181,9 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected void executeInsertEntity(String insertStatement, Object parameter) {
     LOG.executeDatabaseOperation("INSERT", parameter);
-    sqlSession.insert(insertStatement, parameter);
+    long startTime = startStatement();
+    int rows = sqlSession.insert(insertStatement, parameter);
+    statementExecuted(insertStatement, startTime, rows);
 
     // set revision of our copy to 1
     if (parameter instanceof HasDbRevision) {
@@ -184,7 +225,10 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected int executeDelete(String deleteStatement, Object parameter) {
     // map the statement
     deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-    return sqlSession.delete(deleteStatement, parameter);
+    long startTime = startStatement();
+    int rows = sqlSession.delete(deleteStatement, parameter);
+    statementExecuted(deleteStatement, startTime, rows);
+    return rows;
   }
 
   protected void entityDeleted(final DbEntity entity) {
@@ -215,6 +259,7 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
     // execute update
     int numOfRowsUpdated = executeUpdate(updateStatement, dbEntity);
+    operation.setRowsAffected(numOfRowsUpdated);
 
     if (dbEntity instanceof HasDbRevision) {
       if(numOfRowsUpdated != 1) {
@@ -234,7 +279,10 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected int executeUpdate(String updateStatement, Object parameter) {
     updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-    return sqlSession.update(updateStatement, parameter);
+    long startTime = startStatement();
+    int rows = sqlSession.update(updateStatement, parameter);
+    statementExecuted(updateStatement, startTime, rows);
+    return rows;
   }
 
   protected void entityUpdated(final DbEntity entity) {
@@ -259,6 +307,7 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   public void close() {
     sqlSession.close();
+    endProfile();
   }
 
   public void commit() {
@@ -269,6 +318,50 @@ public class DbSqlSession extends AbstractPersistenceSession {
     sqlSession.rollback();
   }
 
+  // profiling ////////////////////////////////////////////////////////////////
+
+  protected void startProfile() {
+    SqlStatementProfiler profiler = dbSqlSessionFactory.getSqlStatementProfiler();
+    if (profiler != null) {
+      sqlCommandProfile = profiler.startProfile();
+    }
+  }
+
+  protected void endProfile() {
+    if (sqlCommandProfile != null) {
+      dbSqlSessionFactory.getSqlStatementProfiler().endProfile(sqlCommandProfile);
+      sqlCommandProfile = null;
+    }
+  }
+
+  /**
+   * @return the start time of a statement if the session is profiled, 0 otherwise
+   */
+  protected long startStatement() {
+    statementCount++;
+    return sqlCommandProfile != null ? System.nanoTime() : 0;
+  }
+
+  protected void selectExecuted(String statement, long startTime, int rows) {
+    if (sqlCommandProfile != null) {
+      sqlCommandProfile.selectExecuted(statement, System.nanoTime() - startTime, rows);
+    }
+  }
+
+  protected void statementExecuted(String statement, long startTime, int rows) {
+    if (sqlCommandProfile != null) {
+      sqlCommandProfile.statementExecuted(statement, System.nanoTime() - startTime, rows);
+    }
+  }
+
+  public SqlCommandProfile getSqlCommandProfile() {
+    return sqlCommandProfile;
+  }
+
+  public int getStatementCount() {
+    return statementCount;
+  }
+
   // schema operations ////////////////////////////////////////////////////////
 
   public void dbSchemaCheckVersion() {
@@ -325,7 +418,17 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   @Override
   protected void dbSchemaCreateHistory() {
-    executeMandatorySchemaResource("create", "history");
+    if (dbSqlSessionFactory.isHistoryTablePartitioningEnabled()) {
+      String databaseType = dbSqlSessionFactory.getDatabaseType();
+      if (!HistoryTablePartitioning.isSupported(databaseType)) {
+        throw LOG.historyTablePartitioningNotSupported(databaseType);
+      }
+      // the partitioned tables are dropped with the regular drop script
+      executeMandatorySchemaResource("create", "history.partitioned");
+    }
+    else {
+      executeMandatorySchemaResource("create", "history");
+    }
   }
 
   @Override
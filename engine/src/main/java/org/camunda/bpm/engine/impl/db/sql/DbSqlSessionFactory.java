@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -140,6 +141,11 @@ public class DbSqlSessionFactory implements SessionFactory {
       dbSpecificConstants.put(mysqlLikeDatabase, constants);
     }
 
+    // history table partitioning is only supported for mysql itself
+    addDatabaseSpecificStatement(MYSQL, "selectHistoryTablePartitionNames", "selectHistoryTablePartitionNames_mysql");
+    addDatabaseSpecificStatement(MYSQL, "createHistoryTablePartition", "createHistoryTablePartition_mysql");
+    addDatabaseSpecificStatement(MYSQL, "dropHistoryTablePartition", "dropHistoryTablePartition_mysql");
+
     // postgres specific
     databaseSpecificLimitBeforeStatements.put(POSTGRES, "");
     databaseSpecificLimitAfterStatements.put(POSTGRES, "LIMIT #{maxResults} OFFSET #{firstResult}");
@@ -169,6 +175,11 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(POSTGRES, "selectResourceByDeploymentIdAndResourceIds", "selectResourceByDeploymentIdAndResourceIds_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourcesByDeploymentId", "selectResourcesByDeploymentId_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectLatestResourcesByDeploymentName", "selectLatestResourcesByDeploymentName_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "insertParseSnapshot", "insertParseSnapshot_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectParseSnapshotsByDeploymentIdAndResourceName", "selectParseSnapshotsByDeploymentIdAndResourceName_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "insertHistoryEventOutbox", "insertHistoryEventOutbox_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoryEventOutboxEntries", "selectHistoryEventOutboxEntries_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "updateHistoryEventOutbox", "updateHistoryEventOutbox_postgres");
     addDatabaseSpecificStatement(POSTGRES, "insertIdentityInfo", "insertIdentityInfo_postgres");
     addDatabaseSpecificStatement(POSTGRES, "updateIdentityInfo", "updateIdentityInfo_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectIdentityInfoById", "selectIdentityInfoById_postgres");
@@ -215,6 +226,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
+    addDatabaseSpecificStatement(ORACLE, "selectHistoryTablePartitionNames", "selectHistoryTablePartitionNames_oracle");
+    addDatabaseSpecificStatement(ORACLE, "createHistoryTablePartition", "createHistoryTablePartition_oracle");
+    addDatabaseSpecificStatement(ORACLE, "dropHistoryTablePartition", "dropHistoryTablePartition_oracle");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -252,6 +266,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(DB2, "selectHistoricTaskInstanceByNativeQuery", "selectHistoricTaskInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectTaskByNativeQuery", "selectTaskByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
+    addDatabaseSpecificStatement(DB2, "selectHistoryEventOutboxEntries", "selectHistoryEventOutboxEntries_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
 
     constants = new HashMap<String, String>();
@@ -293,6 +308,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByNameAndExecution", "selectEventSubscriptionsByNameAndExecution_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
+    addDatabaseSpecificStatement(MSSQL, "selectHistoryEventOutboxEntries", "selectHistoryEventOutboxEntries_mssql_or_db2");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -320,8 +336,10 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String>  selectStatements = new ConcurrentHashMap<Class<?>, String>();
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
+  protected boolean isHistoryTablePartitioningEnabled = false;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  protected SqlStatementProfiler sqlStatementProfiler;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
@@ -475,6 +493,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.isDbHistoryUsed = isDbHistoryUsed;
   }
 
+  public boolean isHistoryTablePartitioningEnabled() {
+    return isHistoryTablePartitioningEnabled;
+  }
+
+  public void setHistoryTablePartitioningEnabled(boolean isHistoryTablePartitioningEnabled) {
+    this.isHistoryTablePartitioningEnabled = isHistoryTablePartitioningEnabled;
+  }
+
   public boolean isCmmnEnabled() {
     return cmmnEnabled;
   }
@@ -507,5 +533,13 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public SqlStatementProfiler getSqlStatementProfiler() {
+    return sqlStatementProfiler;
+  }
+
+  public void setSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+    this.sqlStatementProfiler = sqlStatementProfiler;
+  }
+
 
 }
@@ -15,6 +15,9 @@ package org.camunda.bpm.engine.impl.delegate;
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 
 /**
@@ -37,10 +40,15 @@ public class ScriptInvocation extends DelegateInvocation {
   }
 
   protected void invoke() throws Exception {
-    invocationResult = Context
-      .getProcessEngineConfiguration()
-      .getScriptingEnvironment()
-      .execute(script, scope);
+    EngineEvent event = EngineEvents.beginInExecutionContext(EngineEventType.SCRIPT_EVALUATION, script.getLanguage());
+    try {
+      invocationResult = Context
+        .getProcessEngineConfiguration()
+        .getScriptingEnvironment()
+        .execute(script, scope);
+    } finally {
+      EngineEvents.commit(event);
+    }
   }
 
 }
@@ -24,6 +24,9 @@ import org.camunda.bpm.engine.impl.javax.el.ELException;
 import org.camunda.bpm.engine.impl.javax.el.MethodNotFoundException;
 import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 
 
 /**
@@ -50,6 +53,7 @@ public class JuelExpression implements Expression {
 
   public Object getValue(VariableScope variableScope, BaseDelegateExecution contextExecution) {
     ELContext elContext = expressionManager.getElContext(variableScope);
+    EngineEvent event = EngineEvents.beginInExecutionContext(EngineEventType.EXPRESSION_EVALUATION, expressionText);
     try {
       ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext, contextExecution);
       Context.getProcessEngineConfiguration()
@@ -64,6 +68,8 @@ public class JuelExpression implements Expression {
       throw new ProcessEngineException("Error while evaluating expression: " + expressionText+". Cause: "+ele.getMessage(), ele);
     } catch (Exception e) {
       throw new ProcessEngineException("Error while evaluating expression: " + expressionText+". Cause: "+e.getMessage(), e);
+    } finally {
+      EngineEvents.commit(event);
     }
   }
 
@@ -41,6 +41,7 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
   protected String processDefinitionKey;
   protected String tenantId;
   protected long priority;
+  protected String traceContext;
   protected VariableMapImpl variables;
 
   public String getId() {
@@ -104,6 +105,11 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
     return priority;
   }
 
+  @Override
+  public String getTraceContext() {
+    return traceContext;
+  }
+
   public static LockedExternalTaskImpl fromEntity(ExternalTaskEntity externalTaskEntity, List<String> variablesToFetch) {
     LockedExternalTaskImpl result = new LockedExternalTaskImpl();
     result.id = externalTaskEntity.getId();
@@ -121,6 +127,7 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
     result.processDefinitionKey = externalTaskEntity.getProcessDefinitionKey();
     result.tenantId = externalTaskEntity.getTenantId();
     result.priority = externalTaskEntity.getPriority();
+    result.traceContext = externalTaskEntity.getTraceContext();
 
     ExecutionEntity execution = externalTaskEntity.getExecution();
     result.variables = new VariableMapImpl();
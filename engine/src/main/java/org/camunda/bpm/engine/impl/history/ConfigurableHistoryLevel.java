@@ -0,0 +1,259 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * <p>A history level which produces the history event types enabled by its
+ * {@link HistoryEventTypeRule rules}. In contrast to the built-in history levels, each event
+ * type can be enabled separately and per process definition key, optionally only for a
+ * sample of the process instances.</p>
+ *
+ * <p>A rule for a process definition key overrides the rules without key for the event
+ * types it contains. Event types which are not enabled by any rule are not produced.</p>
+ *
+ * <p>Whether a process instance is sampled is derived from its id, so either all or none
+ * of the events of an event type are produced for a process instance. Events which
+ * can not be related to a process instance, e.g. of standalone tasks or of a migration,
+ * are subject to the rules without key and are produced if the sampling rate is
+ * greater than <code>0</code>.</p>
+ *
+ * <p>Register the history level with
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setCustomHistoryLevels(List)}
+ * and select it by its name.</p>
+ */
+public class ConfigurableHistoryLevel extends AbstractHistoryLevel {
+
+  protected static final int SAMPLING_BUCKETS = 10000;
+
+  protected int id;
+  protected String name;
+  protected List<HistoryEventTypeRule> rules = new ArrayList<HistoryEventTypeRule>();
+
+  /** sampling rates of the rules without process definition key */
+  protected Map<HistoryEventType, Double> defaultSamplingRates = new HashMap<HistoryEventType, Double>();
+
+  /** sampling rates of the rules per process definition key */
+  protected Map<String, Map<HistoryEventType, Double>> samplingRatesByProcessDefinitionKey = new HashMap<String, Map<HistoryEventType, Double>>();
+
+  public ConfigurableHistoryLevel() {
+  }
+
+  public ConfigurableHistoryLevel(int id, String name) {
+    this.id = id;
+    this.name = name;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public List<HistoryEventTypeRule> getRules() {
+    return rules;
+  }
+
+  public void setRules(List<HistoryEventTypeRule> rules) {
+    this.rules = new ArrayList<HistoryEventTypeRule>();
+    defaultSamplingRates.clear();
+    samplingRatesByProcessDefinitionKey.clear();
+
+    for (HistoryEventTypeRule rule : rules) {
+      addRule(rule);
+    }
+  }
+
+  public ConfigurableHistoryLevel addRule(HistoryEventTypeRule rule) {
+    double samplingRate = rule.getSamplingRate();
+    if (samplingRate < 0 || samplingRate > 1) {
+      throw new ProcessEngineException("The sampling rate of a history event type rule must be between 0 and 1, but was " + samplingRate);
+    }
+
+    Map<HistoryEventType, Double> samplingRates = defaultSamplingRates;
+    if (rule.getProcessDefinitionKey() != null) {
+      samplingRates = samplingRatesByProcessDefinitionKey.get(rule.getProcessDefinitionKey());
+      if (samplingRates == null) {
+        samplingRates = new HashMap<HistoryEventType, Double>();
+        samplingRatesByProcessDefinitionKey.put(rule.getProcessDefinitionKey(), samplingRates);
+      }
+    }
+
+    for (HistoryEventType eventType : rule.getEventTypes()) {
+      samplingRates.put(eventType, samplingRate);
+    }
+
+    rules.add(rule);
+    return this;
+  }
+
+  /**
+   * Enables the event types for all process instances of the process definition key.
+   */
+  public ConfigurableHistoryLevel addRule(String processDefinitionKey, HistoryEventType... eventTypes) {
+    return addRule(new HistoryEventTypeRule(processDefinitionKey, 1.0, eventTypes));
+  }
+
+  /**
+   * Enables the event types for a sample of the process instances of the process definition key.
+   */
+  public ConfigurableHistoryLevel addRule(String processDefinitionKey, double samplingRate, HistoryEventType... eventTypes) {
+    return addRule(new HistoryEventTypeRule(processDefinitionKey, samplingRate, eventTypes));
+  }
+
+  public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+    if (entity == null) {
+      return isProducedInGeneral(eventType);
+    }
+
+    String processDefinitionKey = getProcessDefinitionKey(entity);
+    double samplingRate = getSamplingRate(eventType, processDefinitionKey);
+
+    if (samplingRate <= 0) {
+      return false;
+    }
+    else if (samplingRate >= 1) {
+      return true;
+    }
+    else {
+      String processInstanceId = getProcessInstanceId(entity);
+      return processInstanceId == null || isSampled(processInstanceId, samplingRate);
+    }
+  }
+
+  protected boolean isProducedInGeneral(HistoryEventType eventType) {
+    if (getSamplingRate(defaultSamplingRates, eventType) > 0) {
+      return true;
+    }
+    for (Map<HistoryEventType, Double> samplingRates : samplingRatesByProcessDefinitionKey.values()) {
+      if (getSamplingRate(samplingRates, eventType) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected double getSamplingRate(HistoryEventType eventType, String processDefinitionKey) {
+    if (processDefinitionKey != null) {
+      Map<HistoryEventType, Double> samplingRates = samplingRatesByProcessDefinitionKey.get(processDefinitionKey);
+      if (samplingRates != null && samplingRates.containsKey(eventType)) {
+        return samplingRates.get(eventType);
+      }
+    }
+    return getSamplingRate(defaultSamplingRates, eventType);
+  }
+
+  protected double getSamplingRate(Map<HistoryEventType, Double> samplingRates, HistoryEventType eventType) {
+    Double samplingRate = samplingRates.get(eventType);
+    return samplingRate != null ? samplingRate : 0;
+  }
+
+  /**
+   * Maps the process instance id to one of {@link #SAMPLING_BUCKETS} buckets. The hash code
+   * is mixed since the ids generated by the process engine are sequential.
+   */
+  public static boolean isSampled(String processInstanceId, double samplingRate) {
+    int hash = processInstanceId.hashCode();
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+
+    int bucket = (hash & Integer.MAX_VALUE) % SAMPLING_BUCKETS;
+    return bucket < samplingRate * SAMPLING_BUCKETS;
+  }
+
+  protected String getProcessDefinitionKey(Object entity) {
+    if (entity instanceof ExecutionEntity) {
+      return getKey(((ExecutionEntity) entity).getProcessDefinition());
+    }
+    else if (entity instanceof TaskEntity) {
+      return getKey(((TaskEntity) entity).getProcessDefinition());
+    }
+    else if (entity instanceof VariableInstanceEntity) {
+      ExecutionEntity execution = ((VariableInstanceEntity) entity).getExecution();
+      return execution != null ? getProcessDefinitionKey(execution) : null;
+    }
+    else if (entity instanceof JobEntity) {
+      return ((JobEntity) entity).getProcessDefinitionKey();
+    }
+    else if (entity instanceof IncidentEntity) {
+      return getKey(((IncidentEntity) entity).getProcessDefinition());
+    }
+    else if (entity instanceof IdentityLinkEntity) {
+      TaskEntity task = ((IdentityLinkEntity) entity).getTask();
+      return task != null ? getProcessDefinitionKey(task) : null;
+    }
+    else if (entity instanceof HistoryEvent) {
+      return ((HistoryEvent) entity).getProcessDefinitionKey();
+    }
+    return null;
+  }
+
+  protected String getKey(ProcessDefinitionEntity processDefinition) {
+    return processDefinition != null ? processDefinition.getKey() : null;
+  }
+
+  protected String getProcessInstanceId(Object entity) {
+    if (entity instanceof ExecutionEntity) {
+      return ((ExecutionEntity) entity).getProcessInstanceId();
+    }
+    else if (entity instanceof TaskEntity) {
+      return ((TaskEntity) entity).getProcessInstanceId();
+    }
+    else if (entity instanceof VariableInstanceEntity) {
+      return ((VariableInstanceEntity) entity).getProcessInstanceId();
+    }
+    else if (entity instanceof JobEntity) {
+      return ((JobEntity) entity).getProcessInstanceId();
+    }
+    else if (entity instanceof IncidentEntity) {
+      return ((IncidentEntity) entity).getProcessInstanceId();
+    }
+    else if (entity instanceof IdentityLinkEntity) {
+      TaskEntity task = ((IdentityLinkEntity) entity).getTask();
+      return task != null ? task.getProcessInstanceId() : null;
+    }
+    else if (entity instanceof HistoryEvent) {
+      return ((HistoryEvent) entity).getProcessInstanceId();
+    }
+    return null;
+  }
+
+}
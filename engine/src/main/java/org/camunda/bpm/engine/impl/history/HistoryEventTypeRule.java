@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+
+/**
+ * Enables a set of history event types for the process instances of a process definition
+ * key, or of all process definitions if no key is set. Used to configure a
+ * {@link ConfigurableHistoryLevel}.
+ *
+ * <p>The sampling rate is the fraction of process instances whose events are produced,
+ * e.g. <code>0.01</code> to produce the events of one percent of the process instances.
+ * A rate of <code>0</code> disables the event types.</p>
+ */
+public class HistoryEventTypeRule {
+
+  protected String processDefinitionKey;
+  protected List<HistoryEventType> eventTypes = new ArrayList<HistoryEventType>();
+  protected double samplingRate = 1.0;
+
+  public HistoryEventTypeRule() {
+  }
+
+  public HistoryEventTypeRule(String processDefinitionKey, double samplingRate, HistoryEventType... eventTypes) {
+    this.processDefinitionKey = processDefinitionKey;
+    this.samplingRate = samplingRate;
+    Collections.addAll(this.eventTypes, eventTypes);
+  }
+
+  /**
+   * @return the key of the process definition the rule applies to or <code>null</code>
+   *   if it applies to all process definitions
+   */
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public void setProcessDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+  }
+
+  public List<HistoryEventType> getEventTypes() {
+    return eventTypes;
+  }
+
+  public void setEventTypes(List<HistoryEventType> eventTypes) {
+    this.eventTypes = eventTypes;
+  }
+
+  public double getSamplingRate() {
+    return samplingRate;
+  }
+
+  public void setSamplingRate(double samplingRate) {
+    this.samplingRate = samplingRate;
+  }
+
+}
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.history.handler;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -87,6 +88,13 @@ public class CompositeHistoryEventHandler implements HistoryEventHandler {
     historyEventHandlers.add(historyEventHandler);
   }
 
+  /**
+   * @return the {@link HistoryEventHandler}s that consume the event
+   */
+  public List<HistoryEventHandler> getHistoryEventHandlers() {
+    return Collections.unmodifiableList(historyEventHandlers);
+  }
+
   @Override
   public void handleEvent(final HistoryEvent historyEvent) {
     for (HistoryEventHandler historyEventHandler : historyEventHandlers) {
@@ -0,0 +1,713 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>History event handler which exports history events to rolling CSV files, so
+ * that analytics can read the history from files instead of the history tables.
+ * Combine it with the {@link DbHistoryEventHandler} by using a
+ * {@link CompositeDbHistoryEventHandler}.</p>
+ *
+ * <p>The files are plain CSV rather than a columnar format like Parquet or ORC: their writers
+ * depend on the Hadoop libraries, which the process engine does not ship. Since every file
+ * holds one event class with a fixed header, the files can be converted or loaded into a
+ * columnar store without further mapping.</p>
+ *
+ * <p>There is one file per history event class, e.g.
+ * <code>HistoricActivityInstanceEventEntity-20161103120000000-1.csv</code>. The first
+ * line holds the column names, which are the simple properties of the event class in
+ * alphabetical order, so all files of a class share the same columns. Every event is
+ * written as a new line, i.e. the update and end events of an instance are separate
+ * lines.</p>
+ *
+ * <p>The events of a command are only exported when its transaction is committed. They are
+ * handed over to a background writer thread through a queue of at most
+ * {@link #setExportQueueCapacity(int) exportQueueCapacity} commands. If the queue is full, the
+ * committing thread writes the events itself, so events are not lost under load.</p>
+ *
+ * <p>A file is written with the suffix <code>.inprogress</code> and renamed once it reached the
+ * maximum file size or the maximum file age, or when the process engine is closed, so
+ * readers can pick up all files without this suffix. If writing a file fails, it is completed
+ * with the lines which were written before and the remaining lines are written to a new file.
+ * Files which are still in progress when the handler is created, e.g. after a crash, are
+ * completed as well. Hence, the directory must not be shared with another process engine.</p>
+ */
+public class CsvFileHistoryEventHandler implements HistoryEventHandler, Closeable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String FILE_SUFFIX = ".csv";
+  public static final String IN_PROGRESS_SUFFIX = ".inprogress";
+
+  protected static final Charset CHARSET = Charset.forName("UTF-8");
+  protected static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+  protected static final String FILE_TIMESTAMP_FORMAT = "yyyyMMddHHmmssSSS";
+
+  protected File directory;
+  protected long maxFileSize = 64L * 1024 * 1024;
+  protected long maxFileAgeInMillis = 15L * 60 * 1000;
+  protected int exportQueueCapacity = 1000;
+
+  protected Map<Class<?>, ExportFile> files = new HashMap<Class<?>, ExportFile>();
+  protected Map<Class<?>, List<Column>> columns = new HashMap<Class<?>, List<Column>>();
+  protected AtomicLong fileCounter = new AtomicLong();
+
+  /** only used while holding the lock of the handler */
+  protected SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+
+  /** completes the files which reached the maximum file age, runs while files are open */
+  protected Timer rollTimer;
+
+  /** writes the events of the committed commands, runs while events are exported */
+  protected ThreadPoolExecutor exportExecutor;
+  protected final Object exportExecutorLock = new Object();
+
+  /** the events of the running commands which are exported on commit */
+  protected Map<CommandContext, List<HistoryEvent>> pendingEvents = new IdentityHashMap<CommandContext, List<HistoryEvent>>();
+
+  public CsvFileHistoryEventHandler(File directory) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw LOG.unableToCreateHistoryExportDirectory(directory.getAbsolutePath());
+    }
+    this.directory = directory;
+    completeFilesInProgress();
+  }
+
+  public CsvFileHistoryEventHandler(File directory, long maxFileSize) {
+    this(directory);
+    this.maxFileSize = maxFileSize;
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    handleEvents(Collections.singletonList(historyEvent));
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      exportEvents(historyEvents);
+      return;
+    }
+
+    synchronized (pendingEvents) {
+      List<HistoryEvent> events = pendingEvents.get(commandContext);
+      if (events == null) {
+        events = new ArrayList<HistoryEvent>();
+        pendingEvents.put(commandContext, events);
+        registerTransactionListeners(commandContext);
+      }
+      events.addAll(historyEvents);
+    }
+  }
+
+  protected void registerTransactionListeners(final CommandContext commandContext) {
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext context) {
+        List<HistoryEvent> events;
+        synchronized (pendingEvents) {
+          events = pendingEvents.remove(commandContext);
+        }
+        if (events != null) {
+          exportEventsInBackground(events);
+        }
+      }
+    });
+
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext context) {
+        synchronized (pendingEvents) {
+          pendingEvents.remove(commandContext);
+        }
+      }
+    });
+  }
+
+  /**
+   * Hands the events over to the background writer. If its queue is full, the events
+   * are written by the calling thread.
+   */
+  protected void exportEventsInBackground(final List<HistoryEvent> historyEvents) {
+    getExportExecutor().execute(new Runnable() {
+      public void run() {
+        exportEvents(historyEvents);
+      }
+    });
+  }
+
+  protected ThreadPoolExecutor getExportExecutor() {
+    synchronized (exportExecutorLock) {
+      if (exportExecutor == null) {
+        exportExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(exportQueueCapacity), new ThreadFactory() {
+          public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Camunda History Export");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+        exportExecutor.setRejectedExecutionHandler(new RejectedExecutionHandler() {
+          public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            runnable.run();
+          }
+        });
+      }
+      return exportExecutor;
+    }
+  }
+
+  /**
+   * Appends the events to the export files.
+   */
+  public synchronized void exportEvents(List<HistoryEvent> historyEvents) {
+    List<ExportFile> touchedFiles = new ArrayList<ExportFile>();
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      Class<?> eventClass = historyEvent.getClass();
+
+      String line;
+      try {
+        line = toLine(historyEvent, getColumns(eventClass));
+      }
+      catch (Exception e) {
+        LOG.exportingHistoryEventsFailed(eventClass.getSimpleName(), e);
+        continue;
+      }
+
+      ExportFile file = files.get(eventClass);
+      boolean isWritten = false;
+      try {
+        if (file != null && isExpired(file)) {
+          touchedFiles.remove(file);
+          completeOrRollOver(file);
+          // the unflushed lines may have been rolled over to a new file
+          file = files.get(eventClass);
+        }
+
+        if (file == null) {
+          file = openFile(eventClass);
+          files.put(eventClass, file);
+        }
+
+        file.write(line);
+        isWritten = true;
+        if (!touchedFiles.contains(file)) {
+          touchedFiles.add(file);
+        }
+
+        if (file.getSize() >= maxFileSize) {
+          touchedFiles.remove(file);
+          completeOrRollOver(file);
+        }
+      }
+      catch (IOException e) {
+        LOG.exportingHistoryEventsFailed(file != null ? file.getName() : eventClass.getSimpleName(), e);
+        if (file != null) {
+          touchedFiles.remove(file);
+          rollOver(file, isWritten ? null : line);
+        }
+      }
+    }
+
+    // make the lines of the committed transactions visible
+    for (ExportFile file : touchedFiles) {
+      try {
+        file.flush();
+      }
+      catch (IOException e) {
+        LOG.exportingHistoryEventsFailed(file.getName(), e);
+        rollOver(file, null);
+      }
+    }
+  }
+
+  /**
+   * Completes the given file after writing it failed and writes the lines which
+   * were not flushed yet, and the failed line if any, to a new file.
+   */
+  protected void rollOver(ExportFile file, String failedLine) {
+    Class<?> eventClass = file.getEventClass();
+    if (files.get(eventClass) == file) {
+      files.remove(eventClass);
+    }
+
+    List<String> lines = new ArrayList<String>(file.getUnflushedLines());
+    if (failedLine != null) {
+      lines.add(failedLine);
+    }
+
+    rollOverQuietly(file);
+    if (lines.isEmpty()) {
+      return;
+    }
+
+    ExportFile newFile = null;
+    try {
+      newFile = openFile(eventClass);
+      for (String line : lines) {
+        newFile.write(line);
+      }
+      newFile.flush();
+      files.put(eventClass, newFile);
+    }
+    catch (IOException e) {
+      // the lines are not exported
+      LOG.exportingHistoryEventsFailed(newFile != null ? newFile.getName() : eventClass.getSimpleName(), e);
+      if (newFile != null) {
+        rollOverQuietly(newFile);
+      }
+    }
+  }
+
+  /**
+   * Completes the open export files which reached the maximum file age.
+   */
+  public synchronized void completeExpiredFiles() {
+    for (ExportFile file : new ArrayList<ExportFile>(files.values())) {
+      if (isExpired(file)) {
+        completeOrRollOver(file);
+      }
+    }
+  }
+
+  /**
+   * Writes the events which are handed over to the background writer and completes all open
+   * export files. Called when the process engine is closed. Events which are exported
+   * afterwards are written to new files.
+   */
+  public void close() {
+    ThreadPoolExecutor executor;
+    synchronized (exportExecutorLock) {
+      executor = exportExecutor;
+      exportExecutor = null;
+    }
+
+    if (executor != null) {
+      executor.shutdown();
+      try {
+        if (!executor.awaitTermination(60L, TimeUnit.SECONDS)) {
+          LOG.discardedPendingHistoryEvents(executor.shutdownNow().size());
+        }
+      }
+      catch (InterruptedException e) {
+        LOG.discardedPendingHistoryEvents(executor.shutdownNow().size());
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    synchronized (this) {
+      if (rollTimer != null) {
+        rollTimer.cancel();
+        rollTimer = null;
+      }
+
+      for (ExportFile file : new ArrayList<ExportFile>(files.values())) {
+        completeOrRollOver(file);
+      }
+    }
+  }
+
+  protected boolean isExpired(ExportFile file) {
+    return maxFileAgeInMillis > 0
+        && ClockUtil.getCurrentTime().getTime() - file.getCreateTime() >= maxFileAgeInMillis;
+  }
+
+  /**
+   * Completes the file. If completing fails, the file is rolled over.
+   */
+  protected void completeOrRollOver(ExportFile file) {
+    if (files.get(file.getEventClass()) == file) {
+      files.remove(file.getEventClass());
+    }
+
+    try {
+      file.complete();
+    }
+    catch (IOException e) {
+      LOG.exportingHistoryEventsFailed(file.getName(), e);
+      rollOver(file, null);
+    }
+  }
+
+  protected void rollOverQuietly(ExportFile file) {
+    try {
+      file.rollOver();
+    }
+    catch (IOException e) {
+      // the file stays in progress and is completed when the handler is created the next time
+      LOG.exportingHistoryEventsFailed(file.getName(), e);
+    }
+  }
+
+  /**
+   * Completes the files which were left in progress by a previous run.
+   */
+  protected void completeFilesInProgress() {
+    File[] filesInProgress = directory.listFiles();
+    if (filesInProgress == null) {
+      return;
+    }
+
+    for (File inProgressFile : filesInProgress) {
+      String name = inProgressFile.getName();
+      if (name.endsWith(FILE_SUFFIX + IN_PROGRESS_SUFFIX)) {
+        File file = new File(directory, name.substring(0, name.length() - IN_PROGRESS_SUFFIX.length()));
+        if (inProgressFile.renameTo(file)) {
+          LOG.rolledHistoryExportFile(file.getName());
+        }
+        else {
+          LOG.exportingHistoryEventsFailed(name, new IOException("Unable to rename '" + inProgressFile + "' to '" + file + "'"));
+        }
+      }
+    }
+  }
+
+  protected ExportFile openFile(Class<?> eventClass) throws IOException {
+    String timestamp = new SimpleDateFormat(FILE_TIMESTAMP_FORMAT).format(ClockUtil.getCurrentTime());
+    String name = eventClass.getSimpleName() + "-" + timestamp + "-" + fileCounter.incrementAndGet() + FILE_SUFFIX;
+
+    ExportFile file = createExportFile(new File(directory, name), eventClass, toHeaderLine(getColumns(eventClass)));
+    startRollTimer();
+    return file;
+  }
+
+  protected ExportFile createExportFile(File file, Class<?> eventClass, String headerLine) throws IOException {
+    return new ExportFile(file, eventClass, headerLine);
+  }
+
+  protected void startRollTimer() {
+    if (rollTimer == null && maxFileAgeInMillis > 0) {
+      // files are completed at most one minute after they reached the maximum age
+      long period = Math.min(maxFileAgeInMillis, 60L * 1000);
+      rollTimer = new Timer("Camunda History Export Roll", true);
+      rollTimer.schedule(new TimerTask() {
+        public void run() {
+          completeExpiredFiles();
+        }
+      }, period, period);
+    }
+  }
+
+  /**
+   * @return the columns of the simple properties of the event class in the order of the property names
+   */
+  protected List<Column> getColumns(Class<?> eventClass) {
+    List<Column> eventColumns = columns.get(eventClass);
+    if (eventColumns == null) {
+      Map<String, Column> columnsByProperty = new TreeMap<String, Column>();
+      for (Method method : eventClass.getMethods()) {
+        String property = getPropertyName(method);
+        if (property != null && !Modifier.isStatic(method.getModifiers())
+            && method.getParameterTypes().length == 0 && isSimpleType(method.getReturnType())) {
+          columnsByProperty.put(property, new Column(property, method));
+        }
+      }
+      eventColumns = new ArrayList<Column>(columnsByProperty.values());
+      columns.put(eventClass, eventColumns);
+    }
+    return eventColumns;
+  }
+
+  protected String getPropertyName(Method method) {
+    String name = method.getName();
+    if (name.startsWith("get") && name.length() > 3) {
+      return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+    }
+    else if (name.startsWith("is") && name.length() > 2 && isBooleanType(method.getReturnType())) {
+      return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+    }
+    return null;
+  }
+
+  protected boolean isSimpleType(Class<?> type) {
+    return String.class.equals(type)
+        || Date.class.isAssignableFrom(type)
+        || Number.class.isAssignableFrom(type)
+        || isBooleanType(type)
+        || (type.isPrimitive() && !void.class.equals(type));
+  }
+
+  protected boolean isBooleanType(Class<?> type) {
+    return boolean.class.equals(type) || Boolean.class.equals(type);
+  }
+
+  protected String toHeaderLine(List<Column> eventColumns) {
+    StringBuilder line = new StringBuilder();
+    for (Column column : eventColumns) {
+      if (line.length() > 0) {
+        line.append(',');
+      }
+      line.append(column.getName());
+    }
+    return line.append('\n').toString();
+  }
+
+  protected String toLine(HistoryEvent historyEvent, List<Column> eventColumns) throws Exception {
+    StringBuilder line = new StringBuilder();
+
+    for (int i = 0; i < eventColumns.size(); i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+
+      Column column = eventColumns.get(i);
+      Object value = column.getValue(historyEvent);
+      if (value == null) {
+        continue;
+      }
+      else if (column.isDate()) {
+        line.append(dateFormat.format((Date) value));
+      }
+      else if (column.isEscaped()) {
+        appendEscaped(line, value.toString());
+      }
+      else {
+        line.append(value);
+      }
+    }
+    return line.append('\n').toString();
+  }
+
+  protected void appendEscaped(StringBuilder line, String value) {
+    boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+
+    if (quote) {
+      line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+    else {
+      line.append(value);
+    }
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public long getMaxFileSize() {
+    return maxFileSize;
+  }
+
+  public void setMaxFileSize(long maxFileSize) {
+    this.maxFileSize = maxFileSize;
+  }
+
+  public long getMaxFileAgeInMillis() {
+    return maxFileAgeInMillis;
+  }
+
+  /**
+   * @param maxFileAgeInMillis the time after which an export file is completed, even if it
+   *   did not reach the maximum file size; files are only completed by size if <code>0</code>
+   */
+  public void setMaxFileAgeInMillis(long maxFileAgeInMillis) {
+    this.maxFileAgeInMillis = maxFileAgeInMillis;
+  }
+
+  public int getExportQueueCapacity() {
+    return exportQueueCapacity;
+  }
+
+  /**
+   * @param exportQueueCapacity the number of committed commands whose events can wait for the
+   *   background writer; takes effect when the background writer is started the next time
+   */
+  public void setExportQueueCapacity(int exportQueueCapacity) {
+    this.exportQueueCapacity = exportQueueCapacity;
+  }
+
+  /**
+   * A column of an export file with the getter of its property, which is made accessible once.
+   */
+  protected static class Column {
+
+    protected String name;
+    protected Method getter;
+    protected boolean isDate;
+    protected boolean isEscaped;
+
+    public Column(String name, Method getter) {
+      this.name = name;
+      this.getter = getter;
+      this.getter.setAccessible(true);
+
+      Class<?> type = getter.getReturnType();
+      this.isDate = Date.class.isAssignableFrom(type);
+      this.isEscaped = String.class.equals(type);
+    }
+
+    public Object getValue(Object historyEvent) throws Exception {
+      return getter.invoke(historyEvent);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean isDate() {
+      return isDate;
+    }
+
+    public boolean isEscaped() {
+      return isEscaped;
+    }
+
+  }
+
+  /**
+   * An export file which is written with the in progress suffix until it is completed.
+   */
+  protected static class ExportFile {
+
+    protected File file;
+    protected File inProgressFile;
+    protected Class<?> eventClass;
+    protected Writer writer;
+    protected long size;
+    protected long flushedSize;
+    protected List<String> unflushedLines = new ArrayList<String>();
+    protected long createTime;
+
+    public ExportFile(File file, Class<?> eventClass, String headerLine) throws IOException {
+      this.file = file;
+      this.eventClass = eventClass;
+      this.createTime = ClockUtil.getCurrentTime().getTime();
+      this.inProgressFile = new File(file.getPath() + IN_PROGRESS_SUFFIX);
+      this.writer = new OutputStreamWriter(new FileOutputStream(inProgressFile), CHARSET);
+
+      writer.write(headerLine);
+      size += headerLine.getBytes(CHARSET).length;
+    }
+
+    public void write(String line) throws IOException {
+      writer.write(line);
+      size += line.getBytes(CHARSET).length;
+      unflushedLines.add(line);
+    }
+
+    public void flush() throws IOException {
+      writer.flush();
+      flushedSize = size;
+      unflushedLines.clear();
+    }
+
+    public void complete() throws IOException {
+      writer.close();
+      flushedSize = size;
+      unflushedLines.clear();
+      rename();
+    }
+
+    /**
+     * Completes the file after a failure with the lines which were flushed before. The file
+     * is removed if no line was flushed.
+     */
+    public void rollOver() throws IOException {
+      closeQuietly();
+
+      if (flushedSize == 0) {
+        if (!inProgressFile.delete() && inProgressFile.exists()) {
+          throw new IOException("Unable to delete '" + inProgressFile + "'");
+        }
+        return;
+      }
+
+      RandomAccessFile randomAccessFile = new RandomAccessFile(inProgressFile, "rw");
+      try {
+        // remove a partially written line
+        if (randomAccessFile.length() > flushedSize) {
+          randomAccessFile.setLength(flushedSize);
+        }
+      }
+      finally {
+        randomAccessFile.close();
+      }
+
+      rename();
+    }
+
+    protected void rename() throws IOException {
+      if (!inProgressFile.renameTo(file)) {
+        throw new IOException("Unable to rename '" + inProgressFile + "' to '" + file + "'");
+      }
+      LOG.rolledHistoryExportFile(file.getName());
+    }
+
+    public void closeQuietly() {
+      try {
+        writer.close();
+      }
+      catch (IOException e) {
+        // ignore
+      }
+    }
+
+    public String getName() {
+      return file.getName();
+    }
+
+    public Class<?> getEventClass() {
+      return eventClass;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    public long getCreateTime() {
+      return createTime;
+    }
+
+    public List<String> getUnflushedLines() {
+      return unflushedLines;
+    }
+
+  }
+
+}
@@ -43,6 +43,14 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       insertOrUpdate(historyEvent);
     }
 
+    if (isHistoricStatisticsAggregationEnabled()) {
+      // after the insert or update, so the start time of an ended scope instance is known
+      Context
+        .getCommandContext()
+        .getHistoricStatisticsManager()
+        .updateHistoricStatistics(historyEvent);
+    }
+
   }
 
   public void handleEvents(List<HistoryEvent> historyEvents) {
@@ -106,7 +114,7 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
 
     } else if (historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE)
         || historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_MIGRATE)) {
-      HistoricVariableInstanceEntity historicVariableInstanceEntity = dbEntityManager.selectById(HistoricVariableInstanceEntity.class, historyEvent.getVariableInstanceId());
+      HistoricVariableInstanceEntity historicVariableInstanceEntity = findHistoricVariableInstance(historyEvent);
       if(historicVariableInstanceEntity != null) {
         historicVariableInstanceEntity.updateFromEvent(historyEvent);
 
@@ -120,13 +128,28 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       }
 
     } else if(historyEvent.isEventOfType(HistoryEventTypes.VARIABLE_INSTANCE_DELETE)) {
-      HistoricVariableInstanceEntity historicVariableInstanceEntity = dbEntityManager.selectById(HistoricVariableInstanceEntity.class, historyEvent.getVariableInstanceId());
+      HistoricVariableInstanceEntity historicVariableInstanceEntity = findHistoricVariableInstance(historyEvent);
       if(historicVariableInstanceEntity != null) {
         historicVariableInstanceEntity.delete();
       }
     }
   }
 
+  protected HistoricVariableInstanceEntity findHistoricVariableInstance(HistoricVariableUpdateEventEntity historyEvent) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+    String variableInstanceId = historyEvent.getVariableInstanceId();
+
+    if (dbEntityManager.getCachedEntity(HistoricVariableInstanceEntity.class, variableInstanceId) == null) {
+      // one query for all variables of the scope instead of one per updated variable
+      Context.getCommandContext()
+        .getHistoricVariableInstanceManager()
+        .prefetchHistoricVariableInstancesOfScope(historyEvent);
+    }
+
+    // served from the cache if prefetched; selects the instance if it belongs to another scope
+    return dbEntityManager.selectById(HistoricVariableInstanceEntity.class, variableInstanceId);
+  }
+
   protected boolean shouldWriteHistoricDetail(HistoricVariableUpdateEventEntity historyEvent) {
 
     return Context.getProcessEngineConfiguration().getHistoryLevel()
@@ -159,6 +182,10 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
         ;
   }
 
+  protected boolean isHistoricStatisticsAggregationEnabled() {
+    return Context.getProcessEngineConfiguration().isHistoricStatisticsAggregationEnabled();
+  }
+
   protected DbEntityManager getDbEntityManager() {
     return Context.getCommandContext().getDbEntityManager();
   }
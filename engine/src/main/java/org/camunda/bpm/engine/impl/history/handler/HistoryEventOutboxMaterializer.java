@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.PersistenceSession;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>Writes history events that were read from the history event outbox into the
+ * history tables.</p>
+ *
+ * <p>In contrast to the {@link DbHistoryEventHandler}, the insert or update of a
+ * history event is executed immediately instead of with the flush of the command.
+ * Events read from the outbox are separate objects for the start and the end of the
+ * same instance; executing them in order keeps the update behind the insert, even
+ * when both are materialized in the same batch.</p>
+ *
+ * <p>The end event of a scope instance needs the start time to calculate the duration.
+ * The start times of the scope instances inserted by this materializer are remembered,
+ * so the start time is only selected from the database if the instance was started
+ * in an earlier batch. A materializer is meant to be used for a single batch.</p>
+ *
+ * <p>An update which does not change a row, e.g. because the insert of the instance is
+ * not materialized yet, is not ignored: {@link #materialize(List, int)} stops at the
+ * event, so the writer can retry it.</p>
+ */
+public class HistoryEventOutboxMaterializer extends DbHistoryEventHandler {
+
+  protected Map<String, Date> startTimes = new HashMap<String, Date>();
+
+  protected boolean isUpdateFailed;
+
+  /**
+   * Materializes the given events in order, starting with the event at the given index.
+   *
+   * @return the index of the first event whose update did not change a row,
+   *   or the number of events if all events were materialized
+   */
+  public int materialize(List<HistoryEvent> historyEvents, int fromIndex) {
+    for (int i = fromIndex; i < historyEvents.size(); i++) {
+      isUpdateFailed = false;
+      handleEvent(historyEvents.get(i));
+      if (isUpdateFailed) {
+        return i;
+      }
+    }
+    return historyEvents.size();
+  }
+
+  @Override
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    if (isInitialEvent(historyEvent)) {
+      if (historyEvent.getId() == null) {
+        historyEvent.setId(Context.getProcessEngineConfiguration().getIdGenerator().getNextId());
+      }
+      if (historyEvent instanceof HistoricScopeInstanceEvent) {
+        startTimes.put(getStartTimeKey(historyEvent), ((HistoricScopeInstanceEvent) historyEvent).getStartTime());
+      }
+      executeDbOperation(historyEvent, DbOperationType.INSERT);
+
+    } else if (historyEvent.getId() != null) {
+      if (historyEvent instanceof HistoricScopeInstanceEvent) {
+        initStartTime((HistoricScopeInstanceEvent) historyEvent);
+      }
+      executeDbOperation(historyEvent, DbOperationType.UPDATE);
+    }
+  }
+
+  protected void initStartTime(HistoricScopeInstanceEvent historyEvent) {
+    if (historyEvent.getStartTime() != null) {
+      return;
+    }
+
+    String key = getStartTimeKey(historyEvent);
+    Date startTime = startTimes.get(key);
+    if (startTime == null) {
+      HistoricScopeInstanceEvent existingEvent = (HistoricScopeInstanceEvent) getDbEntityManager().selectById(historyEvent.getClass(), historyEvent.getId());
+      if (existingEvent != null) {
+        startTime = existingEvent.getStartTime();
+        startTimes.put(key, startTime);
+      }
+    }
+    historyEvent.setStartTime(startTime);
+  }
+
+  protected String getStartTimeKey(HistoryEvent historyEvent) {
+    return historyEvent.getClass().getName() + ":" + historyEvent.getId();
+  }
+
+  protected void executeDbOperation(HistoryEvent historyEvent, DbOperationType operationType) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setOperationType(operationType);
+    operation.setEntityType(historyEvent.getClass());
+    operation.setEntity(historyEvent);
+
+    getPersistenceSession().executeDbOperation(operation);
+
+    if (operationType == DbOperationType.UPDATE && operation.getRowsAffected() == 0) {
+      isUpdateFailed = true;
+    }
+  }
+
+  @Override
+  protected boolean isHistoricStatisticsAggregationEnabled() {
+    // a failed event is aggregated when the writer retries it
+    return !isUpdateFailed && super.isHistoricStatisticsAggregationEnabled();
+  }
+
+  protected PersistenceSession getPersistenceSession() {
+    return Context.getCommandContext().getSession(PersistenceSession.class);
+  }
+
+}
@@ -0,0 +1,283 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Materializes the entries of the history event outbox into the history tables in the background.
+ *
+ * <p>Each run reads the oldest <code>batchSize</code> outbox entries, writes their history events
+ * with a {@link HistoryEventOutboxMaterializer} and deletes the entries, all in one transaction.
+ * Runs are repeated as long as entries are materialized.</p>
+ *
+ * <p>The entries are materialized in the order of their create time and id. If an update of
+ * a history event does not change a row, e.g. because the insert of the row is part of an entry
+ * with a later create time since the clocks of the nodes differ, the entry keeps the remaining
+ * events and is attempted once more after the other entries of the batch. If it still fails,
+ * it is retried with the next run.</p>
+ *
+ * <p>After <code>maxAttempts</code> runs, the entry is marked as failed with a warning. A failed
+ * entry is not deleted: it keeps its remaining events and is skipped until it is retried with
+ * {@link #retryFailedEntries()}, e.g. after the cause of the failure was fixed.</p>
+ *
+ * <p>The lag of the history, i.e. the age of the oldest pending outbox entry, is available with
+ * {@link #getLagInMillis()} and as the gauge {@link Metrics#HISTORY_EVENT_OUTBOX_LAG}. The number
+ * of failed entries is available with {@link #getFailedEntryCount()} and as the gauge
+ * {@link Metrics#HISTORY_EVENT_OUTBOX_FAILED_ENTRIES}.</p>
+ */
+public class HistoryEventOutboxWriter {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+
+  protected int batchSize = 500;
+  protected long intervalInMillis = 1000;
+  protected int maxAttempts = 10;
+
+  /** create time of the oldest pending entry at the last run, <code>-1</code> if the outbox was empty */
+  protected volatile long oldestCreateTime = -1;
+
+  /** number of failed entries at the last run */
+  protected volatile long failedEntryCount = 0;
+
+  protected Timer timer;
+
+  public HistoryEventOutboxWriter(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public synchronized void start() {
+    timer = new Timer("Camunda History Event Outbox Writer", true);
+    timer.schedule(new TimerTask() {
+      public void run() {
+        try {
+          materializeNow();
+        }
+        catch (Exception e) {
+          LOG.historyEventOutboxWriterFailed(e);
+        }
+      }
+    }, intervalInMillis, intervalInMillis);
+  }
+
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      // materialize the remaining entries for the last time
+      try {
+        materializeNow();
+      }
+      catch (Exception e) {
+        LOG.historyEventOutboxWriterFailed(e);
+      }
+    }
+  }
+
+  /**
+   * Materializes outbox entries until the outbox is empty.
+   *
+   * @return the number of materialized outbox entries
+   */
+  public int materializeNow() {
+    int total = 0;
+    int materialized;
+    do {
+      materialized = materializeBatch();
+      total += materialized;
+    }
+    while (materialized > 0);
+    return total;
+  }
+
+  /**
+   * Materializes a single batch of outbox entries.
+   *
+   * @return the number of materialized outbox entries
+   */
+  public int materializeBatch() {
+    return commandExecutor.execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        HistoryEventOutboxManager outboxManager = commandContext.getHistoryEventOutboxManager();
+
+        Date oldest = outboxManager.findOldestCreateTime();
+        oldestCreateTime = oldest != null ? oldest.getTime() : -1;
+        failedEntryCount = outboxManager.findFailedEntryCount();
+        long lag = getLagInMillis();
+
+        List<HistoryEventOutboxEntity> entries = outboxManager.findOldestEntries(batchSize);
+
+        HistoryEventOutboxMaterializer materializer = createMaterializer();
+        int materializedEntries = 0;
+        int eventCount = 0;
+
+        List<HistoryEventOutboxEntity> retries = new ArrayList<HistoryEventOutboxEntity>();
+        for (HistoryEventOutboxEntity entry : entries) {
+          int events = entry.getEvents().size();
+          if (materializeEntry(entry, materializer)) {
+            outboxManager.deleteEntry(entry);
+            materializedEntries++;
+            eventCount += events;
+          }
+          else {
+            eventCount += events - entry.getEvents().size();
+            retries.add(entry);
+          }
+        }
+
+        // the failed updates may depend on inserts of later entries of the batch
+        for (HistoryEventOutboxEntity entry : retries) {
+          int events = entry.getEvents().size();
+          if (materializeEntry(entry, materializer)) {
+            outboxManager.deleteEntry(entry);
+            materializedEntries++;
+            eventCount += events;
+          }
+          else {
+            eventCount += events - entry.getEvents().size();
+            failedAttempt(entry);
+          }
+        }
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+        if (eventCount > 0 && processEngineConfiguration.isMetricsEnabled()) {
+          processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_EVENTS_MATERIALIZED, eventCount);
+        }
+
+        LOG.materializedHistoryEvents(materializedEntries, eventCount, lag);
+
+        return materializedEntries;
+      }
+    });
+  }
+
+  /**
+   * Materializes the events of the given entry. If an event can not be materialized, the entry
+   * keeps the remaining events for a retry.
+   *
+   * @return <code>true</code> if the entry is completed and can be deleted
+   */
+  protected boolean materializeEntry(HistoryEventOutboxEntity entry, HistoryEventOutboxMaterializer materializer) {
+    List<HistoryEvent> historyEvents = entry.getEvents();
+
+    int failed = materializer.materialize(historyEvents, 0);
+    if (failed == historyEvents.size()) {
+      return true;
+    }
+
+    entry.setRemainingEvents(historyEvents.subList(failed, historyEvents.size()));
+    return false;
+  }
+
+  /**
+   * Counts a run which could not materialize the given entry and marks the entry
+   * as failed after <code>maxAttempts</code> runs.
+   */
+  protected void failedAttempt(HistoryEventOutboxEntity entry) {
+    int attempts = entry.getAttempts() + 1;
+    entry.setAttempts(attempts);
+
+    if (attempts >= maxAttempts) {
+      entry.setFailed(true);
+      failedEntryCount++;
+      LOG.failedHistoryEventOutboxEntry(entry, entry.getEvents().get(0), attempts);
+    }
+  }
+
+  /**
+   * Marks the failed outbox entries as pending again, so they are materialized with the next run.
+   *
+   * @return the number of entries which were failed
+   */
+  public long retryFailedEntries() {
+    return commandExecutor.execute(new Command<Long>() {
+      public Long execute(CommandContext commandContext) {
+        HistoryEventOutboxManager outboxManager = commandContext.getHistoryEventOutboxManager();
+        long failedEntries = outboxManager.findFailedEntryCount();
+        outboxManager.retryFailedEntries();
+        failedEntryCount = 0;
+        return failedEntries;
+      }
+    });
+  }
+
+  protected HistoryEventOutboxMaterializer createMaterializer() {
+    return new HistoryEventOutboxMaterializer();
+  }
+
+  /**
+   * @return the age of the oldest outbox entry which was pending at the last run of the writer
+   *   in milliseconds, <code>0</code> if the outbox was empty. Grows while the writer does not run.
+   */
+  public long getLagInMillis() {
+    long createTime = oldestCreateTime;
+    if (createTime < 0) {
+      return 0;
+    }
+    return Math.max(0, ClockUtil.getCurrentTime().getTime() - createTime);
+  }
+
+  /**
+   * @return the number of outbox entries which were marked as failed at the last run of the writer
+   */
+  public long getFailedEntryCount() {
+    return failedEntryCount;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getIntervalInMillis() {
+    return intervalInMillis;
+  }
+
+  public void setIntervalInMillis(long intervalInMillis) {
+    this.intervalInMillis = intervalInMillis;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+}
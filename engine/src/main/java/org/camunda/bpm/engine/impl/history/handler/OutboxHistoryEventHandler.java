@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>History event handler that does not write history events to the history tables
+ * directly but enqueues them in the history event outbox. All events of a command are
+ * written as a single outbox entry with one insert. The
+ * {@link HistoryEventOutboxWriter} materializes the outbox entries into the history
+ * tables in the background.</p>
+ *
+ * <p>Since the outbox entry is written in the transaction of the command, no history
+ * event is lost. However, the history tables are eventually consistent: queries on the
+ * history see the events of a command only after they were materialized.</p>
+ *
+ * <p>Historic decision instances are written synchronously by the given handler since
+ * their input and output instances cannot be serialized.</p>
+ */
+public class OutboxHistoryEventHandler implements HistoryEventHandler {
+
+  protected HistoryEventHandler synchronousHandler;
+
+  public OutboxHistoryEventHandler() {
+    this(new DbHistoryEventHandler());
+  }
+
+  public OutboxHistoryEventHandler(HistoryEventHandler synchronousHandler) {
+    this.synchronousHandler = synchronousHandler;
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricDecisionInstanceEntity) {
+      synchronousHandler.handleEvent(historyEvent);
+    } else {
+      Context.getCommandContext()
+        .getHistoryEventOutboxManager()
+        .enqueue(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  public HistoryEventHandler getSynchronousHandler() {
+    return synchronousHandler;
+  }
+
+}
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.joblog;
+
+import java.util.Date;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Removes the deduplicated exception stack traces of historic job logs which are no longer
+ * referenced by a job log, e.g. after the job logs were deleted with their process instance
+ * or by dropping a partition.
+ *
+ * <p>A stack trace is reused for the deduplication window after it was stored, so a transaction
+ * may reference it until then. Hence, only stack traces which are older than twice the window
+ * are removed.</p>
+ *
+ * <p>The pruning runs periodically in the background once per deduplication window,
+ * independent of the history cleanup job.</p>
+ */
+public class HistoricJobLogExceptionPruning {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+
+  protected long deduplicationWindowInMillis;
+
+  protected Timer timer;
+
+  public HistoricJobLogExceptionPruning(CommandExecutor commandExecutor, long deduplicationWindowInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.deduplicationWindowInMillis = deduplicationWindowInMillis;
+  }
+
+  /**
+   * Schedules the periodic pruning.
+   */
+  public synchronized void start() {
+    timer = new Timer("Camunda Historic Job Log Exception Pruning", true);
+    timer.schedule(new TimerTask() {
+      public void run() {
+        pruneUnreferencedExceptions();
+      }
+    }, deduplicationWindowInMillis, deduplicationWindowInMillis);
+  }
+
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  public void pruneUnreferencedExceptions() {
+    final Date createdBefore = new Date(ClockUtil.getCurrentTime().getTime() - 2 * deduplicationWindowInMillis);
+    try {
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getHistoricJobLogManager().pruneUnreferencedExceptionByteArrays(createdBefore);
+          return null;
+        }
+      });
+    }
+    catch (Exception e) {
+      LOG.historicJobLogExceptionPruningFailed(e);
+    }
+  }
+
+  public long getDeduplicationWindowInMillis() {
+    return deduplicationWindowInMillis;
+  }
+
+}
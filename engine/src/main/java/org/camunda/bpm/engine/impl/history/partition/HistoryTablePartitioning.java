@@ -0,0 +1,402 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.partition;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDetailEventEntity;
+import org.camunda.bpm.engine.impl.history.event.UserOperationLogEntryEventEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogEventEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryTablePartitionManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Maintains the monthly range partitions of the history tables which are created by the
+ * <code>history.partitioned</code> schema scripts.
+ *
+ * <p>A partition is named <code>&lt;TABLE&gt;_P&lt;yyyyMM&gt;</code> and holds the rows of one
+ * month. The maintenance creates the partition of the current month and of the configured
+ * number of months ahead. If a retention is configured, partitions whose upper bound lies
+ * before the retention period are dropped, which removes old history without deleting
+ * it row by row. The catch-all partitions (<code>PMAX</code> and <code>&lt;TABLE&gt;_DEFAULT</code>)
+ * are never dropped.</p>
+ *
+ * <p>The maintenance runs when the process engine is started and then periodically in the
+ * background, independent of the history cleanup job.</p>
+ *
+ * <p>On postgres, the rows of a month are written to the default partition as long as the
+ * partition of the month does not exist. Such rows are moved to the partition when it is
+ * created, since postgres does not allow to create a partition whose range overlaps with
+ * rows of the default partition.</p>
+ *
+ * <p>Every partition is created or dropped in a separate transaction. A failure is logged and
+ * does not affect the other partitions, so the maintenance can be retried by the next run.</p>
+ */
+public class HistoryTablePartitioning {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final List<String> SUPPORTED_DATABASE_TYPES = Arrays.asList(
+      DbSqlSessionFactory.POSTGRES,
+      DbSqlSessionFactory.ORACLE,
+      DbSqlSessionFactory.MYSQL);
+
+  public static final List<PartitionedHistoryTable> PARTITIONED_TABLES = Arrays.asList(
+      new PartitionedHistoryTable("ACT_HI_ACTINST", "START_TIME_", HistoricActivityInstanceEventEntity.class, null, true),
+      new PartitionedHistoryTable("ACT_HI_DETAIL", "TIME_", HistoricDetailEventEntity.class, "BYTEARRAY_ID_", false),
+      new PartitionedHistoryTable("ACT_HI_OP_LOG", "TIMESTAMP_", UserOperationLogEntryEventEntity.class, null, false),
+      new PartitionedHistoryTable("ACT_HI_JOB_LOG", "TIMESTAMP_", HistoricJobLogEventEntity.class, "JOB_EXCEPTION_STACK_ID_", false));
+
+  protected static final String PARTITION_NAME_MONTH_FORMAT = "yyyyMM";
+  protected static final String BOUND_LITERAL_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+  protected CommandExecutor commandExecutor;
+
+  protected String databaseType;
+
+  /** number of monthly partitions which are created in addition to the one of the current month */
+  protected int partitionsCreatedAhead = 2;
+
+  /** number of days the history is retained, <code>null</code> if partitions are never dropped */
+  protected Integer retentionDays;
+
+  protected long intervalInMillis = 24 * 60 * 60 * 1000;
+
+  protected Timer timer;
+
+  /**
+   * @param commandExecutor a command executor which starts a new transaction for every command
+   */
+  public HistoryTablePartitioning(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public static boolean isSupported(String databaseType) {
+    return SUPPORTED_DATABASE_TYPES.contains(databaseType);
+  }
+
+  /**
+   * Maintains the partitions and schedules the periodic maintenance.
+   */
+  public synchronized void start() {
+    maintainPartitions();
+
+    timer = new Timer("Camunda History Table Partitioning", true);
+    timer.schedule(new TimerTask() {
+      public void run() {
+        maintainPartitions();
+      }
+    }, intervalInMillis, intervalInMillis);
+  }
+
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  public void maintainPartitions() {
+    Date now = ClockUtil.getCurrentTime();
+    for (PartitionedHistoryTable table : PARTITIONED_TABLES) {
+      try {
+        createPartitions(table, now);
+        if (retentionDays != null) {
+          dropExpiredPartitions(table, now);
+        }
+      }
+      catch (Exception e) {
+        LOG.historyTablePartitionMaintenanceFailed(table.getTableName(), e);
+      }
+    }
+  }
+
+  /**
+   * Creates the missing partitions of the current month and of the <code>partitionsCreatedAhead</code>
+   * months after it. A failure is logged and the following partitions are created nevertheless.
+   *
+   * @see #getMonthsToCreate(List, Date, int, boolean)
+   */
+  public void createPartitions(final PartitionedHistoryTable table, Date now) {
+    List<Date> existingMonths = findPartitionMonths(table);
+
+    for (Date month : getMonthsToCreate(existingMonths, now, partitionsCreatedAhead, isMissingPartitionCreatedBelowLatest())) {
+      final String partitionName = getPartitionName(table, month);
+      final Date lowerBound = month;
+      final Date upperBound = addMonths(month, 1);
+
+      try {
+        long movedRows = commandExecutor.execute(new Command<Long>() {
+          public Long execute(CommandContext commandContext) {
+            return createPartition(commandContext, table, partitionName, lowerBound, upperBound);
+          }
+        });
+
+        if (movedRows > 0) {
+          LOG.createdHistoryTablePartitionFromDefaultPartition(table.getTableName(), partitionName, movedRows);
+        }
+        else {
+          LOG.createdHistoryTablePartition(table.getTableName(), partitionName);
+        }
+      }
+      catch (Exception e) {
+        LOG.historyTablePartitionMaintenanceFailed(table.getTableName(), partitionName, e);
+      }
+    }
+  }
+
+  /**
+   * @return the number of rows which were moved from the default partition to the created partition
+   */
+  protected long createPartition(CommandContext commandContext, PartitionedHistoryTable table, String partitionName, Date lowerBound, Date upperBound) {
+    HistoryTablePartitionManager partitionManager = commandContext.getHistoryTablePartitionManager();
+    String lowerBoundLiteral = formatBound(lowerBound);
+    String upperBoundLiteral = formatBound(upperBound);
+
+    if (DbSqlSessionFactory.POSTGRES.equals(databaseType)) {
+      long defaultPartitionRows = partitionManager.findDefaultPartitionRowCount(table, lowerBound, upperBound);
+      if (defaultPartitionRows > 0) {
+        partitionManager.createPartitionFromDefaultPartition(table, partitionName, lowerBoundLiteral, upperBoundLiteral);
+        return defaultPartitionRows;
+      }
+    }
+
+    partitionManager.createPartition(table, partitionName, lowerBoundLiteral, upperBoundLiteral);
+    return 0;
+  }
+
+  /**
+   * On postgres, every partition has an explicit range, so a missing partition can be created
+   * below the latest one. On oracle and mysql, a partition is created by splitting the catch-all
+   * partition and hence can only be appended above the latest one.
+   */
+  protected boolean isMissingPartitionCreatedBelowLatest() {
+    return DbSqlSessionFactory.POSTGRES.equals(databaseType);
+  }
+
+  /**
+   * Drops the partitions whose upper bound is not after the start of the retention period.
+   *
+   * @see #getExpiredMonths(List, Date, int)
+   */
+  public void dropExpiredPartitions(final PartitionedHistoryTable table, Date now) {
+    for (Date month : getExpiredMonths(findPartitionMonths(table), now, retentionDays)) {
+      final Date upperBound = addMonths(month, 1);
+      final String partitionName = getPartitionName(table, month);
+
+      try {
+        String skipReason = commandExecutor.execute(new Command<String>() {
+          public String execute(CommandContext commandContext) {
+            return dropPartition(commandContext, table, partitionName, upperBound);
+          }
+        });
+
+        if (skipReason != null) {
+          // the following partitions contain the same unfinished instances
+          LOG.skipDroppingHistoryTablePartition(table.getTableName(), partitionName, skipReason);
+          return;
+        }
+        LOG.droppedHistoryTablePartition(table.getTableName(), partitionName);
+      }
+      catch (Exception e) {
+        LOG.historyTablePartitionMaintenanceFailed(table.getTableName(), partitionName, e);
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the reason why the partition is not dropped or <code>null</code> if it was dropped
+   */
+  protected String dropPartition(CommandContext commandContext, PartitionedHistoryTable table, String partitionName, Date upperBound) {
+    if (table.isUnfinishedActivityInstanceCheckRequired()) {
+      long unfinished = commandContext.getHistoryTablePartitionManager().findUnfinishedHistoricActivityInstanceCountBefore(upperBound);
+      if (unfinished > 0) {
+        return "it contains " + unfinished + " unfinished activity instances";
+      }
+    }
+
+    commandContext.getHistoryTablePartitionManager().dropPartition(table, partitionName, upperBound);
+    return null;
+  }
+
+  /**
+   * @return the start of the months of the existing monthly partitions in ascending order
+   */
+  protected List<Date> findPartitionMonths(final PartitionedHistoryTable table) {
+    List<String> partitionNames = commandExecutor.execute(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        return commandContext.getHistoryTablePartitionManager().findPartitionNames(table);
+      }
+    });
+
+    List<Date> months = new ArrayList<Date>();
+    for (String partitionName : partitionNames) {
+      Date month = parsePartitionMonth(table, partitionName);
+      if (month != null) {
+        months.add(month);
+      }
+    }
+    Collections.sort(months);
+    return months;
+  }
+
+  /**
+   * @param existingMonths the months of the existing partitions in ascending order
+   * @param isMissingPartitionCreatedBelowLatest if false, only the months after the latest
+   *   existing partition are returned
+   *
+   * @return the months of the current month up to <code>partitionsCreatedAhead</code> months after it
+   *   whose partitions have to be created, in ascending order
+   */
+  public static List<Date> getMonthsToCreate(List<Date> existingMonths, Date now, int partitionsCreatedAhead, boolean isMissingPartitionCreatedBelowLatest) {
+    Date currentMonth = getMonthStart(now);
+    Date month = currentMonth;
+    if (!isMissingPartitionCreatedBelowLatest && !existingMonths.isEmpty()) {
+      Date afterLatest = addMonths(existingMonths.get(existingMonths.size() - 1), 1);
+      if (afterLatest.after(month)) {
+        month = afterLatest;
+      }
+    }
+
+    List<Date> months = new ArrayList<Date>();
+    Date end = addMonths(currentMonth, partitionsCreatedAhead + 1);
+    while (month.before(end)) {
+      if (!existingMonths.contains(month)) {
+        months.add(month);
+      }
+      month = addMonths(month, 1);
+    }
+    return months;
+  }
+
+  /**
+   * @param existingMonths the months of the existing partitions in ascending order
+   *
+   * @return the months of the existing partitions whose upper bound is not after the start
+   *   of the retention period, in ascending order
+   */
+  public static List<Date> getExpiredMonths(List<Date> existingMonths, Date now, int retentionDays) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(now);
+    calendar.add(Calendar.DAY_OF_MONTH, -retentionDays);
+    Date retainedFrom = calendar.getTime();
+
+    List<Date> months = new ArrayList<Date>();
+    for (Date month : existingMonths) {
+      if (addMonths(month, 1).after(retainedFrom)) {
+        break;
+      }
+      months.add(month);
+    }
+    return months;
+  }
+
+  public static String getPartitionName(PartitionedHistoryTable table, Date month) {
+    return table.getTableName() + "_P" + new SimpleDateFormat(PARTITION_NAME_MONTH_FORMAT).format(month);
+  }
+
+  /**
+   * @return the start of the month of a monthly partition or <code>null</code> if the name
+   *   does not belong to a monthly partition of the table
+   */
+  public static Date parsePartitionMonth(PartitionedHistoryTable table, String partitionName) {
+    Pattern pattern = Pattern.compile(Pattern.quote(table.getTableName() + "_P") + "(\\d{4})(\\d{2})");
+    Matcher matcher = pattern.matcher(partitionName.toUpperCase());
+    if (!matcher.matches()) {
+      return null;
+    }
+
+    int month = Integer.parseInt(matcher.group(2));
+    if (month < 1 || month > 12) {
+      return null;
+    }
+
+    Calendar calendar = Calendar.getInstance();
+    calendar.clear();
+    calendar.set(Integer.parseInt(matcher.group(1)), month - 1, 1);
+    return calendar.getTime();
+  }
+
+  public static Date getMonthStart(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.set(Calendar.DAY_OF_MONTH, 1);
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+  protected static Date addMonths(Date date, int months) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.add(Calendar.MONTH, months);
+    return calendar.getTime();
+  }
+
+  protected static String formatBound(Date bound) {
+    return new SimpleDateFormat(BOUND_LITERAL_FORMAT).format(bound);
+  }
+
+  public String getDatabaseType() {
+    return databaseType;
+  }
+
+  public void setDatabaseType(String databaseType) {
+    this.databaseType = databaseType;
+  }
+
+  public int getPartitionsCreatedAhead() {
+    return partitionsCreatedAhead;
+  }
+
+  public void setPartitionsCreatedAhead(int partitionsCreatedAhead) {
+    this.partitionsCreatedAhead = partitionsCreatedAhead;
+  }
+
+  public Integer getRetentionDays() {
+    return retentionDays;
+  }
+
+  public void setRetentionDays(Integer retentionDays) {
+    this.retentionDays = retentionDays;
+  }
+
+  public long getIntervalInMillis() {
+    return intervalInMillis;
+  }
+
+  public void setIntervalInMillis(long intervalInMillis) {
+    this.intervalInMillis = intervalInMillis;
+  }
+
+}
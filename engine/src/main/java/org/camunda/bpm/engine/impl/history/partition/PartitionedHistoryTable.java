@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.partition;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Describes a history table which is range partitioned by month.
+ */
+public class PartitionedHistoryTable {
+
+  protected String tableName;
+  protected String timeColumn;
+  protected Class<? extends DbEntity> entityType;
+  protected String byteArrayColumn;
+  protected boolean isUnfinishedActivityInstanceCheckRequired;
+
+  /**
+   * @param tableName the name of the table without prefix
+   * @param timeColumn the immutable column the table is partitioned by
+   * @param entityType the entity type which determines the flush order of the partition statements
+   * @param byteArrayColumn the column referencing byte arrays which have to be deleted together
+   *   with a partition or <code>null</code>
+   * @param isUnfinishedActivityInstanceCheckRequired if true, a partition is only dropped if it
+   *   contains no unfinished activity instances
+   */
+  public PartitionedHistoryTable(String tableName, String timeColumn, Class<? extends DbEntity> entityType,
+      String byteArrayColumn, boolean isUnfinishedActivityInstanceCheckRequired) {
+    this.tableName = tableName;
+    this.timeColumn = timeColumn;
+    this.entityType = entityType;
+    this.byteArrayColumn = byteArrayColumn;
+    this.isUnfinishedActivityInstanceCheckRequired = isUnfinishedActivityInstanceCheckRequired;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public String getTimeColumn() {
+    return timeColumn;
+  }
+
+  public Class<? extends DbEntity> getEntityType() {
+    return entityType;
+  }
+
+  public String getByteArrayColumn() {
+    return byteArrayColumn;
+  }
+
+  public boolean isUnfinishedActivityInstanceCheckRequired() {
+    return isUnfinishedActivityInstanceCheckRequired;
+  }
+
+  @Override
+  public String toString() {
+    return tableName;
+  }
+
+}
@@ -12,7 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.history.producer;
 
-import static org.camunda.bpm.engine.impl.util.JobExceptionUtil.createJobExceptionByteArray;
+import static org.camunda.bpm.engine.impl.util.JobExceptionUtil.createHistoricJobExceptionByteArray;
 import static org.camunda.bpm.engine.impl.util.JobExceptionUtil.getJobExceptionStacktrace;
 import static org.camunda.bpm.engine.impl.util.StringUtil.toByteArray;
 
@@ -45,7 +45,6 @@ import org.camunda.bpm.engine.impl.history.event.UserOperationLogEntryEventEntit
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContext;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContextEntry;
-import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogEventEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
@@ -866,8 +865,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       // stacktrace
       String exceptionStacktrace = getJobExceptionStacktrace(exception);
       byte[] exceptionBytes = toByteArray(exceptionStacktrace);
-      ByteArrayEntity byteArray = createJobExceptionByteArray(exceptionBytes);
-      event.setExceptionByteArrayId(byteArray.getId());
+      event.setExceptionByteArrayId(createHistoricJobExceptionByteArray(exceptionBytes));
     }
 
     return event;
@@ -15,9 +15,14 @@ package org.camunda.bpm.engine.impl.interceptor;
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 import org.camunda.bpm.engine.impl.pvm.runtime.operation.PvmAtomicOperation;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
+import org.camunda.bpm.engine.impl.tracing.TracingSpan;
 
 /**
  * An invocation of an atomic operation
@@ -78,7 +83,22 @@ public class AtomicOperationInvocation {
       Context.setExecutionContext(execution);
       if(!performAsync) {
         LOG.debugExecutingAtomicOperation(operation, execution);
-        operation.execute(execution);
+        EngineEvent event = EngineEvents.beginInExecutionContext(EngineEventType.ATOMIC_OPERATION, operation.getCanonicalName());
+        // the behavior of the activity is executed by this operation
+        TracingSpan span = operation == PvmAtomicOperation.ACTIVITY_EXECUTE ? Tracing.startActivitySpan(execution) : null;
+        try {
+          operation.execute(execution);
+        } catch (RuntimeException e) {
+          if (span != null) {
+            span.recordException(e);
+          }
+          throw e;
+        } finally {
+          if (span != null) {
+            span.end();
+          }
+          EngineEvents.commit(event);
+        }
       }
       else {
         execution.scheduleAtomicOperationAsync(this);
@@ -75,7 +75,10 @@ import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryTablePartitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
@@ -300,10 +303,22 @@ public class CommandContext {
     return getSession(TaskManager.class);
   }
 
+  public ParseSnapshotManager getParseSnapshotManager() {
+    return getSession(ParseSnapshotManager.class);
+  }
+
   public MeterLogManager getMeterLogManager() {
     return getSession(MeterLogManager.class);
   }
 
+  public HistoryEventOutboxManager getHistoryEventOutboxManager() {
+    return getSession(HistoryEventOutboxManager.class);
+  }
+
+  public HistoryTablePartitionManager getHistoryTablePartitionManager() {
+    return getSession(HistoryTablePartitionManager.class);
+  }
+
   public IdentityLinkManager getIdentityLinkManager() {
     return getSession(IdentityLinkManager.class);
   }
@@ -18,6 +18,7 @@ import org.camunda.bpm.engine.delegate.ProcessEngineServicesAware;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -83,6 +84,7 @@ public class CommandContextInterceptor extends CommandInterceptor {
     }
 
     boolean openNew = (context == null);
+    long startTime = System.nanoTime();
 
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command);
     Context.setCommandInvocationContext(commandInvocationContext);
@@ -110,7 +112,11 @@ public class CommandContextInterceptor extends CommandInterceptor {
       try {
         if (openNew) {
           LOG.closingCommandContext();
-          context.close(commandInvocationContext);
+          try {
+            context.close(commandInvocationContext);
+          } finally {
+            recordCommandDuration(startTime);
+          }
         } else {
           commandInvocationContext.rethrow();
         }
@@ -124,6 +130,13 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  protected void recordCommandDuration(long startTime) {
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.COMMAND_DURATION, (System.nanoTime() - startTime) / 1000);
+    }
+  }
+
   protected boolean isFromSameEngine(CommandContext existingCommandContext) {
     return processEngineConfiguration == existingCommandContext.getProcessEngineConfiguration();
   }
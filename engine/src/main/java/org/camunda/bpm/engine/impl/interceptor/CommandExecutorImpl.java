@@ -13,6 +13,12 @@
 package org.camunda.bpm.engine.impl.interceptor;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
+import org.camunda.bpm.engine.impl.tracing.TracingSpan;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
 /**
@@ -21,6 +27,22 @@ import org.camunda.bpm.engine.impl.context.Context;
 public class CommandExecutorImpl extends CommandInterceptor {
 
   public <T> T execute(Command<T> command) {
-    return command.execute(Context.getCommandContext());
+    String commandName = ClassNameUtil.getClassNameWithoutPackage(command);
+
+    EngineEvent event = EngineEvents.begin(EngineEventType.COMMAND);
+    if (event != null) {
+      event.setName(commandName);
+    }
+    TracingSpan span = Tracing.startSpan(commandName);
+
+    try {
+      return command.execute(Context.getCommandContext());
+    } catch (RuntimeException e) {
+      span.recordException(e);
+      throw e;
+    } finally {
+      span.end();
+      EngineEvents.commit(event);
+    }
   }
 }
@@ -0,0 +1,233 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * Logs the commands which take longer than a threshold as JSON lines, together with the number
+ * of executed sql statements, the number of loaded and flushed entities and the process definitions
+ * and activities of the executions involved.
+ *
+ * <p>The interceptor must be placed after the {@link CommandContextInterceptor}. The duration
+ * is measured until the transaction of the command context is committed or rolled back, so that
+ * it includes the flush. Commands which reuse the command context of another command are part
+ * of the outer command and are not logged separately.</p>
+ *
+ * <p>Note that in a JTA environment, the transaction is completed by the container and the
+ * duration includes the time until the container commits.</p>
+ */
+public class SlowCommandInterceptor extends CommandInterceptor {
+
+  private final static SlowCommandLogger LOG = ProcessEngineLogger.SLOW_COMMAND_LOGGER;
+
+  public static final long DEFAULT_THRESHOLD_IN_MILLIS = 1000;
+
+  /** the maximum number of process definition and activity ids in a log entry */
+  public static final int MAX_IDS = 10;
+
+  /**
+   * The command context whose command is measured by the current thread. It is shared by the
+   * interceptors of all command executors since commands of one executor may reuse the
+   * command context opened by another one.
+   */
+  protected static ThreadLocal<CommandContext> measuredCommandContext = new ThreadLocal<CommandContext>();
+
+  protected long thresholdInMillis;
+
+  public SlowCommandInterceptor() {
+    this(DEFAULT_THRESHOLD_IN_MILLIS);
+  }
+
+  public SlowCommandInterceptor(long thresholdInMillis) {
+    this.thresholdInMillis = thresholdInMillis;
+  }
+
+  public <T> T execute(Command<T> command) {
+    CommandContext commandContext = Context.getCommandContext();
+    CommandContext outerCommandContext = measuredCommandContext.get();
+
+    if (commandContext == null || commandContext == outerCommandContext) {
+      return next.execute(command);
+    }
+
+    measuredCommandContext.set(commandContext);
+    try {
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      if (transactionContext.isTransactionActive()) {
+        CommandMeasurement measurement = new CommandMeasurement(ClassNameUtil.getClassNameWithoutPackage(command));
+        transactionContext.addTransactionListener(TransactionState.COMMITTED, new CommandCompletedListener(measurement, false));
+        transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new CommandCompletedListener(measurement, true));
+      }
+
+      return next.execute(command);
+
+    } finally {
+      if (outerCommandContext != null) {
+        measuredCommandContext.set(outerCommandContext);
+      } else {
+        measuredCommandContext.remove();
+      }
+    }
+  }
+
+  protected void commandCompleted(CommandContext commandContext, CommandMeasurement measurement, boolean rolledBack) {
+    long durationInMillis = measurement.getDurationInMillis();
+    if (durationInMillis < thresholdInMillis || !LOG.isWarnEnabled()) {
+      return;
+    }
+
+    try {
+      JSONObject entry = createLogEntry(commandContext, measurement, rolledBack);
+      logSlowCommand(entry);
+    }
+    catch (RuntimeException e) {
+      LOG.exceptionWhileLoggingSlowCommand(measurement.getCommandName(), e);
+    }
+  }
+
+  protected JSONObject createLogEntry(CommandContext commandContext, CommandMeasurement measurement, boolean rolledBack) {
+    JSONObject entry = new JSONObject();
+    entry.put("command", measurement.getCommandName());
+    entry.put("startTime", measurement.getStartTime());
+    entry.put("durationInMillis", measurement.getDurationInMillis());
+    entry.put("thresholdInMillis", thresholdInMillis);
+    entry.put("rolledBack", rolledBack);
+
+    // do not open sessions which were not used by the command
+    DbSqlSession dbSqlSession = (DbSqlSession) commandContext.getSessions().get(DbSqlSession.class);
+    if (dbSqlSession != null) {
+      entry.put("sqlStatements", dbSqlSession.getStatementCount());
+    }
+
+    DbEntityManager entityManager = (DbEntityManager) commandContext.getSessions().get(DbEntityManager.class);
+    if (entityManager != null) {
+      addEntityStatistics(entry, entityManager);
+    }
+
+    return entry;
+  }
+
+  protected void addEntityStatistics(JSONObject entry, DbEntityManager entityManager) {
+    entry.put("loadedEntities", entityManager.getLoadedEntityCount());
+
+    DbOperationManager operationManager = entityManager.getDbOperationManager();
+    entry.put("insertedEntities", countOperations(operationManager.inserts.values()));
+    entry.put("updatedEntities", countOperations(operationManager.updates.values()));
+    entry.put("deletedEntities", countOperations(operationManager.deletes.values()));
+    entry.put("bulkOperations", countOperations(operationManager.bulkOperations.values()));
+
+    Set<String> processDefinitionIds = new TreeSet<String>();
+    Set<String> activityIds = new TreeSet<String>();
+    for (ExecutionEntity execution : entityManager.getDbEntityCache().getEntitiesByType(ExecutionEntity.class)) {
+      addId(processDefinitionIds, execution.getProcessDefinitionId());
+      addId(activityIds, execution.getActivityId());
+    }
+    entry.put("processDefinitionIds", processDefinitionIds);
+    entry.put("activityIds", activityIds);
+  }
+
+  protected int countOperations(Iterable<? extends Set<?>> operationsByType) {
+    int count = 0;
+    for (Set<?> operations : operationsByType) {
+      count += operations.size();
+    }
+    return count;
+  }
+
+  protected void addId(Set<String> ids, String id) {
+    if (id != null && ids.size() < MAX_IDS) {
+      ids.add(id);
+    }
+  }
+
+  protected void logSlowCommand(JSONObject entry) {
+    LOG.slowCommand(entry.toString());
+  }
+
+  public long getThresholdInMillis() {
+    return thresholdInMillis;
+  }
+
+  public void setThresholdInMillis(long thresholdInMillis) {
+    this.thresholdInMillis = thresholdInMillis;
+  }
+
+  protected static class CommandMeasurement {
+
+    protected String commandName;
+    protected long startTime = System.currentTimeMillis();
+    protected long startNanos = System.nanoTime();
+    protected long durationInMillis = -1;
+
+    public CommandMeasurement(String commandName) {
+      this.commandName = commandName;
+    }
+
+    /**
+     * @return true if the measurement was not completed before
+     */
+    public boolean complete() {
+      if (durationInMillis < 0) {
+        durationInMillis = (System.nanoTime() - startNanos) / 1000000;
+        return true;
+      }
+      return false;
+    }
+
+    public String getCommandName() {
+      return commandName;
+    }
+
+    public long getStartTime() {
+      return startTime;
+    }
+
+    public long getDurationInMillis() {
+      return durationInMillis;
+    }
+  }
+
+  protected class CommandCompletedListener implements TransactionListener {
+
+    protected CommandMeasurement measurement;
+    protected boolean rolledBack;
+
+    public CommandCompletedListener(CommandMeasurement measurement, boolean rolledBack) {
+      this.measurement = measurement;
+      this.rolledBack = rolledBack;
+    }
+
+    public void execute(CommandContext commandContext) {
+      // the transaction is rolled back if a listener fails after the commit
+      // but the command is logged only once
+      if (measurement.complete()) {
+        commandCompleted(commandContext, measurement, rolledBack);
+      }
+    }
+  }
+
+}
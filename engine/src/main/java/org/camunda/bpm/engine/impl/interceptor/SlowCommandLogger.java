@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Logs the commands which exceed the threshold of the {@link SlowCommandInterceptor}.
+ * The entries are logged without message code so that every line is a JSON object
+ * and the category can be routed to an appender of its own.
+ */
+public class SlowCommandLogger extends ProcessEngineLogger {
+
+  public void slowCommand(String entry) {
+    delegateLogger.warn(entry);
+  }
+
+  public void exceptionWhileLoggingSlowCommand(String commandName, Throwable t) {
+    logWarn(
+        "001",
+        "Exception while logging slow command {}: {}", commandName, t.getMessage(), t);
+  }
+
+}
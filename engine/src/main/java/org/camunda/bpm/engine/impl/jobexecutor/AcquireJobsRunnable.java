@@ -30,11 +30,15 @@ public abstract class AcquireJobsRunnable implements Runnable {
   protected final Object MONITOR = new Object();
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+  /** the time in milliseconds the acquisition waited last before the next acquisition cycle */
+  protected volatile long waitTime;
+
   public AcquireJobsRunnable(JobExecutor jobExecutor) {
     this.jobExecutor = jobExecutor;
   }
 
   protected void suspendAcquisition(long millis) {
+    waitTime = Math.max(0, millis);
     if (millis <= 0) {
       return;
     }
@@ -84,4 +88,8 @@ public abstract class AcquireJobsRunnable implements Runnable {
   public boolean isJobAdded() {
     return isJobAdded;
   }
+
+  public long getWaitTime() {
+    return waitTime;
+  }
 }
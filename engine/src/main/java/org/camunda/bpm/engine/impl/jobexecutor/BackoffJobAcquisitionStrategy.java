@@ -294,6 +294,14 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     return backoffTime;
   }
 
+  public int getIdleLevel() {
+    return idleLevel;
+  }
+
+  public int getBackoffLevel() {
+    return backoffLevel;
+  }
+
   @Override
   public int getNumJobsToAcquire(String processEngine) {
     Integer numJobsToAcquire = jobsToAcquire.get(processEngine);
@@ -76,7 +76,12 @@ public class ExecuteJobsRunnable implements Runnable {
   }
 
   protected void executeJob(String nextJobId, CommandExecutor commandExecutor) {
-    commandExecutor.execute(new ExecuteJobsCmd(nextJobId));
+    long startTime = System.nanoTime();
+    try {
+      commandExecutor.execute(new ExecuteJobsCmd(nextJobId));
+    } finally {
+      jobExecutor.logExecutionDuration(processEngine, (System.nanoTime() - startTime) / 1000);
+    }
   }
 
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
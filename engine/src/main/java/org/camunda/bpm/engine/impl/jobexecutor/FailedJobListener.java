@@ -32,6 +32,7 @@ public class FailedJobListener implements TransactionListener, CommandContextLis
   protected CommandExecutor commandExecutor;
   protected String jobId;
   protected Throwable exception;
+  protected String metricsTag;
 
   public FailedJobListener(CommandExecutor commandExecutor, String jobId, Throwable exception) {
     this(commandExecutor, jobId);
@@ -81,9 +82,26 @@ public class FailedJobListener implements TransactionListener, CommandContextLis
       commandContext.getProcessEngineConfiguration()
         .getMetricsRegistry()
         .markOccurrence(Metrics.JOB_FAILED);
+
+      if (metricsTag != null) {
+        commandContext.getProcessEngineConfiguration()
+          .getMetricsRegistry()
+          .markTaggedOccurrence(Metrics.JOB_FAILED, metricsTag);
+      }
     }
   }
 
+  public String getMetricsTag() {
+    return metricsTag;
+  }
+
+  /**
+   * @param metricsTag the tag of the job, see {@link Metrics#TAG_JOB_TYPE}
+   */
+  public void setMetricsTag(String metricsTag) {
+    this.metricsTag = metricsTag;
+  }
+
   public void setException(Throwable exception) {
     this.exception = exception;
   }
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import org.camunda.bpm.engine.impl.JobQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Counts the jobs which are due and can be executed, regardless of the authorizations and
+ * tenant memberships of the current user.
+ */
+public class GetDueJobCountCmd implements Command<Long> {
+
+  public Long execute(CommandContext commandContext) {
+    JobQueryImpl query = new JobQueryImpl();
+    query.executable().active();
+
+    boolean authorizationCheckEnabled = commandContext.isAuthorizationCheckEnabled();
+    boolean tenantCheckEnabled = commandContext.isTenantCheckEnabled();
+    commandContext.disableAuthorizationCheck();
+    commandContext.disableTenantCheck();
+    try {
+      return commandContext
+        .getJobManager()
+        .findJobCountByQueryCriteria(query);
+    } finally {
+      commandContext.setAuthorizationCheckEnabled(authorizationCheckEnabled);
+      commandContext.setTenantCheckEnabled(tenantCheckEnabled);
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Rolling statistics of the job acquisition of a {@link JobExecutor} per process engine.
+ * The counts are kept in buckets of one second over a sliding window so that the rates
+ * reflect the recent load of the job executor. If no engine name is given, the rates of
+ * all process engines are summed up.</p>
+ *
+ * <p>The idle and backoff levels are the ones of the last acquisition cycle, see
+ * {@link BackoffJobAcquisitionStrategy}.</p>
+ */
+public class JobAcquisitionStatistics {
+
+  public static final int DEFAULT_WINDOW_IN_SECONDS = 60;
+  public static final long DEFAULT_BACKLOG_SAMPLE_INTERVAL_IN_MILLIS = 10 * 1000;
+
+  protected static final int ACQUISITION_ATTEMPTS = 0;
+  protected static final int ACQUIRED_JOBS = 1;
+  protected static final int JOBS_FAILED_TO_LOCK = 2;
+  protected static final int REJECTED_JOBS = 3;
+
+  protected int windowInSeconds;
+  protected long backlogSampleIntervalInMillis;
+  protected long startTime;
+
+  protected Map<String, RollingCounts> countsByEngine = new HashMap<String, RollingCounts>();
+  protected Map<String, BacklogSample> backlogByEngine = new HashMap<String, BacklogSample>();
+
+  protected volatile int idleLevel;
+  protected volatile int backoffLevel;
+  protected volatile long waitTimeInMillis;
+
+  public JobAcquisitionStatistics() {
+    this(DEFAULT_WINDOW_IN_SECONDS, DEFAULT_BACKLOG_SAMPLE_INTERVAL_IN_MILLIS);
+  }
+
+  public JobAcquisitionStatistics(int windowInSeconds, long backlogSampleIntervalInMillis) {
+    this.windowInSeconds = windowInSeconds;
+    this.backlogSampleIntervalInMillis = backlogSampleIntervalInMillis;
+    this.startTime = currentTimeMillis();
+  }
+
+  public void recordAcquisitionAttempt(String engineName) {
+    add(engineName, ACQUISITION_ATTEMPTS, 1);
+  }
+
+  public void recordAcquiredJobs(String engineName, int numJobs) {
+    add(engineName, ACQUIRED_JOBS, numJobs);
+  }
+
+  public void recordJobsFailedToLock(String engineName, int numJobs) {
+    add(engineName, JOBS_FAILED_TO_LOCK, numJobs);
+  }
+
+  public void recordRejectedJobs(String engineName, int numJobs) {
+    add(engineName, REJECTED_JOBS, numJobs);
+  }
+
+  /**
+   * Records the state of the acquisition strategy after an acquisition cycle.
+   */
+  public void recordAcquisitionCycle(int idleLevel, int backoffLevel, long waitTimeInMillis) {
+    this.idleLevel = idleLevel;
+    this.backoffLevel = backoffLevel;
+    this.waitTimeInMillis = waitTimeInMillis;
+  }
+
+  public synchronized void recordDueJobBacklog(String engineName, long dueJobs) {
+    backlogByEngine.put(engineName, new BacklogSample(dueJobs, currentTimeMillis()));
+  }
+
+  /**
+   * @return the last sampled number of due jobs of the engine or null if there is no sample
+   *   within the backlog sample interval
+   */
+  public synchronized Long getDueJobBacklog(String engineName) {
+    BacklogSample sample = backlogByEngine.get(engineName);
+    if (sample != null && currentTimeMillis() - sample.timestamp < backlogSampleIntervalInMillis) {
+      return sample.dueJobs;
+    }
+    else {
+      return null;
+    }
+  }
+
+  public double getAcquisitionAttemptsPerSecond(String engineName) {
+    return getRate(engineName, ACQUISITION_ATTEMPTS);
+  }
+
+  public double getAcquiredJobsPerSecond(String engineName) {
+    return getRate(engineName, ACQUIRED_JOBS);
+  }
+
+  public double getRejectedJobsPerSecond(String engineName) {
+    return getRate(engineName, REJECTED_JOBS);
+  }
+
+  /**
+   * @return the ratio of the jobs which could not be locked to all jobs which were
+   *   selected for acquisition within the window
+   */
+  public synchronized double getLockFailureRate(String engineName) {
+    long nowInSeconds = currentTimeMillis() / 1000;
+    long failedToLock = sum(engineName, JOBS_FAILED_TO_LOCK, nowInSeconds);
+    long selected = sum(engineName, ACQUIRED_JOBS, nowInSeconds) + failedToLock;
+
+    return selected > 0 ? (double) failedToLock / selected : 0;
+  }
+
+  public int getIdleLevel() {
+    return idleLevel;
+  }
+
+  public int getBackoffLevel() {
+    return backoffLevel;
+  }
+
+  public long getWaitTimeInMillis() {
+    return waitTimeInMillis;
+  }
+
+  public int getWindowInSeconds() {
+    return windowInSeconds;
+  }
+
+  public synchronized void reset() {
+    countsByEngine.clear();
+    backlogByEngine.clear();
+    startTime = currentTimeMillis();
+  }
+
+  protected synchronized void add(String engineName, int type, int value) {
+    RollingCounts counts = countsByEngine.get(engineName);
+    if (counts == null) {
+      counts = new RollingCounts(windowInSeconds);
+      countsByEngine.put(engineName, counts);
+    }
+    counts.add(type, value, currentTimeMillis() / 1000);
+  }
+
+  protected synchronized double getRate(String engineName, int type) {
+    long now = currentTimeMillis();
+    // do not underestimate the rate if the statistics are younger than the window
+    long elapsedSeconds = Math.min(windowInSeconds, Math.max(1, (now - startTime) / 1000));
+
+    return (double) sum(engineName, type, now / 1000) / elapsedSeconds;
+  }
+
+  protected long sum(String engineName, int type, long nowInSeconds) {
+    long sum = 0;
+    if (engineName != null) {
+      RollingCounts counts = countsByEngine.get(engineName);
+      if (counts != null) {
+        sum = counts.sum(type, nowInSeconds);
+      }
+    }
+    else {
+      for (RollingCounts counts : countsByEngine.values()) {
+        sum += counts.sum(type, nowInSeconds);
+      }
+    }
+    return sum;
+  }
+
+  protected long currentTimeMillis() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class RollingCounts {
+
+    protected long[] seconds;
+    protected long[][] counts;
+
+    public RollingCounts(int windowInSeconds) {
+      seconds = new long[windowInSeconds];
+      counts = new long[windowInSeconds][4];
+    }
+
+    public void add(int type, int value, long nowInSeconds) {
+      int bucket = (int) (nowInSeconds % seconds.length);
+      if (seconds[bucket] != nowInSeconds) {
+        // the bucket belongs to a second which left the window
+        seconds[bucket] = nowInSeconds;
+        counts[bucket] = new long[4];
+      }
+      counts[bucket][type] += value;
+    }
+
+    public long sum(int type, long nowInSeconds) {
+      long sum = 0;
+      for (int bucket = 0; bucket < seconds.length; bucket++) {
+        if (seconds[bucket] > nowInSeconds - seconds.length && seconds[bucket] <= nowInSeconds) {
+          sum += counts[bucket][type];
+        }
+      }
+      return sum;
+    }
+  }
+
+  protected static class BacklogSample {
+
+    protected long dueJobs;
+    protected long timestamp;
+
+    public BacklogSample(long dueJobs, long timestamp) {
+      this.dueJobs = dueJobs;
+      this.timestamp = timestamp;
+    }
+  }
+
+}
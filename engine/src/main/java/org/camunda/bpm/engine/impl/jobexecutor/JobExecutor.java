@@ -71,6 +71,8 @@ public abstract class JobExecutor {
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
+  protected JobAcquisitionStatistics acquisitionStatistics = new JobAcquisitionStatistics();
+
   public void start() {
     if (isActive) {
       return;
@@ -142,14 +144,38 @@ public abstract class JobExecutor {
   }
 
   public void logAcquisitionAttempt(ProcessEngineImpl engine) {
-    if (engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+    if (engine != null) {
+      acquisitionStatistics.recordAcquisitionAttempt(engine.getName());
+    }
+
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
         .getMetricsRegistry()
         .markOccurrence(Metrics.JOB_ACQUISITION_ATTEMPT);
     }
   }
 
+  public void logAcquisitionDuration(ProcessEngineImpl engine, long durationMicros) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      engine.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .recordValue(Metrics.JOB_ACQUISITION_DURATION, durationMicros);
+    }
+  }
+
+  public void logExecutionDuration(ProcessEngineImpl engine, long durationMicros) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      engine.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .recordValue(Metrics.JOB_EXECUTION_DURATION, durationMicros);
+    }
+  }
+
   public void logAcquiredJobs(ProcessEngineImpl engine, int numJobs) {
+    if (engine != null) {
+      acquisitionStatistics.recordAcquiredJobs(engine.getName(), numJobs);
+    }
+
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
         .getMetricsRegistry()
@@ -158,6 +184,10 @@ public abstract class JobExecutor {
   }
 
   public void logAcquisitionFailureJobs(ProcessEngineImpl engine, int numJobs) {
+    if (engine != null) {
+      acquisitionStatistics.recordJobsFailedToLock(engine.getName(), numJobs);
+    }
+
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
         .getMetricsRegistry()
@@ -166,6 +196,10 @@ public abstract class JobExecutor {
   }
 
   public void logRejectedExecution(ProcessEngineImpl engine, int numJobs) {
+    if (engine != null) {
+      acquisitionStatistics.recordRejectedJobs(engine.getName(), numJobs);
+    }
+
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
         .getMetricsRegistry()
@@ -173,6 +207,79 @@ public abstract class JobExecutor {
     }
   }
 
+  // health ///////////////////////////////////////////////////////////////////
+
+  /**
+   * @param engineName the name of the process engine or null to sum up the rates and
+   *   backlogs of all registered process engines
+   * @return the health of the job executor for the given process engine
+   */
+  public JobExecutorHealth getHealth(String engineName) {
+    JobExecutorHealth health = new JobExecutorHealth();
+    health.setProcessEngineName(engineName);
+    health.setActive(isActive);
+
+    health.setAcquisitionAttemptsPerSecond(acquisitionStatistics.getAcquisitionAttemptsPerSecond(engineName));
+    health.setAcquiredJobsPerSecond(acquisitionStatistics.getAcquiredJobsPerSecond(engineName));
+    health.setLockFailureRate(acquisitionStatistics.getLockFailureRate(engineName));
+    health.setRejectedJobsPerSecond(acquisitionStatistics.getRejectedJobsPerSecond(engineName));
+
+    health.setIdleLevel(acquisitionStatistics.getIdleLevel());
+    health.setBackoffLevel(acquisitionStatistics.getBackoffLevel());
+    health.setWaitTimeInMillis(acquisitionStatistics.getWaitTimeInMillis());
+
+    addExecutionResourcesHealth(health);
+
+    if (engineName != null) {
+      for (ProcessEngineImpl processEngine : processEngines) {
+        if (engineName.equals(processEngine.getName())) {
+          health.setDueJobBacklog(getDueJobBacklog(processEngine));
+        }
+      }
+    }
+    else {
+      long dueJobBacklog = 0;
+      for (ProcessEngineImpl processEngine : processEngines) {
+        dueJobBacklog += Math.max(0, getDueJobBacklog(processEngine));
+      }
+      health.setDueJobBacklog(dueJobBacklog);
+    }
+
+    return health;
+  }
+
+  /**
+   * Adds the utilization of the resources which execute the jobs, e.g. the queue depth
+   * and active threads of a thread pool, if they are managed by this job executor.
+   */
+  public void addExecutionResourcesHealth(JobExecutorHealth health) {
+    // the execution resources are not known by default
+  }
+
+  /**
+   * The due jobs are counted at most once per backlog sample interval since the health
+   * may be polled frequently, e.g. by a monitoring system.
+   */
+  protected long getDueJobBacklog(ProcessEngineImpl processEngine) {
+    String engineName = processEngine.getName();
+
+    Long dueJobBacklog = acquisitionStatistics.getDueJobBacklog(engineName);
+    if (dueJobBacklog == null) {
+      try {
+        dueJobBacklog = processEngine.getProcessEngineConfiguration()
+          .getCommandExecutorTxRequired()
+          .execute(new GetDueJobCountCmd());
+        acquisitionStatistics.recordDueJobBacklog(engineName, dueJobBacklog);
+      }
+      catch (RuntimeException e) {
+        LOG.exceptionWhileCountingDueJobs(engineName, e);
+        return -1;
+      }
+    }
+
+    return dueJobBacklog;
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public List<ProcessEngineImpl> getProcessEngines() {
@@ -319,6 +426,14 @@ public abstract class JobExecutor {
     return isActive;
   }
 
+  public JobAcquisitionStatistics getAcquisitionStatistics() {
+    return acquisitionStatistics;
+  }
+
+  public void setAcquisitionStatistics(JobAcquisitionStatistics acquisitionStatistics) {
+    this.acquisitionStatistics = acquisitionStatistics;
+  }
+
   public RejectedJobsHandler getRejectedJobsHandler() {
     return rejectedJobsHandler;
   }
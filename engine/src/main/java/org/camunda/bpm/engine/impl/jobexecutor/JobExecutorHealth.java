@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>Snapshot of the saturation of a {@link JobExecutor} for one process engine.</p>
+ *
+ * <p>The rates are computed over the window of the {@link JobAcquisitionStatistics}. The
+ * thread pool values and the acquisition levels are shared by all engines of the job executor.
+ * Values which are not known, e.g. the queue depth of a job executor which does not manage a
+ * thread pool, are -1.</p>
+ */
+public class JobExecutorHealth {
+
+  protected String processEngineName;
+  protected boolean active;
+
+  protected double acquisitionAttemptsPerSecond;
+  protected double acquiredJobsPerSecond;
+  protected double lockFailureRate;
+  protected double rejectedJobsPerSecond;
+
+  protected int idleLevel;
+  protected int backoffLevel;
+  protected long waitTimeInMillis;
+
+  protected int queueDepth = -1;
+  protected int remainingQueueCapacity = -1;
+  protected int activeThreads = -1;
+  protected int poolSize = -1;
+  protected int maxPoolSize = -1;
+
+  protected long dueJobBacklog = -1;
+
+  public String getProcessEngineName() {
+    return processEngineName;
+  }
+
+  public void setProcessEngineName(String processEngineName) {
+    this.processEngineName = processEngineName;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public double getAcquisitionAttemptsPerSecond() {
+    return acquisitionAttemptsPerSecond;
+  }
+
+  public void setAcquisitionAttemptsPerSecond(double acquisitionAttemptsPerSecond) {
+    this.acquisitionAttemptsPerSecond = acquisitionAttemptsPerSecond;
+  }
+
+  public double getAcquiredJobsPerSecond() {
+    return acquiredJobsPerSecond;
+  }
+
+  public void setAcquiredJobsPerSecond(double acquiredJobsPerSecond) {
+    this.acquiredJobsPerSecond = acquiredJobsPerSecond;
+  }
+
+  /**
+   * @return the ratio of jobs which could not be locked due to concurrent acquisition
+   *   to all jobs selected for acquisition
+   */
+  public double getLockFailureRate() {
+    return lockFailureRate;
+  }
+
+  public void setLockFailureRate(double lockFailureRate) {
+    this.lockFailureRate = lockFailureRate;
+  }
+
+  public double getRejectedJobsPerSecond() {
+    return rejectedJobsPerSecond;
+  }
+
+  public void setRejectedJobsPerSecond(double rejectedJobsPerSecond) {
+    this.rejectedJobsPerSecond = rejectedJobsPerSecond;
+  }
+
+  public int getIdleLevel() {
+    return idleLevel;
+  }
+
+  public void setIdleLevel(int idleLevel) {
+    this.idleLevel = idleLevel;
+  }
+
+  public int getBackoffLevel() {
+    return backoffLevel;
+  }
+
+  public void setBackoffLevel(int backoffLevel) {
+    this.backoffLevel = backoffLevel;
+  }
+
+  /**
+   * @return the time the job acquisition waited after the last acquisition cycle
+   */
+  public long getWaitTimeInMillis() {
+    return waitTimeInMillis;
+  }
+
+  public void setWaitTimeInMillis(long waitTimeInMillis) {
+    this.waitTimeInMillis = waitTimeInMillis;
+  }
+
+  /**
+   * @return the number of job batches which wait in the queue of the thread pool
+   */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public void setQueueDepth(int queueDepth) {
+    this.queueDepth = queueDepth;
+  }
+
+  public int getRemainingQueueCapacity() {
+    return remainingQueueCapacity;
+  }
+
+  public void setRemainingQueueCapacity(int remainingQueueCapacity) {
+    this.remainingQueueCapacity = remainingQueueCapacity;
+  }
+
+  public int getActiveThreads() {
+    return activeThreads;
+  }
+
+  public void setActiveThreads(int activeThreads) {
+    this.activeThreads = activeThreads;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  /**
+   * @return the number of due jobs of the process engine which wait for execution, sampled
+   *   at most once per backlog sample interval of the {@link JobAcquisitionStatistics}
+   */
+  public long getDueJobBacklog() {
+    return dueJobBacklog;
+  }
+
+  public void setDueJobBacklog(long dueJobBacklog) {
+    this.dueJobBacklog = dueJobBacklog;
+  }
+
+}
@@ -147,4 +147,10 @@ public class JobExecutorLogger extends ProcessEngineLogger {
         "Execute jobs for process engine '{}': {}", processEngine, jobs);
   }
 
+  public void exceptionWhileCountingDueJobs(String processEngine, Exception e) {
+    logWarn(
+        "024",
+        "Exception while counting the due jobs of process engine '{}': {}", processEngine, e.getMessage(), e);
+  }
+
 }
@@ -6,6 +6,9 @@ import java.util.List;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvents;
 
 
 /**
@@ -75,6 +78,8 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       // this makes the intervals of job acquisition more constant and therefore predictable
       waitTime = Math.max(0, (acquisitionContext.getAcquisitionTime() + waitTime) - System.currentTimeMillis());
 
+      recordAcquisitionCycle(acquisitionStrategy, waitTime);
+
       suspendAcquisition(waitTime);
     }
 
@@ -94,6 +99,20 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     acquisitionStrategy.reconfigure(acquisitionContext);
   }
 
+  /**
+   * Makes the state of the acquisition strategy visible in the health of the job executor.
+   */
+  protected void recordAcquisitionCycle(JobAcquisitionStrategy acquisitionStrategy, long waitTime) {
+    int idleLevel = 0;
+    int backoffLevel = 0;
+    if (acquisitionStrategy instanceof BackoffJobAcquisitionStrategy) {
+      idleLevel = ((BackoffJobAcquisitionStrategy) acquisitionStrategy).getIdleLevel();
+      backoffLevel = ((BackoffJobAcquisitionStrategy) acquisitionStrategy).getBackoffLevel();
+    }
+
+    jobExecutor.getAcquisitionStatistics().recordAcquisitionCycle(idleLevel, backoffLevel, waitTime);
+  }
+
   protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
     return new BackoffJobAcquisitionStrategy(jobExecutor);
   }
@@ -135,7 +154,18 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
-      acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      long startTime = System.nanoTime();
+      EngineEvent event = EngineEvents.begin(currentProcessEngine.getProcessEngineConfiguration(), EngineEventType.JOB_ACQUISITION);
+      if (event != null) {
+        event.setName(currentProcessEngine.getName());
+      }
+
+      try {
+        acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      } finally {
+        EngineEvents.commit(event);
+      }
+      jobExecutor.logAcquisitionDuration(currentProcessEngine, (System.nanoTime() - startTime) / 1000);
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -22,6 +22,8 @@ import org.camunda.bpm.engine.management.Metrics;
  */
 public class SuccessfulJobListener implements TransactionListener {
 
+  protected String metricsTag;
+
   public void execute(CommandContext commandContext) {
     logJobSuccess(commandContext);
   }
@@ -31,7 +33,24 @@ public class SuccessfulJobListener implements TransactionListener {
       commandContext.getProcessEngineConfiguration()
         .getMetricsRegistry()
         .markOccurrence(Metrics.JOB_SUCCESSFUL);
+
+      if (metricsTag != null) {
+        commandContext.getProcessEngineConfiguration()
+          .getMetricsRegistry()
+          .markTaggedOccurrence(Metrics.JOB_SUCCESSFUL, metricsTag);
+      }
     }
   }
 
+  public String getMetricsTag() {
+    return metricsTag;
+  }
+
+  /**
+   * @param metricsTag the tag of the job, see {@link Metrics#TAG_JOB_TYPE}
+   */
+  public void setMetricsTag(String metricsTag) {
+    this.metricsTag = metricsTag;
+  }
+
 }
@@ -46,6 +46,17 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
 
+  public void addExecutionResourcesHealth(JobExecutorHealth health) {
+    ThreadPoolExecutor threadPoolExecutor = this.threadPoolExecutor;
+    if (threadPoolExecutor != null) {
+      health.setQueueDepth(threadPoolExecutor.getQueue().size());
+      health.setRemainingQueueCapacity(threadPoolExecutor.getQueue().remainingCapacity());
+      health.setActiveThreads(threadPoolExecutor.getActiveCount());
+      health.setPoolSize(threadPoolExecutor.getPoolSize());
+      health.setMaxPoolSize(threadPoolExecutor.getMaximumPoolSize());
+    }
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
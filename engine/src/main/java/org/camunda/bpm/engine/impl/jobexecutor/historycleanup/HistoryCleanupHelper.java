@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * Calculates the batch window of the history cleanup.
+ */
+public abstract class HistoryCleanupHelper {
+
+  protected static final String TIME_FORMAT = "HH:mm";
+
+  public static Date parseTimeConfiguration(String name, String time) {
+    if (time == null) {
+      throw new ProcessEngineException(name + " must be set if a history cleanup batch window is configured");
+    }
+    SimpleDateFormat format = new SimpleDateFormat(TIME_FORMAT);
+    format.setLenient(false);
+    try {
+      return format.parse(time);
+    }
+    catch (ParseException e) {
+      throw new ProcessEngineException("Cannot parse " + name + " '" + time + "', expected format is " + TIME_FORMAT, e);
+    }
+  }
+
+  /**
+   * @return true if the given date is within the configured batch window, false if it is not or
+   *   no batch window is configured
+   */
+  public static boolean isWithinBatchWindow(Date date, ProcessEngineConfigurationImpl configuration) {
+    if (!configuration.isHistoryCleanupBatchWindowConfigured()) {
+      return false;
+    }
+    return isWithinBatchWindow(date, configuration.getHistoryCleanupBatchWindowStartTimeAsDate(), configuration.getHistoryCleanupBatchWindowEndTimeAsDate());
+  }
+
+  public static boolean isWithinBatchWindow(Date date, Date startTime, Date endTime) {
+    int minute = getMinuteOfDay(date);
+    int start = getMinuteOfDay(startTime);
+    int end = getMinuteOfDay(endTime);
+
+    if (start <= end) {
+      return start <= minute && minute < end;
+    }
+    else {
+      // the batch window spans midnight
+      return minute >= start || minute < end;
+    }
+  }
+
+  /**
+   * @return the first start of the configured batch window after the given date
+   */
+  public static Date getNextBatchWindowStart(Date date, ProcessEngineConfigurationImpl configuration) {
+    return getNextBatchWindowStart(date, configuration.getHistoryCleanupBatchWindowStartTimeAsDate());
+  }
+
+  public static Date getNextBatchWindowStart(Date date, Date startTime) {
+    Calendar start = Calendar.getInstance();
+    start.setTime(startTime);
+
+    Calendar next = Calendar.getInstance();
+    next.setTime(date);
+    next.set(Calendar.HOUR_OF_DAY, start.get(Calendar.HOUR_OF_DAY));
+    next.set(Calendar.MINUTE, start.get(Calendar.MINUTE));
+    next.set(Calendar.SECOND, 0);
+    next.set(Calendar.MILLISECOND, 0);
+
+    if (!next.getTime().after(date)) {
+      next.add(Calendar.DAY_OF_MONTH, 1);
+    }
+    return next.getTime();
+  }
+
+  /**
+   * @return the latest end time of a historic process instance which is removed for the given
+   *   history time to live
+   */
+  public static Date getEndTimeBefore(Date date, int historyTimeToLive) {
+    Calendar endTimeBefore = Calendar.getInstance();
+    endTimeBefore.setTime(date);
+    endTimeBefore.add(Calendar.DAY_OF_MONTH, -historyTimeToLive);
+    return endTimeBefore.getTime();
+  }
+
+  protected static int getMinuteOfDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    return calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+  }
+
+}
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+
+/**
+ * Job declaration for the history cleanup job. The due date of the job is set by the caller.
+ */
+public class HistoryCleanupJobDeclaration extends JobDeclaration<HistoryCleanupJobHandlerConfiguration, MessageEntity> {
+
+  private static final long serialVersionUID = 1L;
+
+  public HistoryCleanupJobDeclaration() {
+    super(HistoryCleanupJobHandler.TYPE);
+  }
+
+  protected ExecutionEntity resolveExecution(HistoryCleanupJobHandlerConfiguration configuration) {
+    return null;
+  }
+
+  protected MessageEntity newJobInstance(HistoryCleanupJobHandlerConfiguration configuration) {
+    return new MessageEntity();
+  }
+
+  protected JobHandlerConfiguration resolveJobHandlerConfiguration(HistoryCleanupJobHandlerConfiguration configuration) {
+    return configuration;
+  }
+
+}
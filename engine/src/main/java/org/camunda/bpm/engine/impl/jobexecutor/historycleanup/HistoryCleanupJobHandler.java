@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Job handler for the history cleanup job. The job removes the history of finished process
+ * instances whose process definition has a history time to live which has expired.
+ *
+ * <p>One run removes at most <code>historyCleanupBatchSize</code> historic process instances
+ * with {@link HistoricProcessInstanceManager#deleteHistoricProcessInstanceByIds(List)}. If a full
+ * chunk was removed, the job is rescheduled to run again immediately. Otherwise, it is
+ * rescheduled to the start of the next batch window, if one is configured.</p>
+ *
+ * <p>If historic statistics are aggregated, a run which removes less than a full chunk also merges
+ * at most <code>historyCleanupBatchSize</code> delta entries of the aggregated statistics. If a full
+ * chunk was merged, the job is rescheduled to run again immediately as well.</p>
+ */
+public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHandlerConfiguration> {
+
+  public static final String TYPE = "history-cleanup";
+
+  public static final HistoryCleanupJobDeclaration JOB_DECLARATION = new HistoryCleanupJobDeclaration();
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+
+    Date now = ClockUtil.getCurrentTime();
+    boolean isWithinBatchWindow = HistoryCleanupHelper.isWithinBatchWindow(now, processEngineConfiguration);
+
+    boolean isCleanupDue = configuration.isImmediatelyDue() || isWithinBatchWindow;
+
+    int removed = 0;
+    int merged = 0;
+    if (isCleanupDue) {
+      removed = removeHistory(commandContext, now, batchSize);
+
+      if (removed > 0 && processEngineConfiguration.isMetricsEnabled()) {
+        processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, removed);
+      }
+
+      if (processEngineConfiguration.isHistoricStatisticsAggregationEnabled() && removed < batchSize) {
+        merged = commandContext.getHistoricStatisticsManager().mergeHistoricStatistics(batchSize);
+      }
+    }
+
+    if (isCleanupDue && (removed >= batchSize || merged >= batchSize)) {
+      // there may be more history to remove
+      scheduleJob(commandContext, configuration, now);
+    }
+    else if (processEngineConfiguration.isHistoryCleanupBatchWindowConfigured()) {
+      Date nextBatchWindowStart = HistoryCleanupHelper.getNextBatchWindowStart(now, processEngineConfiguration);
+      scheduleJob(commandContext, new HistoryCleanupJobHandlerConfiguration(false), nextBatchWindowStart);
+    }
+  }
+
+  /**
+   * Removes the history of at most <code>batchSize</code> finished process instances.
+   * The end time to compare with is calculated per process definition, so the query
+   * does not depend on database specific date arithmetic.
+   *
+   * @return the number of removed historic process instances
+   */
+  protected int removeHistory(CommandContext commandContext, Date now, int batchSize) {
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+
+    List<ProcessDefinitionEntity> processDefinitions = commandContext
+      .getProcessDefinitionManager()
+      .findProcessDefinitionsWithHistoryTimeToLive();
+
+    int removed = 0;
+    for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+      if (removed >= batchSize) {
+        break;
+      }
+
+      Date endTimeBefore = HistoryCleanupHelper.getEndTimeBefore(now, processDefinition.getHistoryTimeToLive());
+      List<String> processInstanceIds = historicProcessInstanceManager
+        .findHistoricProcessInstanceIdsForCleanup(processDefinition.getId(), endTimeBefore, batchSize - removed);
+
+      if (!processInstanceIds.isEmpty()) {
+        historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(processInstanceIds);
+        removed += processInstanceIds.size();
+      }
+    }
+
+    return removed;
+  }
+
+  public static MessageEntity scheduleJob(CommandContext commandContext, HistoryCleanupJobHandlerConfiguration configuration, Date dueDate) {
+    MessageEntity job = JOB_DECLARATION.createJobInstance(configuration);
+    job.setDuedate(dueDate);
+    commandContext.getJobManager().insertAndHintJobExecutor(job);
+    return job;
+  }
+
+  public HistoryCleanupJobHandlerConfiguration newConfiguration(String canonicalString) {
+    return HistoryCleanupJobHandlerConfiguration.fromJson(new JSONObject(canonicalString));
+  }
+
+  public void onDelete(HistoryCleanupJobHandlerConfiguration configuration, JobEntity jobEntity) {
+    // do nothing
+  }
+
+}
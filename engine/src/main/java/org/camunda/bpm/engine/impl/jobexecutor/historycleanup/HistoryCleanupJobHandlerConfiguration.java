@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * Configuration of the history cleanup job. A job which is immediately due was triggered
+ * manually and removes the history regardless of the batch window.
+ */
+public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfiguration {
+
+  public static final String JOB_CONFIG_IMMEDIATELY_DUE = "immediatelyDue";
+
+  protected boolean immediatelyDue;
+
+  public HistoryCleanupJobHandlerConfiguration(boolean immediatelyDue) {
+    this.immediatelyDue = immediatelyDue;
+  }
+
+  public String toCanonicalString() {
+    JSONObject json = new JSONObject();
+    json.put(JOB_CONFIG_IMMEDIATELY_DUE, immediatelyDue);
+    return json.toString();
+  }
+
+  public static HistoryCleanupJobHandlerConfiguration fromJson(JSONObject jsonObject) {
+    return new HistoryCleanupJobHandlerConfiguration(jsonObject.optBoolean(JOB_CONFIG_IMMEDIATELY_DUE));
+  }
+
+  public boolean isImmediatelyDue() {
+    return immediatelyDue;
+  }
+
+}
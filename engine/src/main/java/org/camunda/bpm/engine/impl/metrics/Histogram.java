@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative long values, e.g. durations in microseconds.
+ *
+ * <p>Similar to an HDR histogram, values are counted in buckets whose width grows with
+ * the magnitude of the value: values below 32 are counted exactly, larger values in 16
+ * buckets per power of two. So the relative error of a reported value is at most 1/16.
+ * Values above 2<sup>41</sup> are counted in the last bucket.</p>
+ *
+ * <p>Recording a value increments a single counter and does not allocate. Percentiles are
+ * calculated from the bucket counts and report the upper bound of the matching bucket.</p>
+ *
+ * <p>Like a {@link Meter}, the bucket counts are never reset. Clearing the histogram moves
+ * the baseline of {@link #getBucketCounts()}, while {@link #getTotalBucketCounts()} keeps
+ * counting since the histogram was created.</p>
+ */
+public class Histogram {
+
+  protected static final int SUB_BUCKET_BITS = 4;
+  protected static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** values below this limit have a bucket of their own */
+  protected static final int EXACT_VALUES = 2 * SUB_BUCKETS;
+
+  protected static final int MAX_EXPONENT = 40;
+
+  public static final int BUCKETS = EXACT_VALUES + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  protected String name;
+
+  protected final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKETS);
+
+  /** the bucket counts at the time the histogram was cleared last, guarded by this */
+  protected final long[] clearedBucketCounts = new long[BUCKETS];
+
+  public Histogram(String name) {
+    this.name = name;
+  }
+
+  public void recordValue(long value) {
+    bucketCounts.incrementAndGet(bucketIndex(value));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the number of values recorded since the histogram was cleared last
+   */
+  public synchronized long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += bucketCounts.get(i) - clearedBucketCounts[i];
+    }
+    return count;
+  }
+
+  /**
+   * @return the number of values recorded since the histogram was created
+   */
+  public long getTotalCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += bucketCounts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * @return the counts of the non-empty buckets since the histogram was cleared last,
+   * by the upper bound of the bucket
+   */
+  public synchronized SortedMap<Long, Long> getBucketCounts() {
+    return bucketCounts(false);
+  }
+
+  /**
+   * Returns the counts of the non-empty buckets like {@link #getBucketCounts()} and clears them.
+   */
+  public synchronized SortedMap<Long, Long> getAndClearBucketCounts() {
+    return bucketCounts(true);
+  }
+
+  /**
+   * @return the counts of the non-empty buckets since the histogram was created,
+   * by the upper bound of the bucket
+   */
+  public SortedMap<Long, Long> getTotalBucketCounts() {
+    SortedMap<Long, Long> counts = new TreeMap<Long, Long>();
+    for (int i = 0; i < BUCKETS; i++) {
+      long count = bucketCounts.get(i);
+      if (count > 0) {
+        counts.put(bucketUpperBound(i), count);
+      }
+    }
+    return counts;
+  }
+
+  protected SortedMap<Long, Long> bucketCounts(boolean clear) {
+    SortedMap<Long, Long> counts = new TreeMap<Long, Long>();
+    for (int i = 0; i < BUCKETS; i++) {
+      long total = bucketCounts.get(i);
+      long count = total - clearedBucketCounts[i];
+      if (clear) {
+        clearedBucketCounts[i] = total;
+      }
+      if (count > 0) {
+        counts.put(bucketUpperBound(i), count);
+      }
+    }
+    return counts;
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    return valueAtPercentile(getBucketCounts(), percentile);
+  }
+
+  // buckets //////////////////////////////////////////////////////////////////
+
+  public static int bucketIndex(long value) {
+    if (value < EXACT_VALUES) {
+      return value < 0 ? 0 : (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return EXACT_VALUES + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @return the largest value which is counted in the bucket with the given index
+   */
+  public static long bucketUpperBound(int index) {
+    if (index < EXACT_VALUES) {
+      return index;
+    }
+
+    int exponent = (index - EXACT_VALUES) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int subBucket = (index - EXACT_VALUES) % SUB_BUCKETS;
+    long lowerBound = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * @param bucketCounts the counts by the upper bound of their bucket
+   * @param percentile the percentile between 0 and 100
+   *
+   * @return the upper bound of the bucket containing the value at the given percentile,
+   * 0 if no values are counted
+   */
+  public static long valueAtPercentile(SortedMap<Long, Long> bucketCounts, double percentile) {
+    long total = 0;
+    for (Long count : bucketCounts.values()) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long counted = 0;
+    long value = 0;
+    for (Map.Entry<Long, Long> bucket : bucketCounts.entrySet()) {
+      value = bucket.getKey();
+      counted += bucket.getValue();
+      if (counted >= rank) {
+        break;
+      }
+    }
+    return value;
+  }
+
+}
@@ -12,30 +12,51 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation which stripes its count over several cells.
+ *
+ * <p>Threads increment the cell selected by their thread id, so that threads
+ * marking the same meter concurrently rarely contend on the same value.
+ * The cells are spread over separate cache lines. Reading the meter sums up
+ * all cells.</p>
+ *
+ * <p>The cells are never reset, so that {@link #getTotal()} increases monotonically
+ * as required by exporters. Clearing the meter moves the baseline of {@link #get()}.</p>
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  /** number of longs per cell, places each cell on its own 64 byte cache line */
+  protected static final int CELL_PADDING = 8;
+
+  protected static final int MAX_CELLS = 64;
+
+  protected final AtomicLongArray cells;
+  protected final int cellMask;
+
+  /** the total at the time the meter was cleared last */
+  protected volatile long clearedTotal;
 
   protected String name;
 
   public Meter(String name) {
     this.name = name;
+
+    int numberOfCells = cellCount(Runtime.getRuntime().availableProcessors());
+    this.cells = new AtomicLongArray(numberOfCells * CELL_PADDING);
+    this.cellMask = numberOfCells - 1;
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    cells.incrementAndGet(cellIndex());
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    cells.addAndGet(cellIndex(), times);
   }
 
   public String getName() {
@@ -46,12 +67,44 @@ public class Meter {
     this.name = name;
   }
 
-  public long getAndClear() {
-    return counter.getAndSet(0);
+  public synchronized long getAndClear() {
+    long total = getTotal();
+    long value = total - clearedTotal;
+    clearedTotal = total;
+    return value;
   }
 
+  /**
+   * @return the count since the meter was cleared last
+   */
   public long get() {
-    return counter.get();
+    return getTotal() - clearedTotal;
+  }
+
+  /**
+   * @return the count since the meter was created
+   */
+  public long getTotal() {
+    long sum = 0;
+    for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+      sum += cells.get(i);
+    }
+    return sum;
+  }
+
+  protected int cellIndex() {
+    return ((int) Thread.currentThread().getId() & cellMask) * CELL_PADDING;
+  }
+
+  /**
+   * @return the smallest power of two which is at least twice the number of processors, at most {@link #MAX_CELLS}
+   */
+  protected static int cellCount(int processors) {
+    int cells = 1;
+    while (cells < 2 * processors && cells < MAX_CELLS) {
+      cells <<= 1;
+    }
+    return cells;
   }
 
 }
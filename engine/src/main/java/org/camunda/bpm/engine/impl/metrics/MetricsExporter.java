@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+/**
+ * SPI to ship metrics to a monitoring system without going through the database.
+ *
+ * <p>Exporters are registered with the {@link MetricsRegistry} via
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setMetricsExporters(java.util.List)}.
+ * The registry invokes them in the interval configured by
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setMetricsExportIntervalInSeconds(long)}
+ * with a snapshot of all meters, histograms and gauges. Monitoring systems which pull metrics
+ * can instead read {@link MetricsRegistry#snapshot()} whenever they are scraped.</p>
+ *
+ * <p>Implementations are invoked by a single thread and must not block it for long.</p>
+ */
+public interface MetricsExporter {
+
+  /**
+   * @param snapshot the current values, counters and histogram counts are totals since
+   *   the process engine was started
+   */
+  void export(MetricsSnapshot snapshot);
+
+}
@@ -33,4 +33,45 @@ public class MetricsLogger extends ProcessEngineLogger {
         "002", "Could not collect and log metrics", e);
   }
 
+  public void couldNotExportMetrics(MetricsExporter exporter, Exception e) {
+    logWarn(
+        "003", "Could not export metrics with exporter '{}'", exporter, e);
+  }
+
+  public void couldNotReadGauge(String name, Exception e) {
+    logDebug(
+        "004", "Could not read gauge '{}': {}", name, e.getMessage());
+  }
+
+  public void couldNotRollupMeterLogs(Exception e) {
+    logWarn(
+        "005", "Could not roll up meter logs", e);
+  }
+
+  public void rolledUpMeterLogs(int count, String reporter) {
+    logDebug(
+        "006", "Rolled up meter logs of reporter '{}' into {} logs", reporter, count);
+  }
+
+  public void flightRecorderNotAvailable() {
+    logDebug(
+        "007", "The JDK Flight Recorder is not available, engine events are not recorded");
+  }
+
+  public void couldNotRegisterFlightRecorderEvents(Exception e) {
+    logWarn(
+        "008", "Could not register the JDK Flight Recorder events, engine events are not recorded", e);
+  }
+
+  public void couldNotRecordEngineEvent(String name, Exception e) {
+    logDebug(
+        "009", "Could not record engine event '{}': {}", name, e.getMessage());
+  }
+
+  public void traceContextTooLong(int length, int maxLength) {
+    logWarn(
+        "010", "The trace context has {} characters, more than the maximum of {} characters. "
+        + "It is not stored with the job or external task, so their execution starts a new trace", length, maxLength);
+  }
+
 }
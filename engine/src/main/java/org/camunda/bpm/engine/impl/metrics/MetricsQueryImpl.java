@@ -14,33 +14,44 @@ package org.camunda.bpm.engine.impl.metrics;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
-import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
 import org.camunda.bpm.engine.management.MetricsQuery;
 
 /**
  * @author Daniel Meyer
  *
  */
-public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQuery {
+public class MetricsQueryImpl extends ListQueryParameterObject implements Command<Object>, MetricsQuery {
 
   private static final long serialVersionUID = 1L;
 
+  /** the default length of the time intervals in seconds */
+  public static final long DEFAULT_INTERVAL = 15 * 60;
+  public static final int DEFAULT_LIMIT_SELECT_INTERVAL = 200;
+
   protected String name;
   protected String reporter;
   protected Date startDate;
   protected Date endDate;
+  protected String tag;
   protected MetricsQueryType queryType;
+  protected double percentile;
+  protected long interval;
 
   protected transient CommandExecutor commandExecutor;
 
   public MetricsQueryImpl(CommandExecutor commandExecutor) {
     this.commandExecutor = commandExecutor;
+    this.maxResults = DEFAULT_LIMIT_SELECT_INTERVAL;
   }
 
   public MetricsQueryImpl name(String name) {
@@ -67,16 +78,78 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return this;
   }
 
+  public MetricsQueryImpl tag(String tag) {
+    ensureNotNull("tag", tag);
+    this.tag = tag;
+    return this;
+  }
+
+  public MetricsQueryImpl offset(int offset) {
+    if (offset < 0) {
+      throw new ProcessEngineException("offset must not be negative, but was " + offset);
+    }
+    this.firstResult = offset;
+    return this;
+  }
+
+  public MetricsQueryImpl limit(int maxResults) {
+    if (maxResults <= 0) {
+      throw new ProcessEngineException("maxResults must be greater than 0, but was " + maxResults);
+    }
+    this.maxResults = maxResults;
+    return this;
+  }
+
   public long sum() {
     queryType = MetricsQueryType.SUM;
     return (Long) commandExecutor.execute(this);
   }
 
+  @SuppressWarnings("unchecked")
+  public Map<String, Long> sumByTag() {
+    ensureNotNull("name", name);
+    queryType = MetricsQueryType.SUM_BY_TAG;
+    return (Map<String, Long>) commandExecutor.execute(this);
+  }
+
+  public long percentile(double percentile) {
+    ensureNotNull("name", name);
+    if (percentile <= 0 || percentile > 100) {
+      throw new ProcessEngineException("percentile must be greater than 0 and less than or equal to 100, but was " + percentile);
+    }
+    this.percentile = percentile;
+    queryType = MetricsQueryType.PERCENTILE;
+    return (Long) commandExecutor.execute(this);
+  }
+
+  public List<MetricIntervalValue> interval() {
+    return interval(DEFAULT_INTERVAL);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<MetricIntervalValue> interval(long interval) {
+    if (interval <= 0) {
+      throw new ProcessEngineException("interval must be greater than 0, but was " + interval);
+    }
+    this.interval = interval;
+    queryType = MetricsQueryType.INTERVAL;
+    return (List<MetricIntervalValue>) commandExecutor.execute(this);
+  }
+
   public Object execute(CommandContext commandContext) {
     switch (queryType) {
     case SUM:
       return commandContext.getMeterLogManager()
           .executeSelectSum(this);
+    case PERCENTILE:
+      return commandContext.getMeterLogManager()
+          .executeSelectPercentile(this);
+    case SUM_BY_TAG:
+      return commandContext.getMeterLogManager()
+          .executeSelectSumByTag(this);
+    case INTERVAL:
+      return commandContext.getMeterLogManager()
+          .executeSelectInterval(this);
     }
     throw new ProcessEngineException("Incorrect query type. Must be one of "+MetricsQueryType.values());
   }
@@ -97,4 +170,20 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return reporter;
   }
 
+  public String getTag() {
+    return tag;
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  public long getInterval() {
+    return interval;
+  }
+
+  public long getIntervalInMillis() {
+    return interval * 1000;
+  }
+
 }
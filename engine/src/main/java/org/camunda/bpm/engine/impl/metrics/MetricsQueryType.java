@@ -18,6 +18,9 @@ package org.camunda.bpm.engine.impl.metrics;
  */
 public enum MetricsQueryType {
 
-  SUM
+  SUM,
+  PERCENTILE,
+  SUM_BY_TAG,
+  INTERVAL
 
 }
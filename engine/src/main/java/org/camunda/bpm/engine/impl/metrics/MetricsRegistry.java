@@ -13,7 +13,13 @@
 package org.camunda.bpm.engine.impl.metrics;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 /**
  * @author Daniel Meyer
@@ -21,8 +27,18 @@ import java.util.Map;
  */
 public class MetricsRegistry {
 
+  protected static final MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
 
+  protected Map<String, Histogram> histograms = new HashMap<String, Histogram>();
+
+  protected Map<String, TaggedMeter> taggedMeters = new HashMap<String, TaggedMeter>();
+
+  protected Map<String, Gauge> gauges = new HashMap<String, Gauge>();
+
+  protected List<MetricsExporter> exporters = new CopyOnWriteArrayList<MetricsExporter>();
+
   public Meter getMeterByName(String name) {
     return meters.get(name);
   }
@@ -49,4 +65,124 @@ public class MetricsRegistry {
     return meter;
   }
 
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.recordValue(value);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  public TaggedMeter getTaggedMeterByName(String name) {
+    return taggedMeters.get(name);
+  }
+
+  public Map<String, TaggedMeter> getTaggedMeters() {
+    return taggedMeters;
+  }
+
+  public void markTaggedOccurrence(String name, String tag) {
+    TaggedMeter taggedMeter = taggedMeters.get(name);
+
+    if (taggedMeter != null) {
+      taggedMeter.mark(tag);
+    }
+  }
+
+  public TaggedMeter createTaggedMeter(String name, int maxTags) {
+    TaggedMeter taggedMeter = new TaggedMeter(name, maxTags);
+    taggedMeters.put(name, taggedMeter);
+    return taggedMeter;
+  }
+
+  public Gauge getGaugeByName(String name) {
+    return gauges.get(name);
+  }
+
+  public Map<String, Gauge> getGauges() {
+    return gauges;
+  }
+
+  public void registerGauge(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
+  // export ///////////////////////////////////////////////////////////////////
+
+  public List<MetricsExporter> getExporters() {
+    return exporters;
+  }
+
+  public void addExporter(MetricsExporter exporter) {
+    exporters.add(exporter);
+  }
+
+  public void removeExporter(MetricsExporter exporter) {
+    exporters.remove(exporter);
+  }
+
+  /**
+   * @return the current values of all meters, histograms and gauges
+   */
+  public MetricsSnapshot snapshot() {
+    Map<String, Long> counters = new HashMap<String, Long>();
+    for (Meter meter : meters.values()) {
+      counters.put(meter.getName(), meter.getTotal());
+    }
+
+    Map<String, Map<String, Long>> taggedCounters = new HashMap<String, Map<String, Long>>();
+    for (TaggedMeter taggedMeter : taggedMeters.values()) {
+      taggedCounters.put(taggedMeter.getName(), taggedMeter.getTotals());
+    }
+
+    Map<String, SortedMap<Long, Long>> histogramCounts = new HashMap<String, SortedMap<Long, Long>>();
+    for (Histogram histogram : histograms.values()) {
+      histogramCounts.put(histogram.getName(), histogram.getTotalBucketCounts());
+    }
+
+    Map<String, Long> gaugeValues = new HashMap<String, Long>();
+    for (Map.Entry<String, Gauge> gauge : gauges.entrySet()) {
+      try {
+        gaugeValues.put(gauge.getKey(), gauge.getValue().getValue());
+      }
+      catch (RuntimeException e) {
+        // e.g. the job executor is not started yet
+        LOG.couldNotReadGauge(gauge.getKey(), e);
+      }
+    }
+
+    return new MetricsSnapshot(ClockUtil.getCurrentTime(), counters, taggedCounters, histogramCounts, gaugeValues);
+  }
+
+  /**
+   * Invokes all exporters with a snapshot of the current values.
+   */
+  public void exportMetrics() {
+    if (!exporters.isEmpty()) {
+      MetricsSnapshot snapshot = snapshot();
+      for (MetricsExporter exporter : exporters) {
+        try {
+          exporter.export(snapshot);
+        }
+        catch (RuntimeException e) {
+          LOG.couldNotExportMetrics(exporter, e);
+        }
+      }
+    }
+  }
+
 }
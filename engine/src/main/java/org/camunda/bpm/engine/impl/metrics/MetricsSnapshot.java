@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * The values of all metrics of a {@link MetricsRegistry} at a point in time.
+ *
+ * <p>Counters and histogram buckets are totals since the process engine was started and
+ * therefore increase monotonically, independent of the database metrics reporter.</p>
+ */
+public class MetricsSnapshot {
+
+  protected Date timestamp;
+
+  protected Map<String, Long> counters;
+  protected Map<String, Map<String, Long>> taggedCounters;
+  protected Map<String, SortedMap<Long, Long>> histograms;
+  protected Map<String, Long> gauges;
+
+  public MetricsSnapshot(Date timestamp,
+      Map<String, Long> counters,
+      Map<String, Map<String, Long>> taggedCounters,
+      Map<String, SortedMap<Long, Long>> histograms,
+      Map<String, Long> gauges) {
+    this.timestamp = timestamp;
+    this.counters = counters;
+    this.taggedCounters = taggedCounters;
+    this.histograms = histograms;
+    this.gauges = gauges;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * @return the total count by meter name
+   */
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  /**
+   * @return the total counts by tag by meter name
+   */
+  public Map<String, Map<String, Long>> getTaggedCounters() {
+    return taggedCounters;
+  }
+
+  /**
+   * @return the total bucket counts by histogram name, see {@link Histogram#getTotalBucketCounts()}
+   */
+  public Map<String, SortedMap<Long, Long>> getHistograms() {
+    return histograms;
+  }
+
+  /**
+   * @return the number of values recorded by the histogram with the given name
+   */
+  public long getHistogramCount(String name) {
+    long count = 0;
+    SortedMap<Long, Long> bucketCounts = histograms.get(name);
+    if (bucketCounts != null) {
+      for (Long bucketCount : bucketCounts.values()) {
+        count += bucketCount;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the value at the given percentile of the histogram with the given name,
+   *   see {@link Histogram#valueAtPercentile(SortedMap, double)}
+   */
+  public long getHistogramValueAtPercentile(String name, double percentile) {
+    SortedMap<Long, Long> bucketCounts = histograms.get(name);
+    return bucketCounts != null ? Histogram.valueAtPercentile(bucketCounts, percentile) : 0;
+  }
+
+  /**
+   * @return the current value by gauge name
+   */
+  public Map<String, Long> getGauges() {
+    return gauges;
+  }
+
+}
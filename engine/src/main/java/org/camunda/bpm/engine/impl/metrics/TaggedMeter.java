@@ -0,0 +1,150 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * A meter which counts occurrences separately per tag, e.g. per process definition and tenant.
+ *
+ * <p>A tag is a string of <code>key=value</code> pairs separated by commas, see
+ * {@link #tag(String...)}. To bound the memory and the number of meter log entries, at most
+ * {@link #getMaxTags()} distinct tags are counted. Occurrences of any further tag are counted
+ * with the tag {@link Metrics#TAG_OVERFLOW}.</p>
+ */
+public class TaggedMeter {
+
+  /** the maximum length of a tag, as limited by the meter log table */
+  public static final int MAX_TAG_LENGTH = 255;
+
+  protected String name;
+  protected int maxTags;
+
+  protected final ConcurrentMap<String, Meter> meters = new ConcurrentHashMap<String, Meter>();
+
+  public TaggedMeter(String name, int maxTags) {
+    this.name = name;
+    this.maxTags = maxTags;
+  }
+
+  public void mark(String tag) {
+    getMeter(tag).mark();
+  }
+
+  public void markTimes(String tag, long times) {
+    getMeter(tag).markTimes(times);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getMaxTags() {
+    return maxTags;
+  }
+
+  public long get(String tag) {
+    Meter meter = meters.get(tag);
+    return meter != null ? meter.get() : 0;
+  }
+
+  /**
+   * @return the current count by tag
+   */
+  public Map<String, Long> get() {
+    Map<String, Long> counts = new HashMap<String, Long>();
+    for (Map.Entry<String, Meter> meter : meters.entrySet()) {
+      counts.put(meter.getKey(), meter.getValue().get());
+    }
+    return counts;
+  }
+
+  /**
+   * @return the counts since the meter was created by tag
+   */
+  public Map<String, Long> getTotals() {
+    Map<String, Long> totals = new HashMap<String, Long>();
+    for (Map.Entry<String, Meter> meter : meters.entrySet()) {
+      totals.put(meter.getKey(), meter.getValue().getTotal());
+    }
+    return totals;
+  }
+
+  /**
+   * Returns the non-zero counts by tag and resets them. The tags are retained,
+   * so that the number of counted tags stays bounded over the lifetime of the engine.
+   */
+  public Map<String, Long> getAndClear() {
+    Map<String, Long> counts = new HashMap<String, Long>();
+    for (Map.Entry<String, Meter> meter : meters.entrySet()) {
+      long count = meter.getValue().getAndClear();
+      if (count > 0) {
+        counts.put(meter.getKey(), count);
+      }
+    }
+    return counts;
+  }
+
+  protected Meter getMeter(String tag) {
+    Meter meter = meters.get(tag);
+    if (meter == null) {
+      if (meters.size() >= maxTags) {
+        tag = Metrics.TAG_OVERFLOW;
+        meter = meters.get(tag);
+      }
+      if (meter == null) {
+        Meter newMeter = new Meter(name);
+        meter = meters.putIfAbsent(tag, newMeter);
+        if (meter == null) {
+          meter = newMeter;
+        }
+      }
+    }
+    return meter;
+  }
+
+  /**
+   * Creates a tag from the given keys and values, e.g.
+   * <code>tag("processDefinitionKey", "invoice", "tenantId", null)</code>
+   * returns <code>processDefinitionKey=invoice</code>. Keys with a <code>null</code>
+   * value are omitted.
+   *
+   * @param keysAndValues alternating keys and values
+   */
+  public static String tag(String... keysAndValues) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+      String value = keysAndValues[i + 1];
+      if (value != null) {
+        if (builder.length() > 0) {
+          builder.append(',');
+        }
+        builder.append(keysAndValues[i]).append('=').append(value);
+      }
+    }
+    if (builder.length() > MAX_TAG_LENGTH) {
+      builder.setLength(MAX_TAG_LENGTH);
+    }
+    return builder.toString();
+  }
+
+}
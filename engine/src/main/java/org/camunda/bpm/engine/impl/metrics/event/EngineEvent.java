@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.event;
+
+/**
+ * An event which has been started by an {@link EngineEventRecorder}. The event
+ * is recorded with its duration when it is committed.
+ */
+public interface EngineEvent {
+
+  /**
+   * Sets the name of the event subject, e.g. the command class, the atomic operation,
+   * the job handler type, the script language or the expression.
+   */
+  void setName(String name);
+
+  void setProcessDefinitionId(String processDefinitionId);
+
+  void setActivityId(String activityId);
+
+  /**
+   * Ends and records the event.
+   */
+  void commit();
+
+}
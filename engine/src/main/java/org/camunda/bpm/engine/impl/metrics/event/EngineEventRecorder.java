@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.event;
+
+/**
+ * Records the execution of commands, atomic operations, jobs, flushes and scripts
+ * and expressions, e.g. as JDK Flight Recorder events, see {@link JfrEngineEventRecorder}.
+ *
+ * <p>An event is started before the operation and committed after it:</p>
+ *
+ * <pre>
+ * EngineEvent event = EngineEvents.begin(EngineEventType.COMMAND);
+ * try {
+ *   ...
+ * } finally {
+ *   EngineEvents.commit(event);
+ * }
+ * </pre>
+ */
+public interface EngineEventRecorder {
+
+  /**
+   * @return a started event of the given type or null if events of the type are not recorded currently
+   */
+  EngineEvent begin(EngineEventType type);
+
+}
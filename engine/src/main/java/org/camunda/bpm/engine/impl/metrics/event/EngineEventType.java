@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.event;
+
+/**
+ * The types of events which are recorded by an {@link EngineEventRecorder}.
+ */
+public enum EngineEventType {
+
+  COMMAND("Command", "Command Execution"),
+  ATOMIC_OPERATION("AtomicOperation", "Atomic Operation"),
+  JOB_ACQUISITION("JobAcquisition", "Job Acquisition"),
+  JOB_EXECUTION("JobExecution", "Job Execution"),
+  FLUSH("Flush", "Database Flush"),
+  SCRIPT_EVALUATION("ScriptEvaluation", "Script Evaluation"),
+  EXPRESSION_EVALUATION("ExpressionEvaluation", "Expression Evaluation");
+
+  protected String name;
+  protected String label;
+
+  private EngineEventType(String name, String label) {
+    this.name = name;
+    this.label = label;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+}
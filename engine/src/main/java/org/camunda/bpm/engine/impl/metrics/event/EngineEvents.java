@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.event;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.BpmnExecutionContext;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.context.CoreExecutionContext;
+import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Starts and commits the events of the {@link EngineEventRecorder} of the current process engine.
+ */
+public class EngineEvents {
+
+  /**
+   * @return a started event for the process engine of the current command or null
+   *   if the event is not recorded
+   */
+  public static EngineEvent begin(EngineEventType type) {
+    return begin(Context.getProcessEngineConfiguration(), type);
+  }
+
+  /**
+   * @return a started event for the given process engine or null if the event is not recorded
+   */
+  public static EngineEvent begin(ProcessEngineConfigurationImpl processEngineConfiguration, EngineEventType type) {
+    if (processEngineConfiguration != null) {
+      EngineEventRecorder recorder = processEngineConfiguration.getEngineEventRecorder();
+      if (recorder != null) {
+        return recorder.begin(type);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return a started event with the process definition and activity of the current
+   *   bpmn execution or null if the event is not recorded
+   */
+  public static EngineEvent beginInExecutionContext(EngineEventType type, String name) {
+    EngineEvent event = begin(type);
+    if (event != null) {
+      event.setName(name);
+
+      CoreExecutionContext<? extends CoreExecution> executionContext = Context.getCoreExecutionContext();
+      if (executionContext instanceof BpmnExecutionContext) {
+        ExecutionEntity execution = ((BpmnExecutionContext) executionContext).getExecution();
+        event.setProcessDefinitionId(execution.getProcessDefinitionId());
+        event.setActivityId(execution.getActivityId());
+      }
+    }
+    return event;
+  }
+
+  public static void commit(EngineEvent event) {
+    if (event != null) {
+      event.commit();
+    }
+  }
+
+}
@@ -0,0 +1,245 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.event;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+
+/**
+ * Records the engine events as JDK Flight Recorder events named
+ * <code>org.camunda.bpm.engine.Command</code>, <code>org.camunda.bpm.engine.AtomicOperation</code> etc.,
+ * which can be analyzed with the standard JFR tooling.
+ *
+ * <p>The engine is compiled against Java 6, so the event types are created at runtime with
+ * the <code>jdk.jfr.EventFactory</code> which is available since JDK 11 and was backported
+ * to JDK 8u262. The events are disabled by default, so a recording has to enable them
+ * explicitly, e.g. with <code>org.camunda.bpm.engine.Command#enabled=true</code>. Events
+ * which are shorter than the threshold of {@value #EVENT_THRESHOLD} are discarded unless the
+ * recording configures another threshold. Stack traces are disabled for the events.</p>
+ *
+ * <p>Whether an event type is enabled is cached and refreshed when a recording changes its
+ * state, so no event is created while no recording has the event type enabled.</p>
+ *
+ * <p>The event types are registered once per JVM and shared by all process engines.</p>
+ */
+public class JfrEngineEventRecorder implements EngineEventRecorder {
+
+  protected final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  public static final String EVENT_NAME_PREFIX = "org.camunda.bpm.engine.";
+  public static final String EVENT_CATEGORY = "Camunda BPM";
+  public static final String EVENT_THRESHOLD = "1 ms";
+
+  protected static final String[] FIELD_NAMES = {"name", "processDefinitionId", "activityId"};
+  protected static final String[] FIELD_LABELS = {"Name", "Process Definition Id", "Activity Id"};
+
+  protected static final int NAME_FIELD = 0;
+  protected static final int PROCESS_DEFINITION_ID_FIELD = 1;
+  protected static final int ACTIVITY_ID_FIELD = 2;
+
+  protected static JfrEngineEventRecorder instance;
+  protected static boolean initialized = false;
+
+  protected Object[] eventFactories = new Object[EngineEventType.values().length];
+  protected Object[] eventTypes = new Object[EngineEventType.values().length];
+
+  /** whether the event types are enabled by a running recording, by ordinal */
+  protected volatile boolean[] enabledEventTypes = new boolean[EngineEventType.values().length];
+
+  protected Method newEventMethod;
+  protected Method isEnabledMethod;
+  protected Method beginMethod;
+  protected Method setMethod;
+  protected Method commitMethod;
+
+  /**
+   * @return the recorder if the JDK Flight Recorder is available, null otherwise
+   */
+  public static synchronized JfrEngineEventRecorder getInstance() {
+    if (!initialized) {
+      initialized = true;
+      try {
+        JfrEngineEventRecorder recorder = new JfrEngineEventRecorder();
+        recorder.registerEventTypes();
+        recorder.registerRecordingListener();
+        instance = recorder;
+
+      } catch (ClassNotFoundException e) {
+        LOG.flightRecorderNotAvailable();
+
+      } catch (Exception e) {
+        LOG.couldNotRegisterFlightRecorderEvents(e);
+
+      }
+    }
+    return instance;
+  }
+
+  protected void registerEventTypes() throws Exception {
+    Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+    Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+    Class<?> eventClass = Class.forName("jdk.jfr.Event");
+    Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+    Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+    Class<?> nameAnnotation = Class.forName("jdk.jfr.Name");
+    Class<?> labelAnnotation = Class.forName("jdk.jfr.Label");
+    Class<?> categoryAnnotation = Class.forName("jdk.jfr.Category");
+    Class<?> stackTraceAnnotation = Class.forName("jdk.jfr.StackTrace");
+    Class<?> enabledAnnotation = Class.forName("jdk.jfr.Enabled");
+    Class<?> thresholdAnnotation = Class.forName("jdk.jfr.Threshold");
+
+    Constructor<?> annotationElementConstructor = annotationElementClass.getConstructor(Class.class, Object.class);
+    Constructor<?> valueDescriptorConstructor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+    Method createMethod = eventFactoryClass.getMethod("create", List.class, List.class);
+    Method registerMethod = eventFactoryClass.getMethod("register");
+    Method getEventTypeMethod = eventFactoryClass.getMethod("getEventType");
+
+    newEventMethod = eventFactoryClass.getMethod("newEvent");
+    isEnabledMethod = eventTypeClass.getMethod("isEnabled");
+    beginMethod = eventClass.getMethod("begin");
+    setMethod = eventClass.getMethod("set", int.class, Object.class);
+    commitMethod = eventClass.getMethod("commit");
+
+    List<Object> fields = new ArrayList<Object>();
+    for (int i = 0; i < FIELD_NAMES.length; i++) {
+      Object label = annotationElementConstructor.newInstance(labelAnnotation, FIELD_LABELS[i]);
+      fields.add(valueDescriptorConstructor.newInstance(String.class, FIELD_NAMES[i], Collections.singletonList(label)));
+    }
+
+    for (EngineEventType type : EngineEventType.values()) {
+      List<Object> annotations = new ArrayList<Object>();
+      annotations.add(annotationElementConstructor.newInstance(nameAnnotation, EVENT_NAME_PREFIX + type.getName()));
+      annotations.add(annotationElementConstructor.newInstance(labelAnnotation, type.getLabel()));
+      annotations.add(annotationElementConstructor.newInstance(categoryAnnotation, new String[] { EVENT_CATEGORY }));
+      annotations.add(annotationElementConstructor.newInstance(stackTraceAnnotation, false));
+      annotations.add(annotationElementConstructor.newInstance(enabledAnnotation, false));
+      annotations.add(annotationElementConstructor.newInstance(thresholdAnnotation, EVENT_THRESHOLD));
+
+      Object eventFactory = createMethod.invoke(null, annotations, fields);
+      registerMethod.invoke(eventFactory);
+
+      eventFactories[type.ordinal()] = eventFactory;
+      eventTypes[type.ordinal()] = getEventTypeMethod.invoke(eventFactory);
+    }
+  }
+
+  /**
+   * Refreshes the cached enabled state of the event types whenever a recording changes its state.
+   */
+  protected void registerRecordingListener() throws Exception {
+    Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+    Class<?> flightRecorderListenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+    Method addListenerMethod = flightRecorderClass.getMethod("addListener", flightRecorderListenerClass);
+
+    Object listener = Proxy.newProxyInstance(JfrEngineEventRecorder.class.getClassLoader(),
+        new Class<?>[] { flightRecorderListenerClass }, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        if (Object.class.equals(method.getDeclaringClass())) {
+          if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+          }
+          else if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+          }
+          return JfrEngineEventRecorder.class.getName();
+        }
+
+        // recorderInitialized and recordingStateChanged
+        refreshEnabledEventTypes();
+        return null;
+      }
+    });
+
+    refreshEnabledEventTypes();
+    addListenerMethod.invoke(null, listener);
+  }
+
+  protected void refreshEnabledEventTypes() {
+    boolean[] enabled = new boolean[eventTypes.length];
+    for (EngineEventType type : EngineEventType.values()) {
+      try {
+        enabled[type.ordinal()] = (Boolean) isEnabledMethod.invoke(eventTypes[type.ordinal()]);
+      } catch (Exception e) {
+        LOG.couldNotRecordEngineEvent(type.getName(), e);
+      }
+    }
+    enabledEventTypes = enabled;
+  }
+
+  public EngineEvent begin(EngineEventType type) {
+    if (!enabledEventTypes[type.ordinal()]) {
+      return null;
+    }
+
+    try {
+      Object event = newEventMethod.invoke(eventFactories[type.ordinal()]);
+      beginMethod.invoke(event);
+      return new JfrEngineEvent(event);
+
+    } catch (Exception e) {
+      LOG.couldNotRecordEngineEvent(type.getName(), e);
+      return null;
+    }
+  }
+
+  protected void set(Object event, int field, String value) {
+    try {
+      setMethod.invoke(event, field, value);
+    } catch (Exception e) {
+      LOG.couldNotRecordEngineEvent(FIELD_NAMES[field], e);
+    }
+  }
+
+  protected void commit(Object event) {
+    try {
+      commitMethod.invoke(event);
+    } catch (Exception e) {
+      LOG.couldNotRecordEngineEvent(event.getClass().getName(), e);
+    }
+  }
+
+  public class JfrEngineEvent implements EngineEvent {
+
+    protected Object event;
+
+    public JfrEngineEvent(Object event) {
+      this.event = event;
+    }
+
+    public void setName(String name) {
+      set(event, NAME_FIELD, name);
+    }
+
+    public void setProcessDefinitionId(String processDefinitionId) {
+      set(event, PROCESS_DEFINITION_ID_FIELD, processDefinitionId);
+    }
+
+    public void setActivityId(String activityId) {
+      set(event, ACTIVITY_ID_FIELD, activityId);
+    }
+
+    public void commit() {
+      JfrEngineEventRecorder.this.commit(event);
+    }
+
+  }
+
+}
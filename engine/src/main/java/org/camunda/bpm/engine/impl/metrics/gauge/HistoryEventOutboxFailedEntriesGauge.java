@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.gauge;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxWriter;
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+
+/**
+ * Reads the number of failed history event outbox entries of the engine,
+ * <code>0</code> if the outbox is not enabled.
+ */
+public class HistoryEventOutboxFailedEntriesGauge implements Gauge {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public HistoryEventOutboxFailedEntriesGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public long getValue() {
+    HistoryEventOutboxWriter writer = processEngineConfiguration.getHistoryEventOutboxWriter();
+    if (writer == null) {
+      return 0;
+    }
+    return writer.getFailedEntryCount();
+  }
+
+}
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.gauge;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+
+/**
+ * Reads the time the job acquisition of the engine's job executor waited last.
+ */
+public class JobAcquisitionWaitTimeGauge implements Gauge {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public JobAcquisitionWaitTimeGauge(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public long getValue() {
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    AcquireJobsRunnable acquireJobsRunnable = jobExecutor != null ? jobExecutor.getAcquireJobsRunnable() : null;
+    if (acquireJobsRunnable == null) {
+      throw new ProcessEngineException("The job acquisition is not running");
+    }
+    return acquireJobsRunnable.getWaitTime();
+  }
+
+}
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.gauge;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.datasource.pooled.PoolState;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+
+/**
+ * Reads the state of the connection pool the engine creates from the jdbc properties.
+ * Connection pools provided by the environment, e.g. via JNDI, are not supported.
+ */
+public class PooledDataSourceGauge implements Gauge {
+
+  public enum Value {
+    ACTIVE_CONNECTIONS,
+    IDLE_CONNECTIONS
+  }
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Value value;
+
+  public PooledDataSourceGauge(ProcessEngineConfigurationImpl processEngineConfiguration, Value value) {
+    this.processEngineConfiguration = processEngineConfiguration;
+    this.value = value;
+  }
+
+  public long getValue() {
+    DataSource dataSource = processEngineConfiguration.getDataSource();
+    if (!(dataSource instanceof PooledDataSource)) {
+      throw new ProcessEngineException("The data source is not a " + PooledDataSource.class.getSimpleName());
+    }
+
+    PoolState poolState = ((PooledDataSource) dataSource).getPoolState();
+    switch (value) {
+    case ACTIVE_CONNECTIONS:
+      return poolState.getActiveConnectionCount();
+    case IDLE_CONNECTIONS:
+      return poolState.getIdleConnectionCount();
+    }
+    throw new ProcessEngineException("Unknown value " + value);
+  }
+
+}
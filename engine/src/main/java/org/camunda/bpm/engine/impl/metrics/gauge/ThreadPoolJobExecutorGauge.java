@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.gauge;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ThreadPoolJobExecutor;
+import org.camunda.bpm.engine.impl.metrics.Gauge;
+
+/**
+ * Reads the state of the thread pool of the engine's job executor. The job executor is
+ * looked up on every read since it may be replaced after the engine was built.
+ */
+public class ThreadPoolJobExecutorGauge implements Gauge {
+
+  public enum Value {
+    ACTIVE_THREADS,
+    POOL_SIZE,
+    QUEUE_SIZE
+  }
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Value value;
+
+  public ThreadPoolJobExecutorGauge(ProcessEngineConfigurationImpl processEngineConfiguration, Value value) {
+    this.processEngineConfiguration = processEngineConfiguration;
+    this.value = value;
+  }
+
+  public long getValue() {
+    ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+
+    switch (value) {
+    case ACTIVE_THREADS:
+      return threadPoolExecutor.getActiveCount();
+    case POOL_SIZE:
+      return threadPoolExecutor.getPoolSize();
+    case QUEUE_SIZE:
+      return threadPoolExecutor.getQueue().size();
+    }
+    throw new ProcessEngineException("Unknown value " + value);
+  }
+
+  protected ThreadPoolExecutor getThreadPoolExecutor() {
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    if (jobExecutor instanceof ThreadPoolJobExecutor) {
+      ThreadPoolExecutor threadPoolExecutor = ((ThreadPoolJobExecutor) jobExecutor).getThreadPoolExecutor();
+      if (threadPoolExecutor != null) {
+        return threadPoolExecutor;
+      }
+    }
+    throw new ProcessEngineException("The job executor has no thread pool");
+  }
+
+}
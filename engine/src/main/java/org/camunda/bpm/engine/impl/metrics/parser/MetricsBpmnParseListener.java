@@ -14,6 +14,9 @@ package org.camunda.bpm.engine.impl.metrics.parser;
 
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
 import org.camunda.bpm.engine.impl.util.xml.Element;
@@ -27,8 +30,42 @@ public class MetricsBpmnParseListener extends AbstractBpmnParseListener {
 
   public static MetricsExecutionListener ACTIVITY_INSTANCE_START_COUNTER = new MetricsExecutionListener(Metrics.ACTIVTY_INSTANCE_START);
 
+  protected MetricsExecutionListener activityInstanceStartCounter;
+
+  protected Meter activityInstanceStartMeter;
+  protected TaggedMeter activityInstanceStartTaggedMeter;
+
+  public MetricsBpmnParseListener() {
+    activityInstanceStartCounter = ACTIVITY_INSTANCE_START_COUNTER;
+  }
+
+  /**
+   * The added listeners mark the meters of the given registry directly. If the registry
+   * contains a tagged meter for activity instance starts, each activity gets a listener of its own.
+   */
+  public MetricsBpmnParseListener(MetricsRegistry metricsRegistry) {
+    activityInstanceStartMeter = metricsRegistry.getMeterByName(Metrics.ACTIVTY_INSTANCE_START);
+    activityInstanceStartTaggedMeter = metricsRegistry.getTaggedMeterByName(Metrics.ACTIVTY_INSTANCE_START);
+
+    if (activityInstanceStartMeter != null) {
+      activityInstanceStartCounter = new MetricsExecutionListener(activityInstanceStartMeter);
+    }
+    else {
+      activityInstanceStartCounter = ACTIVITY_INSTANCE_START_COUNTER;
+    }
+  }
+
   protected void addListeners(ActivityImpl activity) {
-    activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, ACTIVITY_INSTANCE_START_COUNTER);
+    activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, createActivityInstanceStartCounter());
+  }
+
+  protected MetricsExecutionListener createActivityInstanceStartCounter() {
+    if (activityInstanceStartMeter != null && activityInstanceStartTaggedMeter != null) {
+      return new MetricsExecutionListener(activityInstanceStartMeter, activityInstanceStartTaggedMeter);
+    }
+    else {
+      return activityInstanceStartCounter;
+    }
   }
 
   public void parseStartEvent(Element startEventElement, ScopeImpl scope, ActivityImpl activity) {
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.metrics.parser;
 import org.camunda.bpm.engine.delegate.CaseExecutionListener;
 import org.camunda.bpm.engine.delegate.DelegateCaseExecution;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.management.Metrics;
 
 /**
@@ -23,10 +24,27 @@ import org.camunda.bpm.engine.management.Metrics;
  */
 public class MetricsCaseExecutionListener implements CaseExecutionListener {
 
+  protected Meter meter;
+
+  public MetricsCaseExecutionListener() {
+  }
+
+  /**
+   * Marks the given meter directly instead of looking it up by name on every notification.
+   */
+  public MetricsCaseExecutionListener(Meter meter) {
+    this.meter = meter;
+  }
+
   public void notify(DelegateCaseExecution caseExecution) throws Exception {
-    Context.getProcessEngineConfiguration()
-      .getMetricsRegistry()
-      .markOccurrence(Metrics.ACTIVTY_INSTANCE_START);
+    if (meter != null) {
+      meter.mark();
+    }
+    else {
+      Context.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.ACTIVTY_INSTANCE_START);
+    }
   }
 
 }
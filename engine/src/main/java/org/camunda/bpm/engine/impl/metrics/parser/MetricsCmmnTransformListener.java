@@ -15,6 +15,9 @@ package org.camunda.bpm.engine.impl.metrics.parser;
 import org.camunda.bpm.engine.delegate.CaseExecutionListener;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnActivity;
 import org.camunda.bpm.engine.impl.cmmn.transformer.AbstractCmmnTransformListener;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.model.cmmn.instance.CaseTask;
 import org.camunda.bpm.model.cmmn.instance.DecisionTask;
 import org.camunda.bpm.model.cmmn.instance.HumanTask;
@@ -32,11 +35,30 @@ public class MetricsCmmnTransformListener extends AbstractCmmnTransformListener
 
   public static MetricsCaseExecutionListener listener = new MetricsCaseExecutionListener();
 
+  protected MetricsCaseExecutionListener activityInstanceStartCounter;
+
+  public MetricsCmmnTransformListener() {
+    activityInstanceStartCounter = listener;
+  }
+
+  /**
+   * The added listeners mark the meters of the given registry directly.
+   */
+  public MetricsCmmnTransformListener(MetricsRegistry metricsRegistry) {
+    Meter meter = metricsRegistry.getMeterByName(Metrics.ACTIVTY_INSTANCE_START);
+    if (meter != null) {
+      activityInstanceStartCounter = new MetricsCaseExecutionListener(meter);
+    }
+    else {
+      activityInstanceStartCounter = listener;
+    }
+  }
+
   protected void addListeners(CmmnActivity activity) {
     if(activity != null) {
-      activity.addBuiltInListener(CaseExecutionListener.START, listener);
-      activity.addBuiltInListener(CaseExecutionListener.MANUAL_START, listener);
-      activity.addBuiltInListener(CaseExecutionListener.OCCUR, listener);
+      activity.addBuiltInListener(CaseExecutionListener.START, activityInstanceStartCounter);
+      activity.addBuiltInListener(CaseExecutionListener.MANUAL_START, activityInstanceStartCounter);
+      activity.addBuiltInListener(CaseExecutionListener.OCCUR, activityInstanceStartCounter);
     }
   }
 
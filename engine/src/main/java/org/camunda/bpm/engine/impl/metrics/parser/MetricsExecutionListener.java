@@ -15,6 +15,12 @@ package org.camunda.bpm.engine.impl.metrics.parser;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Daniel Meyer
@@ -23,15 +29,59 @@ import org.camunda.bpm.engine.impl.context.Context;
 public class MetricsExecutionListener implements ExecutionListener {
 
   protected String metricsName;
+  protected Meter meter;
+
+  protected TaggedMeter taggedMeter;
+  /** the tag is the same for all notifications of a listener since it is added to a single activity */
+  protected String tag;
 
   public MetricsExecutionListener(String metricsName) {
     this.metricsName = metricsName;
   }
 
+  /**
+   * Marks the given meter directly instead of looking it up by name on every notification.
+   */
+  public MetricsExecutionListener(Meter meter) {
+    this.metricsName = meter.getName();
+    this.meter = meter;
+  }
+
+  /**
+   * Additionally counts the notifications in the given tagged meter, tagged with the process
+   * definition key, activity type and tenant id. The listener must not be shared between activities.
+   */
+  public MetricsExecutionListener(Meter meter, TaggedMeter taggedMeter) {
+    this(meter);
+    this.taggedMeter = taggedMeter;
+  }
+
   public void notify(DelegateExecution execution) throws Exception {
-    Context.getProcessEngineConfiguration()
-      .getMetricsRegistry()
-      .markOccurrence(metricsName);
+    if (meter != null) {
+      meter.mark();
+    }
+    else {
+      Context.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(metricsName);
+    }
+
+    if (taggedMeter != null && execution instanceof ExecutionEntity) {
+      if (tag == null) {
+        tag = createTag((ExecutionEntity) execution);
+      }
+      taggedMeter.mark(tag);
+    }
+  }
+
+  protected String createTag(ExecutionEntity execution) {
+    ActivityImpl activity = execution.getActivity();
+    String activityType = activity != null ? activity.getProperties().get(BpmnProperties.TYPE) : null;
+
+    return TaggedMeter.tag(
+        Metrics.TAG_PROCESS_DEFINITION_KEY, execution.getProcessDefinition().getKey(),
+        Metrics.TAG_ACTIVITY_TYPE, activityType,
+        Metrics.TAG_TENANT_ID, execution.getTenantId());
   }
 
 }
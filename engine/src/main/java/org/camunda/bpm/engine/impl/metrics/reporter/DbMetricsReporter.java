@@ -32,6 +32,7 @@ public class DbMetricsReporter {
   protected long reportingIntervalInSeconds = 60 * 15;
 
   protected MetricsCollectionTask metricsCollectionTask;
+  protected MeterLogRollupTask meterLogRollupTask;
   private Timer timer;
 
   public DbMetricsReporter(MetricsRegistry metricsRegistry, CommandExecutor commandExecutor) {
@@ -51,6 +52,12 @@ public class DbMetricsReporter {
     timer.scheduleAtFixedRate(metricsCollectionTask,
         reportingIntervalInMillis,
         reportingIntervalInMillis);
+
+    if(meterLogRollupTask != null) {
+      timer.scheduleAtFixedRate(meterLogRollupTask,
+          reportingIntervalInMillis,
+          reportingIntervalInMillis);
+    }
   }
 
   public void stop() {
@@ -93,11 +100,25 @@ public class DbMetricsReporter {
     this.metricsCollectionTask = metricsCollectionTask;
   }
 
+  public MeterLogRollupTask getMeterLogRollupTask() {
+    return meterLogRollupTask;
+  }
+
+  public void setMeterLogRollupTask(MeterLogRollupTask meterLogRollupTask) {
+    this.meterLogRollupTask = meterLogRollupTask;
+    if (meterLogRollupTask != null) {
+      meterLogRollupTask.setReporter(reporterId);
+    }
+  }
+
   public void setReporterId(String reporterId) {
     this.reporterId = reporterId;
     if (metricsCollectionTask != null) {
       metricsCollectionTask.setReporter(reporterId);
     }
+    if (meterLogRollupTask != null) {
+      meterLogRollupTask.setReporter(reporterId);
+    }
   }
 
 }
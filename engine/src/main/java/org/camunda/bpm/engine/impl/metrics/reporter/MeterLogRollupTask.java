@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Rolls up the meter logs of the reporter which are older than {@link #rollupAgeInSeconds}
+ * into one log per meter and time interval of {@link #rollupIntervalInSeconds}.
+ *
+ * <p>Each reporter only rolls up its own logs, so that the reporters of a cluster
+ * do not roll up the same logs concurrently.</p>
+ */
+public class MeterLogRollupTask extends TimerTask {
+
+  private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected String reporterId = null;
+
+  protected long rollupIntervalInSeconds;
+  protected long rollupAgeInSeconds;
+
+  public MeterLogRollupTask(CommandExecutor commandExecutor, long rollupIntervalInSeconds, long rollupAgeInSeconds) {
+    this.commandExecutor = commandExecutor;
+    this.rollupIntervalInSeconds = rollupIntervalInSeconds;
+    this.rollupAgeInSeconds = rollupAgeInSeconds;
+  }
+
+  public void run() {
+    try {
+      rollup();
+    }
+    catch(Exception e) {
+      try {
+        LOG.couldNotRollupMeterLogs(e);
+      }
+      catch (Exception ex) {
+        // ignore if log can't be written
+      }
+    }
+  }
+
+  protected void rollup() {
+    final long intervalInMillis = rollupIntervalInSeconds * 1000;
+    // align to the interval, so that the latest interval is not split
+    long timestampInMillis = ClockUtil.getCurrentTime().getTime() - rollupAgeInSeconds * 1000;
+    final long alignedTimestampInMillis = timestampInMillis - timestampInMillis % intervalInMillis;
+
+    int count = commandExecutor.execute(new Command<Integer>() {
+
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getMeterLogManager()
+            .rollup(reporterId, alignedTimestampInMillis, intervalInMillis);
+      }
+    });
+
+    if (count > 0) {
+      LOG.rolledUpMeterLogs(count, reporterId);
+    }
+  }
+
+  public String getReporter() {
+    return reporterId;
+  }
+
+  public void setReporter(String reporterId) {
+    this.reporterId = reporterId;
+  }
+
+  public long getRollupIntervalInSeconds() {
+    return rollupIntervalInSeconds;
+  }
+
+  public long getRollupAgeInSeconds() {
+    return rollupAgeInSeconds;
+  }
+
+}
@@ -14,15 +14,18 @@ package org.camunda.bpm.engine.impl.metrics.reporter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.TimerTask;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -68,6 +71,26 @@ public class MetricsCollectionTask extends TimerTask {
           ClockUtil.getCurrentTime()));
 
     }
+    for (Histogram histogram : metricsRegistry.getHistograms().values()) {
+      // one log entry per non-empty bucket
+      for (Entry<Long, Long> bucket : histogram.getAndClearBucketCounts().entrySet()) {
+        logs.add(new MeterLogEntity(histogram.getName(),
+            reporterId,
+            bucket.getKey(),
+            bucket.getValue(),
+            ClockUtil.getCurrentTime()));
+      }
+    }
+    for (TaggedMeter taggedMeter : metricsRegistry.getTaggedMeters().values()) {
+      // one log entry per tag counted since the last collection
+      for (Entry<String, Long> tag : taggedMeter.getAndClear().entrySet()) {
+        logs.add(new MeterLogEntity(taggedMeter.getName(),
+            reporterId,
+            tag.getKey(),
+            tag.getValue(),
+            ClockUtil.getCurrentTime()));
+      }
+    }
 
     commandExecutor.execute(new Command<Void>() {
 
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsExporter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+
+/**
+ * Periodically invokes the {@link MetricsExporter}s of the {@link MetricsRegistry}.
+ */
+public class MetricsExportReporter {
+
+  protected MetricsRegistry metricsRegistry;
+
+  protected long exportIntervalInSeconds = 60;
+
+  private Timer timer;
+
+  public MetricsExportReporter(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public void start() {
+    timer = new Timer("Camunda Metrics Exporter", true);
+    long exportIntervalInMillis = exportIntervalInSeconds * 1000;
+
+    timer.scheduleAtFixedRate(new TimerTask() {
+        public void run() {
+          exportNow();
+        }
+      },
+      exportIntervalInMillis,
+      exportIntervalInMillis);
+  }
+
+  public void stop() {
+    if(timer != null) {
+      timer.cancel();
+      timer = null;
+      // export for the last time
+      exportNow();
+    }
+  }
+
+  public void exportNow() {
+    metricsRegistry.exportMetrics();
+  }
+
+  public long getExportIntervalInSeconds() {
+    return exportIntervalInSeconds;
+  }
+
+  public void setExportIntervalInSeconds(long exportIntervalInSeconds) {
+    this.exportIntervalInSeconds = exportIntervalInSeconds;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+}
@@ -13,23 +13,13 @@
 package org.camunda.bpm.engine.impl.migration.batch;
 
 import org.camunda.bpm.engine.batch.Batch;
-import org.camunda.bpm.engine.impl.batch.BatchEntity;
-import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
-import org.camunda.bpm.engine.impl.context.Context;
-import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
-import org.camunda.bpm.engine.impl.core.variable.mapping.value.ParameterValueProvider;
-import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
-import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
-import org.camunda.bpm.engine.impl.migration.batch.MigrationBatchJobDeclaration.BatchJobContext;
-import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
-import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
-import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
 
 /**
  * Job declaration for batch migration jobs. The batch migration job
  * migrates a list of process instances.
  */
-public class MigrationBatchJobDeclaration extends JobDeclaration<BatchJobContext, MessageEntity> {
+public class MigrationBatchJobDeclaration extends BatchJobDeclaration {
 
   private static final long serialVersionUID = 1L;
 
@@ -37,41 +27,4 @@ public class MigrationBatchJobDeclaration extends JobDeclaration<BatchJobContext
     super(Batch.TYPE_PROCESS_INSTANCE_MIGRATION);
   }
 
-  @Override
-  protected ExecutionEntity resolveExecution(BatchJobContext context) {
-    return null;
-  }
-
-  @Override
-  protected MessageEntity newJobInstance(BatchJobContext context) {
-    return new MessageEntity();
-  }
-
-  @Override
-  protected JobHandlerConfiguration resolveJobHandlerConfiguration(BatchJobContext context) {
-    return new BatchJobConfiguration(context.configuration.getId());
-  }
-
-  @Override
-  protected String resolveJobDefinitionId(BatchJobContext context) {
-    return context.batch.getBatchJobDefinitionId();
-  }
-
-  public static class BatchJobContext {
-
-    public BatchJobContext(BatchEntity batchEntity, ByteArrayEntity configuration) {
-      this.batch = batchEntity;
-      this.configuration = configuration;
-    }
-
-    protected BatchEntity batch;
-    protected ByteArrayEntity configuration;
-  }
-
-  public ParameterValueProvider getJobPriorityProvider() {
-    long batchJobPriority = Context.getProcessEngineConfiguration()
-      .getBatchJobPriority();
-    return new ConstantValueProvider(batchJobPriority);
-  }
-
 }
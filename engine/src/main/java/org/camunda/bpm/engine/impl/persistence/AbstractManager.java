@@ -48,6 +48,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricIncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
@@ -56,6 +57,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
@@ -95,6 +97,10 @@ public abstract class AbstractManager implements Session {
     return getSession(ResourceManager.class);
   }
 
+  protected ParseSnapshotManager getParseSnapshotManager() {
+    return getSession(ParseSnapshotManager.class);
+  }
+
   protected ByteArrayManager getByteArrayManager() {
     return getSession(ByteArrayManager.class);
   }
@@ -179,6 +185,10 @@ public abstract class AbstractManager implements Session {
     return getSession(HistoricJobLogManager.class);
   }
 
+  protected HistoricStatisticsManager getHistoricStatisticsManager() {
+    return getSession(HistoricStatisticsManager.class);
+  }
+
   protected JobManager getJobManager() {
     return getSession(JobManager.class);
   }
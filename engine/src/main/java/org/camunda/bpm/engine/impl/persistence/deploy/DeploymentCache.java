@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.cmmn.CaseDefinitionNotFoundException;
@@ -36,6 +37,8 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQuery
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.repository.BpmnModelViewImpl;
+import org.camunda.bpm.engine.repository.BpmnModelView;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -59,6 +62,8 @@ public class DeploymentCache {
   protected Map<String, CaseDefinitionEntity> caseDefinitionCache = new HashMap<String, CaseDefinitionEntity>();
   protected Map<String, DecisionDefinitionEntity> decisionDefinitionCache = new HashMap<String, DecisionDefinitionEntity>();
   protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = new HashMap<String, BpmnModelInstance>();
+  /** the views are shared across threads, the concurrent map ensures their safe publication */
+  protected Map<String, BpmnModelView> bpmnModelViewCache = new ConcurrentHashMap<String, BpmnModelView>();
   protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = new HashMap<String, CmmnModelInstance>();
   protected Map<String, DmnModelInstance> dmnModelInstanceCache = new HashMap<String, DmnModelInstance>();
   protected List<Deployer> deployers;
@@ -205,6 +210,32 @@ public class DeploymentCache {
     }
   }
 
+  public BpmnModelView findBpmnModelViewForProcessDefinition(String processDefinitionId) {
+    BpmnModelView bpmnModelView = bpmnModelViewCache.get(processDefinitionId);
+    if (bpmnModelView == null) {
+      ProcessDefinitionEntity processDefinition = findDeployedProcessDefinitionById(processDefinitionId);
+      bpmnModelView = loadAndCacheBpmnModelView(processDefinition);
+    }
+    return bpmnModelView;
+  }
+
+  protected BpmnModelView loadAndCacheBpmnModelView(final ProcessDefinitionEntity processDefinitionEntity) {
+    final CommandContext commandContext = Context.getCommandContext();
+    InputStream bpmnResourceInputStream = commandContext.runWithoutAuthorization(new Callable<InputStream>() {
+      public InputStream call() throws Exception {
+        return new GetDeploymentResourceCmd(processDefinitionEntity.getDeploymentId(), processDefinitionEntity.getResourceName()).execute(commandContext);
+      }
+    });
+
+    try {
+      BpmnModelView bpmnModelView = BpmnModelViewImpl.fromInputStream(bpmnResourceInputStream);
+      bpmnModelViewCache.put(processDefinitionEntity.getId(), bpmnModelView);
+      return bpmnModelView;
+    }catch(Exception e) {
+      throw LOG.loadModelException("BPMN", "process", processDefinitionEntity.getId(), e);
+    }
+  }
+
   public void addProcessDefinition(ProcessDefinitionEntity processDefinition) {
     processDefinitionCache.put(processDefinition.getId(), processDefinition);
   }
@@ -212,11 +243,13 @@ public class DeploymentCache {
   public void removeProcessDefinition(String processDefinitionId) {
     processDefinitionCache.remove(processDefinitionId);
     bpmnModelInstanceCache.remove(processDefinitionId);
+    bpmnModelViewCache.remove(processDefinitionId);
   }
 
   public void discardProcessDefinitionCache() {
     processDefinitionCache.clear();
     bpmnModelInstanceCache.clear();
+    bpmnModelViewCache.clear();
   }
 
   // CASE DEFINITION ////////////////////////////////////////////////////////////////////////////////
@@ -569,6 +602,10 @@ public class DeploymentCache {
     return bpmnModelInstanceCache;
   }
 
+  public Map<String, BpmnModelView> getBpmnModelViewCache() {
+    return bpmnModelViewCache;
+  }
+
   public Map<String, CmmnModelInstance> getCmmnModelInstanceCache() {
     return cmmnModelInstanceCache;
   }
@@ -0,0 +1,208 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Loads process definitions into the {@link DeploymentCache} in the background while the
+ * process engine starts, so that the first requests after a restart do not have to pay for
+ * parsing the deployed resources.
+ *
+ * <p>Warmed up are the latest <code>latestVersions</code> versions of each process definition key
+ * and, if <code>includeRunningInstances</code> is set, all process definitions which have running
+ * executions. The definitions are grouped by deployment and each deployment is loaded in its own
+ * command on a pool of <code>threads</code> threads.</p>
+ *
+ * <p>{@link #isCompleted()} can be used as a readiness flag; it is <code>true</code> as soon as every
+ * deployment was loaded or failed to load.</p>
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+
+  protected int latestVersions = 1;
+  protected boolean includeRunningInstances = true;
+  protected int threads = 1;
+
+  protected volatile boolean completed = false;
+  protected Thread warmUpThread;
+  protected ExecutorService executorService;
+
+  public DeploymentCacheWarmUp(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public synchronized void start() {
+    completed = false;
+    warmUpThread = new Thread(new Runnable() {
+      public void run() {
+        try {
+          warmUp();
+        }
+        catch (Exception e) {
+          LOG.deploymentCacheWarmUpFailed(e);
+        }
+        finally {
+          completed = true;
+        }
+      }
+    }, "Camunda Deployment Cache Warm Up");
+    warmUpThread.setDaemon(true);
+    warmUpThread.start();
+  }
+
+  public synchronized void stop() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+    }
+    if (warmUpThread != null) {
+      warmUpThread.interrupt();
+      warmUpThread = null;
+    }
+  }
+
+  protected void warmUp() throws InterruptedException {
+    long start = System.currentTimeMillis();
+
+    Map<String, List<String>> processDefinitionIdsByDeployment = commandExecutor.execute(new Command<Map<String, List<String>>>() {
+      public Map<String, List<String>> execute(CommandContext commandContext) {
+        List<ProcessDefinition> processDefinitions = commandContext
+          .getProcessDefinitionManager()
+          .findProcessDefinitionsForCacheWarmUp(latestVersions, includeRunningInstances);
+
+        Map<String, List<String>> result = new LinkedHashMap<String, List<String>>();
+        for (ProcessDefinition processDefinition : processDefinitions) {
+          List<String> ids = result.get(processDefinition.getDeploymentId());
+          if (ids == null) {
+            ids = new ArrayList<String>();
+            result.put(processDefinition.getDeploymentId(), ids);
+          }
+          ids.add(processDefinition.getId());
+        }
+        return result;
+      }
+    });
+
+    List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+    for (Map.Entry<String, List<String>> deployment : processDefinitionIdsByDeployment.entrySet()) {
+      tasks.add(createWarmUpTask(deployment.getKey(), deployment.getValue()));
+    }
+
+    ExecutorService executorService = createExecutorService();
+    try {
+      for (Future<Void> future : executorService.invokeAll(tasks)) {
+        try {
+          future.get();
+        }
+        catch (Exception e) {
+          // already logged by the task
+        }
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    LOG.deploymentCacheWarmedUp(processDefinitionIdsByDeployment.size(), System.currentTimeMillis() - start);
+  }
+
+  protected synchronized ExecutorService createExecutorService() {
+    final AtomicInteger threadCount = new AtomicInteger();
+    executorService = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "Camunda Deployment Cache Warm Up " + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    return executorService;
+  }
+
+  protected Callable<Void> createWarmUpTask(final String deploymentId, final List<String> processDefinitionIds) {
+    return new Callable<Void>() {
+      public Void call() throws Exception {
+        try {
+          commandExecutor.execute(new Command<Void>() {
+            public Void execute(CommandContext commandContext) {
+              DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
+              // missing or outdated parse snapshots are written by the warm up only
+              commandContext.getParseSnapshotManager().setRefreshParseSnapshots(true);
+              // the first definition redeploys the whole deployment, the others are cache hits then
+              for (String processDefinitionId : processDefinitionIds) {
+                deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+              }
+              return null;
+            }
+          });
+        }
+        catch (Exception e) {
+          LOG.unableToWarmUpDeployment(deploymentId, e);
+        }
+        return null;
+      }
+    };
+  }
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  public int getLatestVersions() {
+    return latestVersions;
+  }
+
+  public void setLatestVersions(int latestVersions) {
+    this.latestVersions = latestVersions;
+  }
+
+  public boolean isIncludeRunningInstances() {
+    return includeRunningInstances;
+  }
+
+  public void setIncludeRunningInstances(boolean includeRunningInstances) {
+    this.includeRunningInstances = includeRunningInstances;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+}
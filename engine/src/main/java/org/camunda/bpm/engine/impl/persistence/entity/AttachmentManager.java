@@ -51,6 +51,12 @@ public class AttachmentManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteAttachmentsByProcessInstanceIds(List<String> processInstanceIds) {
+    checkHistoryEnabled();
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteAttachmentByteArraysByProcessInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(AttachmentEntity.class, "deleteAttachmentsByProcessInstanceIds", processInstanceIds);
+  }
+
   public Attachment findAttachmentByTaskIdAndAttachmentId(String taskId, String attachmentId) {
     checkHistoryEnabled();
 
@@ -13,9 +13,13 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.util.Date;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
 
 /**
  * @author Tom Baeyens
@@ -32,6 +36,18 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
   protected byte[] bytes;
   protected String deploymentId;
   protected String tenantId;
+  protected String hash;
+  protected Date createTime;
+
+  /** the bytes as loaded from the database until they are read, see {@link #getBytes()} */
+  protected byte[] storedBytes;
+  /** true if {@link #storedBytes} are compressed */
+  protected boolean compressed;
+
+  // bytes as written to the database, recalculated whenever the bytes change
+  protected transient byte[] persistentBytesSource;
+  protected transient byte[] persistentBytes;
+  protected transient boolean persistentBytesCompressed;
 
   public ByteArrayEntity() {
   }
@@ -46,13 +62,59 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
   }
 
   public byte[] getBytes() {
+    if (storedBytes != null) {
+      // the stored bytes and the compressed flag are set by the result map in any order
+      bytes = compressed ? CompressionUtil.decompress(storedBytes) : storedBytes;
+      storedBytes = null;
+      compressed = false;
+    }
     return bytes;
   }
 
   public Object getPersistentState() {
+    byte[] bytes = getBytes();
     return (bytes != null ? bytes : PERSISTENTSTATE_NULL);
   }
 
+  /**
+   * @return the bytes to write to the database, compressed if
+   * {@link ProcessEngineConfigurationImpl#isByteArrayCompressionEnabled() compression is enabled}
+   * and this saves space
+   */
+  public byte[] getPersistentBytes() {
+    ensurePersistentBytesInitialized();
+    return persistentBytes;
+  }
+
+  public boolean isPersistentBytesCompressed() {
+    ensurePersistentBytesInitialized();
+    return persistentBytesCompressed;
+  }
+
+  protected void ensurePersistentBytesInitialized() {
+    byte[] bytes = getBytes();
+    if (persistentBytesSource == bytes && persistentBytes != null) {
+      return;
+    }
+
+    persistentBytesSource = bytes;
+    persistentBytes = bytes;
+    persistentBytesCompressed = false;
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (bytes != null
+        && processEngineConfiguration != null
+        && processEngineConfiguration.isByteArrayCompressionEnabled()
+        && bytes.length >= processEngineConfiguration.getByteArrayCompressionThreshold()) {
+
+      byte[] compressedBytes = CompressionUtil.compress(bytes);
+      if (compressedBytes.length < bytes.length) {
+        persistentBytes = compressedBytes;
+        persistentBytesCompressed = true;
+      }
+    }
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
@@ -85,6 +147,41 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    // new bytes replace the stored bytes
+    this.storedBytes = null;
+    this.compressed = false;
+  }
+
+  /**
+   * Sets the bytes as loaded from the database, which are compressed if {@link #isCompressed()}.
+   */
+  public void setStoredBytes(byte[] storedBytes) {
+    this.storedBytes = storedBytes;
+    this.bytes = null;
+  }
+
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  public void setCompressed(boolean compressed) {
+    this.compressed = compressed;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
   }
 
   public int getRevision() {
@@ -111,6 +208,8 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
            + ", name=" + name
            + ", deploymentId=" + deploymentId
            + ", tenantId=" + tenantId
+           + ", hash=" + hash
+           + ", createTime=" + createTime
            + "]";
   }
 
@@ -13,7 +13,12 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.JobExceptionUtil;
 
 /**
  * @author Joram Barrez
@@ -30,4 +35,16 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArrayNoRevisionCheck", byteArrayEntityId);
   }
 
+  /**
+   * @return the id of a deduplicated job exception stack trace with the given content hash which
+   * was stored at or after the given time or null if no such stack trace is stored
+   */
+  public String findJobExceptionByteArrayIdByHash(String hash, Date reusableAfter) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("hash", hash);
+    parameters.put("name", JobExceptionUtil.JOB_EXCEPTION_BYTE_ARRAY_NAME);
+    parameters.put("reusableAfter", reusableAfter);
+    return (String) getDbEntityManager().selectOne("selectJobExceptionByteArrayIdByHash", parameters);
+  }
+
 }
@@ -101,6 +101,9 @@ public class DeploymentManager extends AbstractManager {
 
         // remove historic job log entries not related to a process instance
         getHistoricJobLogManager().deleteHistoricJobLogsByProcessDefinitionId(processDefinitionId);
+
+        // remove aggregated historic statistics
+        getHistoricStatisticsManager().deleteHistoricStatisticsByProcessDefinitionId(processDefinitionId);
       }
     }
 
@@ -144,6 +147,8 @@ public class DeploymentManager extends AbstractManager {
 
     deleteDecisionDeployment(deploymentId, cascade);
 
+    getParseSnapshotManager().deleteParseSnapshotsByDeploymentId(deploymentId);
+
     getResourceManager().deleteResourcesByDeploymentId(deploymentId);
 
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
@@ -190,6 +190,14 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    */
   protected String activityId;
 
+  /**
+   * index of the current activity in the activity table of the {@link #processDefinition};
+   * not persisted, resolved from the {@link #activityId} once
+   *
+   * @see ActivityImpl#getIndex()
+   */
+  protected transient int activityIndex = -1;
+
   /**
    * The name of the current activity position
    */
@@ -726,6 +734,12 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
   @Override
   public void setProcessDefinition(ProcessDefinitionImpl processDefinition) {
+    if (this.processDefinition != null && this.processDefinition != processDefinition
+        && this.processDefinition.getId().equals(processDefinition.getId())) {
+      // the process definition was added to the deployment cache again,
+      // so the activity is resolved by its index in the new instance
+      this.activity = null;
+    }
     this.processDefinition = processDefinition;
     this.processDefinitionId = processDefinition.getId();
   }
@@ -779,10 +793,30 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return activityId;
   }
 
+  /**
+   * @return the index of the current activity in the activity table of the process definition
+   *   or -1 if there is no current activity
+   */
+  public int getActivityIndex() {
+    ensureActivityInitialized();
+    return activityIndex;
+  }
+
   /** must be called before the activity member field or getActivity() is called */
   protected void ensureActivityInitialized() {
     if ((activity == null) && (activityId != null)) {
-      setActivity(getProcessDefinition().findActivity(activityId));
+      ProcessDefinitionImpl processDefinition = getProcessDefinition();
+
+      ActivityImpl activity = null;
+      if (activityIndex >= 0 && activityIndex < processDefinition.getActivityCount()) {
+        activity = processDefinition.getActivityByIndex(activityIndex);
+      }
+      if (activity == null || !activityId.equals(activity.getId())) {
+        // the persisted id is resolved once, afterwards the execution refers to the activity by its index
+        activity = processDefinition.findActivity(activityId);
+      }
+
+      setActivity(activity);
     }
   }
 
@@ -792,9 +826,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     if (activity != null) {
       this.activityId = activity.getId();
       this.activityName = (String) activity.getProperty("name");
+      this.activityIndex = ((ActivityImpl) activity).getIndex();
     } else {
       this.activityId = null;
       this.activityName = null;
+      this.activityIndex = -1;
     }
 
   }
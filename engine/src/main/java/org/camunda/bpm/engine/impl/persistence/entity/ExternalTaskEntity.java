@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.runtime.Incident;
@@ -58,6 +59,8 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   protected String activityInstanceId;
   protected String tenantId;
   protected long priority;
+  /** the serialized trace context in which the task was created */
+  protected String traceContext;
 
   protected ExecutionEntity execution;
 
@@ -146,6 +149,12 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   public void setTenantId(String tenantId) {
     this.tenantId = tenantId;
   }
+  public String getTraceContext() {
+    return traceContext;
+  }
+  public void setTraceContext(String traceContext) {
+    this.traceContext = traceContext;
+  }
   public Integer getRetries() {
     return retries;
   }
@@ -337,6 +346,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
     externalTask.setActivityInstanceId(execution.getActivityInstanceId());
     externalTask.setTenantId(execution.getTenantId());
     externalTask.setPriority(priority);
+    externalTask.setTraceContext(Tracing.getCurrentContext());
 
     ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) execution.getProcessDefinition();
     externalTask.setProcessDefinitionKey(processDefinition.getKey());
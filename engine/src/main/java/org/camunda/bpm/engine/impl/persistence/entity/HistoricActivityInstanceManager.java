@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -34,6 +35,12 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteHistoricActivityInstancesByProcessInstanceIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      getDbEntityManager().delete(HistoricActivityInstanceEntity.class, "deleteHistoricActivityInstancesByProcessInstanceIds", historicProcessInstanceIds);
+    }
+  }
+
   public void insertHistoricActivityInstance(HistoricActivityInstanceEntity historicActivityInstance) {
     getDbEntityManager().insert(historicActivityInstance);
   }
@@ -57,6 +64,11 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery, page);
   }
 
+  public void findHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery, QueryResultHandler<HistoricActivityInstance> resultHandler) {
+    configureQuery(historicActivityInstanceQuery);
+    getDbEntityManager().selectWithResultHandler("selectHistoricActivityInstancesByQueryCriteriaWithFetchSize", historicActivityInstanceQuery, resultHandler);
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricActivityInstanceByNativeQuery", parameterMap, firstResult, maxResults);
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.impl.util.JobExceptionUtil;
 import org.camunda.bpm.engine.runtime.Job;
 
 /**
@@ -76,6 +78,11 @@ public class HistoricJobLogManager extends AbstractManager {
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceId", processInstanceId);
   }
 
+  public void deleteHistoricJobLogsByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteExceptionByteArraysByProcessInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceIds", processInstanceIds);
+  }
+
   public void deleteHistoricJobLogsByProcessDefinitionId(String processDefinitionId) {
     deleteExceptionByteArrayByParameterMap("processDefinitionId", processDefinitionId);
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessDefinitionId", processDefinitionId);
@@ -105,6 +112,20 @@ public class HistoricJobLogManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteExceptionByteArraysByIds", parameterMap);
   }
 
+  /**
+   * Deletes the deduplicated exception stack traces which were stored before the given time and
+   * are no longer referenced by a job log. Stack traces which are not deduplicated are deleted
+   * together with their job log instead.
+   *
+   * @see org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogExceptionPruning
+   */
+  public void pruneUnreferencedExceptionByteArrays(Date createdBefore) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("name", JobExceptionUtil.JOB_EXCEPTION_BYTE_ARRAY_NAME);
+    parameters.put("createdBefore", createdBefore);
+    getDbEntityManager().delete(ByteArrayEntity.class, "pruneUnreferencedExceptionByteArrays", parameters);
+  }
+
   // fire history events ///////////////////////////////////////////////////////
 
   public void fireJobCreatedEvent(final Job job) {
@@ -13,7 +13,10 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,9 +24,11 @@ import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -31,6 +36,8 @@ import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
  */
 public class HistoricProcessInstanceManager extends AbstractHistoricManager {
 
+  protected static final int MAX_IDS_PER_STATEMENT = 1000;
+
   public HistoricProcessInstanceEntity findHistoricProcessInstance(String processInstanceId) {
     if (isHistoryEnabled()) {
       return getDbEntityManager().selectById(HistoricProcessInstanceEntity.class, processInstanceId);
@@ -84,6 +91,76 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  /**
+   * Deletes the given historic process instances and all their historic data with
+   * one statement per history table instead of one per process instance and table.
+   */
+  public void deleteHistoricProcessInstanceByIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      for (List<String> ids : partition(historicProcessInstanceIds)) {
+        getHistoricDetailManager()
+          .deleteHistoricDetailsByProcessInstanceIds(ids);
+
+        getHistoricVariableInstanceManager()
+          .deleteHistoricVariableInstancesByProcessInstanceIds(ids);
+
+        getHistoricActivityInstanceManager()
+          .deleteHistoricActivityInstancesByProcessInstanceIds(ids);
+
+        getHistoricTaskInstanceManager()
+          .deleteHistoricTaskInstancesByProcessInstanceIds(ids);
+
+        getHistoricIncidentManager()
+          .deleteHistoricIncidentsByProcessInstanceIds(ids);
+
+        getHistoricJobLogManager()
+          .deleteHistoricJobLogsByProcessInstanceIds(ids);
+
+        getDbEntityManager().delete(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstancesByIds", ids);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<HistoricProcessInstanceEntity> findHistoricProcessInstancesByIds(List<String> processInstanceIds) {
+    List<HistoricProcessInstanceEntity> result = new ArrayList<HistoricProcessInstanceEntity>();
+    if (isHistoryEnabled()) {
+      for (List<String> ids : partition(processInstanceIds)) {
+        result.addAll(getDbEntityManager().selectList("selectHistoricProcessInstancesByIds", ids));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Splits the ids into chunks which do not exceed the maximum number of
+   * expressions in an <code>IN</code> clause (1000 on Oracle).
+   */
+  protected List<List<String>> partition(List<String> ids) {
+    List<List<String>> chunks = new ArrayList<List<String>>();
+    for (int i = 0; i < ids.size(); i += MAX_IDS_PER_STATEMENT) {
+      // copy the chunk, the bulk operations keep their parameter until the flush
+      chunks.add(new ArrayList<String>(ids.subList(i, Math.min(i + MAX_IDS_PER_STATEMENT, ids.size()))));
+    }
+    return chunks;
+  }
+
+  /**
+   * @return the ids of at most <code>maxResults</code> historic process instances of the given process
+   *   definition which ended before the given date, the oldest first
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsForCleanup(String processDefinitionId, Date endTimeBefore, int maxResults) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processDefinitionId", processDefinitionId);
+    parameters.put("endTimeBefore", endTimeBefore);
+
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(parameters, 0, maxResults);
+    parameterObject.setOrderBy("RES.END_TIME_ asc");
+
+    return getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanup", parameterObject);
+  }
+
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (isHistoryEnabled()) {
       configureQuery(historicProcessInstanceQuery);
@@ -101,6 +178,13 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, QueryResultHandler<HistoricProcessInstance> resultHandler) {
+    if (isHistoryEnabled()) {
+      configureQuery(historicProcessInstanceQuery);
+      getDbEntityManager().selectWithResultHandler("selectHistoricProcessInstancesByQueryCriteriaWithFetchSize", historicProcessInstanceQuery, resultHandler);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricProcessInstanceByNativeQuery", parameterMap, firstResult, maxResults);
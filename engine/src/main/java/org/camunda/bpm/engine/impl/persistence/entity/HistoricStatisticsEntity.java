@@ -0,0 +1,298 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+
+/**
+ * Pre-aggregated statistics of the activity instances of an activity or of the
+ * process instances of a process definition which were started in a month.
+ *
+ * <p>The statistics are maintained incrementally: a command collects its changes of
+ * the counts per activity and month and inserts them as a <i>delta</i> entry, so
+ * commands never update a shared entry. The history cleanup job merges the delta
+ * entries into one entry per activity and month later on. Queries sum up all entries
+ * of an activity, so they do not depend on the progress of the merge.</p>
+ *
+ * <p>For entries of type {@link #TYPE_PROCESS_INSTANCE}, the activity id is the
+ * id of the process element, i.e. the key of the process definition.</p>
+ */
+public class HistoricStatisticsEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String TYPE_ACTIVITY_INSTANCE = "activity-instance";
+  public static final String TYPE_PROCESS_INSTANCE = "process-instance";
+
+  protected String id;
+  protected int revision = 1;
+
+  protected String type;
+  protected String processDefinitionKey;
+  protected String processDefinitionId;
+  protected String activityId;
+  protected String tenantId;
+
+  protected int periodYear;
+  protected int periodMonth;
+
+  protected long started;
+  protected long finished;
+  protected long canceled;
+  protected long completeScope;
+
+  protected long durationSum;
+  protected Long durationMin;
+  protected Long durationMax;
+
+  /** true if the entry holds the changes of a single command which are not merged yet */
+  protected boolean delta;
+
+  public HistoricStatisticsEntity() {
+  }
+
+  public HistoricStatisticsEntity(String type, String processDefinitionKey, String processDefinitionId, String activityId,
+      String tenantId, int periodYear, int periodMonth) {
+    this.type = type;
+    this.processDefinitionKey = processDefinitionKey;
+    this.processDefinitionId = processDefinitionId;
+    this.activityId = activityId;
+    this.tenantId = tenantId;
+    this.periodYear = periodYear;
+    this.periodMonth = periodMonth;
+  }
+
+  public void incrementStarted() {
+    started++;
+  }
+
+  public void incrementFinished() {
+    finished++;
+  }
+
+  public void incrementCanceled() {
+    canceled++;
+  }
+
+  public void incrementCompleteScope() {
+    completeScope++;
+  }
+
+  public void addDuration(Long duration) {
+    if (duration != null) {
+      durationSum += duration;
+      durationMin = durationMin == null ? duration : Math.min(durationMin, duration);
+      durationMax = durationMax == null ? duration : Math.max(durationMax, duration);
+    }
+  }
+
+  /**
+   * Adds the counts and durations of the given entry of the same activity and month to this entry.
+   */
+  public void merge(HistoricStatisticsEntity other) {
+    started += other.getStarted();
+    finished += other.getFinished();
+    canceled += other.getCanceled();
+    completeScope += other.getCompleteScope();
+
+    durationSum += other.getDurationSum();
+    if (other.getDurationMin() != null) {
+      durationMin = durationMin == null ? other.getDurationMin() : Math.min(durationMin, other.getDurationMin());
+    }
+    if (other.getDurationMax() != null) {
+      durationMax = durationMax == null ? other.getDurationMax() : Math.max(durationMax, other.getDurationMax());
+    }
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("started", started);
+    persistentState.put("finished", finished);
+    persistentState.put("canceled", canceled);
+    persistentState.put("completeScope", completeScope);
+    persistentState.put("durationSum", durationSum);
+    persistentState.put("durationMin", durationMin);
+    persistentState.put("durationMax", durationMax);
+    persistentState.put("delta", delta);
+    return persistentState;
+  }
+
+  // getters / setters ////////////////////////////////////////
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public void setProcessDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  public int getPeriodYear() {
+    return periodYear;
+  }
+
+  public void setPeriodYear(int periodYear) {
+    this.periodYear = periodYear;
+  }
+
+  public int getPeriodMonth() {
+    return periodMonth;
+  }
+
+  public void setPeriodMonth(int periodMonth) {
+    this.periodMonth = periodMonth;
+  }
+
+  public long getStarted() {
+    return started;
+  }
+
+  public void setStarted(long started) {
+    this.started = started;
+  }
+
+  public long getFinished() {
+    return finished;
+  }
+
+  public void setFinished(long finished) {
+    this.finished = finished;
+  }
+
+  public long getCanceled() {
+    return canceled;
+  }
+
+  public void setCanceled(long canceled) {
+    this.canceled = canceled;
+  }
+
+  public long getCompleteScope() {
+    return completeScope;
+  }
+
+  public void setCompleteScope(long completeScope) {
+    this.completeScope = completeScope;
+  }
+
+  public long getDurationSum() {
+    return durationSum;
+  }
+
+  public void setDurationSum(long durationSum) {
+    this.durationSum = durationSum;
+  }
+
+  public Long getDurationMin() {
+    return durationMin;
+  }
+
+  public void setDurationMin(Long durationMin) {
+    this.durationMin = durationMin;
+  }
+
+  public Long getDurationMax() {
+    return durationMax;
+  }
+
+  public void setDurationMax(Long durationMax) {
+    this.durationMax = durationMax;
+  }
+
+  public boolean isDelta() {
+    return delta;
+  }
+
+  public void setDelta(boolean delta) {
+    this.delta = delta;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", type=" + type
+           + ", processDefinitionId=" + processDefinitionId
+           + ", activityId=" + activityId
+           + ", periodYear=" + periodYear
+           + ", periodMonth=" + periodMonth
+           + ", started=" + started
+           + ", finished=" + finished
+           + ", canceled=" + canceled
+           + ", completeScope=" + completeScope
+           + ", durationSum=" + durationSum
+           + ", durationMin=" + durationMin
+           + ", durationMax=" + durationMax
+           + ", delta=" + delta
+           + "]";
+  }
+
+}
@@ -16,11 +16,23 @@ import static org.camunda.bpm.engine.authorization.Permissions.READ_HISTORY;
 import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
 
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.camunda.bpm.engine.history.HistoricActivityStatistics;
 import org.camunda.bpm.engine.impl.HistoricActivityStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
@@ -31,9 +43,17 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
  */
 public class HistoricStatisticsManager extends AbstractManager {
 
+  protected static final EnginePersistenceLogger LOG = EnginePersistenceLogger.PERSISTENCE_LOGGER;
+
+  /** the delta entries of the current command, by activity and month */
+  protected Map<String, HistoricStatisticsEntity> changedStatistics = new TreeMap<String, HistoricStatisticsEntity>();
+
   @SuppressWarnings("unchecked")
   public List<HistoricActivityStatistics> getHistoricStatisticsGroupedByActivity(HistoricActivityStatisticsQueryImpl query, Page page) {
     if (ensureHistoryReadOnProcessDefinition(query)) {
+      if (isHistoricStatisticsAggregationQueryEnabled()) {
+        return getDbEntityManager().selectList("selectAggregatedHistoricActivityStatistics", query, page);
+      }
       return getDbEntityManager().selectList("selectHistoricActivityStatistics", query, page);
     }
     else {
@@ -43,6 +63,9 @@ public class HistoricStatisticsManager extends AbstractManager {
 
   public long getHistoricStatisticsCountGroupedByActivity(HistoricActivityStatisticsQueryImpl query) {
     if (ensureHistoryReadOnProcessDefinition(query)) {
+      if (isHistoricStatisticsAggregationQueryEnabled()) {
+        return (Long) getDbEntityManager().selectOne("selectAggregatedHistoricActivityStatisticsCount", query);
+      }
       return (Long) getDbEntityManager().selectOne("selectHistoricActivityStatisticsCount", query);
     }
     else {
@@ -67,4 +90,176 @@ public class HistoricStatisticsManager extends AbstractManager {
     return true;
   }
 
+  // aggregated statistics //////////////////////////////////////////
+
+  /**
+   * Adds the given history event to the aggregated statistics. The changes of a command
+   * are collected in one delta entry per activity and month which is inserted with the flush.
+   */
+  public void updateHistoricStatistics(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricActivityInstanceEventEntity) {
+      updateActivityInstanceStatistics((HistoricActivityInstanceEventEntity) historyEvent);
+    }
+    else if (historyEvent instanceof HistoricProcessInstanceEventEntity) {
+      updateProcessInstanceStatistics((HistoricProcessInstanceEventEntity) historyEvent);
+    }
+  }
+
+  protected void updateActivityInstanceStatistics(HistoricActivityInstanceEventEntity historyEvent) {
+    if (historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START)) {
+      getChangedStatistics(HistoricStatisticsEntity.TYPE_ACTIVITY_INSTANCE, historyEvent, historyEvent.getActivityId(), historyEvent.getTenantId())
+        .incrementStarted();
+    }
+    else if (historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+      HistoricStatisticsEntity statistics = getChangedStatistics(HistoricStatisticsEntity.TYPE_ACTIVITY_INSTANCE, historyEvent,
+          historyEvent.getActivityId(), historyEvent.getTenantId());
+
+      statistics.incrementFinished();
+      if (historyEvent.isCanceled()) {
+        statistics.incrementCanceled();
+      }
+      if (historyEvent.isCompleteScope()) {
+        statistics.incrementCompleteScope();
+      }
+      statistics.addDuration(historyEvent.getDurationInMillis());
+    }
+  }
+
+  protected void updateProcessInstanceStatistics(HistoricProcessInstanceEventEntity historyEvent) {
+    if (historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_START)) {
+      getChangedStatistics(HistoricStatisticsEntity.TYPE_PROCESS_INSTANCE, historyEvent, historyEvent.getProcessDefinitionKey(), historyEvent.getTenantId())
+        .incrementStarted();
+    }
+    else if (historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      HistoricStatisticsEntity statistics = getChangedStatistics(HistoricStatisticsEntity.TYPE_PROCESS_INSTANCE, historyEvent,
+          historyEvent.getProcessDefinitionKey(), historyEvent.getTenantId());
+
+      statistics.incrementFinished();
+      if (historyEvent.getDeleteReason() != null) {
+        statistics.incrementCanceled();
+      }
+      statistics.addDuration(historyEvent.getDurationInMillis());
+    }
+  }
+
+  protected HistoricStatisticsEntity getChangedStatistics(String type, HistoricScopeInstanceEvent historyEvent, String activityId, String tenantId) {
+    Calendar period = Calendar.getInstance();
+    period.setTime(getStartTime(historyEvent));
+    int periodYear = period.get(Calendar.YEAR);
+    int periodMonth = period.get(Calendar.MONTH) + 1;
+
+    String key = type + ":" + historyEvent.getProcessDefinitionId() + ":" + activityId + ":" + periodYear + ":" + periodMonth;
+
+    HistoricStatisticsEntity statistics = changedStatistics.get(key);
+    if (statistics == null) {
+      statistics = new HistoricStatisticsEntity(type, historyEvent.getProcessDefinitionKey(), historyEvent.getProcessDefinitionId(),
+          activityId, tenantId, periodYear, periodMonth);
+      statistics.setDelta(true);
+      // the counts are changed until the flush of the command
+      getDbEntityManager().insert(statistics);
+      changedStatistics.put(key, statistics);
+    }
+    return statistics;
+  }
+
+  /**
+   * Statistics are aggregated by the month in which the instance was started. The end
+   * event of an instance started in the same command may not carry the start time.
+   */
+  protected Date getStartTime(HistoricScopeInstanceEvent historyEvent) {
+    Date startTime = historyEvent.getStartTime();
+
+    if (startTime == null) {
+      HistoricScopeInstanceEvent cachedEvent = getDbEntityManager().getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+      if (cachedEvent != null) {
+        startTime = cachedEvent.getStartTime();
+      }
+    }
+    if (startTime == null) {
+      startTime = historyEvent.getEndTime();
+    }
+
+    return startTime;
+  }
+
+  /**
+   * Merges the delta entries of the aggregated statistics into one entry per activity and month.
+   * The deltas are read in the order of their activity and month, so concurrent merges update the
+   * entries in the same order. Entries are updated and deltas are deleted under optimistic locking,
+   * so a concurrent merge fails instead of counting a delta twice.
+   *
+   * @param maxDeltas the maximum number of delta entries which are read
+   * @return the number of delta entries which were read
+   */
+  @SuppressWarnings("unchecked")
+  public int mergeHistoricStatistics(int maxDeltas) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(null, 0, maxDeltas);
+    parameter.setOrderBy("RES.PROC_DEF_ID_ asc, RES.TYPE_ asc, RES.ACT_ID_ asc, RES.PERIOD_YEAR_ asc, RES.PERIOD_MONTH_ asc, RES.ID_ asc");
+
+    List<HistoricStatisticsEntity> deltas = getDbEntityManager().selectList("selectHistoricStatisticsDeltas", parameter);
+
+    int entries = 0;
+    HistoricStatisticsEntity current = null;
+    for (HistoricStatisticsEntity delta : deltas) {
+      if (current == null || !isSameActivityAndPeriod(current, delta)) {
+        current = findHistoricStatisticsEntry(delta);
+        entries++;
+
+        if (current == null) {
+          // the first delta of the activity and month becomes its entry
+          delta.setDelta(false);
+          current = delta;
+          continue;
+        }
+      }
+
+      current.merge(delta);
+      getDbEntityManager().delete(delta);
+    }
+
+    LOG.mergedHistoricStatistics(deltas.size(), entries);
+
+    return deltas.size();
+  }
+
+  /**
+   * @return the entry of the activity and month of the given delta, or null if there is none yet
+   */
+  @SuppressWarnings("unchecked")
+  protected HistoricStatisticsEntity findHistoricStatisticsEntry(HistoricStatisticsEntity delta) {
+    List<HistoricStatisticsEntity> entries = getDbEntityManager().selectList("selectHistoricStatisticsEntriesByKey", delta);
+    if (entries.isEmpty()) {
+      return null;
+    }
+
+    // concurrent merges may both have created an entry
+    HistoricStatisticsEntity entry = entries.get(0);
+    for (int i = 1; i < entries.size(); i++) {
+      entry.merge(entries.get(i));
+      getDbEntityManager().delete(entries.get(i));
+    }
+    return entry;
+  }
+
+  protected boolean isSameActivityAndPeriod(HistoricStatisticsEntity statistics, HistoricStatisticsEntity other) {
+    return statistics.getProcessDefinitionId().equals(other.getProcessDefinitionId())
+        && statistics.getType().equals(other.getType())
+        && statistics.getActivityId().equals(other.getActivityId())
+        && statistics.getPeriodYear() == other.getPeriodYear()
+        && statistics.getPeriodMonth() == other.getPeriodMonth();
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<HistoricStatisticsEntity> findHistoricStatisticsByProcessDefinitionId(String processDefinitionId) {
+    return getDbEntityManager().selectList("selectHistoricStatisticsByProcessDefinitionId", processDefinitionId);
+  }
+
+  public void deleteHistoricStatisticsByProcessDefinitionId(String processDefinitionId) {
+    getDbEntityManager().delete(HistoricStatisticsEntity.class, "deleteHistoricStatisticsByProcessDefinitionId", processDefinitionId);
+  }
+
+  protected boolean isHistoricStatisticsAggregationQueryEnabled() {
+    return Context.getProcessEngineConfiguration().isHistoricStatisticsAggregationQueryEnabled();
+  }
+
 }
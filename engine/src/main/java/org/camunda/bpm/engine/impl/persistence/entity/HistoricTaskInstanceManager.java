@@ -43,6 +43,28 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     deleteHistoricTaskInstances("processInstanceId", processInstanceId);
   }
 
+  public void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    if (isHistoryEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+
+      // comments, attachments and identity links select their tasks with a subquery,
+      // the bulk deletes of their entity types are flushed before the task instances are deleted
+      commandContext
+        .getCommentManager()
+        .deleteCommentsByProcessInstanceIds(processInstanceIds);
+
+      commandContext
+        .getAttachmentManager()
+        .deleteAttachmentsByProcessInstanceIds(processInstanceIds);
+
+      commandContext
+        .getHistoricIdentityLinkManager()
+        .deleteHistoricIdentityLinksLogByProcessInstanceIds(processInstanceIds);
+
+      getDbEntityManager().delete(HistoricTaskInstanceEntity.class, "deleteHistoricTaskInstancesByProcessInstanceIds", processInstanceIds);
+    }
+  }
+
   public void deleteHistoricTaskInstancesByCaseInstanceId(String caseInstanceId) {
     deleteHistoricTaskInstances("caseInstanceId", caseInstanceId);
   }
@@ -15,12 +15,19 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 
 
@@ -29,6 +36,9 @@ import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
  */
 public class HistoricVariableInstanceManager extends AbstractHistoricManager {
 
+  /** ids of the (case) executions whose historic variable instances were loaded by this command */
+  protected Set<String> prefetchedScopeIds = new HashSet<String>();
+
   public void deleteHistoricVariableInstanceByProcessInstanceId(String historicProcessInstanceId) {
     deleteHistoricVariableInstancesByProcessCaseInstanceId(historicProcessInstanceId, null);
   }
@@ -37,6 +47,13 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     deleteHistoricVariableInstancesByProcessCaseInstanceId(null, historicCaseInstanceId);
   }
 
+  public void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      getDbEntityManager().delete(ByteArrayEntity.class, "deleteHistoricVariableInstanceByteArraysByProcessInstanceIds", historicProcessInstanceIds);
+      getDbEntityManager().delete(HistoricVariableInstanceEntity.class, "deleteHistoricVariableInstancesByProcessInstanceIds", historicProcessInstanceIds);
+    }
+  }
+
   protected void deleteHistoricVariableInstancesByProcessCaseInstanceId(String historicProcessInstanceId, String historicCaseInstanceId) {
     ensureOnlyOneNotNull("Only the process instance or case instance id should be set", historicProcessInstanceId, historicCaseInstanceId);
     if (isHistoryEnabled()) {
@@ -91,6 +108,43 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     return (HistoricVariableInstanceEntity) getDbEntityManager().selectOne("selectHistoricVariableInstanceByVariableInstanceId", variableInstanceId);
   }
 
+  /**
+   * Loads the historic variable instances of the (case) execution the event belongs to into
+   * the entity cache, unless this was already done by the current command. Subsequent events
+   * of variables of the same scope are then served from the cache instead of a select by id each.
+   * Only instances of variables which still exist at runtime are loaded, at most as many as
+   * the configured historic variable instance prefetch limit.
+   */
+  public void prefetchHistoricVariableInstancesOfScope(HistoricVariableUpdateEventEntity historyEvent) {
+    int limit = Context.getProcessEngineConfiguration().getHistoricVariableInstancePrefetchLimit();
+    if (limit <= 0) {
+      return;
+    }
+
+    if (historyEvent.getExecutionId() != null && historyEvent.getProcessInstanceId() != null) {
+      if (prefetchedScopeIds.add(historyEvent.getExecutionId())) {
+        Map<String, String> parameters = new HashMap<String, String>();
+        parameters.put("processInstanceId", historyEvent.getProcessInstanceId());
+        parameters.put("executionId", historyEvent.getExecutionId());
+        prefetchHistoricVariableInstances("selectHistoricVariablesByExecutionId", parameters, limit);
+      }
+    }
+    else if (historyEvent.getCaseExecutionId() != null && historyEvent.getCaseInstanceId() != null) {
+      if (prefetchedScopeIds.add(historyEvent.getCaseExecutionId())) {
+        Map<String, String> parameters = new HashMap<String, String>();
+        parameters.put("caseInstanceId", historyEvent.getCaseInstanceId());
+        parameters.put("caseExecutionId", historyEvent.getCaseExecutionId());
+        prefetchHistoricVariableInstances("selectHistoricVariablesByCaseExecutionId", parameters, limit);
+      }
+    }
+  }
+
+  protected void prefetchHistoricVariableInstances(String statement, Map<String, String> parameters, int limit) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(parameters, 0, limit);
+    parameter.setOrderBy("RES.ID_ asc");
+    getDbEntityManager().selectList(statement, parameter);
+  }
+
   public void deleteHistoricVariableInstancesByTaskId(String taskId) {
     if (isHistoryEnabled()) {
       HistoricVariableInstanceQuery historicProcessVariableQuery = new HistoricVariableInstanceQueryImpl().taskIdIn(taskId);
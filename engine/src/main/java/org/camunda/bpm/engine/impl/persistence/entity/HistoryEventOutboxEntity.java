@@ -0,0 +1,231 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * An entry of the history event outbox: all history events of a process or case instance
+ * produced by a single command, in the order in which they were produced. Events which
+ * do not belong to an instance are collected in an entry without instance id.
+ *
+ * <p>The events are serialized into a single byte array when the entry is inserted,
+ * which happens with the flush of the command that produced them.</p>
+ *
+ * <p>An entry whose events could not be materialized in <code>maxAttempts</code> runs of the
+ * writer is marked as failed. It keeps the remaining events and is skipped by the writer until
+ * it is retried, see {@link HistoryEventOutboxManager#retryFailedEntries()}.</p>
+ */
+public class HistoryEventOutboxEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected String id;
+
+  protected int revision;
+
+  protected String instanceId;
+
+  protected Date createTime;
+
+  protected int eventCount;
+
+  /** number of runs of the writer which could not materialize the entry */
+  protected int attempts;
+
+  /** true if the writer gave up on the entry */
+  protected boolean failed;
+
+  protected byte[] bytes;
+
+  protected transient List<HistoryEvent> events;
+
+  public HistoryEventOutboxEntity() {
+  }
+
+  public HistoryEventOutboxEntity(String instanceId, Date createTime) {
+    this.instanceId = instanceId;
+    this.createTime = createTime;
+    this.events = new ArrayList<HistoryEvent>();
+  }
+
+  public void addEvent(HistoryEvent historyEvent) {
+    getEvents().add(historyEvent);
+    // events are serialized again with the next access to the bytes
+    bytes = null;
+  }
+
+  /**
+   * Keeps the given events, starting with an event which could not be materialized,
+   * for the next attempt of the writer.
+   */
+  public void setRemainingEvents(List<HistoryEvent> remainingEvents) {
+    events = new ArrayList<HistoryEvent>(remainingEvents);
+    bytes = null;
+  }
+
+  public List<HistoryEvent> getEvents() {
+    if (events == null) {
+      events = deserializeEvents();
+    }
+    return events;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<HistoryEvent> deserializeEvents() {
+    if (bytes == null) {
+      return new ArrayList<HistoryEvent>();
+    }
+
+    ObjectInputStream in = null;
+    try {
+      in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+      return (List<HistoryEvent>) in.readObject();
+    }
+    catch (Exception e) {
+      throw LOG.exceptionWhileDeserializingHistoryEvents(id, e);
+    }
+    finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+  protected byte[] serializeEvents() {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    ObjectOutputStream out = null;
+    try {
+      out = new ObjectOutputStream(result);
+      out.writeObject(new ArrayList<HistoryEvent>(getEvents()));
+      out.flush();
+    }
+    catch (Exception e) {
+      throw LOG.exceptionWhileSerializingHistoryEvents(e);
+    }
+    finally {
+      IoUtil.closeSilently(out);
+    }
+    return result.toByteArray();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public void setInstanceId(String instanceId) {
+    this.instanceId = instanceId;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public int getEventCount() {
+    return events != null ? events.size() : eventCount;
+  }
+
+  public void setEventCount(int eventCount) {
+    this.eventCount = eventCount;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public boolean isFailed() {
+    return failed;
+  }
+
+  public void setFailed(boolean failed) {
+    this.failed = failed;
+  }
+
+  public byte[] getBytes() {
+    if (bytes == null && events != null) {
+      bytes = serializeEvents();
+    }
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+    this.events = null;
+  }
+
+  public Object getPersistentState() {
+    // the events only change together with the attempts
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("eventCount", getEventCount());
+    persistentState.put("attempts", attempts);
+    persistentState.put("failed", failed);
+    return persistentState;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", instanceId=" + instanceId
+           + ", createTime=" + createTime
+           + ", eventCount=" + getEventCount()
+           + ", attempts=" + attempts
+           + ", failed=" + failed
+           + "]";
+  }
+}
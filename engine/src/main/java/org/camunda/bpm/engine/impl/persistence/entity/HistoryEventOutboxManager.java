@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Manages the {@link HistoryEventOutboxEntity history event outbox}.
+ *
+ * <p>A manager instance lives as long as the command context, so all history events
+ * of an instance enqueued by a command end up in the same outbox entry and are written
+ * with a single insert. Enqueuing only inserts the entry, it never updates a row which
+ * is shared with other commands, so concurrent commands on the same instance do not
+ * conflict on the outbox.</p>
+ *
+ * <p>The entries are ordered by their create time and id. A command which depends on the
+ * result of another command, e.g. completes a task created by it, starts after the other
+ * command committed, so its entry has a later create time as long as the clocks of the
+ * nodes are synchronized.</p>
+ *
+ * <p>Entries which could not be materialized are marked as failed and are kept until they
+ * are {@link #retryFailedEntries() retried}.</p>
+ */
+public class HistoryEventOutboxManager extends AbstractManager {
+
+  protected Map<String, HistoryEventOutboxEntity> currentEntries = new HashMap<String, HistoryEventOutboxEntity>();
+
+  public void enqueue(HistoryEvent historyEvent) {
+    String instanceId = getInstanceId(historyEvent);
+
+    HistoryEventOutboxEntity entry = currentEntries.get(instanceId);
+    if (entry == null) {
+      entry = createEntry(instanceId);
+      currentEntries.put(instanceId, entry);
+    }
+    entry.addEvent(historyEvent);
+  }
+
+  protected HistoryEventOutboxEntity createEntry(String instanceId) {
+    HistoryEventOutboxEntity entry = new HistoryEventOutboxEntity(instanceId, ClockUtil.getCurrentTime());
+    getDbEntityManager().insert(entry);
+    return entry;
+  }
+
+  protected String getInstanceId(HistoryEvent historyEvent) {
+    if (historyEvent.getProcessInstanceId() != null) {
+      return historyEvent.getProcessInstanceId();
+    }
+    else {
+      return historyEvent.getCaseInstanceId();
+    }
+  }
+
+  /**
+   * @return the oldest entries which are not marked as failed
+   */
+  @SuppressWarnings("unchecked")
+  public List<HistoryEventOutboxEntity> findOldestEntries(int maxResults) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(null, 0, maxResults);
+    parameter.setOrderBy("RES.CREATE_TIME_ asc, RES.ID_ asc");
+    return getDbEntityManager().selectList("selectHistoryEventOutboxEntries", parameter);
+  }
+
+  /**
+   * @return the create time of the oldest entry which is not marked as failed
+   */
+  public Date findOldestCreateTime() {
+    return (Date) getDbEntityManager().selectOne("selectHistoryEventOutboxOldestCreateTime", null);
+  }
+
+  public long findEntryCount() {
+    return (Long) getDbEntityManager().selectOne("selectHistoryEventOutboxEntryCount", null);
+  }
+
+  public long findFailedEntryCount() {
+    return (Long) getDbEntityManager().selectOne("selectHistoryEventOutboxFailedEntryCount", null);
+  }
+
+  /**
+   * Resets the attempts of all failed entries, so the writer materializes them with its next run.
+   */
+  public void retryFailedEntries() {
+    getDbEntityManager().update(HistoryEventOutboxEntity.class, "updateHistoryEventOutboxFailedEntriesToPending", null);
+  }
+
+  public void deleteEntry(HistoryEventOutboxEntity entry) {
+    getDbEntityManager().delete(entry);
+  }
+
+  public void deleteAllEntries() {
+    getDbEntityManager().delete(HistoryEventOutboxEntity.class, "deleteAllHistoryEventOutboxEntries", null);
+  }
+
+  public Map<String, HistoryEventOutboxEntity> getCurrentEntries() {
+    return currentEntries;
+  }
+
+}
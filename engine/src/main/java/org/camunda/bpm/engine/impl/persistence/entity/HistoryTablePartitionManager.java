@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.history.partition.PartitionedHistoryTable;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * Creates and drops the partitions of the
+ * {@link org.camunda.bpm.engine.impl.history.partition.HistoryTablePartitioning partitioned history tables}.
+ */
+public class HistoryTablePartitionManager extends AbstractManager {
+
+  @SuppressWarnings("unchecked")
+  public List<String> findPartitionNames(PartitionedHistoryTable table) {
+    return getDbEntityManager().selectList("selectHistoryTablePartitionNames", table.getTableName());
+  }
+
+  public long findUnfinishedHistoricActivityInstanceCountBefore(Date upperBound) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("upperBound", upperBound);
+    return (Long) getDbEntityManager().selectOne("selectUnfinishedHistoricActivityInstanceCountBefore", parameters);
+  }
+
+  public void createPartition(PartitionedHistoryTable table, String partitionName, String lowerBoundLiteral, String upperBoundLiteral) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("tableName", table.getTableName());
+    parameters.put("partitionName", partitionName);
+    parameters.put("lowerBoundLiteral", lowerBoundLiteral);
+    parameters.put("upperBoundLiteral", upperBoundLiteral);
+    getDbEntityManager().update(table.getEntityType(), "createHistoryTablePartition", parameters);
+  }
+
+  public long findDefaultPartitionRowCount(PartitionedHistoryTable table, Date lowerBound, Date upperBound) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("tableName", table.getTableName());
+    parameters.put("timeColumn", table.getTimeColumn());
+    parameters.put("lowerBound", lowerBound);
+    parameters.put("upperBound", upperBound);
+    return (Long) getDbEntityManager().selectOne("selectHistoryTableDefaultPartitionRowCount", parameters);
+  }
+
+  /**
+   * Creates a partition (postgres only) whose range overlaps with rows of the default partition.
+   * The partition is created as a separate table, the rows are moved from the default partition
+   * to it and it is attached to the partitioned table afterwards. The statements are flushed one
+   * by one since they have to be executed in this order.
+   */
+  public void createPartitionFromDefaultPartition(PartitionedHistoryTable table, String partitionName, String lowerBoundLiteral, String upperBoundLiteral) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("tableName", table.getTableName());
+    parameters.put("timeColumn", table.getTimeColumn());
+    parameters.put("partitionName", partitionName);
+    parameters.put("lowerBoundLiteral", lowerBoundLiteral);
+    parameters.put("upperBoundLiteral", upperBoundLiteral);
+
+    getDbEntityManager().update(table.getEntityType(), "createDetachedHistoryTablePartition", parameters);
+    getDbEntityManager().flush();
+    getDbEntityManager().update(table.getEntityType(), "moveDefaultHistoryTablePartitionRows", parameters);
+    getDbEntityManager().flush();
+    getDbEntityManager().update(table.getEntityType(), "attachHistoryTablePartition", parameters);
+  }
+
+  public void dropPartition(PartitionedHistoryTable table, String partitionName, Date upperBound) {
+    if (table.getByteArrayColumn() != null) {
+      Map<String, Object> byteArrayParameters = new HashMap<String, Object>();
+      byteArrayParameters.put("tableName", table.getTableName());
+      byteArrayParameters.put("timeColumn", table.getTimeColumn());
+      byteArrayParameters.put("byteArrayColumn", table.getByteArrayColumn());
+      byteArrayParameters.put("upperBound", upperBound);
+      // byte arrays are flushed before the history entities
+      getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArraysOfHistoryTablePartition", byteArrayParameters);
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("tableName", table.getTableName());
+    parameters.put("partitionName", partitionName);
+    getDbEntityManager().update(table.getEntityType(), "dropHistoryTablePartition", parameters);
+  }
+
+}
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
 import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.Job;
@@ -102,6 +103,9 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   protected String tenantId;
 
+  /** the serialized trace context in which the job was created */
+  protected String traceContext;
+
   // runtime state /////////////////////////////
   protected boolean executing = false;
   protected String activityId;
@@ -144,6 +148,10 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   public void insert() {
     CommandContext commandContext = Context.getCommandContext();
 
+    if (traceContext == null) {
+      traceContext = Tracing.getCurrentContext();
+    }
+
     // add link to execution and deployment
     ExecutionEntity execution = getExecution();
     if (execution != null) {
@@ -605,6 +613,14 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     this.tenantId = tenantId;
   }
 
+  public String getTraceContext() {
+    return traceContext;
+  }
+
+  public void setTraceContext(String traceContext) {
+    this.traceContext = traceContext;
+  }
+
   protected void ensureActivityIdInitialized() {
     if (activityId == null) {
       JobDefinition jobDefinition = getJobDefinition();
@@ -236,6 +236,11 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobByQueryCriteria", jobQuery, page);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String jobHandlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", jobHandlerType);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByConfiguration(String jobHandlerType, String jobHandlerConfiguration, String tenantId) {
     Map<String, String> params = new HashMap<String, String>();
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+/**
+ * The summed up count of a histogram bucket in the meter log.
+ */
+public class MeterLogBucketEntity {
+
+  /** upper bound of the values counted in the bucket */
+  protected long bucket;
+
+  protected long count;
+
+  public long getBucket() {
+    return bucket;
+  }
+
+  public void setBucket(long bucket) {
+    this.bucket = bucket;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+}
@@ -29,12 +29,21 @@ public class MeterLogEntity implements DbEntity, Serializable {
 
   protected Date timestamp;
 
+  /** the timestamp in milliseconds, used to aggregate the logs by time interval */
+  protected Long milliseconds;
+
   protected String name;
 
   protected String reporter;
 
   protected long value;
 
+  /** upper bound of the histogram bucket the value counts, null for a meter */
+  protected Long bucket;
+
+  /** the tag of a tagged meter, null for an untagged meter */
+  protected String tag;
+
   public MeterLogEntity(String name, long value, Date timestamp) {
     this(name, null, value, timestamp);
   }
@@ -44,6 +53,17 @@ public class MeterLogEntity implements DbEntity, Serializable {
     this.reporter = reporter;
     this.value = value;
     this.timestamp = timestamp;
+    this.milliseconds = timestamp.getTime();
+  }
+
+  public MeterLogEntity(String name, String reporter, long bucket, long count, Date timestamp) {
+    this(name, reporter, count, timestamp);
+    this.bucket = bucket;
+  }
+
+  public MeterLogEntity(String name, String reporter, String tag, long value, Date timestamp) {
+    this(name, reporter, value, timestamp);
+    this.tag = tag;
   }
 
   public MeterLogEntity() {
@@ -65,6 +85,14 @@ public class MeterLogEntity implements DbEntity, Serializable {
     this.timestamp = timestamp;
   }
 
+  public Long getMilliseconds() {
+    return milliseconds;
+  }
+
+  public void setMilliseconds(Long milliseconds) {
+    this.milliseconds = milliseconds;
+  }
+
   public String getName() {
     return name;
   }
@@ -81,6 +109,22 @@ public class MeterLogEntity implements DbEntity, Serializable {
     this.value = value;
   }
 
+  public Long getBucket() {
+    return bucket;
+  }
+
+  public void setBucket(Long bucket) {
+    this.bucket = bucket;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public void setTag(String tag) {
+    this.tag = tag;
+  }
+
   public String getReporter() {
     return reporter;
   }
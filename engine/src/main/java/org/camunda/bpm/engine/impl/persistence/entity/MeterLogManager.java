@@ -14,13 +14,20 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
 
 /**
  * @author Daniel Meyer
@@ -38,18 +45,89 @@ public class MeterLogManager extends AbstractManager {
     result = result != null ? result : 0;
 
     if(shouldAddCurrentUnloggedCount(query)) {
-      // add current unlogged count
-      Meter meter = Context.getProcessEngineConfiguration()
+      MetricsRegistry metricsRegistry = Context.getProcessEngineConfiguration().getMetricsRegistry();
+
+      if(query.getTag() != null) {
+        // add current unlogged count of the tag
+        TaggedMeter taggedMeter = metricsRegistry.getTaggedMeterByName(query.getName());
+        if(taggedMeter != null) {
+          result += taggedMeter.get(query.getTag());
+        }
+      }
+      else {
+        // add current unlogged count
+        Meter meter = metricsRegistry.getMeterByName(query.getName());
+        if(meter != null) {
+          result += meter.get();
+        }
+
+        Histogram histogram = metricsRegistry.getHistogramByName(query.getName());
+        if(histogram != null) {
+          result += histogram.getCount();
+        }
+      }
+    }
+
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  public Map<String, Long> executeSelectSumByTag(MetricsQueryImpl query) {
+    List<MeterLogTagEntity> tags = getDbEntityManager().selectListWithRawParameter("selectMeterLogSumByTag", query, 0, Integer.MAX_VALUE);
+
+    Map<String, Long> result = new HashMap<String, Long>();
+    for (MeterLogTagEntity tag : tags) {
+      result.put(tag.getTag(), tag.getValue());
+    }
+
+    if(shouldAddCurrentUnloggedCount(query)) {
+      // add current unlogged counts
+      TaggedMeter taggedMeter = Context.getProcessEngineConfiguration()
         .getMetricsRegistry()
-        .getMeterByName(query.getName());
-      if(meter != null) {
-        result += meter.get();
+        .getTaggedMeterByName(query.getName());
+      if(taggedMeter != null) {
+        for (Map.Entry<String, Long> tag : taggedMeter.get().entrySet()) {
+          if(tag.getValue() > 0 && (query.getTag() == null || query.getTag().equals(tag.getKey()))) {
+            Long value = result.get(tag.getKey());
+            result.put(tag.getKey(), value != null ? value + tag.getValue() : tag.getValue());
+          }
+        }
       }
     }
 
     return result;
   }
 
+  @SuppressWarnings("unchecked")
+  public Long executeSelectPercentile(MetricsQueryImpl query) {
+    List<MeterLogBucketEntity> buckets = getDbEntityManager().selectListWithRawParameter("selectMeterLogBuckets", query, 0, Integer.MAX_VALUE);
+
+    SortedMap<Long, Long> bucketCounts = new TreeMap<Long, Long>();
+    for (MeterLogBucketEntity bucket : buckets) {
+      bucketCounts.put(bucket.getBucket(), bucket.getCount());
+    }
+
+    if(shouldAddCurrentUnloggedCount(query)) {
+      // add current unlogged values
+      Histogram histogram = Context.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .getHistogramByName(query.getName());
+      if(histogram != null) {
+        for (Map.Entry<Long, Long> bucket : histogram.getBucketCounts().entrySet()) {
+          Long count = bucketCounts.get(bucket.getKey());
+          bucketCounts.put(bucket.getKey(), count != null ? count + bucket.getValue() : bucket.getValue());
+        }
+      }
+    }
+
+    return Histogram.valueAtPercentile(bucketCounts, query.getPercentile());
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<MetricIntervalValue> executeSelectInterval(MetricsQueryImpl query) {
+    return getDbEntityManager().selectList("selectMeterLogAggregatedByTimeInterval", query);
+  }
+
   protected boolean shouldAddCurrentUnloggedCount(MetricsQueryImpl query) {
 
     long reportingIntervalInSeconds = Context.getProcessEngineConfiguration()
@@ -66,6 +144,37 @@ public class MeterLogManager extends AbstractManager {
     getDbEntityManager().delete(MeterLogEntity.class, "deleteAllMeterLogEntries", null);
   }
 
+  /**
+   * Replaces the logs of the given reporter before the given time by one log per meter,
+   * tag or histogram bucket and time interval. The replacing logs start at the interval
+   * boundary and are therefore not rolled up again.
+   *
+   * @return the number of logs which replace the rolled up logs
+   */
+  @SuppressWarnings("unchecked")
+  public int rollup(String reporter, long timestampInMillis, long intervalInMillis) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("reporter", reporter);
+    parameters.put("timestampInMillis", timestampInMillis);
+    parameters.put("intervalInMillis", intervalInMillis);
+
+    List<MeterLogRollupEntity> rollups = getDbEntityManager()
+      .selectListWithRawParameter("selectMeterLogsToRollup", parameters, 0, Integer.MAX_VALUE);
+
+    if (!rollups.isEmpty()) {
+      getDbEntityManager().delete(MeterLogEntity.class, "deleteMeterLogEntriesToRollup", parameters);
+
+      for (MeterLogRollupEntity rollup : rollups) {
+        MeterLogEntity meterLog = new MeterLogEntity(rollup.getName(), reporter, rollup.getValue(), new Date(rollup.getMilliseconds()));
+        meterLog.setBucket(rollup.getBucket());
+        meterLog.setTag(rollup.getTag());
+        insert(meterLog);
+      }
+    }
+
+    return rollups.size();
+  }
+
   public void deleteByTimestampAndReporter(Date timestamp, String reporter) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("timestamp", timestamp);
@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+/**
+ * The summed up value of the meter logs of a meter, tag or histogram bucket within
+ * a time interval, which replaces these logs on rollup.
+ */
+public class MeterLogRollupEntity {
+
+  protected String name;
+
+  protected String tag;
+
+  protected Long bucket;
+
+  protected long milliseconds;
+
+  protected long value;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public void setTag(String tag) {
+    this.tag = tag;
+  }
+
+  public Long getBucket() {
+    return bucket;
+  }
+
+  public void setBucket(Long bucket) {
+    this.bucket = bucket;
+  }
+
+  public long getMilliseconds() {
+    return milliseconds;
+  }
+
+  public void setMilliseconds(long milliseconds) {
+    this.milliseconds = milliseconds;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  public void setValue(long value) {
+    this.value = value;
+  }
+
+}
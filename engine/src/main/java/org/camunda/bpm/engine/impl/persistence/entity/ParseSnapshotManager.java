@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * Manages the {@link ParseSnapshotEntity parse snapshots} of deployment resources.
+ */
+public class ParseSnapshotManager extends AbstractManager {
+
+  protected boolean refreshParseSnapshots = false;
+
+  public void insertParseSnapshot(ParseSnapshotEntity parseSnapshot) {
+    getDbEntityManager().insert(parseSnapshot);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ParseSnapshotEntity> findParseSnapshotsByDeploymentIdAndResourceName(String deploymentId, String resourceName) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentId", deploymentId);
+    params.put("resourceName", resourceName);
+    return getDbEntityManager().selectList("selectParseSnapshotsByDeploymentIdAndResourceName", params);
+  }
+
+  public void deleteParseSnapshotsByDeploymentId(String deploymentId) {
+    getDbEntityManager().delete(ParseSnapshotEntity.class, "deleteParseSnapshotsByDeploymentId", deploymentId);
+  }
+
+  /**
+   * Deletes the snapshots of the resource which were not created with the given fingerprint.
+   */
+  public void deleteOutdatedParseSnapshots(String deploymentId, String resourceName, String fingerprint) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentId", deploymentId);
+    params.put("resourceName", resourceName);
+    params.put("fingerprint", fingerprint);
+    getDbEntityManager().delete(ParseSnapshotEntity.class, "deleteOutdatedParseSnapshots", params);
+  }
+
+  /**
+   * @return true if snapshots of already existing deployments are created or replaced
+   *   in the current command when their resources are parsed
+   */
+  public boolean isRefreshParseSnapshots() {
+    return refreshParseSnapshots;
+  }
+
+  /**
+   * By default, only the command creating a deployment writes snapshots. Other commands which
+   * (re-)add a process definition to the deployment cache only read them, so that concurrent
+   * cache misses on several nodes do not write the same snapshot. Commands which load the
+   * deployment cache on purpose (like the deployment cache warm up) enable the refresh.
+   */
+  public void setRefreshParseSnapshots(boolean refreshParseSnapshots) {
+    this.refreshParseSnapshots = refreshParseSnapshots;
+  }
+
+}
@@ -63,6 +63,7 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
   protected int suspensionState = SuspensionState.ACTIVE.getStateCode();
   protected String tenantId;
   protected String versionTag;
+  protected Integer historyTimeToLive;
   protected boolean isIdentityLinksInitialized = false;
   protected List<IdentityLinkEntity> definitionIdentityLinkEntities = new ArrayList<IdentityLinkEntity>();
   protected Set<Expression> candidateStarterUserIdExpressions = new HashSet<Expression>();
@@ -199,6 +200,7 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
     // TODO: add a guard once the mismatch between revisions in deployment cache and database has been resolved
     this.revision = updatingProcessDefinition.revision;
     this.suspensionState = updatingProcessDefinition.suspensionState;
+    this.historyTimeToLive = updatingProcessDefinition.historyTimeToLive;
 
   }
 
@@ -280,6 +282,7 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
   public Object getPersistentState() {
     Map<String, Object> persistentState = new HashMap<String, Object>();
     persistentState.put("suspensionState", this.suspensionState);
+    persistentState.put("historyTimeToLive", this.historyTimeToLive);
     return persistentState;
   }
 
@@ -446,4 +449,12 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
   public void setVersionTag(String versionTag) {
     this.versionTag = versionTag;
   }
+
+  public Integer getHistoryTimeToLive() {
+    return historyTimeToLive;
+  }
+
+  public void setHistoryTimeToLive(Integer historyTimeToLive) {
+    this.historyTimeToLive = historyTimeToLive;
+  }
 }
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -151,8 +152,36 @@ public class ProcessDefinitionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectProcessDefinitionByKeyIn", keys);
   }
 
+  /**
+   * @return the latest <code>latestVersions</code> versions of each process definition key and, if
+   * <code>withRunningInstances</code> is set, all process definitions with running executions;
+   * ordered by deployment
+   */
+  @SuppressWarnings("unchecked")
+  public List<ProcessDefinition> findProcessDefinitionsForCacheWarmUp(int latestVersions, boolean withRunningInstances) {
+    if (latestVersions <= 0 && !withRunningInstances) {
+      return Collections.emptyList();
+    }
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("latestVersions", latestVersions);
+    parameters.put("withRunningInstances", withRunningInstances);
+    return getDbEntityManager().selectList("selectProcessDefinitionsForCacheWarmUp", parameters);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ProcessDefinitionEntity> findProcessDefinitionsWithHistoryTimeToLive() {
+    return getDbEntityManager().selectList("selectProcessDefinitionsWithHistoryTimeToLive");
+  }
+
   // update ///////////////////////////////////////////////////////////
 
+  public void updateProcessDefinitionHistoryTimeToLive(String processDefinitionId, Integer historyTimeToLive) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processDefinitionId", processDefinitionId);
+    parameters.put("historyTimeToLive", historyTimeToLive);
+    getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionHistoryTimeToLive", configureParameterizedQuery(parameters));
+  }
+
   public void updateProcessDefinitionSuspensionStateById(String processDefinitionId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processDefinitionId", processDefinitionId);
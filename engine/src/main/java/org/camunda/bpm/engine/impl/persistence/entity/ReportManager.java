@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.history.DurationReportResult;
 import org.camunda.bpm.engine.impl.HistoricProcessInstanceReportImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -27,9 +28,22 @@ public class ReportManager extends AbstractManager {
   @SuppressWarnings("unchecked")
   public List<DurationReportResult> createHistoricProcessInstanceDurationReport(HistoricProcessInstanceReportImpl query) {
     configureQuery(query);
+    if (isAggregatedStatisticsApplicable(query)) {
+      return getDbEntityManager().selectList("selectAggregatedHistoricProcessInstanceDurationReport", query);
+    }
     return getDbEntityManager().selectList("selectHistoricProcessInstanceDurationReport", query);
   }
 
+  /**
+   * The aggregated statistics are aggregated per month, so they can only be used
+   * if they are enabled for queries and the report is not restricted by the start time.
+   */
+  protected boolean isAggregatedStatisticsApplicable(HistoricProcessInstanceReportImpl query) {
+    return Context.getProcessEngineConfiguration().isHistoricStatisticsAggregationQueryEnabled()
+        && query.getStartedAfter() == null
+        && query.getStartedBefore() == null;
+  }
+
   protected void configureQuery(HistoricProcessInstanceReportImpl parameter) {
     getTenantManager().configureTenantCheck(parameter.getTenantCheck());
   }
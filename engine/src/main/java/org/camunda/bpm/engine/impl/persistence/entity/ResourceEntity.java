@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.io.Serializable;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.HashUtil;
 import org.camunda.bpm.engine.repository.Resource;
 
 
@@ -32,6 +33,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
   protected String deploymentId;
   protected boolean generated = false;
   protected String tenantId;
+  protected String hash;
 
   public String getId() {
     return id;
@@ -55,6 +57,23 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    this.hash = null;
+  }
+
+  /**
+   * @return the content hash of the bytes; calculated from the bytes if they are present,
+   * otherwise the hash loaded from the database (may be null for resources deployed before
+   * hashes were stored)
+   */
+  public String getHash() {
+    if (hash == null && bytes != null) {
+      hash = HashUtil.hash(bytes);
+    }
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
   }
 
   public String getDeploymentId() {
@@ -87,4 +87,26 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Like {@link #findLatestResourcesByDeploymentName(String, Set, String, String)} but the returned
+   * resources only carry their content hash and not their bytes.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, ResourceEntity> findLatestResourceHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind, String source, String tenantId) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+
+    List<ResourceEntity> resources = getDbEntityManager().selectList("selectLatestResourceHashesByDeploymentName", params);
+
+    Map<String, ResourceEntity> existingResourcesByName = new HashMap<String, ResourceEntity>();
+    for (ResourceEntity existingResource : resources) {
+      existingResourcesByName.put(existingResource.getName(), existingResource);
+    }
+
+    return existingResourcesByName;
+  }
+
 }
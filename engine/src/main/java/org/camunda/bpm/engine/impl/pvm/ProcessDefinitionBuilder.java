@@ -139,6 +139,7 @@ public class ProcessDefinitionBuilder {
       }
       transition.setDestination(destination);
     }
+    processDefinition.finalizeActivityTable();
     return processDefinition;
   }
 
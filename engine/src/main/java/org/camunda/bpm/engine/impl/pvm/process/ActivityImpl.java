@@ -55,6 +55,9 @@ public class ActivityImpl extends ScopeImpl implements PvmActivity, HasDIBounds
   protected boolean isAsyncBefore;
   protected boolean isAsyncAfter;
 
+  /** position of this activity in the activity table of its process definition */
+  protected int index = -1;
+
   public ActivityImpl(String id, ProcessDefinitionImpl processDefinition) {
     super(id, processDefinition);
   }
@@ -152,6 +155,15 @@ public class ActivityImpl extends ScopeImpl implements PvmActivity, HasDIBounds
     return isAsyncAfter;
   }
 
+  /**
+   * @return the position of this activity in the activity table of its process definition
+   *
+   * @see ProcessDefinitionImpl#getActivityByIndex(int)
+   */
+  public int getIndex() {
+    return index;
+  }
+
   public void setAsyncAfter(boolean isAsyncAfter) {
     setAsyncAfter(isAsyncAfter, true);
   }
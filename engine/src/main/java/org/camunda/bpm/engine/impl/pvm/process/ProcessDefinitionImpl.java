@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.pvm.process;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.impl.core.delegate.CoreActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.PvmProcessDefinition;
+import org.camunda.bpm.engine.impl.pvm.PvmException;
 import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
 import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
@@ -44,6 +46,13 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
   protected List<LaneSet> laneSets;
   protected ParticipantProcess participantProcess;
 
+  /** all activities of this process definition, regardless of their nesting; an activity's index is its position */
+  protected List<ActivityImpl> activityTable = new ArrayList<ActivityImpl>();
+  /** all named activities of this process definition, regardless of their nesting */
+  protected Map<String, ActivityImpl> activitiesById = new HashMap<String, ActivityImpl>();
+  /** if true, no activities can be added anymore and the activity table is immutable */
+  protected boolean isActivityTableFinalized = false;
+
   public ProcessDefinitionImpl(String id) {
     super(id, null);
     processDefinition = this;
@@ -148,6 +157,62 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
     return null;
   }
 
+  // activity tables ////////////////////////////////////////////////////////
+
+  /**
+   * Adds an activity which was created in any scope of this process definition to the
+   * activity tables and assigns its index.
+   */
+  protected void registerActivity(ActivityImpl activity) {
+    if (isActivityTableFinalized) {
+      throw new PvmException("cannot add activity '" + activity.getId() + "' to finalized process definition '" + id + "'");
+    }
+    activity.index = activityTable.size();
+    activityTable.add(activity);
+    if (activity.getId() != null) {
+      activitiesById.put(activity.getId(), activity);
+    }
+  }
+
+  /**
+   * Makes the activity table immutable. Must be called once all activities of
+   * this process definition are created, i.e. when it is parsed or built.
+   */
+  public void finalizeActivityTable() {
+    if (!isActivityTableFinalized) {
+      activityTable = Collections.unmodifiableList(activityTable);
+      activitiesById = Collections.unmodifiableMap(activitiesById);
+      isActivityTableFinalized = true;
+    }
+  }
+
+  /**
+   * Resolves an activity at any nesting level with a single lookup.
+   */
+  @Override
+  public ActivityImpl findActivity(String activityId) {
+    return activitiesById.get(activityId);
+  }
+
+  /**
+   * @return the activity with the given {@link ActivityImpl#getIndex() index}
+   */
+  public ActivityImpl getActivityByIndex(int index) {
+    return activityTable.get(index);
+  }
+
+  /**
+   * @return the number of activities of this process definition, regardless of their nesting;
+   *   the indexes of the activities range from 0 to this number - 1
+   */
+  public int getActivityCount() {
+    return activityTable.size();
+  }
+
+  public boolean isActivityTableFinalized() {
+    return isActivityTableFinalized;
+  }
+
   @Override
   public CoreActivityBehavior<? extends BaseDelegateExecution> getActivityBehavior() {
     // unsupported in PVM
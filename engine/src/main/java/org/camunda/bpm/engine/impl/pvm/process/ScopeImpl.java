@@ -58,7 +58,17 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
   }
 
   public ActivityImpl findActivity(String activityId) {
-    return (ActivityImpl) super.findActivity(activityId);
+    if (processDefinition == null) {
+      return (ActivityImpl) super.findActivity(activityId);
+    }
+    // resolve the activity in the flat table of the process definition instead of searching all nested scopes
+    ActivityImpl activity = processDefinition.findActivity(activityId);
+    if (activity != null && isAncestorFlowScopeOf(activity)) {
+      return activity;
+    }
+    else {
+      return null;
+    }
   }
 
   public TransitionImpl findTransition(String transitionId) {
@@ -100,10 +110,12 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
 
   public ActivityImpl createActivity(String activityId) {
     ActivityImpl activity = new ActivityImpl(activityId, processDefinition);
+    if (activityId!=null && processDefinition.findActivity(activityId) != null) {
+      throw new PvmException("duplicate activity id '" + activityId + "'");
+    }
+    processDefinition.registerActivity(activity);
+
     if (activityId!=null) {
-      if (processDefinition.findActivity(activityId) != null) {
-        throw new PvmException("duplicate activity id '" + activityId + "'");
-      }
       namedFlowActivities.put(activityId, activity);
     }
     activity.flowScope = this;
@@ -127,15 +139,7 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
   }
 
   public boolean contains(ActivityImpl activity) {
-    if (namedFlowActivities.containsKey(activity.getId())) {
-      return true;
-    }
-    for (ActivityImpl nestedActivity : flowActivities) {
-      if (nestedActivity.contains(activity)) {
-        return true;
-      }
-    }
-    return false;
+    return findActivity(activity.getId()) != null;
   }
 
   // event listeners //////////////////////////////////////////////////////////
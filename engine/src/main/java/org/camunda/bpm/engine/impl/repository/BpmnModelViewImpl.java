@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.repository;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.camunda.bpm.engine.repository.BpmnModelView;
+import org.camunda.bpm.engine.repository.ModelElementView;
+import org.w3c.dom.Document;
+
+/**
+ * Immutable {@link BpmnModelView}; built once from the BPMN XML and safe to share between threads.
+ */
+public class BpmnModelViewImpl implements BpmnModelView {
+
+  protected static final String DISALLOW_DOCTYPE_DECL = "http://apache.org/xml/features/disallow-doctype-decl";
+  protected static final String EXTERNAL_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
+  protected static final String EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
+  protected static final String LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+
+  protected final ModelElementView definitions;
+  protected final Map<String, ModelElementView> elementsById;
+
+  public BpmnModelViewImpl(Document document) {
+    Map<String, ModelElementView> elementsById = new HashMap<String, ModelElementView>();
+    this.definitions = new ModelElementViewImpl(document.getDocumentElement(), null, elementsById);
+    this.elementsById = Collections.unmodifiableMap(elementsById);
+  }
+
+  /**
+   * Parses the given BPMN XML into a model view. The DOM that is created during parsing
+   * is discarded afterwards.
+   */
+  public static BpmnModelView fromInputStream(InputStream inputStream) throws Exception {
+    Document document = createDocumentBuilderFactory().newDocumentBuilder().parse(inputStream);
+    return new BpmnModelViewImpl(document);
+  }
+
+  /**
+   * Deployed resources are not trusted: document type declarations are rejected and
+   * no external entities are resolved, so that a resource can neither read local files
+   * or URLs (XXE) nor expand entities without limit.
+   */
+  protected static DocumentBuilderFactory createDocumentBuilderFactory() throws ParserConfigurationException {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    factory.setFeature(DISALLOW_DOCTYPE_DECL, true);
+    factory.setFeature(EXTERNAL_GENERAL_ENTITIES, false);
+    factory.setFeature(EXTERNAL_PARAMETER_ENTITIES, false);
+    factory.setFeature(LOAD_EXTERNAL_DTD, false);
+    factory.setXIncludeAware(false);
+    factory.setExpandEntityReferences(false);
+    return factory;
+  }
+
+  public ModelElementView getDefinitions() {
+    return definitions;
+  }
+
+  public ModelElementView getElementById(String id) {
+    return elementsById.get(id);
+  }
+
+}
@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.repository.ModelElementView;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Immutable copy of a DOM element. The DOM is only read while the view is constructed
+ * and not referenced afterwards.
+ */
+public class ModelElementViewImpl implements ModelElementView {
+
+  protected final String namespaceUri;
+  protected final String typeName;
+  protected final String textContent;
+  protected final ModelElementView parentElement;
+  protected final Map<String, String> attributes;
+  protected final List<ModelElementView> childElements;
+
+  public ModelElementViewImpl(Element element, ModelElementView parentElement, Map<String, ModelElementView> elementsById) {
+    this.namespaceUri = element.getNamespaceURI();
+    this.typeName = element.getLocalName() != null ? element.getLocalName() : element.getTagName();
+    this.parentElement = parentElement;
+
+    NamedNodeMap attributeNodes = element.getAttributes();
+    Map<String, String> attributes = new HashMap<String, String>(attributeNodes.getLength());
+    for (int i = 0; i < attributeNodes.getLength(); i++) {
+      Attr attribute = (Attr) attributeNodes.item(i);
+      String name = attribute.getLocalName() != null ? attribute.getLocalName() : attribute.getName();
+      attributes.put(attributeKey(attribute.getNamespaceURI(), name), attribute.getValue());
+    }
+    this.attributes = attributes;
+
+    StringBuilder text = null;
+    List<ModelElementView> childElements = new ArrayList<ModelElementView>();
+    NodeList childNodes = element.getChildNodes();
+    for (int i = 0; i < childNodes.getLength(); i++) {
+      Node childNode = childNodes.item(i);
+      short nodeType = childNode.getNodeType();
+      if (nodeType == Node.ELEMENT_NODE) {
+        childElements.add(new ModelElementViewImpl((Element) childNode, this, elementsById));
+      }
+      else if (nodeType == Node.TEXT_NODE || nodeType == Node.CDATA_SECTION_NODE) {
+        if (text == null) {
+          text = new StringBuilder();
+        }
+        text.append(childNode.getNodeValue());
+      }
+    }
+    this.childElements = childElements.isEmpty()
+        ? Collections.<ModelElementView>emptyList()
+        : Collections.unmodifiableList(childElements);
+
+    String trimmedText = text != null ? text.toString().trim() : null;
+    this.textContent = trimmedText != null && trimmedText.length() > 0 ? trimmedText : null;
+
+    String id = getId();
+    if (id != null) {
+      elementsById.put(id, this);
+    }
+  }
+
+  protected static String attributeKey(String namespaceUri, String name) {
+    if (namespaceUri == null || namespaceUri.length() == 0) {
+      return name;
+    }
+    else {
+      return "{" + namespaceUri + "}" + name;
+    }
+  }
+
+  public String getId() {
+    return attributes.get("id");
+  }
+
+  public String getNamespaceUri() {
+    return namespaceUri;
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public String getAttributeValue(String attributeName) {
+    return attributes.get(attributeName);
+  }
+
+  public String getAttributeValueNs(String namespaceUri, String attributeName) {
+    return attributes.get(attributeKey(namespaceUri, attributeName));
+  }
+
+  public String getTextContent() {
+    return textContent;
+  }
+
+  public ModelElementView getParentElement() {
+    return parentElement;
+  }
+
+  public List<ModelElementView> getChildElements() {
+    return childElements;
+  }
+
+  public List<ModelElementView> getChildElementsByType(String typeName) {
+    List<ModelElementView> result = new ArrayList<ModelElementView>();
+    for (ModelElementView childElement : childElements) {
+      if (typeName.equals(childElement.getTypeName())) {
+        result.add(childElement);
+      }
+    }
+    return result;
+  }
+
+  public String toString() {
+    return "ModelElementView[" + typeName + (getId() != null ? ", id=" + getId() : "") + "]";
+  }
+
+}
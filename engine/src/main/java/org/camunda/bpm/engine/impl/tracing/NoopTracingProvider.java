@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.tracing;
+
+/**
+ * Default {@link TracingProvider} which does not trace anything.
+ */
+public class NoopTracingProvider implements TracingProvider {
+
+  public static final TracingSpan NOOP_SPAN = new TracingSpan() {
+
+    public void setAttribute(String key, String value) {
+    }
+
+    public void recordException(Throwable exception) {
+    }
+
+    public void end() {
+    }
+  };
+
+  public String getCurrentContext() {
+    return null;
+  }
+
+  public TracingSpan startSpan(String name, String parentContext) {
+    return NOOP_SPAN;
+  }
+
+}
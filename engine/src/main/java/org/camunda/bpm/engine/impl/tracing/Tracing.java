@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.tracing;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Starts the spans of the {@link TracingProvider} of the current process engine.
+ */
+public class Tracing {
+
+  protected static final MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  /** the size of the TRACE_CONTEXT_ columns of jobs and external tasks */
+  public static final int MAX_CONTEXT_LENGTH = 255;
+
+  public static final String ATTRIBUTE_PROCESS_DEFINITION_ID = "camunda.process_definition_id";
+  public static final String ATTRIBUTE_PROCESS_INSTANCE_ID = "camunda.process_instance_id";
+  public static final String ATTRIBUTE_ACTIVITY_ID = "camunda.activity_id";
+  public static final String ATTRIBUTE_JOB_ID = "camunda.job_id";
+  public static final String ATTRIBUTE_EXTERNAL_TASK_ID = "camunda.external_task_id";
+  public static final String ATTRIBUTE_TOPIC_NAME = "camunda.topic_name";
+
+  protected static final TracingProvider NOOP_TRACING_PROVIDER = new NoopTracingProvider();
+
+  /**
+   * @return the tracing provider of the process engine of the current command; never null
+   */
+  public static TracingProvider getTracingProvider() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      TracingProvider tracingProvider = processEngineConfiguration.getTracingProvider();
+      if (tracingProvider != null) {
+        return tracingProvider;
+      }
+    }
+    return NOOP_TRACING_PROVIDER;
+  }
+
+  /**
+   * @return the serialized context of the current span which is stored with jobs and external tasks
+   *   or null if there is no current span or its context is longer than {@link #MAX_CONTEXT_LENGTH}
+   */
+  public static String getCurrentContext() {
+    String context = getTracingProvider().getCurrentContext();
+
+    if (context != null && context.length() > MAX_CONTEXT_LENGTH) {
+      // a truncated context can not be parsed, so it is not stored at all
+      LOG.traceContextTooLong(context.length(), MAX_CONTEXT_LENGTH);
+      return null;
+    }
+
+    return context;
+  }
+
+  public static TracingSpan startSpan(String name) {
+    return startSpan(name, null);
+  }
+
+  public static TracingSpan startSpan(String name, String parentContext) {
+    return getTracingProvider().startSpan(name, parentContext);
+  }
+
+  /**
+   * Starts a span for the execution of the current activity of the given execution.
+   */
+  public static TracingSpan startActivitySpan(ExecutionEntity execution) {
+    String activityId = execution.getActivityId();
+    TracingSpan span = startSpan("activity " + activityId);
+    span.setAttribute(ATTRIBUTE_PROCESS_DEFINITION_ID, execution.getProcessDefinitionId());
+    span.setAttribute(ATTRIBUTE_PROCESS_INSTANCE_ID, execution.getProcessInstanceId());
+    span.setAttribute(ATTRIBUTE_ACTIVITY_ID, activityId);
+    return span;
+  }
+
+}
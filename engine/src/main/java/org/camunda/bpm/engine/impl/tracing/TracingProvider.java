@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.tracing;
+
+/**
+ * SPI to trace the execution of the process engine in a distributed tracing system like
+ * OpenTelemetry. The process engine starts a span per command and per executed activity.
+ *
+ * <p>The trace context of a span is serialized to a string (e.g. a W3C <code>traceparent</code>
+ * header) so that it can be stored with jobs and external tasks and the trace is continued
+ * when the job is executed or the external task is fetched by a worker. A serialized context
+ * must not be longer than {@link Tracing#MAX_CONTEXT_LENGTH} characters, the size of the
+ * TRACE_CONTEXT_ columns. A longer context is not stored and a warning is logged.</p>
+ *
+ * <p>Implementations must be thread-safe.</p>
+ */
+public interface TracingProvider {
+
+  /**
+   * @return the serialized context of the current span of the calling thread or null
+   *   if there is no current span; at most {@link Tracing#MAX_CONTEXT_LENGTH} characters long
+   */
+  String getCurrentContext();
+
+  /**
+   * Starts a span which is the current span of the calling thread until it is ended.
+   *
+   * @param name the name of the span
+   * @param parentContext the serialized context of the parent span; if null, the current
+   *   span of the calling thread is the parent
+   */
+  TracingSpan startSpan(String name, String parentContext);
+
+}
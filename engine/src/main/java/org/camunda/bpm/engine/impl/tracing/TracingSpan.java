@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.tracing;
+
+/**
+ * A span started by a {@link TracingProvider}.
+ */
+public interface TracingSpan {
+
+  void setAttribute(String key, String value);
+
+  void recordException(Throwable exception);
+
+  /**
+   * Ends the span and restores the previous current span of the calling thread.
+   */
+  void end();
+
+}
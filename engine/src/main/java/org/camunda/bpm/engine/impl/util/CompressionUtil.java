@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Compresses and decompresses byte arrays using the deflate format.
+ */
+public final class CompressionUtil {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  public static byte[] compress(byte[] bytes) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream(bytes.length / 2 + 16);
+    DeflaterOutputStream out = new DeflaterOutputStream(result);
+    try {
+      out.write(bytes);
+      out.close();
+    }
+    catch (IOException e) {
+      throw LOG.exceptionWhileCompressingBytes(e);
+    }
+    return result.toByteArray();
+  }
+
+  public static byte[] decompress(byte[] bytes) {
+    InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes));
+    try {
+      ByteArrayOutputStream result = new ByteArrayOutputStream(bytes.length * 4);
+      byte[] buffer = new byte[4096];
+      int read = in.read(buffer);
+      while (read != -1) {
+        result.write(buffer, 0, read);
+        read = in.read(buffer);
+      }
+      return result.toByteArray();
+    }
+    catch (IOException e) {
+      throw LOG.exceptionWhileDecompressingBytes(e);
+    }
+    finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+}
@@ -204,4 +204,40 @@ public class EngineUtilLogger extends ProcessEngineLogger {
         "Cannot parse duration '{}'.", expressions));
   }
 
+  public ProcessEngineException exceptionWhileWritingParseSnapshot(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "029",
+        "Exception while writing parse snapshot: {}", e.getMessage()), e);
+  }
+
+  public ProcessEngineException exceptionWhileReadingParseSnapshot(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "030",
+        "Exception while reading parse snapshot: {}", e.getMessage()), e);
+  }
+
+  public ProcessEngineException unsupportedParseSnapshotFormat() {
+    return new ProcessEngineException(exceptionMessage(
+        "031",
+        "Parse snapshot has an unsupported format"));
+  }
+
+  public ProcessEngineException hashAlgorithmNotAvailable(String algorithm, Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "032",
+        "Hash algorithm '{}' is not available", algorithm), e);
+  }
+
+  public ProcessEngineException exceptionWhileCompressingBytes(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "033",
+        "Exception while compressing bytes: {}", e.getMessage()), e);
+  }
+
+  public ProcessEngineException exceptionWhileDecompressingBytes(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "034",
+        "Exception while decompressing bytes: {}", e.getMessage()), e);
+  }
+
 }
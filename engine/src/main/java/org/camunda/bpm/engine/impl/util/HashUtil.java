@@ -0,0 +1,52 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Calculates content hashes of byte arrays.
+ */
+public final class HashUtil {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  public static final String HASH_ALGORITHM = "SHA-256";
+
+  protected static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * @return the {@value #HASH_ALGORITHM} hash of the given bytes as lower case hex string (64 characters)
+   */
+  public static String hash(byte[] bytes) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(HASH_ALGORITHM);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw LOG.hashAlgorithmNotAvailable(HASH_ALGORITHM, e);
+    }
+
+    byte[] hash = digest.digest(bytes);
+    char[] hex = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      hex[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+      hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xF];
+    }
+    return new String(hex);
+  }
+
+}
@@ -14,8 +14,11 @@ package org.camunda.bpm.engine.impl.util;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Date;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 
 /**
@@ -24,6 +27,8 @@ import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
  */
 public class JobExceptionUtil {
 
+  public static final String JOB_EXCEPTION_BYTE_ARRAY_NAME = "job.exceptionByteArray";
+
   public static String getJobExceptionStacktrace(Throwable exception) {
     StringWriter stringWriter = new StringWriter();
     exception.printStackTrace(new PrintWriter(stringWriter));
@@ -42,7 +47,7 @@ public class JobExceptionUtil {
     ByteArrayEntity result = null;
 
     if (byteArray != null) {
-      result = new ByteArrayEntity("job.exceptionByteArray", byteArray);
+      result = new ByteArrayEntity(JOB_EXCEPTION_BYTE_ARRAY_NAME, byteArray);
       Context
         .getCommandContext()
         .getDbEntityManager()
@@ -52,4 +57,41 @@ public class JobExceptionUtil {
     return result;
   }
 
+  /**
+   * Stores the stack trace of a historic job log. If
+   * {@link ProcessEngineConfigurationImpl#isHistoricJobLogExceptionDeduplicationEnabled() deduplication}
+   * is enabled, a stack trace with the same content hash which was stored within the
+   * {@link ProcessEngineConfigurationImpl#getHistoricJobLogExceptionDeduplicationWindowInMillis() deduplication window}
+   * is reused. Older stack traces are not reused, so the history cleanup can remove them once
+   * they are no longer referenced without racing with a transaction that reuses them.
+   *
+   * @return the id of the byte array holding the stack trace
+   */
+  public static String createHistoricJobExceptionByteArray(byte[] byteArray) {
+    if (byteArray == null) {
+      return null;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isHistoricJobLogExceptionDeduplicationEnabled()) {
+      return createJobExceptionByteArray(byteArray).getId();
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    String hash = HashUtil.hash(byteArray);
+    Date now = ClockUtil.getCurrentTime();
+    Date reusableAfter = new Date(now.getTime() - processEngineConfiguration.getHistoricJobLogExceptionDeduplicationWindowInMillis());
+    String byteArrayId = commandContext.getByteArrayManager().findJobExceptionByteArrayIdByHash(hash, reusableAfter);
+
+    if (byteArrayId == null) {
+      ByteArrayEntity result = new ByteArrayEntity(JOB_EXCEPTION_BYTE_ARRAY_NAME, byteArray);
+      result.setHash(hash);
+      result.setCreateTime(now);
+      commandContext.getDbEntityManager().insert(result);
+      byteArrayId = result.getId();
+    }
+
+    return byteArrayId;
+  }
+
 }
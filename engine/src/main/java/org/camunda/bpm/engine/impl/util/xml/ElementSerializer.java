@@ -0,0 +1,187 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * Writes an {@link Element} tree into a compact binary form and restores it again.
+ *
+ * <p>All strings of the tree (tag names, namespace uris, attribute names and values, texts)
+ * are stored once in a string table and referenced by index, the whole payload is deflated.
+ * Restoring a tree does not involve any XML processing, which makes it a cheap replacement
+ * for re-parsing (and re-validating) a resource that was already parsed before.</p>
+ */
+public class ElementSerializer {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  /** increase whenever the binary layout changes */
+  public static final int FORMAT_VERSION = 1;
+
+  protected static final int MAGIC = 0xCA0E1E01;
+
+  protected static final int NULL_STRING = -1;
+
+  public static byte[] toBytes(Element rootElement) {
+    StringTable strings = new StringTable();
+
+    ByteArrayOutputStream treeBytes = new ByteArrayOutputStream();
+    DataOutputStream treeOut = new DataOutputStream(treeBytes);
+
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(result));
+    try {
+      writeElement(rootElement, treeOut, strings);
+      treeOut.flush();
+
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      strings.write(out);
+      treeBytes.writeTo(out);
+      out.close();
+    }
+    catch (IOException e) {
+      throw LOG.exceptionWhileWritingParseSnapshot(e);
+    }
+    finally {
+      IoUtil.closeSilently(out);
+    }
+
+    return result.toByteArray();
+  }
+
+  public static Element fromBytes(byte[] bytes) {
+    DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+    try {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        throw LOG.unsupportedParseSnapshotFormat();
+      }
+      String[] strings = StringTable.read(in);
+      return readElement(in, strings);
+    }
+    catch (IOException e) {
+      throw LOG.exceptionWhileReadingParseSnapshot(e);
+    }
+    finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+  protected static void writeElement(Element element, DataOutputStream out, StringTable strings) throws IOException {
+    out.writeInt(strings.indexOf(element.uri));
+    out.writeInt(strings.indexOf(element.tagName));
+    out.writeInt(element.line);
+    out.writeInt(element.column);
+    out.writeInt(strings.indexOf(element.getText()));
+
+    out.writeInt(element.attributeMap.size());
+    for (Attribute attribute : element.attributeMap.values()) {
+      out.writeInt(strings.indexOf(attribute.getUri()));
+      out.writeInt(strings.indexOf(attribute.getName()));
+      out.writeInt(strings.indexOf(attribute.getValue()));
+    }
+
+    out.writeInt(element.elements.size());
+    for (Element child : element.elements) {
+      writeElement(child, out, strings);
+    }
+  }
+
+  protected static Element readElement(DataInputStream in, String[] strings) throws IOException {
+    String uri = string(strings, in.readInt());
+    String tagName = string(strings, in.readInt());
+
+    // the tag name was already resolved when the tree was parsed, so it can be passed as local and qualified name
+    Element element = new Element(uri, tagName, tagName, null, null);
+    element.line = in.readInt();
+    element.column = in.readInt();
+    element.appendText(string(strings, in.readInt()));
+
+    int attributeCount = in.readInt();
+    for (int i = 0; i < attributeCount; i++) {
+      String attributeUri = string(strings, in.readInt());
+      String name = string(strings, in.readInt());
+      String value = string(strings, in.readInt());
+      element.attributeMap.put(element.composeMapKey(attributeUri, name), new Attribute(name, value, attributeUri));
+    }
+
+    int childCount = in.readInt();
+    for (int i = 0; i < childCount; i++) {
+      element.add(readElement(in, strings));
+    }
+
+    return element;
+  }
+
+  protected static String string(String[] strings, int index) {
+    return index == NULL_STRING ? null : strings[index];
+  }
+
+  /**
+   * Assigns each distinct string an index in order of first occurrence.
+   */
+  protected static class StringTable {
+
+    protected Map<String, Integer> indexes = new HashMap<String, Integer>();
+    protected List<String> strings = new ArrayList<String>();
+
+    public int indexOf(String string) {
+      if (string == null) {
+        return NULL_STRING;
+      }
+      Integer index = indexes.get(string);
+      if (index == null) {
+        index = strings.size();
+        strings.add(string);
+        indexes.put(string, index);
+      }
+      return index;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+      out.writeInt(strings.size());
+      for (String string : strings) {
+        // writeUTF is limited to 64k, texts such as scripts may be longer
+        byte[] bytes = string.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+
+    public static String[] read(DataInputStream in) throws IOException {
+      String[] strings = new String[in.readInt()];
+      for (int i = 0; i < strings.length; i++) {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        strings[i] = new String(bytes, "UTF-8");
+      }
+      return strings;
+    }
+  }
+
+}
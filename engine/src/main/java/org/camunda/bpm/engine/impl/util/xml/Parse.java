@@ -106,6 +106,19 @@ public class Parse extends DefaultHandler {
     return this;
   }
 
+  /**
+   * Uses an already parsed element tree (e.g. one restored from a parse snapshot)
+   * instead of reading an XML source. No XML parsing and no schema validation
+   * is performed in {@link #execute()} in that case.
+   */
+  public Parse sourceElement(Element rootElement) {
+    if (name==null) {
+      name("element");
+    }
+    this.rootElement = rootElement;
+    return this;
+  }
+
   protected void setStreamSource(StreamSource streamSource) {
     if (this.streamSource!=null) {
       throw LOG.multipleSourcesException(this.streamSource, streamSource);
@@ -114,6 +127,11 @@ public class Parse extends DefaultHandler {
   }
 
   public Parse execute() {
+    if (rootElement != null) {
+      // element tree was provided, nothing to parse
+      return this;
+    }
+
     try {
       InputStream inputStream = streamSource.getInputStream();
 
@@ -137,6 +155,13 @@ public class Parse extends DefaultHandler {
     return this;
   }
 
+  /**
+   * @return true if the element tree is parsed with namespace awareness and validated against a schema
+   */
+  public boolean isValidatingSchema() {
+    return schemaResource != null;
+  }
+
   public Element getRootElement() {
     return rootElement;
   }
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+import java.util.Date;
+
+/**
+ * The sum of a metric within a time interval, see {@link MetricsQuery#interval(long)}.
+ */
+public interface MetricIntervalValue {
+
+  /**
+   * @return the name of the metric, see constants in {@link Metrics}
+   */
+  String getName();
+
+  /**
+   * @return the reporter the value is restricted to, or null if the values of all reporters are summed up
+   */
+  String getReporter();
+
+  /**
+   * @return the start of the time interval
+   */
+  Date getTimestamp();
+
+  /**
+   * @return the summed up value of the metric within the time interval
+   */
+  long getValue();
+
+}
@@ -55,4 +55,117 @@ public class Metrics {
    */
   public final static String EXECUTED_DECISION_ELEMENTS = "executed-decision-elements";
 
+  /**
+   * Number of history events which were materialized from the history event outbox
+   * into the history tables.
+   */
+  public final static String HISTORY_EVENTS_MATERIALIZED = "history-events-materialized";
+
+  /**
+   * Number of historic process instances which were removed by the history cleanup
+   * together with their historic activity instances, tasks, variables, etc.
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES = "history-cleanup-removed-process-instances";
+
+  /**
+   * Duration in microseconds of commands which open a new command context,
+   * including the flush and commit. Recorded as histogram.
+   */
+  public final static String COMMAND_DURATION = "command-duration";
+
+  /**
+   * Duration in microseconds of the execution of a job by the job executor. Recorded as histogram.
+   */
+  public final static String JOB_EXECUTION_DURATION = "job-execution-duration";
+
+  /**
+   * Duration in microseconds of a job acquisition attempt, i.e. selecting and locking the jobs.
+   * Recorded as histogram.
+   */
+  public final static String JOB_ACQUISITION_DURATION = "job-acquisition-duration";
+
+  /**
+   * Duration in microseconds of flushing the changes of a command to the database.
+   * Recorded as histogram.
+   */
+  public final static String DB_FLUSH_DURATION = "db-flush-duration";
+
+  // gauges ////////////////////////////////////////////////////////////////////
+
+  /**
+   * Number of threads of the job executor which are currently executing jobs. Provided as gauge
+   * to exporters if the job executor uses a thread pool, see {@link #JOB_EXECUTOR_POOL_SIZE}.
+   */
+  public final static String JOB_EXECUTOR_ACTIVE_THREADS = "job-executor-active-threads";
+
+  /**
+   * Number of threads in the thread pool of the job executor. Provided as gauge to exporters.
+   */
+  public final static String JOB_EXECUTOR_POOL_SIZE = "job-executor-pool-size";
+
+  /**
+   * Number of job batches waiting in the queue of the job executor's thread pool. Provided as gauge to exporters.
+   */
+  public final static String JOB_EXECUTOR_QUEUE_SIZE = "job-executor-queue-size";
+
+  /**
+   * Time in milliseconds the job acquisition waited last before acquiring again,
+   * grows while there are no jobs to acquire. Provided as gauge to exporters.
+   */
+  public final static String JOB_ACQUISITION_WAIT_TIME = "job-acquisition-wait-time";
+
+  /**
+   * Number of connections in use of the connection pool the engine created
+   * from the jdbc properties. Provided as gauge to exporters.
+   */
+  public final static String DB_POOL_ACTIVE_CONNECTIONS = "db-pool-active-connections";
+
+  /**
+   * Number of idle connections of the connection pool the engine created
+   * from the jdbc properties. Provided as gauge to exporters.
+   */
+  public final static String DB_POOL_IDLE_CONNECTIONS = "db-pool-idle-connections";
+
+  /**
+   * Age in milliseconds of the oldest history event outbox entry which was not materialized
+   * into the history tables yet. Provided as gauge to exporters if the outbox is enabled.
+   */
+  public final static String HISTORY_EVENT_OUTBOX_LAG = "history-event-outbox-lag";
+
+  /**
+   * Number of history event outbox entries which could not be materialized and wait to be
+   * retried. Provided as gauge to exporters if the outbox is enabled.
+   */
+  public final static String HISTORY_EVENT_OUTBOX_FAILED_ENTRIES = "history-event-outbox-failed-entries";
+
+  // tags //////////////////////////////////////////////////////////////////////
+
+  /**
+   * Tag of {@link #ACTIVTY_INSTANCE_START}, {@link #JOB_SUCCESSFUL} and {@link #JOB_FAILED}
+   * holding the key of the process definition.
+   */
+  public final static String TAG_PROCESS_DEFINITION_KEY = "processDefinitionKey";
+
+  /**
+   * Tag of {@link #ACTIVTY_INSTANCE_START} holding the type of the activity, e.g. <code>userTask</code>.
+   */
+  public final static String TAG_ACTIVITY_TYPE = "activityType";
+
+  /**
+   * Tag of {@link #JOB_SUCCESSFUL} and {@link #JOB_FAILED} holding the type of the job handler.
+   */
+  public final static String TAG_JOB_TYPE = "jobType";
+
+  /**
+   * Tag of {@link #ACTIVTY_INSTANCE_START}, {@link #JOB_SUCCESSFUL} and {@link #JOB_FAILED}
+   * holding the id of the tenant.
+   */
+  public final static String TAG_TENANT_ID = "tenantId";
+
+  /**
+   * The tag which is counted instead of any further tag once a meter reached the
+   * maximum number of tags.
+   */
+  public final static String TAG_OVERFLOW = "overflow";
+
 }
@@ -13,6 +13,8 @@
 package org.camunda.bpm.engine.management;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Daniel Meyer
@@ -42,9 +44,69 @@ public interface MetricsQuery {
    */
   MetricsQuery endDate(Date endTime);
 
+  /**
+   * Restrict to data collected with the given tag, e.g. <code>processDefinitionKey=invoice,activityType=userTask</code>.
+   * Without this restriction, only the untagged data is summed up.
+   *
+   * @see constants <code>TAG_*</code> in {@link Metrics} for the keys of the tags.
+   */
+  MetricsQuery tag(String tag);
+
+  /**
+   * Sets the number of time intervals to skip, see {@link #interval(long)}.
+   */
+  MetricsQuery offset(int offset);
+
+  /**
+   * Sets the maximum number of time intervals returned by {@link #interval(long)}.
+   * Defaults to {@value org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl#DEFAULT_LIMIT_SELECT_INTERVAL}.
+   */
+  MetricsQuery limit(int maxResults);
+
   /**
    * @return the aggregated sum
    */
   long sum();
 
+  /**
+   * Only applicable to tagged meters like {@link Metrics#ACTIVTY_INSTANCE_START},
+   * {@link Metrics#JOB_SUCCESSFUL} and {@link Metrics#JOB_FAILED}. Requires a name.
+   *
+   * @return the aggregated sums by tag
+   */
+  Map<String, Long> sumByTag();
+
+  /**
+   * Only applicable to latency histograms such as {@link Metrics#COMMAND_DURATION}.
+   * The returned value is the upper bound of the histogram bucket containing the
+   * requested percentile and therefore overestimates the exact value by at most
+   * one sixteenth.
+   *
+   * @param percentile a value greater than 0 and less than or equal to 100
+   * @return the value at the given percentile, or 0 if nothing was recorded
+   */
+  long percentile(double percentile);
+
+  /**
+   * Sums up the values by metric name within time intervals of
+   * {@value org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl#DEFAULT_INTERVAL} seconds.
+   *
+   * @see #interval(long)
+   */
+  List<MetricIntervalValue> interval();
+
+  /**
+   * Sums up the values by metric name within time intervals of the given length.
+   * The intervals start at multiples of the length since 1970-01-01T00:00:00Z, the latest
+   * interval is returned first.
+   *
+   * <p>Values which are not yet reported to the database are not included. Meter logs which
+   * have been rolled up into coarser intervals are counted in the interval containing the
+   * start of the coarser interval.</p>
+   *
+   * @param interval the length of the time intervals in seconds
+   * @return the sums by time interval and name
+   */
+  List<MetricIntervalValue> interval(long interval);
+
 }
\ No newline at end of file
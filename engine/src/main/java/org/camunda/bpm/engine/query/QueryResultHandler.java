@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.query;
+
+/**
+ * Receives the results of a query one by one while they are read from the database.
+ *
+ * <p>The handler is invoked while the query is executed, i.e. inside the transaction of
+ * the query and while its database connection is held. A result must not be kept beyond
+ * the invocation if the results should be processed in constant memory.</p>
+ *
+ * @param <U> the type of the query results
+ */
+public interface QueryResultHandler<U> {
+
+  void handleResult(U result);
+
+}
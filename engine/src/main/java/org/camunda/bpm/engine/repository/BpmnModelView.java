@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.repository;
+
+/**
+ * <p>Read-only view of a deployed BPMN 2.0 XML resource.</p>
+ *
+ * <p>In contrast to the {@link org.camunda.bpm.model.bpmn.BpmnModelInstance}, a model view is
+ * immutable and does not keep a DOM. The same instance can therefore be shared by all threads
+ * (e.g. delegates executed by the job executor) without locking or copying. It only provides
+ * access to the element tree; use the model instance if the typed model API is required.</p>
+ *
+ * @see org.camunda.bpm.engine.RepositoryService#getBpmnModelView(String)
+ */
+public interface BpmnModelView {
+
+  /**
+   * @return the root element of the resource (i.e. the <code>definitions</code> element)
+   */
+  ModelElementView getDefinitions();
+
+  /**
+   * @return the element with the given <code>id</code> attribute or null if no such element exists
+   */
+  ModelElementView getElementById(String id);
+
+}
@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.repository;
+
+import java.util.List;
+
+/**
+ * Immutable element of a {@link BpmnModelView}.
+ */
+public interface ModelElementView {
+
+  /**
+   * @return the value of the <code>id</code> attribute or null if the element has no id
+   */
+  String getId();
+
+  /**
+   * @return the namespace uri of the element
+   */
+  String getNamespaceUri();
+
+  /**
+   * @return the local name of the element, e.g. <code>serviceTask</code>
+   */
+  String getTypeName();
+
+  /**
+   * @return the value of the attribute without namespace or null if it is not present
+   */
+  String getAttributeValue(String attributeName);
+
+  /**
+   * @return the value of the attribute in the given namespace or null if it is not present
+   */
+  String getAttributeValueNs(String namespaceUri, String attributeName);
+
+  /**
+   * @return the text of the element without the text of its child elements, or null if it has none
+   */
+  String getTextContent();
+
+  /**
+   * @return the parent element or null if this is the root element
+   */
+  ModelElementView getParentElement();
+
+  /**
+   * @return the (unmodifiable) list of child elements
+   */
+  List<ModelElementView> getChildElements();
+
+  /**
+   * @return the child elements with the given local name
+   */
+  List<ModelElementView> getChildElementsByType(String typeName);
+
+}
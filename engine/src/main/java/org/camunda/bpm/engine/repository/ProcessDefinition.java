@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.repository;
 
 import org.camunda.bpm.engine.FormService;
+import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 
 /** An object structure representing an executable process composed of
@@ -44,4 +45,12 @@ public interface ProcessDefinition extends ResourceDefinition {
   /** Version tag of the process definition. */
   String getVersionTag();
 
+  /**
+   * History time to live of the process definition in days, <code>null</code> if the history
+   * of the process definition is kept forever.
+   *
+   * @see RepositoryService#updateProcessDefinitionHistoryTimeToLive(String, Integer)
+   */
+  Integer getHistoryTimeToLive();
+
 }
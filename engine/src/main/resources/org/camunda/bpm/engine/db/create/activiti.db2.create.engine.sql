@@ -25,6 +25,9 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ smallint check(GENERATED_ in (1,0)),
     TENANT_ID_ varchar(64),
+    HASH_ varchar(64),
+    COMPRESSED_ smallint check(COMPRESSED_ in (1,0)),
+    CREATE_TIME_ timestamp,
     primary key (ID_)
 );
 
@@ -84,6 +87,7 @@ create table ACT_RU_JOB (
     PRIORITY_ bigint not null default 0,
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
+    TRACE_CONTEXT_ varchar(255),
     primary key (ID_)
 );
 
@@ -115,6 +119,7 @@ create table ACT_RE_PROCDEF (
     SUSPENSION_STATE_ integer,
     TENANT_ID_ varchar(64),
     VERSION_TAG_ varchar(64),
+    HISTORY_TTL_ integer,
     primary key (ID_)
 );
 
@@ -241,6 +246,9 @@ create table ACT_RU_METER_LOG (
   REPORTER_ varchar(255),
   VALUE_ bigint,
   TIMESTAMP_ timestamp not null,
+  BUCKET_ bigint,
+  TAG_ varchar(255),
+  MILLISECONDS_ bigint,
   primary key (ID_)
 );
 
@@ -261,6 +269,7 @@ create table ACT_RU_EXT_TASK (
   ACT_INST_ID_ varchar(64),
   TENANT_ID_ varchar(64),
   PRIORITY_ bigint not null default 0,
+  TRACE_CONTEXT_ varchar(255),
   primary key (ID_)
 );
 
@@ -299,6 +308,7 @@ create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
 create index ACT_IDX_JOB_TENANT_ID on ACT_RU_JOB(TENANT_ID_);
 create index ACT_IDX_JOBDEF_TENANT_ID on ACT_RU_JOBDEF(TENANT_ID_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
 create index ACT_IDX_EXT_TASK_TOPIC ON ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID ON ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -474,3 +484,30 @@ create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
 create index ACT_IDX_PROCDEF_VER_TAG ON ACT_RE_PROCDEF(VERSION_TAG_);
+
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ varchar(64) not null,
+    DEPLOYMENT_ID_ varchar(64),
+    RESOURCE_NAME_ varchar(255),
+    FINGERPRINT_ varchar(64),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ varchar(64) not null,
+    REV_ integer not null,
+    INSTANCE_ID_ varchar(64),
+    CREATE_TIME_ timestamp not null,
+    EVENT_COUNT_ integer,
+    ATTEMPTS_ integer,
+    FAILED_ smallint check(FAILED_ in (1,0)),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
@@ -25,6 +25,9 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ image,
     GENERATED_ tinyint,
     TENANT_ID_ nvarchar(64),
+    HASH_ nvarchar(64),
+    COMPRESSED_ tinyint,
+    CREATE_TIME_ datetime2,
     primary key (ID_)
 );
 
@@ -84,6 +87,7 @@ create table ACT_RU_JOB (
     JOB_DEF_ID_ nvarchar(64),
     SEQUENCE_COUNTER_ numeric(19,0),
     TENANT_ID_ nvarchar(64),
+    TRACE_CONTEXT_ nvarchar(255),
     primary key (ID_)
 );
 
@@ -115,6 +119,7 @@ create table ACT_RE_PROCDEF (
     SUSPENSION_STATE_ tinyint,
     TENANT_ID_ nvarchar(64),
     VERSION_TAG_ nvarchar(64),
+    HISTORY_TTL_ int,
     primary key (ID_)
 );
 
@@ -238,6 +243,9 @@ create table ACT_RU_METER_LOG (
   REPORTER_ nvarchar(255),
   VALUE_ numeric(19,0),
   TIMESTAMP_ datetime2 not null,
+  BUCKET_ numeric(19,0),
+  TAG_ nvarchar(255),
+  MILLISECONDS_ numeric(19,0),
   primary key (ID_)
 );
 
@@ -258,6 +266,7 @@ create table ACT_RU_EXT_TASK (
   ACT_INST_ID_ nvarchar(64),
   TENANT_ID_ nvarchar(64),
   PRIORITY_ numeric(19,0) NOT NULL DEFAULT 0,
+  TRACE_CONTEXT_ nvarchar(255),
   primary key (ID_)
 );
 
@@ -299,6 +308,7 @@ create unique index ACT_UNIQ_AUTH_USER on ACT_RU_AUTHORIZATION (TYPE_,USER_ID_,R
 create unique index ACT_UNIQ_AUTH_GROUP on ACT_RU_AUTHORIZATION (TYPE_,GROUP_ID_,RESOURCE_TYPE_,RESOURCE_ID_) where GROUP_ID_ is not null;
 create unique index ACT_UNIQ_VARIABLE on ACT_RU_VARIABLE(VAR_SCOPE_, NAME_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -469,3 +479,30 @@ create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
 create index ACT_IDX_PROCDEF_VER_TAG ON ACT_RE_PROCDEF(VERSION_TAG_);
+
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ nvarchar(64) not null,
+    DEPLOYMENT_ID_ nvarchar(64),
+    RESOURCE_NAME_ nvarchar(255),
+    FINGERPRINT_ nvarchar(64),
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ nvarchar(64) not null,
+    REV_ int not null,
+    INSTANCE_ID_ nvarchar(64),
+    CREATE_TIME_ datetime2 not null,
+    EVENT_COUNT_ int,
+    ATTEMPTS_ int,
+    FAILED_ tinyint,
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
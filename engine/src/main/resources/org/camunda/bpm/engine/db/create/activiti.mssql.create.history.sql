@@ -251,6 +251,7 @@ create table ACT_HI_BATCH (
 );
 
 create index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST(END_TIME_);
+create index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST(PROC_DEF_ID_,END_TIME_);
 create index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST(BUSINESS_KEY_);
 create index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST(TENANT_ID_);
 
@@ -285,6 +286,32 @@ create index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG(PROCESS_INSTANCE_ID_)
 create index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG(PROCESS_DEF_ID_);
 create index ACT_IDX_HI_JOB_LOG_TENANT_ID on ACT_HI_JOB_LOG(TENANT_ID_);
 create index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID on ACT_HI_JOB_LOG(JOB_DEF_ID_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
 
 create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
 create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+
+create table ACT_HI_STATISTICS (
+    ID_ nvarchar(64) not null,
+    REV_ int not null,
+    TYPE_ nvarchar(64) not null,
+    PROC_DEF_KEY_ nvarchar(255),
+    PROC_DEF_ID_ nvarchar(64) not null,
+    ACT_ID_ nvarchar(255) not null,
+    TENANT_ID_ nvarchar(64),
+    PERIOD_YEAR_ int not null,
+    PERIOD_MONTH_ int not null,
+    STARTED_ numeric(19,0),
+    FINISHED_ numeric(19,0),
+    CANCELED_ numeric(19,0),
+    COMPLETE_SCOPE_ numeric(19,0),
+    DURATION_SUM_ numeric(19,0),
+    DURATION_MIN_ numeric(19,0),
+    DURATION_MAX_ numeric(19,0),
+    DELTA_ tinyint,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS(PROC_DEF_ID_,TYPE_,ACT_ID_,PERIOD_YEAR_,PERIOD_MONTH_);
+create index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS(PROC_DEF_KEY_,TYPE_);
+create index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS(DELTA_);
@@ -25,6 +25,9 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
     TENANT_ID_ NVARCHAR2(64),
+    HASH_ NVARCHAR2(64),
+    COMPRESSED_ NUMBER(1,0) CHECK (COMPRESSED_ IN (1,0)),
+    CREATE_TIME_ TIMESTAMP(6),
     primary key (ID_)
 );
 
@@ -84,6 +87,7 @@ create table ACT_RU_JOB (
     PRIORITY_ NUMBER(19,0) DEFAULT 0 NOT NULL,
     SEQUENCE_COUNTER_ NUMBER(19,0),
     TENANT_ID_ NVARCHAR2(64),
+    TRACE_CONTEXT_ NVARCHAR2(255),
     primary key (ID_)
 );
 
@@ -115,6 +119,7 @@ create table ACT_RE_PROCDEF (
     SUSPENSION_STATE_ INTEGER,
     TENANT_ID_ NVARCHAR2(64),
     VERSION_TAG_ NVARCHAR2(64),
+    HISTORY_TTL_ INTEGER,
     primary key (ID_)
 );
 
@@ -238,6 +243,9 @@ create table ACT_RU_METER_LOG (
   REPORTER_ NVARCHAR2(255),
   VALUE_ NUMBER(19,0),
   TIMESTAMP_ TIMESTAMP(6) not null,
+  BUCKET_ NUMBER(19,0),
+  TAG_ NVARCHAR2(255),
+  MILLISECONDS_ NUMBER(19,0),
   primary key (ID_)
 );
 
@@ -258,6 +266,7 @@ create table ACT_RU_EXT_TASK (
   ACT_INST_ID_ NVARCHAR2(64),
   TENANT_ID_ NVARCHAR2(64),
   PRIORITY_ NUMBER(19,0) DEFAULT 0 NOT NULL,
+  TRACE_CONTEXT_ NVARCHAR2(255),
   primary key (ID_)
 );
 
@@ -295,6 +304,7 @@ create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
 create index ACT_IDX_JOB_TENANT_ID on ACT_RU_JOB(TENANT_ID_);
 create index ACT_IDX_JOBDEF_TENANT_ID on ACT_RU_JOBDEF(TENANT_ID_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
+create index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG(REPORTER_,MILLISECONDS_);
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -484,3 +494,30 @@ create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
 create index ACT_IDX_PROCDEF_VER_TAG ON ACT_RE_PROCDEF(VERSION_TAG_);
+
+create table ACT_RE_PARSE_SNAPSHOT (
+    ID_ NVARCHAR2(64) not null,
+    DEPLOYMENT_ID_ NVARCHAR2(64),
+    RESOURCE_NAME_ NVARCHAR2(255),
+    FINGERPRINT_ NVARCHAR2(64),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create unique index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT(DEPLOYMENT_ID_,RESOURCE_NAME_,FINGERPRINT_);
+
+create table ACT_RU_HISTORY_OUTBOX (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER not null,
+    INSTANCE_ID_ NVARCHAR2(64),
+    CREATE_TIME_ TIMESTAMP(6) not null,
+    EVENT_COUNT_ INTEGER,
+    ATTEMPTS_ INTEGER,
+    FAILED_ NUMBER(1,0) CHECK (FAILED_ IN (1,0)),
+    BYTES_ BLOB,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX(CREATE_TIME_);
+
+create index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY(HASH_);
@@ -0,0 +1,333 @@
+-- history tables ACT_HI_ACTINST, ACT_HI_DETAIL, ACT_HI_OP_LOG and ACT_HI_JOB_LOG are range partitioned
+-- by month, partitions are created and dropped by the process engine
+
+create table ACT_HI_PROCINST (
+    ID_ NVARCHAR2(64) not null,
+    PROC_INST_ID_ NVARCHAR2(64) not null,
+    BUSINESS_KEY_ NVARCHAR2(255),
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    START_TIME_ TIMESTAMP(6) not null,
+    END_TIME_ TIMESTAMP(6),
+    DURATION_ NUMBER(19,0),
+    START_USER_ID_ NVARCHAR2(255),
+    START_ACT_ID_ NVARCHAR2(255),
+    END_ACT_ID_ NVARCHAR2(255),
+    SUPER_PROCESS_INSTANCE_ID_ NVARCHAR2(64),
+    SUPER_CASE_INSTANCE_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    DELETE_REASON_ NVARCHAR2(2000),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_),
+    unique (PROC_INST_ID_)
+);
+
+create table ACT_HI_ACTINST (
+    ID_ NVARCHAR2(64) not null,
+    PARENT_ACT_INST_ID_ NVARCHAR2(64),
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    PROC_INST_ID_ NVARCHAR2(64) not null,
+    EXECUTION_ID_ NVARCHAR2(64) not null,
+    ACT_ID_ NVARCHAR2(255) not null,
+    TASK_ID_ NVARCHAR2(64),
+    CALL_PROC_INST_ID_ NVARCHAR2(64),
+    CALL_CASE_INST_ID_ NVARCHAR2(64),
+    ACT_NAME_ NVARCHAR2(255),
+    ACT_TYPE_ NVARCHAR2(255) not null,
+    ASSIGNEE_ NVARCHAR2(64),
+    START_TIME_ TIMESTAMP(6) not null,
+    END_TIME_ TIMESTAMP(6),
+    DURATION_ NUMBER(19,0),
+    ACT_INST_STATE_ INTEGER,
+    SEQUENCE_COUNTER_ NUMBER(19,0),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+)
+partition by range (START_TIME_) (
+    partition PMAX values less than (MAXVALUE)
+);
+
+create table ACT_HI_TASKINST (
+    ID_ NVARCHAR2(64) not null,
+    TASK_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    EXECUTION_ID_ NVARCHAR2(64),
+    CASE_DEF_KEY_ NVARCHAR2(255),
+    CASE_DEF_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    CASE_EXECUTION_ID_ NVARCHAR2(64),
+    ACT_INST_ID_ NVARCHAR2(64),
+    PARENT_TASK_ID_ NVARCHAR2(64),
+    NAME_ NVARCHAR2(255),
+    DESCRIPTION_ NVARCHAR2(2000),
+    OWNER_ NVARCHAR2(255),
+    ASSIGNEE_ NVARCHAR2(255),
+    START_TIME_ TIMESTAMP(6) not null,
+    END_TIME_ TIMESTAMP(6),
+    DURATION_ NUMBER(19,0),
+    DELETE_REASON_ NVARCHAR2(2000),
+    PRIORITY_ INTEGER,
+    DUE_DATE_ TIMESTAMP(6),
+    FOLLOW_UP_DATE_ TIMESTAMP(6),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+
+create table ACT_HI_VARINST (
+    ID_ NVARCHAR2(64) not null,
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    EXECUTION_ID_ NVARCHAR2(64),
+    ACT_INST_ID_ NVARCHAR2(64),
+    CASE_DEF_KEY_ NVARCHAR2(255),
+    CASE_DEF_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    CASE_EXECUTION_ID_ NVARCHAR2(64),
+    TASK_ID_ NVARCHAR2(64),
+    NAME_ NVARCHAR2(255) not null,
+    VAR_TYPE_ NVARCHAR2(100),
+    REV_ INTEGER,
+    BYTEARRAY_ID_ NVARCHAR2(64),
+    DOUBLE_ NUMBER(*,10),
+    LONG_ NUMBER(19,0),
+    TEXT_ NVARCHAR2(2000),
+    TEXT2_ NVARCHAR2(2000),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+
+create table ACT_HI_DETAIL (
+    ID_ NVARCHAR2(64) not null,
+    TYPE_ NVARCHAR2(255) not null,
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    EXECUTION_ID_ NVARCHAR2(64),
+    CASE_DEF_KEY_ NVARCHAR2(255),
+    CASE_DEF_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    CASE_EXECUTION_ID_ NVARCHAR2(64),
+    TASK_ID_ NVARCHAR2(64),
+    ACT_INST_ID_ NVARCHAR2(64),
+    VAR_INST_ID_ NVARCHAR2(64),
+    NAME_ NVARCHAR2(255) not null,
+    VAR_TYPE_ NVARCHAR2(64),
+    REV_ INTEGER,
+    TIME_ TIMESTAMP(6) not null,
+    BYTEARRAY_ID_ NVARCHAR2(64),
+    DOUBLE_ NUMBER(*,10),
+    LONG_ NUMBER(19,0),
+    TEXT_ NVARCHAR2(2000),
+    TEXT2_ NVARCHAR2(2000),
+    SEQUENCE_COUNTER_ NUMBER(19,0),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+)
+partition by range (TIME_) (
+    partition PMAX values less than (MAXVALUE)
+);
+
+create table ACT_HI_IDENTITYLINK (
+    ID_ NVARCHAR2(64) not null,
+    TIMESTAMP_ TIMESTAMP(6) not null,
+    TYPE_ NVARCHAR2(255),
+    USER_ID_ NVARCHAR2(255),
+    GROUP_ID_ NVARCHAR2(255),
+    TASK_ID_ NVARCHAR2(64),
+    PROC_DEF_ID_ NVARCHAR2(64),
+    OPERATION_TYPE_ NVARCHAR2(64),
+    ASSIGNER_ID_ NVARCHAR2(64),
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+
+create table ACT_HI_COMMENT (
+    ID_ NVARCHAR2(64) not null,
+    TYPE_ NVARCHAR2(255),
+    TIME_ TIMESTAMP(6) not null,
+    USER_ID_ NVARCHAR2(255),
+    TASK_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    ACTION_ NVARCHAR2(255),
+    MESSAGE_ NVARCHAR2(2000),
+    FULL_MSG_ BLOB,
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+
+create table ACT_HI_ATTACHMENT (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER,
+    USER_ID_ NVARCHAR2(255),
+    NAME_ NVARCHAR2(255),
+    DESCRIPTION_ NVARCHAR2(2000),
+    TYPE_ NVARCHAR2(255),
+    TASK_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    URL_ NVARCHAR2(2000),
+    CONTENT_ID_ NVARCHAR2(64),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+
+create table ACT_HI_OP_LOG (
+    ID_ NVARCHAR2(64) not null,
+    DEPLOYMENT_ID_ NVARCHAR2(64),
+    PROC_DEF_ID_ NVARCHAR2(64),
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_INST_ID_ NVARCHAR2(64),
+    EXECUTION_ID_ NVARCHAR2(64),
+    CASE_DEF_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    CASE_EXECUTION_ID_ NVARCHAR2(64),
+    TASK_ID_ NVARCHAR2(64),
+    JOB_ID_ NVARCHAR2(64),
+    JOB_DEF_ID_ NVARCHAR2(64),
+    BATCH_ID_ NVARCHAR2(64),
+    USER_ID_ NVARCHAR2(255),
+    TIMESTAMP_ TIMESTAMP(6) not null,
+    OPERATION_TYPE_ NVARCHAR2(255),
+    OPERATION_ID_ NVARCHAR2(64),
+    ENTITY_TYPE_ NVARCHAR2(30),
+    PROPERTY_ NVARCHAR2(64),
+    ORG_VALUE_ NVARCHAR2(2000),
+    NEW_VALUE_ NVARCHAR2(2000),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+)
+partition by range (TIMESTAMP_) (
+    partition PMAX values less than (MAXVALUE)
+);
+
+create table ACT_HI_INCIDENT (
+  ID_ NVARCHAR2(64) not null,
+  PROC_DEF_KEY_ NVARCHAR2(255),
+  PROC_DEF_ID_ NVARCHAR2(64),
+  PROC_INST_ID_ NVARCHAR2(64),
+  EXECUTION_ID_ NVARCHAR2(64),
+  CREATE_TIME_ TIMESTAMP(6) not null,
+  END_TIME_ TIMESTAMP(6),
+  INCIDENT_MSG_ NVARCHAR2(2000),
+  INCIDENT_TYPE_ NVARCHAR2(255) not null,
+  ACTIVITY_ID_ NVARCHAR2(255),
+  CAUSE_INCIDENT_ID_ NVARCHAR2(64),
+  ROOT_CAUSE_INCIDENT_ID_ NVARCHAR2(64),
+  CONFIGURATION_ NVARCHAR2(255),
+  INCIDENT_STATE_ INTEGER,
+  TENANT_ID_ NVARCHAR2(64),
+  JOB_DEF_ID_ NVARCHAR2(64),
+  primary key (ID_)
+);
+
+create table ACT_HI_JOB_LOG (
+    ID_ NVARCHAR2(64) not null,
+    TIMESTAMP_ TIMESTAMP(6) not null,
+    JOB_ID_ NVARCHAR2(64) not null,
+    JOB_DUEDATE_ TIMESTAMP(6),
+    JOB_RETRIES_ INTEGER,
+    JOB_PRIORITY_ NUMBER(19,0) DEFAULT 0 NOT NULL,
+    JOB_EXCEPTION_MSG_ NVARCHAR2(2000),
+    JOB_EXCEPTION_STACK_ID_ NVARCHAR2(64),
+    JOB_STATE_ INTEGER,
+    JOB_DEF_ID_ NVARCHAR2(64),
+    JOB_DEF_TYPE_ NVARCHAR2(255),
+    JOB_DEF_CONFIGURATION_ NVARCHAR2(255),
+    ACT_ID_ NVARCHAR2(255),
+    EXECUTION_ID_ NVARCHAR2(64),
+    PROCESS_INSTANCE_ID_ NVARCHAR2(64),
+    PROCESS_DEF_ID_ NVARCHAR2(64),
+    PROCESS_DEF_KEY_ NVARCHAR2(255),
+    DEPLOYMENT_ID_ NVARCHAR2(64),
+    SEQUENCE_COUNTER_ NUMBER(19,0),
+    TENANT_ID_ NVARCHAR2(64),
+    primary key (ID_)
+)
+partition by range (TIMESTAMP_) (
+    partition PMAX values less than (MAXVALUE)
+);
+
+create table ACT_HI_BATCH (
+    ID_ NVARCHAR2(64) not null,
+    TYPE_ NVARCHAR2(255),
+    TOTAL_JOBS_ INTEGER,
+    JOBS_PER_SEED_ INTEGER,
+    INVOCATIONS_PER_JOB_ INTEGER,
+    SEED_JOB_DEF_ID_ NVARCHAR2(64),
+    MONITOR_JOB_DEF_ID_ NVARCHAR2(64),
+    BATCH_JOB_DEF_ID_ NVARCHAR2(64),
+    TENANT_ID_  NVARCHAR2(64),
+    START_TIME_ TIMESTAMP(6) NOT NULL,
+    END_TIME_ TIMESTAMP(6),
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST(END_TIME_);
+create index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST(PROC_DEF_ID_,END_TIME_);
+create index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST(BUSINESS_KEY_);
+create index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST(TENANT_ID_);
+
+create index ACT_IDX_HI_ACT_INST_START on ACT_HI_ACTINST(START_TIME_);
+create index ACT_IDX_HI_ACT_INST_END on ACT_HI_ACTINST(END_TIME_);
+create index ACT_IDX_HI_ACT_INST_PROCINST on ACT_HI_ACTINST(PROC_INST_ID_, ACT_ID_);
+create index ACT_IDX_HI_ACT_INST_COMP on ACT_HI_ACTINST(EXECUTION_ID_, ACT_ID_, END_TIME_, ID_);
+create index ACT_IDX_HI_ACT_INST_STATS on ACT_HI_ACTINST(PROC_DEF_ID_, ACT_ID_, END_TIME_, ACT_INST_STATE_);
+create index ACT_IDX_HI_ACT_INST_TENANT_ID on ACT_HI_ACTINST(TENANT_ID_);
+
+create index ACT_IDX_HI_TASK_INST_TENANT_ID on ACT_HI_TASKINST(TENANT_ID_);
+
+create index ACT_IDX_HI_DETAIL_PROC_INST on ACT_HI_DETAIL(PROC_INST_ID_);
+create index ACT_IDX_HI_DETAIL_ACT_INST on ACT_HI_DETAIL(ACT_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_INST on ACT_HI_DETAIL(CASE_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_EXEC on ACT_HI_DETAIL(CASE_EXECUTION_ID_);
+create index ACT_IDX_HI_DETAIL_TIME on ACT_HI_DETAIL(TIME_);
+create index ACT_IDX_HI_DETAIL_NAME on ACT_HI_DETAIL(NAME_);
+create index ACT_IDX_HI_DETAIL_TASK_ID on ACT_HI_DETAIL(TASK_ID_);
+create index ACT_IDX_HI_DETAIL_TENANT_ID on ACT_HI_DETAIL(TENANT_ID_);
+create index ACT_IDX_HI_IDENT_LNK_USER on ACT_HI_IDENTITYLINK(USER_ID_);
+create index ACT_IDX_HI_IDENT_LNK_GROUP on ACT_HI_IDENTITYLINK(GROUP_ID_);
+create index ACT_IDX_HI_IDENT_LNK_TENANT_ID on ACT_HI_IDENTITYLINK(TENANT_ID_);
+create index ACT_IDX_HI_PROCVAR_PROC_INST on ACT_HI_VARINST(PROC_INST_ID_);
+create index ACT_IDX_HI_PROCVAR_NAME_TYPE on ACT_HI_VARINST(NAME_, VAR_TYPE_);
+create index ACT_IDX_HI_CASEVAR_CASE_INST on ACT_HI_VARINST(CASE_INST_ID_);
+create index ACT_IDX_HI_VAR_INST_TENANT_ID on ACT_HI_VARINST(TENANT_ID_);
+
+create index ACT_IDX_HI_INCIDENT_TENANT_ID on ACT_HI_INCIDENT(TENANT_ID_);
+
+create index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG(PROCESS_DEF_ID_);
+create index ACT_IDX_HI_JOB_LOG_TENANT_ID on ACT_HI_JOB_LOG(TENANT_ID_);
+create index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID on ACT_HI_JOB_LOG(JOB_DEF_ID_);
+create index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG(JOB_EXCEPTION_STACK_ID_);
+
+create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
+create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+
+create table ACT_HI_STATISTICS (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER not null,
+    TYPE_ NVARCHAR2(64) not null,
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    ACT_ID_ NVARCHAR2(255) not null,
+    TENANT_ID_ NVARCHAR2(64),
+    PERIOD_YEAR_ INTEGER not null,
+    PERIOD_MONTH_ INTEGER not null,
+    STARTED_ NUMBER(19,0),
+    FINISHED_ NUMBER(19,0),
+    CANCELED_ NUMBER(19,0),
+    COMPLETE_SCOPE_ NUMBER(19,0),
+    DURATION_SUM_ NUMBER(19,0),
+    DURATION_MIN_ NUMBER(19,0),
+    DURATION_MAX_ NUMBER(19,0),
+    DELTA_ NUMBER(1,0) CHECK (DELTA_ IN (1,0)),
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS(PROC_DEF_ID_,TYPE_,ACT_ID_,PERIOD_YEAR_,PERIOD_MONTH_);
+create index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS(PROC_DEF_KEY_,TYPE_);
+create index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS(DELTA_);
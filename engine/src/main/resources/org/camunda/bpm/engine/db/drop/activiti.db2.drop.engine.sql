@@ -110,6 +110,7 @@ drop index ACT_IDX_VARIABLE_PROCINST;
 drop index ACT_IDX_TASK_EXEC;
 drop index ACT_IDX_TASK_PROCINST;
 drop index ACT_IDX_TASK_PROC_DEF_ID;
+drop index ACT_IDX_METER_LOG_REPORT;
 drop index ACT_IDX_METER_LOG;
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
@@ -141,6 +142,8 @@ drop index ACT_IDX_BATCH_JOB_DEF;
 
 drop index ACT_IDX_PROCDEF_VER_TAG;
 
+drop index ACT_IDX_BYTEARRAY_HASH;
+
 drop table ACT_GE_PROPERTY;
 drop table ACT_GE_BYTEARRAY;
 drop table ACT_RE_DEPLOYMENT;
@@ -158,3 +161,9 @@ drop table ACT_RU_FILTER;
 drop table ACT_RU_METER_LOG;
 drop table ACT_RU_EXT_TASK;
 drop table ACT_RU_BATCH;
+
+drop index ACT_IDX_PARSE_SNAPSHOT_DEPL;
+drop table ACT_RE_PARSE_SNAPSHOT;
+
+drop index ACT_IDX_HI_OUTBOX_CREATE;
+drop table ACT_RU_HISTORY_OUTBOX;
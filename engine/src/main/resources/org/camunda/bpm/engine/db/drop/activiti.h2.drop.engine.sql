@@ -103,6 +103,7 @@ drop index ACT_IDX_INC_PROCINSTID;
 drop index ACT_IDX_INC_ROOTCAUSEINCID;
 drop index ACT_IDX_INC_JOB_DEF;
 
+drop index ACT_IDX_METER_LOG_REPORT;
 drop index ACT_IDX_METER_LOG;
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
@@ -134,6 +135,8 @@ drop index ACT_IDX_BATCH_JOB_DEF;
 
 drop index ACT_IDX_PROCDEF_VER_TAG;
 
+drop index ACT_IDX_BYTEARRAY_HASH;
+
 drop table ACT_GE_PROPERTY if exists;
 drop table ACT_GE_BYTEARRAY if exists;
 drop table ACT_RE_DEPLOYMENT if exists;
@@ -152,3 +155,8 @@ drop table ACT_RU_METER_LOG if exists;
 drop table ACT_RU_EXT_TASK if exists;
 drop table ACT_RU_BATCH if exists;
 
+drop index ACT_IDX_PARSE_SNAPSHOT_DEPL;
+drop table ACT_RE_PARSE_SNAPSHOT if exists;
+
+drop index ACT_IDX_HI_OUTBOX_CREATE;
+drop table ACT_RU_HISTORY_OUTBOX if exists;
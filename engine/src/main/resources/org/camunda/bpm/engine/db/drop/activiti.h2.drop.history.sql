@@ -1,4 +1,5 @@
 drop index ACT_IDX_HI_PRO_INST_END;
+drop index ACT_IDX_HI_PRO_INST_DEF_END;
 drop index ACT_IDX_HI_PRO_I_BUSKEY;
 drop index ACT_IDX_HI_PRO_INST_TENANT_ID;
 
@@ -33,6 +34,7 @@ drop index ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF;
 drop index ACT_IDX_HI_JOB_LOG_TENANT_ID;
 drop index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID;
+drop index ACT_IDX_HI_JOB_LOG_EX_STACK;
 
 drop index ACT_IDX_HI_OP_LOG_PROCINST;
 drop index ACT_IDX_HI_OP_LOG_PROCDEF;
@@ -49,3 +51,8 @@ drop table ACT_HI_INCIDENT if exists;
 drop table ACT_HI_JOB_LOG if exists;
 drop table ACT_HI_BATCH if exists;
 drop table ACT_HI_IDENTITYLINK if exists;
+
+drop index ACT_IDX_HI_STATS_PROCDEF;
+drop index ACT_IDX_HI_STATS_PROCDEFKEY;
+drop index ACT_IDX_HI_STATS_DELTA;
+drop table ACT_HI_STATISTICS if exists;
@@ -8,6 +8,7 @@ drop index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOB_PROCINST on ACT_RU_JOB;
 drop index ACT_IDX_AUTH_GROUP_ID on ACT_RU_AUTHORIZATION;
 
+drop index ACT_IDX_METER_LOG_REPORT on ACT_RU_METER_LOG;
 drop index ACT_IDX_METER_LOG on ACT_RU_METER_LOG;
 drop index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK;
 
@@ -125,6 +126,8 @@ drop index ACT_IDX_BATCH_JOB_DEF on ACT_RU_BATCH;
 
 drop index ACT_IDX_PROCDEF_VER_TAG on ACT_RE_PROCDEF;
 
+drop index ACT_IDX_BYTEARRAY_HASH on ACT_GE_BYTEARRAY;
+
 drop table if exists ACT_GE_PROPERTY;
 drop table if exists ACT_RU_VARIABLE;
 drop table if exists ACT_GE_BYTEARRAY;
@@ -142,3 +145,9 @@ drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
 drop table if exists ACT_RU_EXT_TASK;
 drop table if exists ACT_RU_BATCH;
+
+drop index ACT_IDX_PARSE_SNAPSHOT_DEPL on ACT_RE_PARSE_SNAPSHOT;
+drop table if exists ACT_RE_PARSE_SNAPSHOT;
+
+drop index ACT_IDX_HI_OUTBOX_CREATE on ACT_RU_HISTORY_OUTBOX;
+drop table if exists ACT_RU_HISTORY_OUTBOX;
@@ -1,4 +1,5 @@
 drop index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST;
+drop index ACT_IDX_HI_PRO_INST_DEF_END on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST;
 
@@ -33,6 +34,7 @@ drop index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_TENANT_ID on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID on ACT_HI_JOB_LOG;
+drop index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG;
 
 drop index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG;
 drop index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG;
@@ -48,4 +50,9 @@ drop table if exists ACT_HI_OP_LOG;
 drop table if exists ACT_HI_INCIDENT;
 drop table if exists ACT_HI_JOB_LOG;
 drop table if exists ACT_HI_BATCH;
-drop table if exists ACT_HI_IDENTITYLINK;
\ No newline at end of file
+drop table if exists ACT_HI_IDENTITYLINK;
+
+drop index ACT_IDX_HI_STATS_PROCDEF on ACT_HI_STATISTICS;
+drop index ACT_IDX_HI_STATS_PROCDEFKEY on ACT_HI_STATISTICS;
+drop index ACT_IDX_HI_STATS_DELTA on ACT_HI_STATISTICS;
+drop table if exists ACT_HI_STATISTICS;
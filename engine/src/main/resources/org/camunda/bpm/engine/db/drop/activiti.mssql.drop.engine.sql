@@ -12,6 +12,7 @@ drop index ACT_RU_AUTHORIZATION.ACT_UNIQ_AUTH_USER;
 drop index ACT_RU_VARIABLE.ACT_UNIQ_VARIABLE;
 drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_GROUP_ID;
 
+drop index ACT_RU_METER_LOG.ACT_IDX_METER_LOG_REPORT;
 drop index ACT_RU_METER_LOG.ACT_IDX_METER_LOG;
 
 -- indexes for concurrency problems - https://app.camunda.com/jira/browse/CAM-1646 --
@@ -143,6 +144,8 @@ drop index ACT_RU_IDENTITYLINK.ACT_IDX_ATHRZ_PROCEDEF;
 
 drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_VER_TAG;
     
+drop index ACT_GE_BYTEARRAY.ACT_IDX_BYTEARRAY_HASH;
+
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_PROPERTY') drop table ACT_GE_PROPERTY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_BYTEARRAY') drop table ACT_GE_BYTEARRAY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RE_PROCDEF') drop table ACT_RE_PROCDEF;
@@ -160,3 +163,9 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_LOG') drop table ACT_RU_METER_LOG;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK') drop table ACT_RU_EXT_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_BATCH') drop table ACT_RU_BATCH;
+
+drop index ACT_RE_PARSE_SNAPSHOT.ACT_IDX_PARSE_SNAPSHOT_DEPL;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RE_PARSE_SNAPSHOT') drop table ACT_RE_PARSE_SNAPSHOT;
+
+drop index ACT_RU_HISTORY_OUTBOX.ACT_IDX_HI_OUTBOX_CREATE;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_HISTORY_OUTBOX') drop table ACT_RU_HISTORY_OUTBOX;
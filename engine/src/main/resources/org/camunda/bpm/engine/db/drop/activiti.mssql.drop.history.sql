@@ -1,4 +1,5 @@
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_END;
+drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_DEF_END;
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_I_BUSKEY;
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_TENANT_ID;
 
@@ -33,6 +34,7 @@ drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_PROCDEF;
 drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_TENANT_ID;
 drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_JOB_DEF_ID;
+drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_EX_STACK;
 
 drop index ACT_HI_OP_LOG.ACT_IDX_HI_OP_LOG_PROCINST;
 drop index ACT_HI_OP_LOG.ACT_IDX_HI_OP_LOG_PROCDEF;
@@ -48,4 +50,9 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_INCIDENT') drop table ACT_HI_INCIDENT;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_JOB_LOG') drop table ACT_HI_JOB_LOG;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_BATCH') drop table ACT_HI_BATCH;
-if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_IDENTITYLINK') drop table ACT_HI_IDENTITYLINK;
\ No newline at end of file
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_IDENTITYLINK') drop table ACT_HI_IDENTITYLINK;
+
+drop index ACT_HI_STATISTICS.ACT_IDX_HI_STATS_PROCDEF;
+drop index ACT_HI_STATISTICS.ACT_IDX_HI_STATS_PROCDEFKEY;
+drop index ACT_HI_STATISTICS.ACT_IDX_HI_STATS_DELTA;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_STATISTICS') drop table ACT_HI_STATISTICS;
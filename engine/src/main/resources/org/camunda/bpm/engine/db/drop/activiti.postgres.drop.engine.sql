@@ -22,6 +22,7 @@ drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 
+drop index ACT_IDX_METER_LOG_REPORT;
 drop index ACT_IDX_METER_LOG;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 
@@ -149,6 +150,8 @@ drop index ACT_IDX_BATCH_JOB_DEF;
 
 drop index ACT_IDX_PROCDEF_VER_TAG;
 
+drop index ACT_IDX_BYTEARRAY_HASH;
+
 drop table ACT_GE_PROPERTY;
 drop table ACT_GE_BYTEARRAY;
 drop table ACT_RE_DEPLOYMENT;
@@ -167,3 +170,9 @@ drop table ACT_RU_METER_LOG;
 drop table ACT_RU_EXT_TASK;
 drop table ACT_RU_BATCH;
 
+
+drop index ACT_IDX_PARSE_SNAPSHOT_DEPL;
+drop table ACT_RE_PARSE_SNAPSHOT;
+
+drop index ACT_IDX_HI_OUTBOX_CREATE;
+drop table ACT_RU_HISTORY_OUTBOX;
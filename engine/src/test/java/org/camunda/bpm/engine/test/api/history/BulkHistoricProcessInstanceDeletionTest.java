@@ -0,0 +1,204 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.batch.history.HistoricBatch;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.variable.Variables;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+public class BulkHistoricProcessInstanceDeletionTest extends PluggableProcessEngineTestCase {
+
+  protected void tearDown() throws Exception {
+    for (Batch batch : managementService.createBatchQuery().list()) {
+      managementService.deleteBatch(batch.getId(), true);
+    }
+    for (HistoricBatch historicBatch : historyService.createHistoricBatchQuery().list()) {
+      historyService.deleteHistoricBatch(historicBatch.getId());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteHistoricProcessInstances() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+
+    historyService.deleteHistoricProcessInstances(processInstanceIds);
+
+    // the clean db check asserts that the byte arrays are deleted as well
+    assertHistoryDeleted();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteSomeHistoricProcessInstances() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+
+    historyService.deleteHistoricProcessInstances(processInstanceIds.subList(0, 2));
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(processInstanceIds.get(2), historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(1, historyService.createHistoricVariableInstanceQuery().count());
+
+    historyService.deleteHistoricProcessInstance(processInstanceIds.get(2));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteRunningProcessInstanceFails() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(1);
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    try {
+      historyService.deleteHistoricProcessInstances(Arrays.asList(processInstanceIds.get(0), runningProcessInstanceId));
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      assertTextPresent("Process instance is still running", e.getMessage());
+    }
+
+    // nothing is deleted
+    assertEquals(2, historyService.createHistoricProcessInstanceQuery().count());
+
+    runtimeService.deleteProcessInstance(runningProcessInstanceId, null);
+    historyService.deleteHistoricProcessInstances(Arrays.asList(processInstanceIds.get(0), runningProcessInstanceId));
+  }
+
+  public void testDeleteUnknownProcessInstanceFails() {
+    try {
+      historyService.deleteHistoricProcessInstances(Arrays.asList("unknown"));
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      assertTextPresent("No historic process instance found with id: unknown", e.getMessage());
+    }
+  }
+
+  public void testDeleteEmptyListFails() {
+    try {
+      historyService.deleteHistoricProcessInstances(Collections.<String>emptyList());
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      // expected
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteHistoricProcessInstancesAsync() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+
+    Batch batch = historyService.deleteHistoricProcessInstancesAsync(processInstanceIds);
+
+    assertEquals(Batch.TYPE_HISTORIC_PROCESS_INSTANCE_DELETION, batch.getType());
+    assertEquals(3, batch.getTotalJobs());
+    // nothing is deleted before the batch jobs are executed
+    assertEquals(3, historyService.createHistoricProcessInstanceQuery().count());
+
+    executeJobs(batch.getSeedJobDefinitionId());
+    executeJobs(batch.getBatchJobDefinitionId());
+
+    assertHistoryDeleted();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testBatchJobSkipsDeletedProcessInstances() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+    int invocationsPerBatchJob = processEngineConfiguration.getInvocationsPerBatchJob();
+    processEngineConfiguration.setInvocationsPerBatchJob(3);
+
+    try {
+      Batch batch = historyService.deleteHistoricProcessInstancesAsync(processInstanceIds);
+      executeJobs(batch.getSeedJobDefinitionId());
+
+      // deleted before the batch job is executed
+      historyService.deleteHistoricProcessInstance(processInstanceIds.get(1));
+
+      Job batchJob = managementService.createJobQuery().jobDefinitionId(batch.getBatchJobDefinitionId()).singleResult();
+      managementService.executeJob(batchJob.getId());
+
+      assertHistoryDeleted();
+    }
+    finally {
+      processEngineConfiguration.setInvocationsPerBatchJob(invocationsPerBatchJob);
+    }
+  }
+
+  public void testDeleteUnknownProcessInstanceAsyncFails() {
+    try {
+      historyService.deleteHistoricProcessInstancesAsync(Arrays.asList("unknown"));
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      assertTextPresent("No historic process instance found with id: unknown", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteRunningProcessInstanceAsyncFails() {
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    try {
+      historyService.deleteHistoricProcessInstancesAsync(Arrays.asList(runningProcessInstanceId));
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      assertTextPresent("Process instance is still running", e.getMessage());
+    }
+
+    assertEquals(0, managementService.createBatchQuery().count());
+  }
+
+  protected List<String> startAndCompleteProcessInstances(int count) {
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < count; i++) {
+      String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+          Variables.createVariables().putValue("bytes", "some bytes".getBytes())).getId();
+
+      Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+      taskService.createComment(task.getId(), processInstanceId, "a comment");
+      taskService.createAttachment("text", task.getId(), processInstanceId, "attachment", "an attachment",
+          new ByteArrayInputStream("some content".getBytes()));
+      taskService.complete(task.getId());
+
+      processInstanceIds.add(processInstanceId);
+    }
+    return processInstanceIds;
+  }
+
+  protected void executeJobs(String jobDefinitionId) {
+    for (Job job : managementService.createJobQuery().jobDefinitionId(jobDefinitionId).list()) {
+      managementService.executeJob(job.getId());
+    }
+  }
+
+  protected void assertHistoryDeleted() {
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+  }
+
+}
@@ -14,7 +14,9 @@ package org.camunda.bpm.engine.test.api.mgmt.metrics;
 
 import java.util.Collection;
 
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 
 /**
@@ -36,6 +38,14 @@ public abstract class AbstractMetricsTest extends PluggableProcessEngineTestCase
     for (Meter meter : meters) {
       meter.getAndClear();
     }
+    Collection<Histogram> histograms = processEngineConfiguration.getMetricsRegistry().getHistograms().values();
+    for (Histogram histogram : histograms) {
+      histogram.getAndClearBucketCounts();
+    }
+    Collection<TaggedMeter> taggedMeters = processEngineConfiguration.getMetricsRegistry().getTaggedMeters().values();
+    for (TaggedMeter taggedMeter : taggedMeters) {
+      taggedMeter.getAndClear();
+    }
     managementService.deleteMetrics(null);
   }
 }
@@ -0,0 +1,189 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEvent;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventRecorder;
+import org.camunda.bpm.engine.impl.metrics.event.EngineEventType;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class EngineEventRecorderTest extends PluggableProcessEngineTestCase {
+
+  protected EngineEventRecorder engineEventRecorder;
+  protected TestEngineEventRecorder testRecorder;
+
+  protected void setUp() throws Exception {
+    engineEventRecorder = processEngineConfiguration.getEngineEventRecorder();
+
+    testRecorder = new TestEngineEventRecorder();
+    processEngineConfiguration.setEngineEventRecorder(testRecorder);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setEngineEventRecorder(engineEventRecorder);
+  }
+
+  public void testRecordEvents() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .scriptTask("script")
+        .scriptFormat("groovy")
+        .scriptText("1 + 1")
+      .serviceTask("service")
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .endEvent()
+    .done());
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    testRecorder.clear();
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    // then
+    TestEngineEvent command = testRecorder.getEvent(EngineEventType.COMMAND, "StartProcessInstanceCmd");
+    assertNotNull(command);
+    assertTrue(command.committed);
+
+    TestEngineEvent script = testRecorder.getEvent(EngineEventType.SCRIPT_EVALUATION, "groovy");
+    assertNotNull(script);
+    assertEquals(processDefinition.getId(), script.processDefinitionId);
+    assertEquals("script", script.activityId);
+
+    TestEngineEvent atomicOperation = testRecorder.getEvent(EngineEventType.ATOMIC_OPERATION, "activity-execute");
+    assertNotNull(atomicOperation);
+    assertEquals(processDefinition.getId(), atomicOperation.processDefinitionId);
+
+    assertNotNull(testRecorder.getEvent(EngineEventType.FLUSH, null));
+
+    // when
+    testRecorder.clear();
+    executeAvailableJobs();
+
+    // then
+    TestEngineEvent job = testRecorder.getEvent(EngineEventType.JOB_EXECUTION, AsyncContinuationJobHandler.TYPE);
+    assertNotNull(job);
+    assertEquals(processDefinition.getId(), job.processDefinitionId);
+    assertEquals("service", job.activityId);
+
+    TestEngineEvent expression = testRecorder.getEvent(EngineEventType.EXPRESSION_EVALUATION, "${true}");
+    assertNotNull(expression);
+    assertEquals("service", expression.activityId);
+
+    // all events are committed
+    for (TestEngineEvent event : testRecorder.getEvents()) {
+      assertTrue(event.committed);
+    }
+  }
+
+  public void testFlushEventCommittedOnFailedFlush() {
+    User user = identityService.newUser("kermit");
+    identityService.saveUser(user);
+    testRecorder.clear();
+
+    try {
+      // when the flush fails because a user with the same id exists
+      identityService.saveUser(identityService.newUser("kermit"));
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+    finally {
+      identityService.deleteUser("kermit");
+    }
+
+    // then the flush event is committed anyway
+    TestEngineEvent flush = testRecorder.getEvent(EngineEventType.FLUSH, null);
+    assertNotNull(flush);
+    assertTrue(flush.committed);
+  }
+
+  public void testNoEventsWithoutRecorder() {
+    processEngineConfiguration.setEngineEventRecorder(null);
+
+    // the engine works without recorder
+    managementService.createJobQuery().list();
+
+    assertTrue(testRecorder.getEvents().isEmpty());
+  }
+
+  public static class TestEngineEventRecorder implements EngineEventRecorder {
+
+    protected List<TestEngineEvent> events = Collections.synchronizedList(new ArrayList<TestEngineEvent>());
+
+    public EngineEvent begin(EngineEventType type) {
+      TestEngineEvent event = new TestEngineEvent(type);
+      events.add(event);
+      return event;
+    }
+
+    public TestEngineEvent getEvent(EngineEventType type, String name) {
+      for (TestEngineEvent event : getEvents()) {
+        if (event.type == type && (name == null || name.equals(event.name))) {
+          return event;
+        }
+      }
+      return null;
+    }
+
+    public List<TestEngineEvent> getEvents() {
+      synchronized (events) {
+        return new ArrayList<TestEngineEvent>(events);
+      }
+    }
+
+    public void clear() {
+      events.clear();
+    }
+  }
+
+  public static class TestEngineEvent implements EngineEvent {
+
+    protected EngineEventType type;
+    protected String name;
+    protected String processDefinitionId;
+    protected String activityId;
+    protected boolean committed = false;
+
+    public TestEngineEvent(EngineEventType type) {
+      this.type = type;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setProcessDefinitionId(String processDefinitionId) {
+      this.processDefinitionId = processDefinitionId;
+    }
+
+    public void setActivityId(String activityId) {
+      this.activityId = activityId;
+    }
+
+    public void commit() {
+      committed = true;
+    }
+  }
+
+}
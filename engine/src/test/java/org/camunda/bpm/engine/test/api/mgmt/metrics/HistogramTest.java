@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SortedMap;
+
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testExactValues() {
+    for (long value = 0; value < 32; value++) {
+      assertEquals(value, Histogram.bucketUpperBound(Histogram.bucketIndex(value)));
+    }
+  }
+
+  @Test
+  public void testBucketBounds() {
+    long previousUpperBound = -1;
+    for (int i = 0; i < Histogram.BUCKETS; i++) {
+      long upperBound = Histogram.bucketUpperBound(i);
+      assertTrue(upperBound > previousUpperBound);
+
+      // the first and the last value of a bucket are counted in it
+      assertEquals(i, Histogram.bucketIndex(previousUpperBound + 1));
+      assertEquals(i, Histogram.bucketIndex(upperBound));
+
+      // the relative error is at most 1/16
+      assertTrue(upperBound - previousUpperBound - 1 <= (previousUpperBound + 1) / 16);
+
+      previousUpperBound = upperBound;
+    }
+  }
+
+  @Test
+  public void testLargeValuesInLastBucket() {
+    assertEquals(Histogram.BUCKETS - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testPercentiles() {
+    Histogram histogram = new Histogram("test");
+    for (long value = 1; value <= 1000; value++) {
+      histogram.recordValue(value);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1, histogram.getValueAtPercentile(0.1));
+    assertEquals(511, histogram.getValueAtPercentile(50));
+    assertEquals(991, histogram.getValueAtPercentile(99));
+    assertEquals(1023, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testEmptyHistogram() {
+    Histogram histogram = new Histogram("test");
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+  }
+
+  @Test
+  public void testGetAndClearBucketCounts() {
+    Histogram histogram = new Histogram("test");
+    histogram.recordValue(5);
+    histogram.recordValue(5);
+    histogram.recordValue(100);
+
+    SortedMap<Long, Long> bucketCounts = histogram.getAndClearBucketCounts();
+
+    assertEquals(2, bucketCounts.size());
+    assertEquals(Long.valueOf(2), bucketCounts.get(5L));
+    assertEquals(Long.valueOf(1), bucketCounts.get(103L));
+    assertEquals(0, histogram.getCount());
+  }
+
+  @Test
+  public void testTotalBucketCountsSurviveClear() {
+    Histogram histogram = new Histogram("test");
+    histogram.recordValue(5);
+    histogram.getAndClearBucketCounts();
+    histogram.recordValue(5);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(2, histogram.getTotalCount());
+    assertEquals(Long.valueOf(2), histogram.getTotalBucketCounts().get(5L));
+  }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class LatencyMetricsTest extends AbstractMetricsTest {
+
+  protected static final String TEST_HISTOGRAM = "test-duration";
+
+  protected Histogram histogram;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    histogram = processEngineConfiguration.getMetricsRegistry().createHistogram(TEST_HISTOGRAM);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getMetricsRegistry().getHistograms().remove(TEST_HISTOGRAM);
+    super.tearDown();
+  }
+
+  public void testPercentileOfUnloggedValues() {
+    for (long value = 1; value <= 1000; value++) {
+      histogram.recordValue(value);
+    }
+
+    assertEquals(1000l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).sum());
+    assertEquals(511l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(50));
+    assertEquals(1023l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(100));
+  }
+
+  public void testPercentileOfLoggedValues() {
+    for (long value = 1; value <= 500; value++) {
+      histogram.recordValue(value);
+    }
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    for (long value = 501; value <= 1000; value++) {
+      histogram.recordValue(value);
+    }
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(1000l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).sum());
+    assertEquals(511l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(50));
+    assertEquals(991l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(99));
+  }
+
+  public void testPercentileWithoutValues() {
+    assertEquals(0l, managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(50));
+  }
+
+  public void testSumWithoutNameIgnoresHistograms() {
+    histogram.recordValue(10);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    assertEquals(0l, managementService.createMetricsQuery().sum());
+  }
+
+  public void testInvalidPercentile() {
+    try {
+      managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(0);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("percentile", e.getMessage());
+    }
+
+    try {
+      managementService.createMetricsQuery().name(TEST_HISTOGRAM).percentile(100.1);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("percentile", e.getMessage());
+    }
+  }
+
+  public void testCommandAndFlushDurations() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .manualTask()
+      .endEvent()
+    .done());
+
+    Histogram commandDuration = processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.COMMAND_DURATION);
+    Histogram flushDuration = processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.DB_FLUSH_DURATION);
+    long commandCount = commandDuration.getCount();
+    long flushCount = flushDuration.getCount();
+
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    assertEquals(commandCount + 1, commandDuration.getCount());
+    assertEquals(flushCount + 1, flushDuration.getCount());
+  }
+
+}
@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.junit.Test;
+
+public class MeterTest {
+
+  @Test
+  public void testMarkAndClear() {
+    Meter meter = new Meter("test");
+
+    meter.mark();
+    meter.markTimes(4);
+
+    assertEquals(5, meter.get());
+    assertEquals(5, meter.getAndClear());
+    assertEquals(0, meter.get());
+  }
+
+  @Test
+  public void testTotalSurvivesClear() {
+    Meter meter = new Meter("test");
+
+    meter.markTimes(3);
+    meter.getAndClear();
+    meter.mark();
+
+    assertEquals(1, meter.get());
+    assertEquals(4, meter.getTotal());
+  }
+
+  @Test
+  public void testConcurrentMarks() throws Exception {
+    final Meter meter = new Meter("test");
+    final int marksPerThread = 10000;
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 16; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < marksPerThread; j++) {
+            meter.mark();
+          }
+        }
+      };
+      threads.add(thread);
+      thread.start();
+    }
+
+    long cleared = 0;
+    for (Thread thread : threads) {
+      thread.join();
+      cleared += meter.getAndClear();
+    }
+
+    assertEquals(16 * marksPerThread, cleared + meter.get());
+  }
+
+}
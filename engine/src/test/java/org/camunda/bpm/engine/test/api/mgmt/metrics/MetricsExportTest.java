@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsExporter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.MetricsSnapshot;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class MetricsExportTest extends AbstractMetricsTest {
+
+  protected MetricsRegistry metricsRegistry;
+  protected List<MetricsExporter> exporters = new ArrayList<MetricsExporter>();
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+  }
+
+  protected void tearDown() throws Exception {
+    for (MetricsExporter exporter : exporters) {
+      metricsRegistry.removeExporter(exporter);
+    }
+    super.tearDown();
+  }
+
+  public void testSnapshotCountsSinceEngineStart() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .endEvent()
+    .done());
+
+    long countBefore = metricsRegistry.snapshot().getCounters().get(Metrics.ACTIVTY_INSTANCE_START);
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then the counts are not reset by the db metrics reporter
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+    assertEquals(countBefore + 2, (long) snapshot.getCounters().get(Metrics.ACTIVTY_INSTANCE_START));
+    assertTrue(snapshot.getHistogramCount(Metrics.COMMAND_DURATION) > 0);
+  }
+
+  public void testDefaultGauges() {
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+
+    // the engine uses a pooled data source created from the jdbc properties
+    assertTrue(snapshot.getGauges().containsKey(Metrics.DB_POOL_ACTIVE_CONNECTIONS));
+    assertTrue(snapshot.getGauges().containsKey(Metrics.DB_POOL_IDLE_CONNECTIONS));
+
+    assertNotNull(metricsRegistry.getGaugeByName(Metrics.JOB_EXECUTOR_ACTIVE_THREADS));
+    assertNotNull(metricsRegistry.getGaugeByName(Metrics.JOB_ACQUISITION_WAIT_TIME));
+  }
+
+  public void testExportMetrics() {
+    RecordingExporter exporter = new RecordingExporter();
+    addExporter(exporter);
+
+    // when
+    metricsRegistry.exportMetrics();
+
+    // then
+    assertEquals(1, exporter.snapshots.size());
+    assertTrue(exporter.snapshots.get(0).getCounters().containsKey(Metrics.ACTIVTY_INSTANCE_START));
+  }
+
+  public void testFailingExporter() {
+    addExporter(new MetricsExporter() {
+      public void export(MetricsSnapshot snapshot) {
+        throw new RuntimeException("expected exception");
+      }
+    });
+    RecordingExporter exporter = new RecordingExporter();
+    addExporter(exporter);
+
+    // when
+    metricsRegistry.exportMetrics();
+
+    // then the remaining exporters are invoked
+    assertEquals(1, exporter.snapshots.size());
+  }
+
+  protected void addExporter(MetricsExporter exporter) {
+    exporters.add(exporter);
+    metricsRegistry.addExporter(exporter);
+  }
+
+  protected static class RecordingExporter implements MetricsExporter {
+
+    protected List<MetricsSnapshot> snapshots = new ArrayList<MetricsSnapshot>();
+
+    public void export(MetricsSnapshot snapshot) {
+      snapshots.add(snapshot);
+    }
+  }
+
+}
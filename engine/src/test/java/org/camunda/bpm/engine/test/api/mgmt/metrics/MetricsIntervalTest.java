@@ -0,0 +1,186 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.metrics.reporter.MeterLogRollupTask;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.management.Metrics;
+
+public class MetricsIntervalTest extends AbstractMetricsTest {
+
+  /** 2016-01-01T00:00:00Z */
+  protected static final long START = 1451606400000L;
+  protected static final long MINUTE = 60 * 1000;
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
+  public void testInterval() {
+    // given
+    report(START, 3);
+    report(START + 5 * MINUTE, 4);
+    report(START + 20 * MINUTE, 5);
+
+    // when
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .interval(15 * 60);
+
+    // then the latest interval is returned first
+    assertEquals(2, values.size());
+    assertInterval(values.get(0), START + 15 * MINUTE, 5);
+    assertInterval(values.get(1), START, 7);
+    assertNull(values.get(0).getReporter());
+  }
+
+  public void testDefaultInterval() {
+    // given
+    report(START, 3);
+    report(START + 14 * MINUTE, 4);
+
+    // when
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .interval();
+
+    // then
+    assertEquals(1, values.size());
+    assertInterval(values.get(0), START, 7);
+  }
+
+  public void testIntervalWithReporter() {
+    // given
+    report(START, 3);
+
+    // when
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .reporter(getReporter())
+        .interval(60);
+
+    // then
+    assertEquals(1, values.size());
+    assertEquals(getReporter(), values.get(0).getReporter());
+  }
+
+  public void testIntervalLimitAndOffset() {
+    // given
+    report(START, 1);
+    report(START + MINUTE, 2);
+    report(START + 2 * MINUTE, 3);
+
+    // when
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .offset(1)
+        .limit(1)
+        .interval(60);
+
+    // then
+    assertEquals(1, values.size());
+    assertInterval(values.get(0), START + MINUTE, 2);
+  }
+
+  public void testIntervalByName() {
+    // given
+    report(START, 3);
+
+    // when
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .interval(60);
+
+    // then there is one value per meter
+    assertEquals(processEngineConfiguration.getMetricsRegistry().getMeters().size(), values.size());
+  }
+
+  public void testInvalidInterval() {
+    try {
+      managementService.createMetricsQuery().interval(0);
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTextPresent("interval must be greater than 0", e.getMessage());
+    }
+  }
+
+  public void testRollup() {
+    // given
+    report(START + MINUTE, 3);
+    report(START + 30 * MINUTE, 4);
+    report(START + 61 * MINUTE, 5);
+
+    // when the logs older than one hour are rolled up into intervals of one hour
+    ClockUtil.setCurrentTime(new Date(START + 2 * 60 * MINUTE + 30 * MINUTE));
+    createRollupTask().run();
+
+    // then the logs of the first hour are rolled up
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .interval(60);
+    assertEquals(2, values.size());
+    assertInterval(values.get(0), START + 61 * MINUTE, 5);
+    assertInterval(values.get(1), START, 7);
+
+    // and the sum is unchanged
+    assertEquals(12, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .sum());
+  }
+
+  public void testRollupTwice() {
+    // given
+    report(START + MINUTE, 3);
+    ClockUtil.setCurrentTime(new Date(START + 2 * 60 * MINUTE));
+    createRollupTask().run();
+
+    // when the rolled up logs are rolled up again
+    createRollupTask().run();
+
+    // then they are unchanged
+    List<MetricIntervalValue> values = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .interval(60);
+    assertEquals(1, values.size());
+    assertInterval(values.get(0), START, 3);
+  }
+
+  protected void report(long timestamp, long activityInstanceStarts) {
+    ClockUtil.setCurrentTime(new Date(timestamp));
+    processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.ACTIVTY_INSTANCE_START, activityInstanceStarts);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+  }
+
+  protected MeterLogRollupTask createRollupTask() {
+    MeterLogRollupTask rollupTask = new MeterLogRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 60 * 60, 60 * 60);
+    rollupTask.setReporter(getReporter());
+    return rollupTask;
+  }
+
+  protected String getReporter() {
+    return processEngineConfiguration.getDbMetricsReporter().getMetricsCollectionTask().getReporter();
+  }
+
+  protected void assertInterval(MetricIntervalValue value, long timestamp, long sum) {
+    assertEquals(Metrics.ACTIVTY_INSTANCE_START, value.getName());
+    assertEquals(new Date(timestamp), value.getTimestamp());
+    assertEquals(sum, value.getValue());
+  }
+
+}
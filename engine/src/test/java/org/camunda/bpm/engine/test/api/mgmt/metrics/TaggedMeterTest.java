@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+
+public class TaggedMeterTest {
+
+  @Test
+  public void testMarkAndClear() {
+    TaggedMeter taggedMeter = new TaggedMeter("test", 10);
+
+    taggedMeter.mark("a");
+    taggedMeter.markTimes("b", 3);
+    taggedMeter.mark("a");
+
+    assertEquals(2, taggedMeter.get("a"));
+    assertEquals(3, taggedMeter.get("b"));
+    assertEquals(0, taggedMeter.get("c"));
+
+    Map<String, Long> counts = taggedMeter.getAndClear();
+    assertEquals(2, counts.size());
+    assertEquals(Long.valueOf(2), counts.get("a"));
+    assertEquals(Long.valueOf(3), counts.get("b"));
+
+    // cleared tags are not reported again
+    assertTrue(taggedMeter.getAndClear().isEmpty());
+  }
+
+  @Test
+  public void testOverflow() {
+    TaggedMeter taggedMeter = new TaggedMeter("test", 2);
+
+    taggedMeter.mark("a");
+    taggedMeter.mark("b");
+    taggedMeter.mark("c");
+    taggedMeter.mark("d");
+    taggedMeter.mark("a");
+
+    Map<String, Long> counts = taggedMeter.getAndClear();
+    assertEquals(3, counts.size());
+    assertEquals(Long.valueOf(2), counts.get("a"));
+    assertEquals(Long.valueOf(1), counts.get("b"));
+    assertEquals(Long.valueOf(2), counts.get(Metrics.TAG_OVERFLOW));
+  }
+
+  @Test
+  public void testTag() {
+    assertEquals("processDefinitionKey=invoice,tenantId=tenant1",
+        TaggedMeter.tag(Metrics.TAG_PROCESS_DEFINITION_KEY, "invoice",
+            Metrics.TAG_ACTIVITY_TYPE, null,
+            Metrics.TAG_TENANT_ID, "tenant1"));
+
+    assertEquals("", TaggedMeter.tag(Metrics.TAG_TENANT_ID, null));
+  }
+
+  @Test
+  public void testTagIsTruncated() {
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      key.append('k');
+    }
+
+    String tag = TaggedMeter.tag(Metrics.TAG_PROCESS_DEFINITION_KEY, key.toString());
+    assertEquals(TaggedMeter.MAX_TAG_LENGTH, tag.length());
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.metrics.TaggedMeter;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+/**
+ * The tagged meters are only created if metrics tagging is enabled (see xml configuration
+ * referenced in constructor).
+ */
+public class TaggedMetricsTest extends ResourceProcessEngineTestCase {
+
+  protected static final String USER_TASK_TAG = TaggedMeter.tag(
+      Metrics.TAG_PROCESS_DEFINITION_KEY, "testProcess",
+      Metrics.TAG_ACTIVITY_TYPE, "userTask");
+
+  public TaggedMetricsTest() {
+    super("org/camunda/bpm/engine/test/api/mgmt/metrics/taggedMetricsTest.cfg.xml");
+  }
+
+  protected void tearDown() throws Exception {
+    managementService.deleteMetrics(null);
+  }
+
+  public void testActivityInstanceStartByTag() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .userTask()
+      .endEvent()
+    .done());
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    // then the unlogged counts are tagged
+    Map<String, Long> sums = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .sumByTag();
+    assertEquals(2, sums.size());
+    assertEquals(Long.valueOf(2), sums.get(USER_TASK_TAG));
+
+    // and the logged counts as well
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    sums = managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .sumByTag();
+    assertEquals(Long.valueOf(2), sums.get(USER_TASK_TAG));
+
+    assertEquals(2l, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .tag(USER_TASK_TAG)
+        .sum());
+
+    // the untagged sum is not affected by the tags
+    assertEquals(4l, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .sum());
+    assertEquals(4l, managementService.createMetricsQuery()
+        .sum());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void testJobSuccessfulByTag() {
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+
+    // when
+    executeAvailableJobs();
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    String tag = TaggedMeter.tag(
+        Metrics.TAG_PROCESS_DEFINITION_KEY, "asyncServiceTaskProcess",
+        Metrics.TAG_JOB_TYPE, AsyncContinuationJobHandler.TYPE);
+
+    Map<String, Long> sums = managementService.createMetricsQuery()
+        .name(Metrics.JOB_SUCCESSFUL)
+        .sumByTag();
+    assertEquals(1, sums.size());
+    assertEquals(Long.valueOf(1), sums.get(tag));
+  }
+
+  public void testSumByTagRequiresName() {
+    try {
+      managementService.createMetricsQuery().sumByTag();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("name", e.getMessage());
+    }
+  }
+
+}
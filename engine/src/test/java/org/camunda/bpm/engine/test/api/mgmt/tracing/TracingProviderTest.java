@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.tracing.NoopTracingProvider;
+import org.camunda.bpm.engine.impl.tracing.Tracing;
+import org.camunda.bpm.engine.impl.tracing.TracingProvider;
+import org.camunda.bpm.engine.impl.tracing.TracingSpan;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class TracingProviderTest extends PluggableProcessEngineTestCase {
+
+  protected TracingProvider tracingProvider;
+  protected TestTracingProvider testProvider;
+
+  protected void setUp() throws Exception {
+    tracingProvider = processEngineConfiguration.getTracingProvider();
+
+    testProvider = new TestTracingProvider();
+    processEngineConfiguration.setTracingProvider(testProvider);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setTracingProvider(tracingProvider);
+  }
+
+  public void testDefaultTracingProvider() {
+    assertTrue(tracingProvider instanceof NoopTracingProvider);
+  }
+
+  public void testSpanPerCommandAndActivity() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .serviceTask("service")
+        .camundaExpression("${true}")
+      .endEvent()
+    .done());
+    testProvider.clear();
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("testProcess").getId();
+
+    // then
+    TestTracingSpan command = testProvider.getSpan("StartProcessInstanceCmd");
+    assertNotNull(command);
+    assertTrue(command.ended);
+
+    TestTracingSpan activity = testProvider.getSpan("activity service");
+    assertNotNull(activity);
+    assertEquals(command.traceId, activity.traceId);
+    assertEquals("service", activity.attributes.get(Tracing.ATTRIBUTE_ACTIVITY_ID));
+    assertEquals(processInstanceId, activity.attributes.get(Tracing.ATTRIBUTE_PROCESS_INSTANCE_ID));
+
+    // all spans are ended
+    for (TestTracingSpan span : testProvider.spans) {
+      assertTrue(span.name, span.ended);
+    }
+  }
+
+  public void testPropagateContextToJob() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .serviceTask("service")
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .endEvent()
+    .done());
+    testProvider.clear();
+
+    runtimeService.startProcessInstanceByKey("testProcess");
+    TestTracingSpan command = testProvider.getSpan("StartProcessInstanceCmd");
+
+    // then the trace context is stored with the job
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertNotNull(job.getTraceContext());
+    assertEquals(command.traceId, TestTracingSpan.getTraceId(job.getTraceContext()));
+
+    // when
+    testProvider.clear();
+    executeAvailableJobs();
+
+    // then the trace is continued by the job
+    TestTracingSpan jobSpan = testProvider.getSpan("job " + AsyncContinuationJobHandler.TYPE);
+    assertNotNull(jobSpan);
+    assertEquals(job.getTraceContext(), jobSpan.parentContext);
+    assertEquals(command.traceId, jobSpan.traceId);
+    assertEquals(job.getId(), jobSpan.attributes.get(Tracing.ATTRIBUTE_JOB_ID));
+
+    TestTracingSpan activity = testProvider.getSpan("activity service");
+    assertNotNull(activity);
+    assertEquals(command.traceId, activity.traceId);
+  }
+
+  public void testPropagateContextToExternalTask() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .serviceTask("externalTask")
+        .camundaType("external")
+        .camundaTopic("aTopic")
+      .endEvent()
+    .done());
+    testProvider.clear();
+
+    runtimeService.startProcessInstanceByKey("testProcess");
+    TestTracingSpan command = testProvider.getSpan("StartProcessInstanceCmd");
+
+    // when
+    testProvider.clear();
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, "aWorker")
+      .topic("aTopic", 1000L)
+      .execute();
+
+    // then the worker can continue the trace
+    assertEquals(1, tasks.size());
+    LockedExternalTask task = tasks.get(0);
+    assertNotNull(task.getTraceContext());
+    assertEquals(command.traceId, TestTracingSpan.getTraceId(task.getTraceContext()));
+
+    TestTracingSpan fetchSpan = testProvider.getSpan("external task aTopic");
+    assertNotNull(fetchSpan);
+    assertEquals(task.getTraceContext(), fetchSpan.parentContext);
+    assertEquals(task.getId(), fetchSpan.attributes.get(Tracing.ATTRIBUTE_EXTERNAL_TASK_ID));
+  }
+
+  /**
+   * Serializes the context as <code>traceId:spanId</code>.
+   */
+  public static class TestTracingProvider implements TracingProvider {
+
+    protected List<TestTracingSpan> spans = Collections.synchronizedList(new ArrayList<TestTracingSpan>());
+    protected ThreadLocal<LinkedList<TestTracingSpan>> currentSpans = new ThreadLocal<LinkedList<TestTracingSpan>>() {
+      protected LinkedList<TestTracingSpan> initialValue() {
+        return new LinkedList<TestTracingSpan>();
+      }
+    };
+
+    public String getCurrentContext() {
+      TestTracingSpan currentSpan = currentSpans.get().peek();
+      return currentSpan != null ? currentSpan.getContext() : null;
+    }
+
+    public TracingSpan startSpan(String name, String parentContext) {
+      if (parentContext == null) {
+        parentContext = getCurrentContext();
+      }
+      TestTracingSpan span = new TestTracingSpan(this, name, parentContext, spans.size());
+      spans.add(span);
+      currentSpans.get().push(span);
+      return span;
+    }
+
+    protected void end(TestTracingSpan span) {
+      currentSpans.get().remove(span);
+    }
+
+    public TestTracingSpan getSpan(String name) {
+      synchronized (spans) {
+        for (TestTracingSpan span : spans) {
+          if (span.name.equals(name)) {
+            return span;
+          }
+        }
+      }
+      return null;
+    }
+
+    public void clear() {
+      spans.clear();
+    }
+  }
+
+  public static class TestTracingSpan implements TracingSpan {
+
+    protected TestTracingProvider provider;
+    protected String name;
+    protected String parentContext;
+    protected String traceId;
+    protected String spanId;
+    protected Map<String, String> attributes = new HashMap<String, String>();
+    protected Throwable exception;
+    protected boolean ended;
+
+    public TestTracingSpan(TestTracingProvider provider, String name, String parentContext, int index) {
+      this.provider = provider;
+      this.name = name;
+      this.parentContext = parentContext;
+      this.spanId = "span" + index + "-" + System.identityHashCode(this);
+      this.traceId = parentContext != null ? getTraceId(parentContext) : "trace-" + spanId;
+    }
+
+    public static String getTraceId(String context) {
+      return context.substring(0, context.indexOf(':'));
+    }
+
+    public String getContext() {
+      return traceId + ":" + spanId;
+    }
+
+    public void setAttribute(String key, String value) {
+      attributes.put(key, value);
+    }
+
+    public void recordException(Throwable exception) {
+      this.exception = exception;
+    }
+
+    public void end() {
+      ended = true;
+      provider.end(this);
+    }
+  }
+
+}
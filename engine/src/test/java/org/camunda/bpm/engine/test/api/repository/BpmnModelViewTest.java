@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.BpmnModelView;
+import org.camunda.bpm.engine.repository.ModelElementView;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class BpmnModelViewTest extends PluggableProcessEngineTestCase {
+
+  private final static String PROCESS_KEY = "one";
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/repository/one.bpmn20.xml")
+  public void testRepositoryService() {
+    String processDefinitionId = getProcessDefinitionId();
+
+    BpmnModelView modelView = repositoryService.getBpmnModelView(processDefinitionId);
+    assertNotNull(modelView);
+
+    ModelElementView definitions = modelView.getDefinitions();
+    assertEquals("definitions", definitions.getTypeName());
+    assertEquals(BpmnParser.BPMN20_NS, definitions.getNamespaceUri());
+    assertEquals("Examples", definitions.getAttributeValue("targetNamespace"));
+    assertNull(definitions.getParentElement());
+
+    ModelElementView process = modelView.getElementById(PROCESS_KEY);
+    assertEquals("process", process.getTypeName());
+    assertEquals("One", process.getAttributeValue("name"));
+    assertSame(definitions, process.getParentElement());
+    assertEquals(4, process.getChildElements().size());
+
+    List<ModelElementView> documentation = process.getChildElementsByType("documentation");
+    assertEquals(1, documentation.size());
+    assertEquals("Desc one", documentation.get(0).getTextContent());
+
+    ModelElementView sequenceFlow = modelView.getElementById("flow1");
+    assertEquals("start", sequenceFlow.getAttributeValue("sourceRef"));
+    assertEquals("end", sequenceFlow.getAttributeValue("targetRef"));
+
+    assertNull(modelView.getElementById("unknown"));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/repository/one.bpmn20.xml")
+  public void testModelViewIsCached() {
+    String processDefinitionId = getProcessDefinitionId();
+
+    BpmnModelView modelView = repositoryService.getBpmnModelView(processDefinitionId);
+    assertSame(modelView, repositoryService.getBpmnModelView(processDefinitionId));
+
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+    assertNotSame(modelView, repositoryService.getBpmnModelView(processDefinitionId));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/repository/one.bpmn20.xml")
+  public void testModelViewIsUnmodifiable() {
+    BpmnModelView modelView = repositoryService.getBpmnModelView(getProcessDefinitionId());
+
+    try {
+      modelView.getDefinitions().getChildElements().clear();
+      fail("exception expected");
+    }
+    catch (UnsupportedOperationException e) {
+      // expected
+    }
+  }
+
+  public void testDocumentTypeDeclarationIsRejected() {
+    String bpmn = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<!DOCTYPE definitions [<!ENTITY name \"One\">]>"
+        + "<definitions xmlns=\"" + BpmnParser.BPMN20_NS + "\" targetNamespace=\"Examples\">"
+        + "<process id=\"" + PROCESS_KEY + "\" name=\"&name;\" isExecutable=\"true\">"
+        + "<startEvent id=\"start\" />"
+        + "</process>"
+        + "</definitions>";
+    deploymentIds.add(repositoryService.createDeployment().addString("doctype.bpmn20.xml", bpmn).deploy().getId());
+
+    try {
+      repositoryService.getBpmnModelView(getProcessDefinitionId());
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  protected String getProcessDefinitionId() {
+    return repositoryService.createProcessDefinitionQuery().processDefinitionKey(PROCESS_KEY).singleResult().getId();
+  }
+
+}
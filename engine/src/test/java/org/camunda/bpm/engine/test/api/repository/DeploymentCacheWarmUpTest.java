@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class DeploymentCacheWarmUpTest extends PluggableProcessEngineTestCase {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected DeploymentCacheWarmUp warmUp;
+
+  protected void setUp() throws Exception {
+    warmUp = new DeploymentCacheWarmUp(processEngineConfiguration.getCommandExecutorTxRequired());
+  }
+
+  protected void tearDown() throws Exception {
+    warmUp.stop();
+  }
+
+  public void testLatestVersionsAreWarmedUp() throws Exception {
+    deployment(PROCESS);
+    deployment(PROCESS);
+    deployment(PROCESS);
+    ProcessDefinition version1 = findProcessDefinition(1);
+    ProcessDefinition version2 = findProcessDefinition(2);
+    ProcessDefinition version3 = findProcessDefinition(3);
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    warmUp.setLatestVersions(2);
+    warmUp.setIncludeRunningInstances(false);
+    warmUpAndWait();
+
+    assertNull(deploymentCache.findProcessDefinitionFromCache(version1.getId()));
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(version2.getId()));
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(version3.getId()));
+  }
+
+  public void testDefinitionsWithRunningInstancesAreWarmedUp() throws Exception {
+    deployment(PROCESS);
+    ProcessDefinition version1 = findProcessDefinition(1);
+    runtimeService.startProcessInstanceById(version1.getId());
+    deployment(PROCESS);
+    ProcessDefinition version2 = findProcessDefinition(2);
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    warmUp.setLatestVersions(0);
+    warmUp.setIncludeRunningInstances(true);
+    warmUpAndWait();
+
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(version1.getId()));
+    assertNull(deploymentCache.findProcessDefinitionFromCache(version2.getId()));
+  }
+
+  public void testWarmUpCompletesWithoutDefinitions() throws Exception {
+    warmUpAndWait();
+
+    assertTrue(warmUp.isCompleted());
+  }
+
+  public void testIsWarmedUpWithoutConfiguredWarmUp() {
+    assertNull(processEngineConfiguration.getDeploymentCacheWarmUp());
+    assertTrue(managementService.isDeploymentCacheWarmedUp());
+  }
+
+  protected void warmUpAndWait() throws InterruptedException {
+    warmUp.start();
+
+    long timeout = System.currentTimeMillis() + 10000;
+    while (!warmUp.isCompleted() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(50);
+    }
+    assertTrue("deployment cache warm up did not complete", warmUp.isCompleted());
+  }
+
+  protected ProcessDefinition findProcessDefinition(int version) {
+    return repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process")
+        .processDefinitionVersion(version)
+        .singleResult();
+  }
+
+}
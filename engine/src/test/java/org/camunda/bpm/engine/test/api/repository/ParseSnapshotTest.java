@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ParseSnapshotEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.xml.ElementSerializer;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+
+public class ParseSnapshotTest extends PluggableProcessEngineTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/repository/processOne.bpmn20.xml";
+
+  protected String parseSnapshotVersion;
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration.setParseSnapshotEnabled(true);
+    // the engine does not run from a packaged jar in the test suite
+    parseSnapshotVersion = processEngineConfiguration.getParseSnapshotVersion();
+    processEngineConfiguration.setParseSnapshotVersion("test");
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setParseSnapshotEnabled(false);
+    processEngineConfiguration.setParseSnapshotVersion(parseSnapshotVersion);
+  }
+
+  public void testSnapshotIsCreatedOnDeployment() {
+    String deploymentId = deployment(PROCESS_RESOURCE);
+
+    List<ParseSnapshotEntity> snapshots = findParseSnapshots(deploymentId, PROCESS_RESOURCE);
+
+    assertEquals(1, snapshots.size());
+    assertNotNull(snapshots.get(0).getFingerprint());
+    assertNotNull(ElementSerializer.fromBytes(snapshots.get(0).getBytes()));
+  }
+
+  public void testProcessDefinitionIsRestoredFromSnapshot() {
+    String deploymentId = deployment(PROCESS_RESOURCE);
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinition.getId());
+    assertNotNull(processInstance);
+
+    // the snapshot is reused, not replaced
+    assertEquals(1, findParseSnapshots(deploymentId, PROCESS_RESOURCE).size());
+    assertNotNull(processEngineConfiguration.getDeploymentCache().findProcessDefinitionFromCache(processDefinition.getId()));
+  }
+
+  public void testOutdatedSnapshotIsNotReplacedOnCacheMiss() {
+    String deploymentId = deployment(PROCESS_RESOURCE);
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    replaceWithOutdatedSnapshot(deploymentId);
+
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinition.getId());
+    assertNotNull(processInstance);
+
+    // a cache miss only reads snapshots
+    List<ParseSnapshotEntity> snapshots = findParseSnapshots(deploymentId, PROCESS_RESOURCE);
+    assertEquals(1, snapshots.size());
+    assertEquals("outdated", snapshots.get(0).getFingerprint());
+  }
+
+  public void testOutdatedSnapshotIsReplacedOnRefresh() {
+    String deploymentId = deployment(PROCESS_RESOURCE);
+    final ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    replaceWithOutdatedSnapshot(deploymentId);
+
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // like the deployment cache warm up
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getParseSnapshotManager().setRefreshParseSnapshots(true);
+        commandContext.getProcessEngineConfiguration().getDeploymentCache().findDeployedProcessDefinitionById(processDefinition.getId());
+        return null;
+      }
+    });
+
+    List<ParseSnapshotEntity> snapshots = findParseSnapshots(deploymentId, PROCESS_RESOURCE);
+    assertEquals(1, snapshots.size());
+    assertFalse("outdated".equals(snapshots.get(0).getFingerprint()));
+  }
+
+  public void testFingerprintDependsOnVersion() {
+    String deploymentId = deployment(PROCESS_RESOURCE);
+    String fingerprint = findParseSnapshots(deploymentId, PROCESS_RESOURCE).get(0).getFingerprint();
+
+    processEngineConfiguration.setParseSnapshotVersion("other");
+    deploymentId = deployment(PROCESS_RESOURCE);
+
+    assertFalse(fingerprint.equals(findParseSnapshots(deploymentId, PROCESS_RESOURCE).get(0).getFingerprint()));
+  }
+
+  public void testNoSnapshotIfVersionIsUnknown() {
+    processEngineConfiguration.setParseSnapshotVersion(null);
+
+    String deploymentId = deployment(PROCESS_RESOURCE);
+
+    assertTrue(findParseSnapshots(deploymentId, PROCESS_RESOURCE).isEmpty());
+  }
+
+  protected void replaceWithOutdatedSnapshot(final String deploymentId) {
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getParseSnapshotManager().deleteParseSnapshotsByDeploymentId(deploymentId);
+
+        ParseSnapshotEntity outdatedSnapshot = new ParseSnapshotEntity();
+        outdatedSnapshot.setDeploymentId(deploymentId);
+        outdatedSnapshot.setResourceName(PROCESS_RESOURCE);
+        outdatedSnapshot.setFingerprint("outdated");
+        outdatedSnapshot.setBytes(new byte[0]);
+        commandContext.getParseSnapshotManager().insertParseSnapshot(outdatedSnapshot);
+        return null;
+      }
+    });
+  }
+
+  public void testSnapshotIsDeletedWithDeployment() {
+    String deploymentId = repositoryService.createDeployment()
+      .addClasspathResource(PROCESS_RESOURCE)
+      .deploy()
+      .getId();
+
+    repositoryService.deleteDeployment(deploymentId, true);
+
+    assertTrue(findParseSnapshots(deploymentId, PROCESS_RESOURCE).isEmpty());
+  }
+
+  public void testNoSnapshotIfDisabled() {
+    processEngineConfiguration.setParseSnapshotEnabled(false);
+
+    String deploymentId = deployment(PROCESS_RESOURCE);
+
+    assertTrue(findParseSnapshots(deploymentId, PROCESS_RESOURCE).isEmpty());
+  }
+
+  protected List<ParseSnapshotEntity> findParseSnapshots(final String deploymentId, final String resourceName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<ParseSnapshotEntity>>() {
+      public List<ParseSnapshotEntity> execute(CommandContext commandContext) {
+        return commandContext.getParseSnapshotManager().findParseSnapshotsByDeploymentIdAndResourceName(deploymentId, resourceName);
+      }
+    });
+  }
+
+}
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.test.bpmn.deployment;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -23,10 +24,13 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.HashUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.test.Deployment;
@@ -352,6 +356,28 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     assertEquals(deploymentId, resource.getDeploymentId());
   }
 
+  public void testContentHashOfResource() {
+    final String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String deploymentId = repositoryService.createDeployment().addClasspathResource(bpmnResourceName).name("hash").deploy().getId();
+
+    ResourceEntity resource = (ResourceEntity) repositoryService.getDeploymentResources(deploymentId).get(0);
+    assertEquals(HashUtil.hash(resource.getBytes()), resource.getHash());
+
+    // the stored hash can be loaded without the bytes
+    ResourceEntity hashOnlyResource = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ResourceEntity>() {
+      public ResourceEntity execute(CommandContext commandContext) {
+        return commandContext
+            .getResourceManager()
+            .findLatestResourceHashesByDeploymentName("hash", Collections.singleton(bpmnResourceName), ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE, null)
+            .get(bpmnResourceName);
+      }
+    });
+    assertNull(hashOnlyResource.getBytes());
+    assertEquals(resource.getHash(), hashOnlyResource.getHash());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
   private void deleteDeployments(List<org.camunda.bpm.engine.repository.Deployment> deploymentList) {
     for (org.camunda.bpm.engine.repository.Deployment deployment : deploymentList) {
       repositoryService.deleteDeployment(deployment.getId());
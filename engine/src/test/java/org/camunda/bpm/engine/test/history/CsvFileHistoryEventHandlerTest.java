@@ -0,0 +1,299 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.CsvFileHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvFileHistoryEventHandlerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void testExportEvents() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+
+    // when
+    handler.handleEvents(Arrays.<HistoryEvent>asList(
+        createActivityInstanceEvent("1", "theStart"),
+        createActivityInstanceEvent("2", "the,Task")));
+    handler.close();
+
+    // then
+    File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+    assertTrue(files[0].getName().startsWith("HistoricActivityInstanceEventEntity-"));
+    assertTrue(files[0].getName().endsWith(CsvFileHistoryEventHandler.FILE_SUFFIX));
+
+    List<String> lines = Arrays.asList(new String(IoUtil.readInputStream(new FileInputStream(files[0]), "export"), "UTF-8").split("\n"));
+    assertEquals(3, lines.size());
+
+    List<String> columns = Arrays.asList(lines.get(0).split(","));
+    assertTrue(columns.contains("activityId"));
+    assertTrue(columns.contains("startTime"));
+    assertTrue(lines.get(1).contains("theStart"));
+    assertTrue(lines.get(2).contains("\"the,Task\""));
+  }
+
+  @Test
+  public void testRollFiles() throws Exception {
+    // given a maximum file size smaller than one line
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory, 1);
+
+    // when
+    handler.handleEvent(createActivityInstanceEvent("1", "theStart"));
+    handler.handleEvent(createActivityInstanceEvent("2", "theTask"));
+
+    // then every event is written to a completed file
+    File[] files = directory.listFiles();
+    assertEquals(2, files.length);
+    for (File file : files) {
+      assertTrue(file.getName().endsWith(CsvFileHistoryEventHandler.FILE_SUFFIX));
+    }
+  }
+
+  @Test
+  public void testFileInProgress() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+
+    // when
+    handler.handleEvent(createActivityInstanceEvent("1", "theStart"));
+
+    // then the file is not completed yet
+    File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+    assertTrue(files[0].getName().endsWith(CsvFileHistoryEventHandler.IN_PROGRESS_SUFFIX));
+
+    handler.close();
+  }
+
+  @Test
+  public void testExportOnlyCommittedEvents() throws Exception {
+    // given
+    final File directory = temporaryFolder.newFolder();
+    final CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+    CommandExecutor commandExecutor = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    // when the events of one command are committed
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        handler.handleEvent(createActivityInstanceEvent("1", "committedActivity"));
+
+        // the events are buffered until the transaction is committed
+        assertEquals(0, directory.listFiles().length);
+        return null;
+      }
+    });
+
+    // and the events of another command are rolled back
+    try {
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          handler.handleEvent(createActivityInstanceEvent("2", "rolledBackActivity"));
+          throw new ProcessEngineException("expected exception");
+        }
+      });
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+    handler.close();
+
+    // then only the committed events are exported
+    File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+
+    String content = readFile(files[0]);
+    assertEquals(2, content.split("\n").length);
+    assertTrue(content.contains("committedActivity"));
+    assertFalse(content.contains("rolledBackActivity"));
+  }
+
+  @Test
+  public void testCompleteExpiredFiles() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+    handler.setMaxFileAgeInMillis(1000);
+
+    ClockUtil.setCurrentTime(new Date(0));
+    handler.handleEvent(createActivityInstanceEvent("1", "theStart"));
+
+    // when the file reached the maximum age
+    ClockUtil.setCurrentTime(new Date(1000));
+    handler.completeExpiredFiles();
+
+    // then it is completed without further events
+    File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+    assertTrue(files[0].getName().endsWith(CsvFileHistoryEventHandler.FILE_SUFFIX));
+
+    handler.close();
+  }
+
+  @Test
+  public void testExpiredFileIsCompletedOnNextEvent() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+    handler.setMaxFileAgeInMillis(1000);
+
+    ClockUtil.setCurrentTime(new Date(0));
+    handler.handleEvent(createActivityInstanceEvent("1", "theStart"));
+
+    // when an event is exported after the file reached the maximum age
+    ClockUtil.setCurrentTime(new Date(1000));
+    handler.handleEvent(createActivityInstanceEvent("2", "theTask"));
+
+    // then the event is written to a new file
+    File[] files = directory.listFiles();
+    assertEquals(2, files.length);
+
+    int inProgress = 0;
+    for (File file : files) {
+      if (file.getName().endsWith(CsvFileHistoryEventHandler.IN_PROGRESS_SUFFIX)) {
+        inProgress++;
+        assertTrue(readFile(file).contains("theTask"));
+      }
+    }
+    assertEquals(1, inProgress);
+
+    handler.close();
+  }
+
+  @Test
+  public void testCompleteFilesInProgressOfPreviousRun() throws Exception {
+    // given a file which was left in progress, e.g. by a crash
+    File directory = temporaryFolder.newFolder();
+    String name = "HistoricActivityInstanceEventEntity-20161103120000000-1" + CsvFileHistoryEventHandler.FILE_SUFFIX;
+    assertTrue(new File(directory, name + CsvFileHistoryEventHandler.IN_PROGRESS_SUFFIX).createNewFile());
+
+    // when
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory);
+
+    // then
+    File[] files = directory.listFiles();
+    assertEquals(1, files.length);
+    assertEquals(name, files[0].getName());
+
+    handler.close();
+  }
+
+  @Test
+  public void testRollOverFileAfterFailedWrite() throws Exception {
+    // given a handler whose first file fails to write the third event
+    File directory = temporaryFolder.newFolder();
+    CsvFileHistoryEventHandler handler = new CsvFileHistoryEventHandler(directory) {
+      protected ExportFile createExportFile(File file, Class<?> eventClass, String headerLine) throws IOException {
+        if (fileCounter.get() > 1) {
+          return super.createExportFile(file, eventClass, headerLine);
+        }
+        return new ExportFile(file, eventClass, headerLine) {
+          public void write(String line) throws IOException {
+            if (line.contains("failingActivity")) {
+              // a partially written line
+              writer.write(line.substring(0, 5));
+              writer.flush();
+              throw new IOException("expected exception");
+            }
+            super.write(line);
+          }
+        };
+      }
+    };
+
+    handler.handleEvent(createActivityInstanceEvent("1", "firstActivity"));
+
+    // when
+    handler.handleEvents(Arrays.<HistoryEvent>asList(
+        createActivityInstanceEvent("2", "secondActivity"),
+        createActivityInstanceEvent("3", "failingActivity")));
+    handler.close();
+
+    // then
+    File[] files = directory.listFiles();
+    assertEquals(2, files.length);
+
+    for (File file : files) {
+      assertTrue(file.getName().endsWith(CsvFileHistoryEventHandler.FILE_SUFFIX));
+
+      String content = readFile(file);
+      if (content.contains("firstActivity")) {
+        // the first file is completed with the flushed line only
+        assertEquals(2, content.split("\n").length);
+        assertTrue(content.endsWith("\n"));
+      }
+      else {
+        // and the remaining lines are written to a new file
+        assertEquals(3, content.split("\n").length);
+        assertTrue(content.contains("secondActivity"));
+        assertTrue(content.contains("failingActivity"));
+      }
+    }
+  }
+
+  protected String readFile(File file) throws Exception {
+    return new String(IoUtil.readInputStream(new FileInputStream(file), "export"), "UTF-8");
+  }
+
+  protected HistoricActivityInstanceEventEntity createActivityInstanceEvent(String id, String activityId) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setId(id);
+    event.setActivityId(activityId);
+    event.setEventType(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName());
+    event.setStartTime(new Date());
+    return event;
+  }
+
+}
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.test.history;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,6 +32,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.Job;
@@ -1013,4 +1015,117 @@ public class HistoricActivityInstanceTest extends PluggableProcessEngineTestCase
     assertThat(pi.isEnded(), is(true));
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testKeysetPaging() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    List<HistoricActivityInstance> allInstances = historyService
+        .createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId()
+        .asc()
+        .list();
+    assertEquals(6, allInstances.size());
+
+    List<HistoricActivityInstance> pagedInstances = new ArrayList<HistoricActivityInstance>();
+    List<HistoricActivityInstance> page = historyService
+        .createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId()
+        .asc()
+        .listPage(0, 4);
+
+    while (!page.isEmpty()) {
+      pagedInstances.addAll(page);
+      String lastId = page.get(page.size() - 1).getId();
+      page = historyService
+          .createHistoricActivityInstanceQuery()
+          .activityInstanceIdAfter(lastId)
+          .orderByHistoricActivityInstanceId()
+          .asc()
+          .listPage(0, 4);
+    }
+
+    assertEquals(allInstances.size(), pagedInstances.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), pagedInstances.get(i).getId());
+    }
+
+    String lastId = allInstances.get(allInstances.size() - 1).getId();
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityInstanceIdAfter(lastId).count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testKeysetPagingByStartTime() {
+    ClockUtil.setCurrentTime(new Date(1000000000000L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ClockUtil.setCurrentTime(new Date(1000000060000L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    List<HistoricActivityInstance> allInstances = historyService
+        .createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceStartTime().asc()
+        .orderByHistoricActivityInstanceId().asc()
+        .list();
+    assertEquals(6, allInstances.size());
+
+    List<HistoricActivityInstance> pagedInstances = new ArrayList<HistoricActivityInstance>();
+    List<HistoricActivityInstance> page = historyService
+        .createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceStartTime().asc()
+        .orderByHistoricActivityInstanceId().asc()
+        .listPage(0, 4);
+
+    while (!page.isEmpty()) {
+      pagedInstances.addAll(page);
+      HistoricActivityInstance last = page.get(page.size() - 1);
+      page = historyService
+          .createHistoricActivityInstanceQuery()
+          .startTimeAndIdAfter(last.getStartTime(), last.getId())
+          .orderByHistoricActivityInstanceStartTime().asc()
+          .orderByHistoricActivityInstanceId().asc()
+          .listPage(0, 4);
+    }
+
+    assertEquals(allInstances.size(), pagedInstances.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), pagedInstances.get(i).getId());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testIterate() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    HistoricActivityInstanceQuery query = historyService
+        .createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId()
+        .asc();
+    List<HistoricActivityInstance> allInstances = query.list();
+
+    final List<String> iteratedIds = new ArrayList<String>();
+    query.iterate(new QueryResultHandler<HistoricActivityInstance>() {
+      public void handleResult(HistoricActivityInstance result) {
+        iteratedIds.add(result.getId());
+      }
+    });
+
+    assertEquals(6, iteratedIds.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), iteratedIds.get(i));
+    }
+  }
+
+  public void testQueryByInvalidActivityInstanceIdAfter() {
+    try {
+      historyService.createHistoricActivityInstanceQuery().activityInstanceIdAfter(null);
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
 }
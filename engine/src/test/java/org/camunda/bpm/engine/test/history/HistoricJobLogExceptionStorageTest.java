@@ -0,0 +1,302 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogExceptionPruning;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogEventEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.runtime.FailingDelegate;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoricJobLogExceptionStorageTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ASYNC_PROCESS = "org/camunda/bpm/engine/test/history/HistoricJobLogTest.testAsyncContinuation.bpmn20.xml";
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration
+      .setByteArrayCompressionEnabled(false)
+      .setByteArrayCompressionThreshold(1024)
+      .setHistoricJobLogExceptionDeduplicationEnabled(false)
+      .setHistoricJobLogExceptionDeduplicationWindowInMillis(60 * 60 * 1000);
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testCompressedStacktrace() {
+    processEngineConfiguration
+      .setByteArrayCompressionEnabled(true)
+      .setByteArrayCompressionThreshold(0);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+
+    HistoricJobLog failureLog = historyService.createHistoricJobLogQuery().failureLog().singleResult();
+    String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(failureLog.getId());
+
+    assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+    assertTrue(isStoredCompressed(getExceptionByteArrayId(failureLog)));
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testUncompressedStacktraceReadableWithCompressionEnabled() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+
+    processEngineConfiguration
+      .setByteArrayCompressionEnabled(true)
+      .setByteArrayCompressionThreshold(0);
+
+    HistoricJobLog failureLog = historyService.createHistoricJobLogQuery().failureLog().singleResult();
+    String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(failureLog.getId());
+
+    assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+    assertFalse(isStoredCompressed(getExceptionByteArrayId(failureLog)));
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testDeduplicatedStacktraces() {
+    processEngineConfiguration.setHistoricJobLogExceptionDeduplicationEnabled(true);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+    failJob(processInstanceId);
+    failJob(processInstanceId);
+
+    List<HistoricJobLog> failureLogs = historyService.createHistoricJobLogQuery().failureLog().list();
+    assertEquals(3, failureLogs.size());
+
+    String byteArrayId = getExceptionByteArrayId(failureLogs.get(0));
+    for (HistoricJobLog failureLog : failureLogs) {
+      assertEquals(byteArrayId, getExceptionByteArrayId(failureLog));
+
+      String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(failureLog.getId());
+      assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+    }
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testDeduplicatedStacktraceNotReusedAfterWindow() {
+    processEngineConfiguration
+      .setHistoricJobLogExceptionDeduplicationEnabled(true)
+      .setHistoricJobLogExceptionDeduplicationWindowInMillis(1000);
+
+    ClockUtil.setCurrentTime(new Date(1000000000000L));
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+
+    ClockUtil.setCurrentTime(new Date(1000000000500L));
+    failJob(processInstanceId);
+
+    ClockUtil.setCurrentTime(new Date(1000000002000L));
+    failJob(processInstanceId);
+
+    List<HistoricJobLog> failureLogs = historyService.createHistoricJobLogQuery()
+        .failureLog()
+        .orderByTimestamp()
+        .asc()
+        .list();
+    assertEquals(3, failureLogs.size());
+
+    // reused within the window, stored again after it
+    assertEquals(getExceptionByteArrayId(failureLogs.get(0)), getExceptionByteArrayId(failureLogs.get(1)));
+    assertFalse(getExceptionByteArrayId(failureLogs.get(0)).equals(getExceptionByteArrayId(failureLogs.get(2))));
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testDeduplicatedStacktracePrunedAfterGracePeriod() {
+    processEngineConfiguration.setHistoricJobLogExceptionDeduplicationEnabled(true);
+
+    String firstProcessInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    String secondProcessInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(firstProcessInstanceId);
+    failJob(secondProcessInstanceId);
+
+    HistoricJobLog secondFailureLog = historyService.createHistoricJobLogQuery()
+        .processInstanceId(secondProcessInstanceId)
+        .failureLog()
+        .singleResult();
+    String byteArrayId = getExceptionByteArrayId(secondFailureLog);
+
+    runtimeService.deleteProcessInstance(firstProcessInstanceId, null);
+    runtimeService.deleteProcessInstance(secondProcessInstanceId, null);
+
+    // when the job logs of the first process instance are deleted
+    historyService.deleteHistoricProcessInstance(firstProcessInstanceId);
+
+    // then the shared stack trace is kept
+    String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(secondFailureLog.getId());
+    assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+
+    // when the last job log referencing it is deleted
+    historyService.deleteHistoricProcessInstance(secondProcessInstanceId);
+
+    // then the stack trace is kept until it is pruned
+    ByteArrayEntity byteArray = findByteArray(byteArrayId);
+    assertNotNull(byteArray);
+
+    // and it is not pruned within the grace period
+    pruneUnreferencedExceptionByteArrays(byteArray.getCreateTime());
+    assertNotNull(findByteArray(byteArrayId));
+
+    // but after it
+    pruneUnreferencedExceptionByteArrays(new Date(byteArray.getCreateTime().getTime() + 1));
+    assertNull(findByteArray(byteArrayId));
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testReferencedStacktraceNotPruned() {
+    processEngineConfiguration.setHistoricJobLogExceptionDeduplicationEnabled(true);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+
+    HistoricJobLog failureLog = historyService.createHistoricJobLogQuery().failureLog().singleResult();
+    ByteArrayEntity byteArray = findByteArray(getExceptionByteArrayId(failureLog));
+
+    pruneUnreferencedExceptionByteArrays(new Date(byteArray.getCreateTime().getTime() + 1));
+
+    String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(failureLog.getId());
+    assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testUnreferencedStacktracePrunedInBackground() {
+    processEngineConfiguration.setHistoricJobLogExceptionDeduplicationEnabled(true);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    failJob(processInstanceId);
+
+    HistoricJobLog failureLog = historyService.createHistoricJobLogQuery().failureLog().singleResult();
+    String byteArrayId = getExceptionByteArrayId(failureLog);
+    Date createTime = findByteArray(byteArrayId).getCreateTime();
+
+    runtimeService.deleteProcessInstance(processInstanceId, null);
+    historyService.deleteHistoricProcessInstance(processInstanceId);
+
+    HistoricJobLogExceptionPruning pruning = new HistoricJobLogExceptionPruning(
+        processEngineConfiguration.getCommandExecutorTxRequired(), 1000);
+
+    // when the stack trace is still within twice the deduplication window
+    ClockUtil.setCurrentTime(new Date(createTime.getTime() + 2000));
+    pruning.pruneUnreferencedExceptions();
+
+    // then it is kept
+    assertNotNull(findByteArray(byteArrayId));
+
+    // but it is removed after it
+    ClockUtil.setCurrentTime(new Date(createTime.getTime() + 2001));
+    pruning.pruneUnreferencedExceptions();
+
+    assertNull(findByteArray(byteArrayId));
+  }
+
+  public void testSetBytesReplacesStoredBytes() {
+    ByteArrayEntity byteArray = new ByteArrayEntity();
+    byteArray.setCompressed(true);
+    byteArray.setStoredBytes(CompressionUtil.compress(new byte[] { 4, 5, 6 }));
+
+    byte[] bytes = new byte[] { 1, 2, 3 };
+    byteArray.setBytes(bytes);
+
+    assertFalse(byteArray.isCompressed());
+    assertSame(bytes, byteArray.getBytes());
+  }
+
+  public void testStoredBytesDecompressedIndependentOfSetterOrder() {
+    byte[] bytes = new byte[] { 1, 2, 3 };
+
+    ByteArrayEntity flagFirst = new ByteArrayEntity();
+    flagFirst.setCompressed(true);
+    flagFirst.setStoredBytes(CompressionUtil.compress(bytes));
+
+    ByteArrayEntity bytesFirst = new ByteArrayEntity();
+    bytesFirst.setStoredBytes(CompressionUtil.compress(bytes));
+    bytesFirst.setCompressed(true);
+
+    assertTrue(Arrays.equals(bytes, flagFirst.getBytes()));
+    assertTrue(Arrays.equals(bytes, bytesFirst.getBytes()));
+  }
+
+  protected void failJob(String processInstanceId) {
+    String jobId = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult().getId();
+    try {
+      managementService.executeJob(jobId);
+      fail("exception expected");
+    } catch (Exception e) {
+      // expected
+    }
+  }
+
+  protected void pruneUnreferencedExceptionByteArrays(final Date createdBefore) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getHistoricJobLogManager().pruneUnreferencedExceptionByteArrays(createdBefore);
+        return null;
+      }
+    });
+  }
+
+  protected String getExceptionByteArrayId(HistoricJobLog historicJobLog) {
+    return ((HistoricJobLogEventEntity) historicJobLog).getExceptionByteArrayId();
+  }
+
+  protected ByteArrayEntity findByteArray(final String byteArrayId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ByteArrayEntity>() {
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId);
+      }
+    });
+  }
+
+  protected boolean isStoredCompressed(final String byteArrayId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        String tablePrefix = commandContext.getProcessEngineConfiguration().getDatabaseTablePrefix();
+        Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+        try {
+          PreparedStatement statement = connection.prepareStatement(
+              "select COMPRESSED_ from " + tablePrefix + "ACT_GE_BYTEARRAY where ID_ = ?");
+          try {
+            statement.setString(1, byteArrayId);
+            ResultSet resultSet = statement.executeQuery();
+            assertTrue(resultSet.next());
+            return resultSet.getBoolean(1);
+          }
+          finally {
+            statement.close();
+          }
+        }
+        catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+  }
+
+}
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
@@ -915,4 +916,134 @@ public class HistoricProcessInstanceTest extends PluggableProcessEngineTestCase
     assertNull(historicProcessInstance.getDurationInMillis());
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testKeysetPaging() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    List<HistoricProcessInstance> allInstances = historyService
+        .createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId()
+        .asc()
+        .list();
+    assertEquals(5, allInstances.size());
+
+    List<HistoricProcessInstance> pagedInstances = new ArrayList<HistoricProcessInstance>();
+    List<HistoricProcessInstance> page = historyService
+        .createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId()
+        .asc()
+        .listPage(0, 2);
+
+    while (!page.isEmpty()) {
+      pagedInstances.addAll(page);
+      String lastId = page.get(page.size() - 1).getId();
+      page = historyService
+          .createHistoricProcessInstanceQuery()
+          .processInstanceIdAfter(lastId)
+          .orderByProcessInstanceId()
+          .asc()
+          .listPage(0, 2);
+    }
+
+    assertEquals(allInstances.size(), pagedInstances.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), pagedInstances.get(i).getId());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testKeysetPagingByStartTime() {
+    // two instances are started at the same time
+    ClockUtil.setCurrentTime(new Date(1000000000000L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ClockUtil.setCurrentTime(new Date(1000000060000L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ClockUtil.setCurrentTime(new Date(1000000120000L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    List<HistoricProcessInstance> allInstances = historyService
+        .createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc()
+        .orderByProcessInstanceId().asc()
+        .list();
+    assertEquals(5, allInstances.size());
+
+    List<HistoricProcessInstance> pagedInstances = new ArrayList<HistoricProcessInstance>();
+    List<HistoricProcessInstance> page = historyService
+        .createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc()
+        .orderByProcessInstanceId().asc()
+        .listPage(0, 2);
+
+    while (!page.isEmpty()) {
+      pagedInstances.addAll(page);
+      HistoricProcessInstance last = page.get(page.size() - 1);
+      page = historyService
+          .createHistoricProcessInstanceQuery()
+          .startTimeAndIdAfter(last.getStartTime(), last.getId())
+          .orderByProcessInstanceStartTime().asc()
+          .orderByProcessInstanceId().asc()
+          .listPage(0, 2);
+    }
+
+    assertEquals(allInstances.size(), pagedInstances.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), pagedInstances.get(i).getId());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testIterate() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    HistoricProcessInstanceQuery query = historyService
+        .createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId()
+        .asc();
+    List<HistoricProcessInstance> allInstances = query.list();
+
+    final List<String> iteratedIds = new ArrayList<String>();
+    query.iterate(new QueryResultHandler<HistoricProcessInstance>() {
+      public void handleResult(HistoricProcessInstance result) {
+        iteratedIds.add(result.getId());
+      }
+    });
+
+    assertEquals(3, iteratedIds.size());
+    for (int i = 0; i < allInstances.size(); i++) {
+      assertEquals(allInstances.get(i).getId(), iteratedIds.get(i));
+    }
+  }
+
+  public void testQueryByInvalidStartTimeAndIdAfter() {
+    try {
+      historyService.createHistoricProcessInstanceQuery().startTimeAndIdAfter(null, "anId");
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    try {
+      historyService.createHistoricProcessInstanceQuery().startTimeAndIdAfter(new Date(), null);
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  public void testQueryByInvalidProcessInstanceIdAfter() {
+    try {
+      historyService.createHistoricProcessInstanceQuery().processInstanceIdAfter(null);
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
 }
@@ -0,0 +1,313 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.camunda.bpm.engine.query.PeriodUnit.MONTH;
+import static org.camunda.bpm.engine.query.PeriodUnit.QUARTER;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.DurationReportResult;
+import org.camunda.bpm.engine.history.HistoricActivityStatistics;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.PeriodUnit;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoricStatisticsAggregationTest extends PluggableProcessEngineTestCase {
+
+  protected static final String SINGLE_TASK_PROCESS = "org/camunda/bpm/engine/test/history/HistoricActivityStatisticsQueryTest.testSingleTask.bpmn20.xml";
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration.setHistoricStatisticsAggregationEnabled(true);
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setHistoricStatisticsAggregationEnabled(false);
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(false);
+    ClockUtil.reset();
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testActivityStatistics() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    startProcessInstances(5);
+    completeTasks(2);
+    runtimeService.deleteProcessInstance(runtimeService.createProcessInstanceQuery().list().get(0).getId(), "canceled");
+
+    List<HistoricActivityStatistics> statistics = queryActivityStatistics(processDefinitionId);
+    long count = historyService.createHistoricActivityStatisticsQuery(processDefinitionId).includeFinished().count();
+
+    assertEquals(3, statistics.size());
+    assertEquals(3, count);
+    assertStatistics(statistics.get(0), "end", 0, 2, 0, 2);
+    assertStatistics(statistics.get(1), "start", 0, 5, 0, 0);
+    assertStatistics(statistics.get(2), "task", 2, 3, 1, 0);
+
+    // the same as calculated from the historic activity instances
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(false);
+    assertSameStatistics(queryActivityStatistics(processDefinitionId), statistics);
+    assertEquals(historyService.createHistoricActivityStatisticsQuery(processDefinitionId).includeFinished().count(), count);
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testRunningInstancesOnly() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    startProcessInstances(3);
+    completeTasks(1);
+
+    List<HistoricActivityStatistics> statistics = historyService
+      .createHistoricActivityStatisticsQuery(processDefinitionId)
+      .list();
+
+    assertEquals(1, statistics.size());
+    assertEquals("task", statistics.get(0).getId());
+    assertEquals(2, statistics.get(0).getInstances());
+    assertEquals(0, statistics.get(0).getFinished());
+    assertEquals(1, historyService.createHistoricActivityStatisticsQuery(processDefinitionId).count());
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testOneEntryPerActivityAndMonth() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    startProcessInstances(3);
+    completeTasks(3);
+
+    // each command inserted delta entries
+    int deltas = findHistoricStatistics(processDefinitionId).size();
+    assertTrue(deltas > 4);
+    List<HistoricActivityStatistics> statistics = queryActivityStatistics(processDefinitionId);
+
+    assertEquals(deltas, mergeHistoricStatistics(100));
+
+    // start, task, end and the process instance
+    List<HistoricStatisticsEntity> entries = findHistoricStatistics(processDefinitionId);
+    assertEquals(4, entries.size());
+
+    for (HistoricStatisticsEntity entry : entries) {
+      assertFalse(entry.isDelta());
+      assertEquals(3, entry.getStarted());
+      assertEquals(3, entry.getFinished());
+    }
+
+    assertSameStatistics(statistics, queryActivityStatistics(processDefinitionId));
+    assertEquals(0, mergeHistoricStatistics(100));
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testMergeIntoExistingEntries() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    startProcessInstances(2);
+    mergeHistoricStatistics(100);
+
+    completeTasks(2);
+    List<HistoricActivityStatistics> statistics = queryActivityStatistics(processDefinitionId);
+
+    // merge in chunks
+    while (mergeHistoricStatistics(3) > 0);
+
+    assertEquals(4, findHistoricStatistics(processDefinitionId).size());
+    assertSameStatistics(statistics, queryActivityStatistics(processDefinitionId));
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testAggregatedStatisticsAreQueriedOnlyIfEnabled() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    // instances started before the aggregation was enabled
+    processEngineConfiguration.setHistoricStatisticsAggregationEnabled(false);
+    startProcessInstances(2);
+    processEngineConfiguration.setHistoricStatisticsAggregationEnabled(true);
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(false);
+
+    startProcessInstances(1);
+
+    List<HistoricActivityStatistics> statistics = queryActivityStatistics(processDefinitionId);
+    assertStatistics(statistics.get(1), "task", 3, 0, 0, 0);
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testDurationsOfEntry() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    ClockUtil.setCurrentTime(new Date(1000000000000L));
+    startProcessInstances(2);
+
+    List<Task> tasks = taskService.createTaskQuery().list();
+    ClockUtil.setCurrentTime(new Date(1000000002000L));
+    taskService.complete(tasks.get(0).getId());
+    ClockUtil.setCurrentTime(new Date(1000000007000L));
+    taskService.complete(tasks.get(1).getId());
+
+    HistoricStatisticsEntity taskEntry = null;
+    for (HistoricStatisticsEntity entry : findHistoricStatistics(processDefinitionId)) {
+      if (HistoricStatisticsEntity.TYPE_ACTIVITY_INSTANCE.equals(entry.getType()) && "task".equals(entry.getActivityId())) {
+        taskEntry = entry;
+      }
+    }
+
+    assertNotNull(taskEntry);
+    assertEquals(2, taskEntry.getFinished());
+    assertEquals(9000, taskEntry.getDurationSum());
+    assertEquals(Long.valueOf(2000), taskEntry.getDurationMin());
+    assertEquals(Long.valueOf(7000), taskEntry.getDurationMax());
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testDurationReport() {
+    startAndCompleteProcessInstance(2016, 0, 1, 2);
+    startAndCompleteProcessInstance(2016, 0, 15, 6);
+    startAndCompleteProcessInstance(2016, 4, 1, 3);
+    startAndCompleteProcessInstance(2015, 4, 20, 1);
+
+    // an instance which is not finished is not part of the report
+    ClockUtil.setCurrentTime(getTime(2016, 1, 1, 0));
+    runtimeService.startProcessInstanceByKey("process");
+
+    assertSameReport(MONTH);
+    assertSameReport(QUARTER);
+
+    Map<Integer, DurationReportResult> report = queryDurationReport(MONTH);
+    assertEquals(2, report.size());
+
+    DurationReportResult january = report.get(1);
+    assertEquals(hours(2), january.getMinimum());
+    assertEquals(hours(6), january.getMaximum());
+    assertEquals(hours(4), january.getAverage());
+
+    DurationReportResult may = report.get(5);
+    assertEquals(hours(1), may.getMinimum());
+    assertEquals(hours(3), may.getMaximum());
+    assertEquals(hours(2), may.getAverage());
+  }
+
+  // helper ////////////////////////////////////////////////////////////////
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  protected void completeTasks(int count) {
+    List<Task> tasks = taskService.createTaskQuery().list();
+    for (int i = 0; i < count; i++) {
+      taskService.complete(tasks.get(i).getId());
+    }
+  }
+
+  protected void startAndCompleteProcessInstance(int year, int month, int dayOfMonth, int durationInHours) {
+    ClockUtil.setCurrentTime(getTime(year, month, dayOfMonth, 0));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    ClockUtil.setCurrentTime(getTime(year, month, dayOfMonth, durationInHours));
+    String taskId = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId();
+    taskService.complete(taskId);
+  }
+
+  protected Date getTime(int year, int month, int dayOfMonth, int hourOfDay) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.clear();
+    calendar.set(year, month, dayOfMonth, hourOfDay, 0);
+    return calendar.getTime();
+  }
+
+  protected long hours(int hours) {
+    return hours * 60L * 60L * 1000L;
+  }
+
+  protected List<HistoricActivityStatistics> queryActivityStatistics(String processDefinitionId) {
+    return historyService
+      .createHistoricActivityStatisticsQuery(processDefinitionId)
+      .includeFinished()
+      .includeCanceled()
+      .includeCompleteScope()
+      .orderByActivityId()
+      .asc()
+      .list();
+  }
+
+  protected List<HistoricStatisticsEntity> findHistoricStatistics(final String processDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<HistoricStatisticsEntity>>() {
+      public List<HistoricStatisticsEntity> execute(CommandContext commandContext) {
+        return commandContext.getHistoricStatisticsManager().findHistoricStatisticsByProcessDefinitionId(processDefinitionId);
+      }
+    });
+  }
+
+  protected int mergeHistoricStatistics(final int maxDeltas) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getHistoricStatisticsManager().mergeHistoricStatistics(maxDeltas);
+      }
+    });
+  }
+
+  protected Map<Integer, DurationReportResult> queryDurationReport(PeriodUnit periodUnit) {
+    Map<Integer, DurationReportResult> report = new HashMap<Integer, DurationReportResult>();
+    for (DurationReportResult result : historyService.createHistoricProcessInstanceReport().duration(periodUnit)) {
+      report.put(result.getPeriod(), result);
+    }
+    return report;
+  }
+
+  protected void assertSameReport(PeriodUnit periodUnit) {
+    Map<Integer, DurationReportResult> aggregatedReport = queryDurationReport(periodUnit);
+
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(false);
+    Map<Integer, DurationReportResult> report = queryDurationReport(periodUnit);
+    processEngineConfiguration.setHistoricStatisticsAggregationQueryEnabled(true);
+
+    assertEquals(report.keySet(), aggregatedReport.keySet());
+    for (Integer period : report.keySet()) {
+      assertEquals(report.get(period).getMinimum(), aggregatedReport.get(period).getMinimum());
+      assertEquals(report.get(period).getMaximum(), aggregatedReport.get(period).getMaximum());
+      assertEquals(report.get(period).getAverage(), aggregatedReport.get(period).getAverage());
+    }
+  }
+
+  protected void assertStatistics(HistoricActivityStatistics statistics, String activityId, long instances, long finished, long canceled, long completeScope) {
+    assertEquals(activityId, statistics.getId());
+    assertEquals(instances, statistics.getInstances());
+    assertEquals(finished, statistics.getFinished());
+    assertEquals(canceled, statistics.getCanceled());
+    assertEquals(completeScope, statistics.getCompleteScope());
+  }
+
+  protected void assertSameStatistics(List<HistoricActivityStatistics> expected, List<HistoricActivityStatistics> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      HistoricActivityStatistics statistics = expected.get(i);
+      assertStatistics(actual.get(i), statistics.getId(), statistics.getInstances(), statistics.getFinished(),
+          statistics.getCanceled(), statistics.getCompleteScope());
+    }
+  }
+
+}
@@ -27,6 +27,8 @@ import org.camunda.bpm.engine.history.HistoricTaskInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementExecution;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
@@ -1562,4 +1564,137 @@ public class HistoricVariableInstanceTest extends PluggableProcessEngineTestCase
     assertEquals("foo", historicVariable.getName());
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testUpdateAndDeleteSeveralVariablesOfScope() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", "a1");
+    variables.put("b", "b1");
+    variables.put("c", "c1");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.setVariableLocal(task.getId(), "d", "d1");
+
+    SqlStatementProfiler profiler = processEngineConfiguration.getSqlStatementProfiler();
+    profiler.reset();
+    profiler.setSamplingInterval(1);
+    profiler.setEnabled(true);
+
+    // when several variables of the scope are updated in one command
+    variables = new HashMap<String, Object>();
+    variables.put("a", "a2");
+    variables.put("b", "b2");
+    try {
+      runtimeService.setVariables(processInstance.getId(), variables);
+
+      // then the historic variable instances of the scope are selected with a single query instead of one per variable
+      assertEquals(0, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariableInstance"));
+      assertEquals(1, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariablesByExecutionId"));
+    }
+    finally {
+      profiler.setEnabled(false);
+      profiler.setSamplingInterval(processEngineConfiguration.getSqlStatementProfilingSamplingInterval());
+      profiler.reset();
+    }
+
+    runtimeService.removeVariable(processInstance.getId(), "c");
+    taskService.setVariableLocal(task.getId(), "d", "d2");
+
+    // then the historic variable instances are updated
+    assertEquals("a2", historyService.createHistoricVariableInstanceQuery().variableName("a").singleResult().getValue());
+    assertEquals("b2", historyService.createHistoricVariableInstanceQuery().variableName("b").singleResult().getValue());
+    assertEquals("d2", historyService.createHistoricVariableInstanceQuery().variableName("d").singleResult().getValue());
+    assertNull(historyService.createHistoricVariableInstanceQuery().variableName("c").singleResult());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPrefetchOfScopeIsLimited() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", "a1");
+    variables.put("b", "b1");
+    variables.put("c", "c1");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    int prefetchLimit = processEngineConfiguration.getHistoricVariableInstancePrefetchLimit();
+    processEngineConfiguration.setHistoricVariableInstancePrefetchLimit(1);
+
+    SqlStatementProfiler profiler = processEngineConfiguration.getSqlStatementProfiler();
+    profiler.reset();
+    profiler.setSamplingInterval(1);
+    profiler.setEnabled(true);
+
+    // when all variables of the scope are updated in one command
+    variables = new HashMap<String, Object>();
+    variables.put("a", "a2");
+    variables.put("b", "b2");
+    variables.put("c", "c2");
+    try {
+      runtimeService.setVariables(processInstance.getId(), variables);
+
+      // then only one historic variable instance is prefetched and the others are selected by id
+      assertEquals(1, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariablesByExecutionId"));
+      assertEquals(2, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariableInstance"));
+    }
+    finally {
+      processEngineConfiguration.setHistoricVariableInstancePrefetchLimit(prefetchLimit);
+      profiler.setEnabled(false);
+      profiler.setSamplingInterval(processEngineConfiguration.getSqlStatementProfilingSamplingInterval());
+      profiler.reset();
+    }
+
+    assertEquals("a2", historyService.createHistoricVariableInstanceQuery().variableName("a").singleResult().getValue());
+    assertEquals("b2", historyService.createHistoricVariableInstanceQuery().variableName("b").singleResult().getValue());
+    assertEquals("c2", historyService.createHistoricVariableInstanceQuery().variableName("c").singleResult().getValue());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPrefetchOfScopeIsDisabled() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", "a1");
+    variables.put("b", "b1");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    int prefetchLimit = processEngineConfiguration.getHistoricVariableInstancePrefetchLimit();
+    processEngineConfiguration.setHistoricVariableInstancePrefetchLimit(0);
+
+    SqlStatementProfiler profiler = processEngineConfiguration.getSqlStatementProfiler();
+    profiler.reset();
+    profiler.setSamplingInterval(1);
+    profiler.setEnabled(true);
+
+    // when
+    variables = new HashMap<String, Object>();
+    variables.put("a", "a2");
+    variables.put("b", "b2");
+    try {
+      runtimeService.setVariables(processInstance.getId(), variables);
+
+      // then the historic variable instances are selected one by one
+      assertEquals(0, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariablesByExecutionId"));
+      assertEquals(2, getSelectCount(profiler, "SetExecutionVariablesCmd", "selectHistoricVariableInstance"));
+    }
+    finally {
+      processEngineConfiguration.setHistoricVariableInstancePrefetchLimit(prefetchLimit);
+      profiler.setEnabled(false);
+      profiler.setSamplingInterval(processEngineConfiguration.getSqlStatementProfilingSamplingInterval());
+      profiler.reset();
+    }
+
+    assertEquals("a2", historyService.createHistoricVariableInstanceQuery().variableName("a").singleResult().getValue());
+    assertEquals("b2", historyService.createHistoricVariableInstanceQuery().variableName("b").singleResult().getValue());
+  }
+
+  protected int getSelectCount(SqlStatementProfiler profiler, String commandName, String statement) {
+    int count = 0;
+    for (SqlStatementExecution execution : profiler.getSlowestStatements(Integer.MAX_VALUE)) {
+      if (commandName.equals(execution.getCommandName()) && statement.equals(execution.getStatement())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
 }
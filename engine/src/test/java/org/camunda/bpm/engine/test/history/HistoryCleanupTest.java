@@ -0,0 +1,221 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Process;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+public class HistoryCleanupTest extends PluggableProcessEngineTestCase {
+
+  protected static final String CAMUNDA_NS = "http://camunda.org/schema/1.0/bpmn";
+
+  protected static final long ONE_DAY = 24 * 60 * 60 * 1000;
+
+  protected int historyCleanupBatchSize;
+
+  protected void setUp() throws Exception {
+    historyCleanupBatchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+    processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES).getAndClear();
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setHistoryCleanupBatchSize(historyCleanupBatchSize);
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.deleteJob(job.getId());
+    }
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByHandlerType(HistoryCleanupJobHandler.TYPE);
+        return null;
+      }
+    });
+    ClockUtil.reset();
+  }
+
+  public void testParseHistoryTimeToLive() {
+    deployment(createProcess("5"));
+
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    assertEquals(Integer.valueOf(5), processDefinition.getHistoryTimeToLive());
+  }
+
+  public void testHistoryTimeToLiveNotSet() {
+    deployment(createProcess(null));
+
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    assertNull(processDefinition.getHistoryTimeToLive());
+  }
+
+  public void testUpdateHistoryTimeToLive() {
+    deployment(createProcess("5"));
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(processDefinition.getId(), 10);
+
+    assertEquals(Integer.valueOf(10), repositoryService.getProcessDefinition(processDefinition.getId()).getHistoryTimeToLive());
+    assertEquals(Integer.valueOf(10), repositoryService.createProcessDefinitionQuery().singleResult().getHistoryTimeToLive());
+
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(processDefinition.getId(), null);
+
+    assertNull(repositoryService.getProcessDefinition(processDefinition.getId()).getHistoryTimeToLive());
+  }
+
+  public void testCleanUpHistory() {
+    deployment(createProcess("5"));
+
+    ClockUtil.setCurrentTime(new Date(0));
+    startAndCompleteProcessInstances(3);
+
+    ClockUtil.setCurrentTime(new Date(6 * ONE_DAY));
+    Job job = historyService.cleanUpHistoryAsync();
+    assertEquals(HistoryCleanupJobHandler.TYPE, ((JobEntity) job).getJobHandlerType());
+    managementService.executeJob(job.getId());
+
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(3, getRemovedProcessInstancesMetric());
+
+    // no batch window is configured, so the job is not rescheduled
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+  public void testCleanUpHistoryRespectsTimeToLive() {
+    deployment(createProcess("5"));
+
+    ClockUtil.setCurrentTime(new Date(0));
+    startAndCompleteProcessInstances(1);
+
+    ClockUtil.setCurrentTime(new Date(4 * ONE_DAY));
+    startAndCompleteProcessInstances(1);
+
+    ClockUtil.setCurrentTime(new Date(6 * ONE_DAY));
+    Job job = historyService.cleanUpHistoryAsync();
+    managementService.executeJob(job.getId());
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(new Date(4 * ONE_DAY), historyService.createHistoricProcessInstanceQuery().singleResult().getEndTime());
+  }
+
+  public void testCleanUpHistoryIgnoresDefinitionsWithoutTimeToLive() {
+    deployment(createProcess(null));
+
+    ClockUtil.setCurrentTime(new Date(0));
+    startAndCompleteProcessInstances(1);
+
+    ClockUtil.setCurrentTime(new Date(1000 * ONE_DAY));
+    Job job = historyService.cleanUpHistoryAsync();
+    managementService.executeJob(job.getId());
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+  }
+
+  public void testCleanUpHistoryInChunks() {
+    deployment(createProcess("5"));
+    processEngineConfiguration.setHistoryCleanupBatchSize(2);
+
+    ClockUtil.setCurrentTime(new Date(0));
+    startAndCompleteProcessInstances(3);
+
+    ClockUtil.setCurrentTime(new Date(6 * ONE_DAY));
+    Job job = historyService.cleanUpHistoryAsync();
+    managementService.executeJob(job.getId());
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+
+    // a full chunk was removed, so the job is rescheduled immediately
+    Job followUpJob = managementService.createJobQuery().singleResult();
+    assertNotNull(followUpJob);
+    assertEquals(new Date(6 * ONE_DAY), followUpJob.getDuedate());
+
+    managementService.executeJob(followUpJob.getId());
+
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, managementService.createJobQuery().count());
+    assertEquals(3, getRemovedProcessInstancesMetric());
+  }
+
+  public void testCleanUpHistoryAsyncReusesJob() {
+    Job job = historyService.cleanUpHistoryAsync();
+    Job secondJob = historyService.cleanUpHistoryAsync();
+
+    assertEquals(job.getId(), secondJob.getId());
+    assertEquals(1, managementService.createJobQuery().count());
+  }
+
+  public void testBatchWindow() {
+    Date start = HistoryCleanupHelper.parseTimeConfiguration("start", "22:00");
+    Date end = HistoryCleanupHelper.parseTimeConfiguration("end", "04:00");
+
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(23, 0), start, end));
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(3, 59), start, end));
+    assertFalse(HistoryCleanupHelper.isWithinBatchWindow(time(4, 0), start, end));
+    assertFalse(HistoryCleanupHelper.isWithinBatchWindow(time(12, 0), start, end));
+
+    assertEquals(time(22, 0), HistoryCleanupHelper.getNextBatchWindowStart(time(12, 0), start));
+    assertEquals(new Date(time(22, 0).getTime() + ONE_DAY), HistoryCleanupHelper.getNextBatchWindowStart(time(23, 0), start));
+  }
+
+  protected BpmnModelInstance createProcess(String historyTimeToLive) {
+    BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+    if (historyTimeToLive != null) {
+      Process process = modelInstance.getModelElementById("process");
+      process.setAttributeValueNs(CAMUNDA_NS, "historyTimeToLive", historyTimeToLive);
+    }
+    return modelInstance;
+  }
+
+  protected void startAndCompleteProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+      Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+      taskService.complete(task.getId());
+    }
+  }
+
+  protected long getRemovedProcessInstancesMetric() {
+    Meter meter = processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES);
+    return meter.get();
+  }
+
+  protected Date time(int hour, int minute) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.set(2016, 0, 1, hour, minute, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+}
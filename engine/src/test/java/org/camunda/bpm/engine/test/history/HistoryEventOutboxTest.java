@@ -0,0 +1,292 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxWriter;
+import org.camunda.bpm.engine.impl.history.handler.OutboxHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.gauge.HistoryEventOutboxFailedEntriesGauge;
+import org.camunda.bpm.engine.impl.metrics.gauge.HistoryEventOutboxLagGauge;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+public class HistoryEventOutboxTest extends PluggableProcessEngineTestCase {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected HistoryEventHandler historyEventHandler;
+  protected HistoryEventOutboxWriter writer;
+
+  protected void setUp() throws Exception {
+    historyEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    processEngineConfiguration.setHistoryEventHandler(new OutboxHistoryEventHandler());
+
+    writer = new HistoryEventOutboxWriter(processEngineConfiguration.getCommandExecutorTxRequired());
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setHistoryEventHandler(historyEventHandler);
+    writer.materializeNow();
+    // removes the failed entries
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getHistoryEventOutboxManager().deleteAllEntries();
+        return null;
+      }
+    });
+    ClockUtil.reset();
+  }
+
+  public void testEventsAreMaterializedByWriter() {
+    deployment(PROCESS);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    assertEquals(1, getOutboxEntryCount());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+    assertEquals(1, writer.materializeNow());
+
+    assertEquals(0, getOutboxEntryCount());
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertEquals(processInstance.getId(), historicProcessInstance.getId());
+    assertNull(historicProcessInstance.getEndTime());
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    writer.materializeNow();
+
+    historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertNotNull(historicProcessInstance.getEndTime());
+    assertNotNull(historicProcessInstance.getDurationInMillis());
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().finished().count());
+  }
+
+  public void testStartAndEndInSameBatch() {
+    deployment(PROCESS);
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    runtimeService.startProcessInstanceByKey("process");
+
+    ClockUtil.setCurrentTime(new Date(6000));
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    assertEquals(2, getOutboxEntryCount());
+    assertEquals(2, writer.materializeBatch());
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertEquals(new Date(1000), historicProcessInstance.getStartTime());
+    assertEquals(new Date(6000), historicProcessInstance.getEndTime());
+    assertEquals(5000, historicProcessInstance.getDurationInMillis().longValue());
+
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery()
+        .activityType("userTask")
+        .singleResult();
+    assertEquals(5000, userTask.getDurationInMillis());
+  }
+
+  public void testBatchSize() {
+    deployment(PROCESS);
+
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    writer.setBatchSize(2);
+
+    assertEquals(2, writer.materializeBatch());
+    assertEquals(1, getOutboxEntryCount());
+    assertEquals(1, writer.materializeNow());
+    assertEquals(3, historyService.createHistoricProcessInstanceQuery().count());
+  }
+
+  public void testLag() {
+    deployment(PROCESS);
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    runtimeService.startProcessInstanceByKey("process");
+
+    ClockUtil.setCurrentTime(new Date(4000));
+    writer.materializeNow();
+    assertEquals(3000, writer.getLagInMillis());
+
+    writer.materializeNow();
+    assertEquals(0, writer.getLagInMillis());
+  }
+
+  public void testLagGauge() {
+    deployment(PROCESS);
+    HistoryEventOutboxLagGauge gauge = new HistoryEventOutboxLagGauge(processEngineConfiguration);
+
+    // the outbox is not enabled
+    assertEquals(0, gauge.getValue());
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    runtimeService.startProcessInstanceByKey("process");
+    writer.materializeBatch();
+
+    processEngineConfiguration.setHistoryEventOutboxWriter(writer);
+    try {
+      // the lag grows until the next run of the writer
+      ClockUtil.setCurrentTime(new Date(5000));
+      assertEquals(4000, gauge.getValue());
+    }
+    finally {
+      processEngineConfiguration.setHistoryEventOutboxWriter(null);
+    }
+  }
+
+  public void testEntriesOfProcessInstanceWithClockSkewInSameBatch() {
+    deployment(PROCESS);
+
+    // the task is completed on a node whose clock is behind
+    ClockUtil.setCurrentTime(new Date(6000));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    // the completion is read first and attempted again after the start
+    assertEquals(2, writer.materializeBatch());
+    assertEquals(0, getOutboxEntryCount());
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertEquals(processInstance.getId(), historicProcessInstance.getId());
+    assertEquals(new Date(6000), historicProcessInstance.getStartTime());
+    assertEquals(new Date(1000), historicProcessInstance.getEndTime());
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().finished().count());
+  }
+
+  public void testEntryPerCommandOfProcessInstance() {
+    deployment(PROCESS);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariable(processInstance.getId(), "foo", "bar");
+    runtimeService.setVariable(processInstance.getId(), "foo", "baz");
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    assertEquals(4, getOutboxEntryCount());
+    assertEquals(4, writer.materializeNow());
+    assertEquals("baz", historyService.createHistoricVariableInstanceQuery().singleResult().getValue());
+  }
+
+  public void testUpdateWithoutRowIsRetriedWithNextRun() {
+    // the update of the task is written on a node whose clock is behind
+    ClockUtil.setCurrentTime(new Date(6000));
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    taskService.setAssignee(task.getId(), "kermit");
+
+    writer.setBatchSize(1);
+    try {
+      // the batch only contains the update
+      assertEquals(0, writer.materializeBatch());
+      HistoryEventOutboxEntity retriedEntry = getOldestOutboxEntry();
+      assertEquals(1, retriedEntry.getAttempts());
+      assertFalse(retriedEntry.isFailed());
+
+      writer.setBatchSize(2);
+      assertEquals(2, writer.materializeNow());
+      assertEquals(0, getOutboxEntryCount());
+
+      HistoricTaskInstance historicTask = historyService.createHistoricTaskInstanceQuery().singleResult();
+      assertEquals("kermit", historicTask.getAssignee());
+    }
+    finally {
+      processEngineConfiguration.setHistoryEventHandler(historyEventHandler);
+      taskService.deleteTask(task.getId(), true);
+    }
+  }
+
+  public void testFailedEntryIsKeptUntilRetried() {
+    HistoryEventOutboxFailedEntriesGauge gauge = new HistoryEventOutboxFailedEntriesGauge(processEngineConfiguration);
+
+    ClockUtil.setCurrentTime(new Date(6000));
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+
+    ClockUtil.setCurrentTime(new Date(1000));
+    taskService.setAssignee(task.getId(), "kermit");
+
+    writer.setBatchSize(1);
+    writer.setMaxAttempts(1);
+    processEngineConfiguration.setHistoryEventOutboxWriter(writer);
+    try {
+      // the update is marked as failed and is skipped by the following runs
+      assertEquals(0, writer.materializeBatch());
+      assertEquals(1, writer.materializeNow());
+      assertEquals(1, getOutboxEntryCount());
+      assertEquals(1, writer.getFailedEntryCount());
+      assertEquals(1, gauge.getValue());
+
+      HistoricTaskInstance historicTask = historyService.createHistoricTaskInstanceQuery().singleResult();
+      assertNull(historicTask.getAssignee());
+
+      assertEquals(1, writer.retryFailedEntries());
+      assertEquals(1, writer.materializeNow());
+      assertEquals(0, getOutboxEntryCount());
+      assertEquals(0, writer.getFailedEntryCount());
+
+      historicTask = historyService.createHistoricTaskInstanceQuery().singleResult();
+      assertEquals("kermit", historicTask.getAssignee());
+    }
+    finally {
+      processEngineConfiguration.setHistoryEventOutboxWriter(null);
+      processEngineConfiguration.setHistoryEventHandler(historyEventHandler);
+      taskService.deleteTask(task.getId(), true);
+    }
+  }
+
+  protected HistoryEventOutboxEntity getOldestOutboxEntry() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<HistoryEventOutboxEntity>() {
+      public HistoryEventOutboxEntity execute(CommandContext commandContext) {
+        return commandContext.getHistoryEventOutboxManager().findOldestEntries(1).get(0);
+      }
+    });
+  }
+
+  protected long getOutboxEntryCount() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Long>() {
+      public Long execute(CommandContext commandContext) {
+        return commandContext.getHistoryEventOutboxManager().findEntryCount();
+      }
+    });
+  }
+
+}
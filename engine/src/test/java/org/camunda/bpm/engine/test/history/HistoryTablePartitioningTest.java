@@ -0,0 +1,158 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.history.partition.HistoryTablePartitioning;
+import org.camunda.bpm.engine.impl.history.partition.PartitionedHistoryTable;
+import org.junit.Test;
+
+public class HistoryTablePartitioningTest {
+
+  protected static final PartitionedHistoryTable ACTIVITY_INSTANCE_TABLE = HistoryTablePartitioning.PARTITIONED_TABLES.get(0);
+
+  @Test
+  public void testSupportedDatabaseTypes() {
+    assertTrue(HistoryTablePartitioning.isSupported(DbSqlSessionFactory.POSTGRES));
+    assertTrue(HistoryTablePartitioning.isSupported(DbSqlSessionFactory.ORACLE));
+    assertTrue(HistoryTablePartitioning.isSupported(DbSqlSessionFactory.MYSQL));
+    assertFalse(HistoryTablePartitioning.isSupported(DbSqlSessionFactory.H2));
+  }
+
+  @Test
+  public void testPartitionName() throws Exception {
+    Date month = parse("2016-11-01 00:00:00");
+
+    assertEquals("ACT_HI_ACTINST_P201611", HistoryTablePartitioning.getPartitionName(ACTIVITY_INSTANCE_TABLE, month));
+  }
+
+  @Test
+  public void testParsePartitionMonth() throws Exception {
+    assertEquals(parse("2016-11-01 00:00:00"), HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "ACT_HI_ACTINST_P201611"));
+    // postgres returns lower case names
+    assertEquals(parse("2016-01-01 00:00:00"), HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "act_hi_actinst_p201601"));
+  }
+
+  @Test
+  public void testCatchAllPartitionsAreIgnored() {
+    assertNull(HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "PMAX"));
+    assertNull(HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "ACT_HI_ACTINST_DEFAULT"));
+    assertNull(HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "ACT_HI_ACTINST_P201613"));
+    assertNull(HistoryTablePartitioning.parsePartitionMonth(ACTIVITY_INSTANCE_TABLE, "ACT_HI_DETAIL_P201611"));
+  }
+
+  @Test
+  public void testMonthStart() throws Exception {
+    assertEquals(parse("2016-11-01 00:00:00"), HistoryTablePartitioning.getMonthStart(parse("2016-11-30 23:59:59")));
+    assertEquals(parse("2016-11-01 00:00:00"), HistoryTablePartitioning.getMonthStart(parse("2016-11-01 00:00:00")));
+  }
+
+  @Test
+  public void testMonthsToCreateWithoutPartitions() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+
+    List<Date> months = HistoryTablePartitioning.getMonthsToCreate(Collections.<Date>emptyList(), now, 2, false);
+
+    assertEquals(months("2016-11", "2016-12", "2017-01"), months);
+  }
+
+  @Test
+  public void testMonthsToCreateAfterLatestPartition() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+
+    List<Date> months = HistoryTablePartitioning.getMonthsToCreate(months("2016-10", "2016-11"), now, 2, false);
+
+    assertEquals(months("2016-12", "2017-01"), months);
+  }
+
+  @Test
+  public void testNoMonthsToCreateIfPartitionsExistAhead() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+
+    List<Date> months = HistoryTablePartitioning.getMonthsToCreate(months("2016-11", "2016-12", "2017-01", "2017-02"), now, 2, false);
+
+    assertTrue(months.isEmpty());
+  }
+
+  @Test
+  public void testMissingMonthBelowLatestPartitionIsOnlyCreatedIfSupported() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+    List<Date> existingMonths = months("2016-11", "2017-01");
+
+    // the catch-all partition is split (oracle and mysql)
+    assertTrue(HistoryTablePartitioning.getMonthsToCreate(existingMonths, now, 2, false).isEmpty());
+    // the partition has an explicit range (postgres)
+    assertEquals(months("2016-12"), HistoryTablePartitioning.getMonthsToCreate(existingMonths, now, 2, true));
+  }
+
+  @Test
+  public void testMonthsToCreateAtEndOfYear() throws Exception {
+    Date now = parse("2016-12-31 23:59:59");
+
+    List<Date> months = HistoryTablePartitioning.getMonthsToCreate(months("2016-12"), now, 1, false);
+
+    assertEquals(months("2017-01"), months);
+  }
+
+  @Test
+  public void testExpiredMonths() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+    List<Date> existingMonths = months("2016-08", "2016-09", "2016-10", "2016-11");
+
+    // retained from 2016-10-16, so september is the last expired partition
+    assertEquals(months("2016-08", "2016-09"), HistoryTablePartitioning.getExpiredMonths(existingMonths, now, 30));
+  }
+
+  @Test
+  public void testMonthIsNotExpiredBeforeItsUpperBound() throws Exception {
+    Date now = parse("2016-11-01 00:00:00");
+    List<Date> existingMonths = months("2016-09", "2016-10", "2016-11");
+
+    // retained from 2016-10-01 00:00:00, which is the upper bound of september
+    assertEquals(months("2016-09"), HistoryTablePartitioning.getExpiredMonths(existingMonths, now, 31));
+    // retained from 2016-09-30 00:00:00
+    assertTrue(HistoryTablePartitioning.getExpiredMonths(existingMonths, now, 32).isEmpty());
+  }
+
+  @Test
+  public void testNoExpiredMonthsWithoutPartitions() throws Exception {
+    Date now = parse("2016-11-15 12:00:00");
+
+    assertTrue(HistoryTablePartitioning.getExpiredMonths(Collections.<Date>emptyList(), now, 30).isEmpty());
+  }
+
+  protected List<Date> months(String... months) throws Exception {
+    List<Date> result = new ArrayList<Date>();
+    for (String month : Arrays.asList(months)) {
+      result.add(parse(month + "-01 00:00:00"));
+    }
+    return result;
+  }
+
+  protected Date parse(String date) throws Exception {
+    return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(date);
+  }
+
+}
@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStatistics;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobAcquisitionStatisticsTest {
+
+  protected static final String ENGINE_NAME = "engine";
+  protected static final String OTHER_ENGINE_NAME = "otherEngine";
+
+  protected static final int WINDOW_IN_SECONDS = 10;
+  protected static final long BACKLOG_SAMPLE_INTERVAL = 5000;
+
+  protected JobAcquisitionStatistics statistics;
+  protected long now;
+
+  @Before
+  public void setUp() {
+    now = 1000000000L;
+    ClockUtil.setCurrentTime(new Date(now));
+    statistics = new JobAcquisitionStatistics(WINDOW_IN_SECONDS, BACKLOG_SAMPLE_INTERVAL);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void testRatesWithinWindow() {
+    // given acquisitions over the whole window
+    for (int i = 0; i < WINDOW_IN_SECONDS; i++) {
+      advanceSeconds(1);
+      statistics.recordAcquisitionAttempt(ENGINE_NAME);
+      statistics.recordAcquiredJobs(ENGINE_NAME, 3);
+      statistics.recordJobsFailedToLock(ENGINE_NAME, 1);
+      statistics.recordRejectedJobs(ENGINE_NAME, 2);
+    }
+
+    // then
+    assertEquals(1.0, statistics.getAcquisitionAttemptsPerSecond(ENGINE_NAME), 0.001);
+    assertEquals(3.0, statistics.getAcquiredJobsPerSecond(ENGINE_NAME), 0.001);
+    assertEquals(2.0, statistics.getRejectedJobsPerSecond(ENGINE_NAME), 0.001);
+    assertEquals(0.25, statistics.getLockFailureRate(ENGINE_NAME), 0.001);
+  }
+
+  @Test
+  public void testCountsLeaveWindow() {
+    statistics.recordAcquiredJobs(ENGINE_NAME, 10);
+    advanceSeconds(WINDOW_IN_SECONDS / 2);
+    statistics.recordAcquiredJobs(ENGINE_NAME, 20);
+
+    assertEquals(30.0 / (WINDOW_IN_SECONDS / 2), statistics.getAcquiredJobsPerSecond(ENGINE_NAME), 0.001);
+
+    // when the first acquisition leaves the window
+    advanceSeconds(WINDOW_IN_SECONDS / 2);
+
+    // then
+    assertEquals(20.0 / WINDOW_IN_SECONDS, statistics.getAcquiredJobsPerSecond(ENGINE_NAME), 0.001);
+
+    // when the second acquisition leaves the window
+    advanceSeconds(WINDOW_IN_SECONDS);
+
+    // then
+    assertEquals(0.0, statistics.getAcquiredJobsPerSecond(ENGINE_NAME), 0.001);
+    assertEquals(0.0, statistics.getLockFailureRate(ENGINE_NAME), 0.001);
+  }
+
+  @Test
+  public void testRatesOfAllEngines() {
+    advanceSeconds(WINDOW_IN_SECONDS);
+
+    statistics.recordAcquiredJobs(ENGINE_NAME, 10);
+    statistics.recordAcquiredJobs(OTHER_ENGINE_NAME, 20);
+    statistics.recordJobsFailedToLock(OTHER_ENGINE_NAME, 10);
+
+    assertEquals(1.0, statistics.getAcquiredJobsPerSecond(ENGINE_NAME), 0.001);
+    assertEquals(2.0, statistics.getAcquiredJobsPerSecond(OTHER_ENGINE_NAME), 0.001);
+    assertEquals(3.0, statistics.getAcquiredJobsPerSecond(null), 0.001);
+
+    assertEquals(0.0, statistics.getLockFailureRate(ENGINE_NAME), 0.001);
+    assertEquals(0.25, statistics.getLockFailureRate(null), 0.001);
+  }
+
+  @Test
+  public void testAcquisitionCycle() {
+    statistics.recordAcquisitionCycle(1, 2, 300);
+
+    assertEquals(1, statistics.getIdleLevel());
+    assertEquals(2, statistics.getBackoffLevel());
+    assertEquals(300, statistics.getWaitTimeInMillis());
+  }
+
+  @Test
+  public void testDueJobBacklogSample() {
+    assertNull(statistics.getDueJobBacklog(ENGINE_NAME));
+
+    statistics.recordDueJobBacklog(ENGINE_NAME, 42);
+    assertEquals(Long.valueOf(42), statistics.getDueJobBacklog(ENGINE_NAME));
+    assertNull(statistics.getDueJobBacklog(OTHER_ENGINE_NAME));
+
+    // when the sample is older than the sample interval
+    now += BACKLOG_SAMPLE_INTERVAL;
+    ClockUtil.setCurrentTime(new Date(now));
+
+    // then it is sampled again
+    assertNull(statistics.getDueJobBacklog(ENGINE_NAME));
+  }
+
+  protected void advanceSeconds(int seconds) {
+    now += seconds * 1000L;
+    ClockUtil.setCurrentTime(new Date(now));
+  }
+
+}
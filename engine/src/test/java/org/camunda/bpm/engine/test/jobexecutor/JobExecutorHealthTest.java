@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStatistics;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorHealth;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class JobExecutorHealthTest extends PluggableProcessEngineTestCase {
+
+  protected JobExecutor jobExecutor;
+  protected JobAcquisitionStatistics acquisitionStatistics;
+
+  protected void setUp() throws Exception {
+    jobExecutor = processEngineConfiguration.getJobExecutor();
+    acquisitionStatistics = jobExecutor.getAcquisitionStatistics();
+
+    jobExecutor.setAcquisitionStatistics(new JobAcquisitionStatistics());
+  }
+
+  protected void tearDown() throws Exception {
+    jobExecutor.setAcquisitionStatistics(acquisitionStatistics);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testDueJobBacklog() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    // when
+    JobExecutorHealth health = jobExecutor.getHealth(processEngine.getName());
+
+    // then
+    assertEquals(processEngine.getName(), health.getProcessEngineName());
+    assertEquals(2, health.getDueJobBacklog());
+    assertEquals(2, jobExecutor.getHealth(null).getDueJobBacklog());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testDueJobBacklogIsSampled() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    assertEquals(1, jobExecutor.getHealth(processEngine.getName()).getDueJobBacklog());
+
+    // when
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    // then the backlog is not counted again within the sample interval
+    assertEquals(1, jobExecutor.getHealth(processEngine.getName()).getDueJobBacklog());
+  }
+
+  public void testDueJobBacklogOfUnknownEngine() {
+    assertEquals(-1, jobExecutor.getHealth("unknownEngine").getDueJobBacklog());
+  }
+
+  public void testAcquisitionRates() {
+    ProcessEngineImpl engine = (ProcessEngineImpl) processEngine;
+
+    // when
+    jobExecutor.logAcquisitionAttempt(engine);
+    jobExecutor.logAcquiredJobs(engine, 3);
+    jobExecutor.logAcquisitionFailureJobs(engine, 1);
+    jobExecutor.logRejectedExecution(engine, 2);
+
+    // then
+    JobExecutorHealth health = jobExecutor.getHealth(processEngine.getName());
+    assertTrue(health.getAcquisitionAttemptsPerSecond() > 0);
+    assertTrue(health.getAcquiredJobsPerSecond() > 0);
+    assertTrue(health.getRejectedJobsPerSecond() > 0);
+    assertEquals(0.25, health.getLockFailureRate(), 0.001);
+  }
+
+}
@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandProfile;
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandStatistics;
+import org.camunda.bpm.engine.impl.db.profiling.SqlNPlusOnePattern;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementExecution;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.junit.Test;
+
+public class SqlStatementProfilerTest {
+
+  @Test
+  public void testDisabled() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(false, 1, 10, 3);
+
+    assertNull(profiler.startProfile());
+
+    profiler.setEnabled(true);
+    assertNotNull(profiler.startProfile());
+  }
+
+  @Test
+  public void testSampling() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 4, 10, 3);
+
+    int sampled = 0;
+    for (int i = 0; i < 100; i++) {
+      if (profiler.startProfile() != null) {
+        sampled++;
+      }
+    }
+
+    assertEquals(25, sampled);
+  }
+
+  @Test
+  public void testCommandStatistics() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 1, 10, 3);
+
+    SqlCommandProfile profile = new SqlCommandProfile("FooCmd", 10);
+    profile.selectExecuted("selectFoo", 2000, 5);
+    profile.statementExecuted("updateFoo", 3000, 1);
+    profiler.endProfile(profile);
+
+    profile = new SqlCommandProfile("FooCmd", 10);
+    profile.selectExecuted("selectFoo", 1000, 0);
+    profiler.endProfile(profile);
+
+    profile = new SqlCommandProfile("BarCmd", 10);
+    profile.selectExecuted("selectBar", 10000, 1);
+    profiler.endProfile(profile);
+
+    List<SqlCommandStatistics> statistics = profiler.getCommandStatistics();
+    assertEquals(2, statistics.size());
+
+    // ordered by duration
+    assertEquals("BarCmd", statistics.get(0).getCommandName());
+
+    SqlCommandStatistics fooStatistics = statistics.get(1);
+    assertEquals("FooCmd", fooStatistics.getCommandName());
+    assertEquals(2, fooStatistics.getInvocations());
+    assertEquals(3, fooStatistics.getStatements());
+    assertEquals(2, fooStatistics.getMaxStatements());
+    assertEquals(6, fooStatistics.getRows());
+    assertEquals(6, fooStatistics.getDurationInMicros());
+  }
+
+  @Test
+  public void testSlowestStatementsFromRingBuffer() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 1, 5, 3);
+
+    SqlCommandProfile profile = new SqlCommandProfile("FooCmd", 5);
+    for (int i = 1; i <= 10; i++) {
+      profile.statementExecuted("statement" + i, i * 1000, 1);
+    }
+    profiler.endProfile(profile);
+
+    // the profile keeps the first five executions
+    List<SqlStatementExecution> slowestStatements = profiler.getSlowestStatements(2);
+    assertEquals(2, slowestStatements.size());
+    assertEquals("statement5", slowestStatements.get(0).getStatement());
+    assertEquals(5, slowestStatements.get(0).getDurationInMicros());
+    assertEquals("statement4", slowestStatements.get(1).getStatement());
+
+    // further executions replace the oldest ones in the ring buffer
+    profile = new SqlCommandProfile("FooCmd", 5);
+    for (int i = 1; i <= 4; i++) {
+      profile.statementExecuted("other" + i, i, 1);
+    }
+    profiler.endProfile(profile);
+
+    slowestStatements = profiler.getSlowestStatements(10);
+    assertEquals(5, slowestStatements.size());
+    assertEquals("statement5", slowestStatements.get(0).getStatement());
+  }
+
+  @Test
+  public void testNPlusOnePatterns() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 1, 10, 3);
+
+    SqlCommandProfile profile = new SqlCommandProfile("FooCmd", 10);
+    for (int i = 0; i < 5; i++) {
+      profile.selectExecuted("selectFoo", 1000, 1);
+      profile.statementExecuted("insertFoo", 1000, 1);
+    }
+    profile.selectExecuted("selectBar", 1000, 1);
+    profile.selectExecuted("selectBar", 1000, 1);
+    profiler.endProfile(profile);
+
+    profile = new SqlCommandProfile("FooCmd", 10);
+    for (int i = 0; i < 3; i++) {
+      profile.selectExecuted("selectFoo", 1000, 1);
+    }
+    profiler.endProfile(profile);
+
+    // repeated inserts and selects below the threshold are no patterns
+    List<SqlNPlusOnePattern> patterns = profiler.getNPlusOnePatterns();
+    assertEquals(1, patterns.size());
+
+    SqlNPlusOnePattern pattern = patterns.get(0);
+    assertEquals("FooCmd", pattern.getCommandName());
+    assertEquals("selectFoo", pattern.getStatement());
+    assertEquals(2, pattern.getOccurrences());
+    assertEquals(5, pattern.getMaxExecutions());
+  }
+
+  @Test
+  public void testReset() {
+    SqlStatementProfiler profiler = new SqlStatementProfiler(true, 1, 10, 1);
+
+    SqlCommandProfile profile = new SqlCommandProfile("FooCmd", 10);
+    profile.selectExecuted("selectFoo", 1000, 1);
+    profiler.endProfile(profile);
+    assertTrue(!profiler.getCommandStatistics().isEmpty());
+
+    profiler.reset();
+
+    assertTrue(profiler.getCommandStatistics().isEmpty());
+    assertTrue(profiler.getSlowestStatements(10).isEmpty());
+    assertTrue(profiler.getNPlusOnePatterns().isEmpty());
+  }
+
+}
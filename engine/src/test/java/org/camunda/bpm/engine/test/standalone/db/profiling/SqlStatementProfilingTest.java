@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.profiling.SqlCommandStatistics;
+import org.camunda.bpm.engine.impl.db.profiling.SqlNPlusOnePattern;
+import org.camunda.bpm.engine.impl.db.profiling.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.task.Task;
+
+public class SqlStatementProfilingTest extends PluggableProcessEngineTestCase {
+
+  protected SqlStatementProfiler profiler;
+  protected List<String> taskIds = new ArrayList<String>();
+
+  protected void setUp() throws Exception {
+    profiler = processEngineConfiguration.getSqlStatementProfiler();
+    profiler.reset();
+    profiler.setSamplingInterval(1);
+    profiler.setEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    profiler.setEnabled(false);
+    profiler.setSamplingInterval(processEngineConfiguration.getSqlStatementProfilingSamplingInterval());
+    profiler.reset();
+
+    for (String taskId : taskIds) {
+      taskService.deleteTask(taskId, true);
+    }
+  }
+
+  public void testProfilerIsDisabledByDefault() {
+    assertFalse(processEngineConfiguration.isSqlStatementProfilingEnabled());
+    assertNotNull(processEngineConfiguration.getDbSqlSessionFactory().getSqlStatementProfiler());
+  }
+
+  public void testProfileCommand() {
+    createTasks(2);
+    profiler.reset();
+
+    // when
+    taskService.createTaskQuery().list();
+
+    // then
+    SqlCommandStatistics statistics = getCommandStatistics("TaskQueryImpl");
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getInvocations());
+    assertEquals(1, statistics.getStatements());
+    assertEquals(2, statistics.getRows());
+
+    assertEquals(1, profiler.getSlowestStatements(10).size());
+    assertTrue(profiler.getNPlusOnePatterns().isEmpty());
+  }
+
+  public void testDetectNPlusOnePattern() {
+    createTasks(profiler.getNPlusOneThreshold());
+
+    // when the tasks are selected one by one
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (String taskId : taskIds) {
+          commandContext.getTaskManager().findTaskById(taskId);
+        }
+        return null;
+      }
+    });
+
+    // then
+    List<SqlNPlusOnePattern> patterns = profiler.getNPlusOnePatterns();
+    assertEquals(1, patterns.size());
+    assertEquals("selectTask", patterns.get(0).getStatement());
+    assertEquals(taskIds.size(), patterns.get(0).getMaxExecutions());
+  }
+
+  public void testNotProfiledWhenDisabled() {
+    profiler.setEnabled(false);
+
+    taskService.createTaskQuery().list();
+
+    assertTrue(profiler.getCommandStatistics().isEmpty());
+  }
+
+  protected void createTasks(int count) {
+    for (int i = 0; i < count; i++) {
+      Task task = taskService.newTask();
+      taskService.saveTask(task);
+      taskIds.add(task.getId());
+    }
+  }
+
+  protected SqlCommandStatistics getCommandStatistics(String commandName) {
+    for (SqlCommandStatistics statistics : profiler.getCommandStatistics()) {
+      if (commandName.equals(statistics.getCommandName())) {
+        return statistics;
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.history.ConfigurableHistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ConfigurableHistoryLevelTest extends ResourceProcessEngineTestCase {
+
+  public ConfigurableHistoryLevelTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/configurableHistoryLevel.camunda.cfg.xml");
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testProcessDefinitionKeyRuleOverridesDefaultRule() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // then the process instance is recorded but no activity instances
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/twoTasksProcess.bpmn20.xml")
+  public void testProcessDefinitionKeyRuleAddsEventTypes() {
+    // when
+    runtimeService.startProcessInstanceByKey("twoTasksProcess");
+
+    // then the default and the additional event types are recorded
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+  }
+
+  public void testEventTypeProducedInGeneral() {
+    ConfigurableHistoryLevel historyLevel = (ConfigurableHistoryLevel) processEngineConfiguration.getHistoryLevel();
+
+    assertTrue(historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, null));
+    assertTrue(historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, null));
+    assertFalse(historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE, null));
+  }
+
+  public void testSamplingIsDeterministic() {
+    for (int i = 0; i < 100; i++) {
+      String processInstanceId = String.valueOf(i);
+      assertEquals(ConfigurableHistoryLevel.isSampled(processInstanceId, 0.5), ConfigurableHistoryLevel.isSampled(processInstanceId, 0.5));
+    }
+  }
+
+  public void testSamplingRate() {
+    int sampled = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (ConfigurableHistoryLevel.isSampled(String.valueOf(i), 0.1)) {
+        sampled++;
+      }
+    }
+
+    assertTrue("sampled " + sampled, sampled > 800 && sampled < 1200);
+  }
+
+  public void testInvalidSamplingRate() {
+    try {
+      new ConfigurableHistoryLevel(44, "invalid").addRule(null, 1.5, HistoryEventTypes.ACTIVITY_INSTANCE_START);
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTextPresent("sampling rate", e.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
+import org.camunda.bpm.engine.impl.interceptor.SlowCommandInterceptor;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.json.JSONArray;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class SlowCommandInterceptorTest extends PluggableProcessEngineTestCase {
+
+  protected RecordingSlowCommandInterceptor slowCommandInterceptor;
+  protected CommandContextInterceptor commandExecutor;
+
+  protected void setUp() throws Exception {
+    slowCommandInterceptor = new RecordingSlowCommandInterceptor(0);
+    slowCommandInterceptor.setNext(new CommandExecutorImpl());
+
+    commandExecutor = new CommandContextInterceptor(processEngineConfiguration.getCommandContextFactory(), processEngineConfiguration);
+    commandExecutor.setNext(slowCommandInterceptor);
+  }
+
+  public void testDefaultConfiguration() {
+    assertFalse(processEngineConfiguration.isSlowCommandLogEnabled());
+    assertEquals(SlowCommandInterceptor.DEFAULT_THRESHOLD_IN_MILLIS, processEngineConfiguration.getSlowCommandLogThresholdInMillis());
+  }
+
+  public void testLogSlowCommand() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .userTask("userTask")
+      .endEvent()
+    .done());
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    // when
+    commandExecutor.execute(new StartProcessInstanceCommand("testProcess"));
+
+    // then the command is logged once including the nested commands
+    assertEquals(1, slowCommandInterceptor.entries.size());
+
+    JSONObject entry = slowCommandInterceptor.entries.get(0);
+    assertEquals("StartProcessInstanceCommand", entry.getString("command"));
+    assertEquals(0, entry.getLong("thresholdInMillis"));
+    assertTrue(entry.getLong("durationInMillis") >= 0);
+    assertFalse(entry.getBoolean("rolledBack"));
+
+    assertTrue(entry.getInt("sqlStatements") > 0);
+    assertTrue(entry.getInt("loadedEntities") > 0);
+    assertTrue(entry.getInt("insertedEntities") > 0);
+
+    JSONArray processDefinitionIds = entry.getJSONArray("processDefinitionIds");
+    assertEquals(1, processDefinitionIds.length());
+    assertEquals(processDefinition.getId(), processDefinitionIds.getString(0));
+
+    JSONArray activityIds = entry.getJSONArray("activityIds");
+    assertEquals(1, activityIds.length());
+    assertEquals("userTask", activityIds.getString(0));
+  }
+
+  public void testLogRolledBackCommand() {
+    try {
+      commandExecutor.execute(new FailingCommand());
+      fail("exception expected");
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+
+    assertEquals(1, slowCommandInterceptor.entries.size());
+
+    JSONObject entry = slowCommandInterceptor.entries.get(0);
+    assertEquals("FailingCommand", entry.getString("command"));
+    assertTrue(entry.getBoolean("rolledBack"));
+  }
+
+  public void testCommandBelowThreshold() {
+    slowCommandInterceptor.setThresholdInMillis(60 * 1000);
+
+    // when
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        return null;
+      }
+    });
+
+    // then
+    assertTrue(slowCommandInterceptor.entries.isEmpty());
+  }
+
+  protected static class RecordingSlowCommandInterceptor extends SlowCommandInterceptor {
+
+    protected List<JSONObject> entries = new ArrayList<JSONObject>();
+
+    public RecordingSlowCommandInterceptor(long thresholdInMillis) {
+      super(thresholdInMillis);
+    }
+
+    protected void logSlowCommand(JSONObject entry) {
+      entries.add(entry);
+    }
+  }
+
+  protected static class StartProcessInstanceCommand implements Command<Void> {
+
+    protected String processDefinitionKey;
+
+    public StartProcessInstanceCommand(String processDefinitionKey) {
+      this.processDefinitionKey = processDefinitionKey;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      // the nested command reuses the command context
+      commandContext.getProcessEngineConfiguration()
+        .getRuntimeService()
+        .startProcessInstanceByKey(processDefinitionKey);
+      return null;
+    }
+  }
+
+  protected static class FailingCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      throw new IllegalStateException("fail");
+    }
+  }
+
+}
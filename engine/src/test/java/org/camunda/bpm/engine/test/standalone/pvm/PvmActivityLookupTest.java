@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.pvm;
+
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmException;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.Automatic;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.EmbeddedSubProcess;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.WaitState;
+
+public class PvmActivityLookupTest extends PvmTestCase {
+
+  /**
+   *           +------------------------------+
+   *           | subprocess                   |
+   * +-----+   |  +-----------+   +---------+ |   +---+
+   * |start|-->|  |startInside|-->|endInside| |-->|end|
+   * +-----+   |  +-----------+   +---------+ |   +---+
+   *           +------------------------------+
+   */
+  protected ProcessDefinitionImpl createProcessDefinition() {
+    return (ProcessDefinitionImpl) new ProcessDefinitionBuilder()
+      .createActivity("start")
+        .initial()
+        .behavior(new Automatic())
+        .transition("subprocess")
+      .endActivity()
+      .createActivity("subprocess")
+        .scope()
+        .behavior(new EmbeddedSubProcess())
+        .createActivity("startInside")
+          .behavior(new Automatic())
+          .transition("endInside")
+        .endActivity()
+        .createActivity("endInside")
+          .behavior(new WaitState())
+        .endActivity()
+        .transition("end")
+      .endActivity()
+      .createActivity("end")
+        .behavior(new WaitState())
+      .endActivity()
+    .buildProcessDefinition();
+  }
+
+  public void testFindNestedActivity() {
+    ProcessDefinitionImpl processDefinition = createProcessDefinition();
+
+    ActivityImpl startInside = processDefinition.findActivity("startInside");
+    assertNotNull(startInside);
+    assertEquals("subprocess", startInside.getFlowScope().getId());
+    assertNull(processDefinition.findActivity("unknown"));
+  }
+
+  public void testFindActivityIsLimitedToScope() {
+    ProcessDefinitionImpl processDefinition = createProcessDefinition();
+    ActivityImpl subprocess = processDefinition.findActivity("subprocess");
+
+    assertNotNull(subprocess.findActivity("startInside"));
+    assertNull(subprocess.findActivity("subprocess"));
+    assertNull(subprocess.findActivity("end"));
+
+    assertTrue(subprocess.contains(processDefinition.findActivity("endInside")));
+    assertFalse(subprocess.contains(processDefinition.findActivity("start")));
+  }
+
+  public void testActivityIndexes() {
+    ProcessDefinitionImpl processDefinition = createProcessDefinition();
+
+    assertEquals(5, processDefinition.getActivityCount());
+    for (int i = 0; i < processDefinition.getActivityCount(); i++) {
+      assertEquals(i, processDefinition.getActivityByIndex(i).getIndex());
+    }
+    ActivityImpl endInside = processDefinition.findActivity("endInside");
+    assertSame(endInside, processDefinition.getActivityByIndex(endInside.getIndex()));
+  }
+
+  public void testActivityTableIsFinalized() {
+    ProcessDefinitionImpl processDefinition = createProcessDefinition();
+    assertTrue(processDefinition.isActivityTableFinalized());
+
+    try {
+      processDefinition.findActivity("subprocess").createActivity("anotherInside");
+      fail("exception expected");
+    }
+    catch (PvmException e) {
+      assertTextPresent("cannot add activity 'anotherInside'", e.getMessage());
+    }
+    assertNull(processDefinition.findActivity("anotherInside"));
+    assertEquals(5, processDefinition.getActivityCount());
+  }
+
+  public void testDuplicateNestedActivityId() {
+    try {
+      new ProcessDefinitionBuilder()
+        .createActivity("subprocess")
+          .scope()
+          .createActivity("task")
+          .endActivity()
+        .endActivity()
+        .createActivity("task")
+        .endActivity();
+      fail("exception expected");
+    }
+    catch (PvmException e) {
+      assertTextPresent("duplicate activity id 'task'", e.getMessage());
+    }
+  }
+
+}
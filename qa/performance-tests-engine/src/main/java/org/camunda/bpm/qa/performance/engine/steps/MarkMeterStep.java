@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Marks a meter of the metrics registry a number of times, either through a meter
+ * resolved once or by looking it up by name for every mark.
+ */
+public class MarkMeterStep extends ProcessEngineAwareStep {
+
+  protected final String meterName;
+  protected final int marks;
+  protected final boolean resolveMeterOnce;
+
+  protected MetricsRegistry metricsRegistry;
+
+  public MarkMeterStep(ProcessEngine processEngine, String meterName, int marks, boolean resolveMeterOnce) {
+    super(processEngine);
+    this.meterName = meterName;
+    this.marks = marks;
+    this.resolveMeterOnce = resolveMeterOnce;
+
+    metricsRegistry = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getMetricsRegistry();
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    if (resolveMeterOnce) {
+      Meter meter = metricsRegistry.getMeterByName(meterName);
+      for (int i = 0; i < marks; i++) {
+        meter.mark();
+      }
+    }
+    else {
+      for (int i = 0; i < marks; i++) {
+        metricsRegistry.markOccurrence(meterName);
+      }
+    }
+  }
+
+}
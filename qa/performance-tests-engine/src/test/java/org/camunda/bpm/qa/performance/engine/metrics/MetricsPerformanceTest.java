@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.metrics;
+
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.MarkMeterStep;
+import org.junit.Test;
+
+/**
+ * Marks a single meter from all threads. Run with the benchmark profile and
+ * different values of <code>numberOfThreads</code> (e.g. 1 to 64) to compare
+ * how concurrent marking scales.
+ */
+public class MetricsPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int MARKS_PER_RUN = 10000;
+
+  @Test
+  public void markMeterByName() {
+    performanceTest()
+      .step(new MarkMeterStep(engine, Metrics.ACTIVTY_INSTANCE_START, MARKS_PER_RUN, false))
+    .run();
+  }
+
+  @Test
+  public void markResolvedMeter() {
+    performanceTest()
+      .step(new MarkMeterStep(engine, Metrics.ACTIVTY_INSTANCE_START, MARKS_PER_RUN, true))
+    .run();
+  }
+
+}